@@ -0,0 +1,262 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.codec;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A subclass of <code>SeekableStream</code> that takes its input from a memory mapped file. Backwards seeking is
+ * supported. The <code>mark()</code> and <code>reset()</code> methods are supported.
+ *
+ * <p>Reads are served directly from the mapped pages, without system calls or intermediate caches, which suits decoders
+ * doing many small random reads. Files are mapped in windows of at most <code>DEFAULT_WINDOW_SIZE</code> bytes, mapped
+ * on first access, so that files larger than 2GB can be read. The <code>getByteBuffer()</code> and <code>
+ * readByteBuffer()</code> methods give access to the file content without copying it.
+ *
+ * <p>The mapped windows stay valid until this stream is closed and the buffers returned by <code>getByteBuffer()</code>
+ * are no longer referenced. The content of a file truncated while it is mapped is undefined.
+ *
+ * <p><b> This class is not a committed part of the ImageN API. It may be removed or changed in future releases of
+ * ImageN.</b>
+ */
+public class MappedFileSeekableStream extends SeekableStream {
+
+    /** The default size of the mapped windows, 1GB. */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private FileChannel channel;
+
+    private final long length;
+
+    private final int windowSize;
+
+    // The windows mapped so far, null until first accessed
+    private MappedByteBuffer[] windows;
+
+    // The window holding the current pointer, and the file offset of its first byte
+    private ByteBuffer window;
+    private long windowStart;
+    private long windowEnd = -1L;
+
+    private long pointer = 0L;
+
+    private long markPos = -1L;
+
+    /**
+     * Constructs a <code>MappedFileSeekableStream</code> mapping a <code>FileChannel</code> in windows of the given
+     * size. The channel must be open for reading.
+     *
+     * @throws IllegalArgumentException if <code>windowSize</code> is not positive.
+     */
+    public MappedFileSeekableStream(FileChannel channel, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("MappedFileSeekableStream1"));
+        }
+        this.channel = channel;
+        this.length = channel.size();
+        this.windowSize = windowSize;
+        this.windows = new MappedByteBuffer[(int) ((length + windowSize - 1) / windowSize)];
+    }
+
+    /** Constructs a <code>MappedFileSeekableStream</code> from a <code>FileChannel</code> open for reading. */
+    public MappedFileSeekableStream(FileChannel channel) throws IOException {
+        this(channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    /** Constructs a <code>MappedFileSeekableStream</code> from a <code>RandomAccessFile</code>. */
+    public MappedFileSeekableStream(RandomAccessFile file) throws IOException {
+        this(file.getChannel());
+    }
+
+    /** Constructs a <code>MappedFileSeekableStream</code> from a <code>File</code>. */
+    public MappedFileSeekableStream(File file) throws IOException {
+        this(new RandomAccessFile(file, "r"));
+    }
+
+    /** Constructs a <code>MappedFileSeekableStream</code> from a <code>String</code> path name. */
+    public MappedFileSeekableStream(String name) throws IOException {
+        this(new RandomAccessFile(name, "r"));
+    }
+
+    /** Returns true since seeking backwards is supported. */
+    public final boolean canSeekBackwards() {
+        return true;
+    }
+
+    /** Returns the length of the mapped file. */
+    public final long length() {
+        return length;
+    }
+
+    /**
+     * Returns the current offset in this stream.
+     *
+     * @return the offset from the beginning of the stream, in bytes, at which the next read occurs.
+     * @exception IOException if an I/O error occurs.
+     */
+    public final long getFilePointer() throws IOException {
+        return pointer;
+    }
+
+    public final void seek(long pos) throws IOException {
+        if (pos < 0) {
+            throw new IOException(JaiI18N.getString("MappedFileSeekableStream0"));
+        }
+        pointer = pos;
+    }
+
+    public final int skip(int n) throws IOException {
+        pointer += n;
+        return n;
+    }
+
+    /** Returns the number of bytes remaining in the file. */
+    public final int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, length - pointer));
+    }
+
+    /** Returns the window of the given index, mapping it on first access. */
+    private MappedByteBuffer getWindow(int index) throws IOException {
+        if (windows == null) {
+            throw new IOException(JaiI18N.getString("MappedFileSeekableStream2"));
+        }
+        MappedByteBuffer buffer = windows[index];
+        if (buffer == null) {
+            long start = (long) index * windowSize;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, length - start));
+            windows[index] = buffer;
+        }
+        return buffer;
+    }
+
+    private void selectWindow(long pos) throws IOException {
+        int index = (int) (pos / windowSize);
+        window = getWindow(index);
+        windowStart = (long) index * windowSize;
+        windowEnd = windowStart + window.capacity();
+    }
+
+    /** Reads a byte from the mapped file. */
+    public final int read() throws IOException {
+        if (pointer >= length) {
+            return -1;
+        }
+        if (pointer < windowStart || pointer >= windowEnd) {
+            selectWindow(pointer);
+        }
+        return window.get((int) (pointer++ - windowStart)) & 0xff;
+    }
+
+    /** Copies bytes from the mapped file, up to the end of the current window. */
+    public final int read(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if ((off < 0) || (len < 0) || (off + len > b.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        len = (int) Math.min((long) len, length - pointer);
+        if (len <= 0) {
+            return -1;
+        }
+        if (pointer < windowStart || pointer >= windowEnd) {
+            selectWindow(pointer);
+        }
+        len = (int) Math.min(len, windowEnd - pointer);
+        window.get((int) (pointer - windowStart), b, off, len);
+        pointer += len;
+        return len;
+    }
+
+    /**
+     * Returns a read-only, big endian <code>ByteBuffer</code> holding <code>len</code> bytes of the file starting at
+     * <code>pos</code>, or less at the end of the file. The stream pointer is not moved.
+     *
+     * <p>The returned buffer shares the mapped pages unless the range spans two windows, in which case its content is
+     * copied.
+     *
+     * @exception IOException if <code>pos</code> or <code>len</code> is negative or if an I/O error occurs.
+     */
+    public ByteBuffer getByteBuffer(long pos, int len) throws IOException {
+        if (pos < 0 || len < 0) {
+            throw new IOException(JaiI18N.getString("MappedFileSeekableStream0"));
+        }
+        len = (int) Math.max(0L, Math.min((long) len, length - pos));
+        if (len == 0) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+
+        int index = (int) (pos / windowSize);
+        int start = (int) (pos - (long) index * windowSize);
+        MappedByteBuffer buffer = getWindow(index);
+        if (start + len <= buffer.capacity()) {
+            return buffer.slice(start, len).asReadOnlyBuffer();
+        }
+
+        // Spans windows
+        byte[] data = new byte[len];
+        for (int n = 0; n < len; index++, start = 0) {
+            buffer = getWindow(index);
+            int count = Math.min(len - n, buffer.capacity() - start);
+            buffer.get(start, data, n, count);
+            n += count;
+        }
+        return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the next <code>len</code> bytes of the file, or less at the end of the file, as a read-only big endian
+     * <code>ByteBuffer</code>, and advances the stream pointer past them.
+     *
+     * @see #getByteBuffer(long, int)
+     */
+    public ByteBuffer readByteBuffer(int len) throws IOException {
+        ByteBuffer buffer = getByteBuffer(pointer, len);
+        pointer += buffer.remaining();
+        return buffer;
+    }
+
+    /** Closes the underlying channel, the mapped windows are released once no longer referenced. */
+    public final void close() throws IOException {
+        windows = null;
+        window = null;
+        windowEnd = -1L;
+        channel.close();
+    }
+
+    /** Marks the current file position for later return using the <code>reset()</code> method. */
+    public final synchronized void mark(int readLimit) {
+        markPos = pointer;
+    }
+
+    /**
+     * Returns the file position to its position at the time of the immediately previous call to the <code>mark()</code>
+     * method.
+     */
+    public final synchronized void reset() throws IOException {
+        if (markPos != -1) {
+            pointer = markPos;
+        }
+    }
+
+    /** Returns <code>true</code> since marking is supported. */
+    public boolean markSupported() {
+        return true;
+    }
+}
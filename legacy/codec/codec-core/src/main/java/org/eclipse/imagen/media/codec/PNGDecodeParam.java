@@ -36,7 +36,7 @@ package org.eclipse.imagen.media.codec;
  * </code> is used which simply extracts the red, green, blue, gray, and/or alpha information from separate <code>
  * DataBuffer</code> entries.
  *
- * <p>Five aspects of this process may be altered by means of methods in this class.
+ * <p>Six aspects of this process may be altered by means of methods in this class.
  *
  * <p><code>setSuppressAlpha()</code> prevents an alpha channel from appearing in the output.
  *
@@ -51,6 +51,9 @@ package org.eclipse.imagen.media.codec;
  * <p><code>setExpandGrayAlpha()</code> causes 2-channel gray/alpha (GA) images to be output as full-color (GGGA)
  * images, which may simplify further processing and display.
  *
+ * <p><code>setTileHeight()</code> causes large non-interlaced images to be decoded on demand, in strips of the given
+ * height, instead of being decoded as a whole when the image is created.
+ *
  * <p><b> This class is not a committed part of the ImageN API. It may be removed or changed in future releases of
  * ImageN.</b>
  */
@@ -241,6 +244,53 @@ public class PNGDecodeParam implements ImageDecodeParam {
         this.expandGrayAlpha = expandGrayAlpha;
     }
 
+    private int tileHeight = 0;
+
+    /** Returns the height of the strips in which the image is decoded, or 0 if it is decoded as a single tile. */
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * Sets the height of the strips in which non-interlaced images are decoded. With a positive height, the decoded
+     * image has tiles as wide as the image and <code>tileHeight</code> rows tall, which are only decoded when
+     * requested. The state of the decompressor is recorded at strip boundaries so that strips may be requested in any
+     * order, and only the most recently used strips are kept in memory, see <code>setTileCacheSize()</code>. When the
+     * image is read from a <code>SeekableStream</code> that can seek backwards, the compressed data is read again from
+     * the stream rather than kept in memory.
+     *
+     * <p>Interlaced images are always decoded as a single tile. By default, the tile height is 0 and the whole image is
+     * decoded as a single tile.
+     *
+     * @throws IllegalArgumentException if <code>tileHeight</code> is negative.
+     */
+    public void setTileHeight(int tileHeight) {
+        if (tileHeight < 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("PNGDecodeParam2"));
+        }
+        this.tileHeight = tileHeight;
+    }
+
+    private int tileCacheSize = 4;
+
+    /** Returns the maximum number of decoded strips kept in memory. */
+    public int getTileCacheSize() {
+        return tileCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of decoded strips kept in memory when the image is decoded in strips. The least recently
+     * used strips are discarded first, and decoded again if requested. The default value is 4.
+     *
+     * @throws IllegalArgumentException if <code>tileCacheSize</code> is not positive.
+     */
+    public void setTileCacheSize(int tileCacheSize) {
+        if (tileCacheSize <= 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("PNGDecodeParam3"));
+        }
+        this.tileCacheSize = tileCacheSize;
+    }
+
     private boolean generateEncodeParam = false;
 
     private PNGEncodeParam encodeParam = null;
@@ -518,6 +518,50 @@ public abstract class PNGEncodeParam implements ImageEncodeParam {
         return useInterlacing;
     }
 
+    private int compressionLevel = 9;
+
+    /**
+     * Sets the level of the compression of the image data, from 0 (no compression) to 9 (best compression). Lower
+     * levels compress faster at the expense of larger files. The default level is 9.
+     *
+     * @throws IllegalArgumentException if <code>compressionLevel</code> is not between 0 and 9.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException(JaiI18N.getString("PNGEncodeParam25"));
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /** Returns the level of the compression of the image data. */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    private int numThreads = 1;
+
+    /**
+     * Sets the number of threads filtering and compressing the image data. The default is 1.
+     *
+     * <p>With more than one thread, the rows of a non interlaced image are split into bands which are filtered and
+     * compressed concurrently, each band using the end of the previous one as preset dictionary. The resulting file is
+     * slightly larger than the one written by a single thread, but decodes to the same pixels. The <code>filterRow
+     * </code> method is then called concurrently, and must be thread safe if overridden.
+     *
+     * @throws IllegalArgumentException if <code>numThreads</code> is not positive.
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException(JaiI18N.getString("PNGEncodeParam26"));
+        }
+        this.numThreads = numThreads;
+    }
+
+    /** Returns the number of threads filtering and compressing the image data. */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
     // bKGD chunk - delegate to subclasses
 
     // In ImageN 1.0, 'backgroundSet' was private.  The JDK 1.2 compiler
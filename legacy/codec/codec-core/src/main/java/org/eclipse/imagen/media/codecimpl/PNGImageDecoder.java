@@ -34,8 +34,13 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.Vector;
 import java.util.zip.Inflater;
@@ -44,6 +49,7 @@ import org.eclipse.imagen.media.codec.ImageCodec;
 import org.eclipse.imagen.media.codec.ImageDecoderImpl;
 import org.eclipse.imagen.media.codec.PNGDecodeParam;
 import org.eclipse.imagen.media.codec.PNGEncodeParam;
+import org.eclipse.imagen.media.codec.SeekableStream;
 import org.eclipse.imagen.media.codecimpl.util.ImagingException;
 
 /** @since EA3 */
@@ -311,6 +317,94 @@ class PNGImage extends SimpleRenderedImage {
 
     private WritableRaster theTile;
 
+    // Decoding in strips, see PNGDecodeParam.setTileHeight()
+
+    /** Upper bound of the memory used by the strip checkpoints. */
+    private static final long MAX_CHECKPOINT_MEMORY = 16 << 20;
+
+    private int stripHeight;
+    private int stripCacheSize;
+
+    /** The stream the IDAT chunks are read again from, <code>null</code> if their data is kept in memory. */
+    private SeekableStream stripStream;
+
+    private List<Long> idatPositions;
+    private List<byte[]> idatData;
+    private List<Integer> idatLengths;
+
+    private PNGInflater.Input idatInput;
+
+    private int outputDepth;
+    private int outputScanlineStride;
+
+    /** Decoder state at the start of every <code>checkpointInterval</code> strip, once reached. */
+    private StripCheckpoint[] checkpoints;
+
+    private int checkpointInterval;
+
+    /** The decompressor positioned at the start of <code>nextStrip</code>, and the unfiltered row preceding it. */
+    private PNGInflater inflater;
+
+    private int nextStrip;
+    private byte[] priorRow;
+
+    private Map<Integer, Raster> strips;
+
+    private static final class StripCheckpoint {
+        final PNGInflater.Checkpoint state;
+        final byte[] priorRow;
+
+        StripCheckpoint(PNGInflater.Checkpoint state, byte[] priorRow) {
+            this.state = state;
+            this.priorRow = priorRow;
+        }
+    }
+
+    /** The concatenated IDAT data, either held in memory or read from the stream. */
+    private static final class IDATInput implements PNGInflater.Input {
+        private final long[] offsets;
+        private final long[] positions;
+        private final byte[][] data;
+        private final SeekableStream stream;
+
+        IDATInput(List<Integer> lengths, List<Long> positions, List<byte[]> data, SeekableStream stream) {
+            int n = lengths.size();
+            offsets = new long[n + 1];
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] = offsets[i] + lengths.get(i);
+            }
+            this.positions = new long[n];
+            for (int i = 0; positions != null && i < n; i++) {
+                this.positions[i] = positions.get(i);
+            }
+            this.data = data == null ? null : data.toArray(new byte[n][]);
+            this.stream = stream;
+        }
+
+        public int read(long position, byte[] b, int off, int len) throws IOException {
+            if (position >= offsets[offsets.length - 1]) {
+                return -1;
+            }
+            int chunk = Arrays.binarySearch(offsets, position);
+            chunk = chunk >= 0 ? chunk : -chunk - 2;
+            // Skip empty chunks
+            while (offsets[chunk + 1] == position) {
+                chunk++;
+            }
+            int start = (int) (position - offsets[chunk]);
+            int count = (int) Math.min(len, offsets[chunk + 1] - position);
+            if (data != null) {
+                System.arraycopy(data[chunk], start, b, off, count);
+                return count;
+            }
+            synchronized (stream) {
+                stream.seek(positions[chunk] + start);
+                stream.readFully(b, off, count);
+            }
+            return count;
+        }
+    }
+
     private int[] gammaLut = null;
 
     private void initGammaLut(int bits) {
@@ -384,6 +478,11 @@ class PNGImage extends SimpleRenderedImage {
             output8BitGray = true;
         }
         this.generateEncodeParam = decodeParam.getGenerateEncodeParam();
+        this.stripHeight = decodeParam.getTileHeight();
+        this.stripCacheSize = decodeParam.getTileCacheSize();
+        if (stripHeight > 0 && stream instanceof SeekableStream && ((SeekableStream) stream).canSeekBackwards()) {
+            stripStream = (SeekableStream) stream;
+        }
 
         if (emitProperties) {
             properties.put("file_type", "PNG v. 1.0");
@@ -417,8 +516,12 @@ class PNGImage extends SimpleRenderedImage {
                     chunk = readChunk(distream);
                     parse_PLTE_chunk(chunk);
                 } else if (chunkType.equals("IDAT")) {
-                    chunk = readChunk(distream);
-                    streamVec.add(new ByteArrayInputStream(chunk.getData()));
+                    if (stripHeight > 0 && interlaceMethod == 0) {
+                        readStripData(distream);
+                    } else {
+                        chunk = readChunk(distream);
+                        streamVec.add(new ByteArrayInputStream(chunk.getData()));
+                    }
                 } else if (chunkType.equals("IEND")) {
                     chunk = readChunk(distream);
                     parse_IEND_chunk(chunk);
@@ -533,6 +636,31 @@ class PNGImage extends SimpleRenderedImage {
         }
     }
 
+    /** Records an IDAT chunk of an image decoded in strips, skipping over its data if it can be read again later. */
+    private void readStripData(DataInputStream distream) throws IOException {
+        if (idatLengths == null) {
+            idatLengths = new ArrayList<>();
+            if (stripStream != null) {
+                idatPositions = new ArrayList<>();
+            } else {
+                idatData = new ArrayList<>();
+            }
+        }
+        int length = distream.readInt();
+        distream.readInt(); // type
+        if (stripStream != null) {
+            long position = stripStream.getFilePointer();
+            idatPositions.add(position);
+            stripStream.seek(position + length);
+        } else {
+            byte[] data = new byte[length];
+            distream.readFully(data);
+            idatData.add(data);
+        }
+        idatLengths.add(length);
+        distream.readInt(); // crc
+    }
+
     private void parse_IHDR_chunk(PNGChunk chunk) {
         tileWidth = width = chunk.getInt4(0);
         tileHeight = height = chunk.getInt4(4);
@@ -780,7 +908,17 @@ class PNGImage extends SimpleRenderedImage {
         int bytesPerRow = (outputBands * width * depth + 7) / 8;
         int scanlineStride = (depth == 16) ? (bytesPerRow / 2) : bytesPerRow;
 
-        theTile = createRaster(width, height, outputBands, scanlineStride, depth);
+        if (idatLengths != null) {
+            // Strips are decoded on demand
+            outputDepth = depth;
+            outputScanlineStride = scanlineStride;
+            tileHeight = Math.min(stripHeight, height);
+            sampleModel = createRaster(width, 1, outputBands, scanlineStride, depth)
+                    .getSampleModel()
+                    .createCompatibleSampleModel(width, tileHeight);
+        } else {
+            theTile = createRaster(width, height, outputBands, scanlineStride, depth);
+        }
 
         if (performGammaCorrection && (gammaLut == null)) {
             initGammaLut(bitDepth);
@@ -791,8 +929,12 @@ class PNGImage extends SimpleRenderedImage {
             initGrayLut(bitDepth);
         }
 
-        decodeImage(interlaceMethod == 1);
-        sampleModel = theTile.getSampleModel();
+        if (idatLengths != null) {
+            initStrips();
+        } else {
+            decodeImage(interlaceMethod == 1);
+            sampleModel = theTile.getSampleModel();
+        }
 
         if ((colorType == PNG_COLOR_PALETTE) && !expandPalette) {
             if (outputHasAlphaPalette) {
@@ -1224,10 +1366,14 @@ class PNGImage extends SimpleRenderedImage {
     }
 
     private WritableRaster createRaster(int width, int height, int bands, int scanlineStride, int bitDepth) {
+        return createRaster(width, height, bands, scanlineStride, bitDepth, new Point(0, 0));
+    }
+
+    private WritableRaster createRaster(
+            int width, int height, int bands, int scanlineStride, int bitDepth, Point origin) {
 
         DataBuffer dataBuffer;
         WritableRaster ras = null;
-        Point origin = new Point(0, 0);
         if ((bitDepth < 8) && (bands == 1)) {
             dataBuffer = new DataBufferByte(height * scanlineStride);
             ras = Raster.createPackedRaster(dataBuffer, width, height, bitDepth, origin);
@@ -1325,7 +1471,7 @@ class PNGImage extends SimpleRenderedImage {
 
         // Create an array suitable for holding one pixel
         int[] ps = src.getPixel(0, 0, (int[]) null);
-        int[] pd = dst.getPixel(0, 0, (int[]) null);
+        int[] pd = dst.getPixel(dst.getMinX(), dst.getMinY(), (int[]) null);
 
         dstX = xOffset;
         switch (process) {
@@ -1577,10 +1723,27 @@ class PNGImage extends SimpleRenderedImage {
             return;
         }
 
+        int bytesPerRow = (inputBands * passWidth * bitDepth + 7) / 8;
+        decodeRows(dataStream, imRas, new byte[bytesPerRow], xOffset, yOffset, xStep, yStep, passWidth, passHeight);
+    }
+
+    /**
+     * Reads <code>passHeight</code> filtered rows from <code>in</code>. <code>prior</code> holds the unfiltered row
+     * preceding the first one and is overwritten; the last unfiltered row is returned.
+     */
+    private byte[] decodeRows(
+            DataInputStream in,
+            WritableRaster imRas,
+            byte[] prior,
+            int xOffset,
+            int yOffset,
+            int xStep,
+            int yStep,
+            int passWidth,
+            int passHeight) {
         int bytesPerRow = (inputBands * passWidth * bitDepth + 7) / 8;
         int eltsPerRow = (bitDepth == 16) ? bytesPerRow / 2 : bytesPerRow;
         byte[] curr = new byte[bytesPerRow];
-        byte[] prior = new byte[bytesPerRow];
 
         // Create a 1-row tall Raster to hold the data
         WritableRaster passRow = createRaster(passWidth, 1, inputBands, eltsPerRow, bitDepth);
@@ -1600,8 +1763,8 @@ class PNGImage extends SimpleRenderedImage {
             // Read the filter type byte and a row of data
             int filter = 0;
             try {
-                filter = dataStream.read();
-                dataStream.readFully(curr, 0, bytesPerRow);
+                filter = in.read();
+                in.readFully(curr, 0, bytesPerRow);
             } catch (Exception e) {
                 ImagingListenerProxy.errorOccurred(JaiI18N.getString("PNGImageDecoder2"), e, this, false);
                 //                e.printStackTrace();
@@ -1645,6 +1808,7 @@ class PNGImage extends SimpleRenderedImage {
             prior = curr;
             curr = tmp;
         }
+        return prior;
     }
 
     private void decodeImage(boolean useInterlacing) {
@@ -1661,9 +1825,70 @@ class PNGImage extends SimpleRenderedImage {
         }
     }
 
+    private void initStrips() {
+        idatInput = new IDATInput(idatLengths, idatPositions, idatData, stripStream);
+        idatPositions = null;
+        idatData = null;
+        idatLengths = null;
+
+        // Space checkpoints out so that they never use more than MAX_CHECKPOINT_MEMORY
+        int numStrips = (height + tileHeight - 1) / tileHeight;
+        int rowBytes = (inputBands * width * bitDepth + 7) / 8;
+        long checkpointMemory = (long) numStrips * ((1 << 15) + rowBytes);
+        checkpointInterval = (int) Math.max(1, (checkpointMemory + MAX_CHECKPOINT_MEMORY - 1) / MAX_CHECKPOINT_MEMORY);
+
+        checkpoints = new StripCheckpoint[numStrips];
+        checkpoints[0] = new StripCheckpoint(new PNGInflater(idatInput).checkpoint(), new byte[rowBytes]);
+        strips = new LinkedHashMap<Integer, Raster>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<Integer, Raster> eldest) {
+                return size() > stripCacheSize;
+            }
+        };
+    }
+
+    private synchronized Raster getStrip(int strip) {
+        Raster raster = strips.get(strip);
+        if (raster != null) {
+            return raster;
+        }
+
+        // Resume from the closest checkpoint, unless the sequential decoder is closer
+        int start = strip - strip % checkpointInterval;
+        while (checkpoints[start] == null) {
+            start -= checkpointInterval;
+        }
+        if (inflater == null || nextStrip > strip || nextStrip < start) {
+            StripCheckpoint checkpoint = checkpoints[start];
+            inflater = new PNGInflater(idatInput, checkpoint.state);
+            priorRow = checkpoint.priorRow.clone();
+            nextStrip = start;
+        }
+
+        DataInputStream in = new DataInputStream(inflater);
+        do {
+            if (nextStrip % checkpointInterval == 0 && checkpoints[nextStrip] == null) {
+                checkpoints[nextStrip] = new StripCheckpoint(inflater.checkpoint(), priorRow.clone());
+            }
+            int y = nextStrip * tileHeight;
+            int rows = Math.min(tileHeight, height - y);
+            WritableRaster ras =
+                    createRaster(width, rows, outputBands, outputScanlineStride, outputDepth, new Point(0, y));
+            priorRow = decodeRows(in, ras, priorRow, 0, y, 1, 1, width, rows);
+            strips.put(nextStrip++, ras);
+            raster = ras;
+        } while (nextStrip <= strip);
+        return raster;
+    }
+
     // RenderedImage stuff
 
     public Raster getTile(int tileX, int tileY) {
+        if (idatInput != null) {
+            if (tileX != 0 || tileY < 0 || tileY >= checkpoints.length) {
+                throw new IllegalArgumentException(JaiI18N.getString("PNGImageDecoder17"));
+            }
+            return getStrip(tileY);
+        }
         if (tileX != 0 || tileY != 0) {
             // Error -- bad tile requested
             throw new IllegalArgumentException(JaiI18N.getString("PNGImageDecoder17"));
@@ -1673,5 +1898,12 @@ class PNGImage extends SimpleRenderedImage {
 
     public void dispose() {
         theTile = null;
+        if (idatInput != null) {
+            synchronized (this) {
+                strips.clear();
+                inflater = null;
+                priorRow = null;
+            }
+        }
     }
 }
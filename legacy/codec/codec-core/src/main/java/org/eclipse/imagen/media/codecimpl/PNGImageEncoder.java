@@ -18,6 +18,10 @@
 package org.eclipse.imagen.media.codecimpl;
 
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferUShort;
 import java.awt.image.IndexColorModel;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
@@ -28,10 +32,17 @@ import java.io.DataOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import org.eclipse.imagen.media.codec.ImageEncoderImpl;
@@ -320,130 +331,448 @@ public class PNGImageEncoder extends ImageEncoderImpl {
         return (val > maxValue) ? maxValue : val;
     }
 
-    private void encodePass(OutputStream os, Raster ras, int xOffset, int yOffset, int xSkip, int ySkip)
-            throws IOException {
-        int minX = ras.getMinX();
-        int minY = ras.getMinY();
-        int width = ras.getWidth();
-        int height = ras.getHeight();
-
-        xOffset *= numBands;
-        xSkip *= numBands;
-
+    /** Returns the number of bytes of a row of a pass, not counting the filter type byte. */
+    private int getBytesPerRow(int width, int xOffset, int xSkip) {
         int samplesPerByte = 8 / bitDepth;
-
         int numSamples = width * numBands;
-        int[] samples = new int[numSamples];
-
-        int pixels = (numSamples - xOffset + xSkip - 1) / xSkip;
+        int pixels = (numSamples - xOffset * numBands + xSkip * numBands - 1) / (xSkip * numBands);
         int bytesPerRow = pixels * numBands;
         if (bitDepth < 8) {
             bytesPerRow = (bytesPerRow + samplesPerByte - 1) / samplesPerByte;
         } else if (bitDepth == 16) {
             bytesPerRow *= 2;
         }
+        return bytesPerRow;
+    }
+
+    /**
+     * Packs the samples of a row into bytes, starting at index <code>bpp</code> of <code>row</code>.
+     *
+     * @param samples The samples of the row, pixel interleaved.
+     * @param numSamples The number of samples of the row.
+     * @param xOffset The index of the first sample to pack.
+     * @param xSkip The distance between the first samples of two packed pixels.
+     * @param row The destination row.
+     */
+    private void packRow(int[] samples, int numSamples, int xOffset, int xSkip, byte[] row) {
+        int samplesPerByte = 8 / bitDepth;
+        int maxValue = (1 << bitDepth) - 1;
+
+        if (compressGray) {
+            int shift = 8 - bitDepth;
+            for (int i = 0; i < numSamples; i++) {
+                samples[i] >>= shift;
+            }
+        }
+
+        int count = bpp; // leave first 'bpp' bytes zero
+        int pos = 0;
+        int tmp = 0;
+
+        switch (bitDepth) {
+            case 1:
+            case 2:
+            case 4:
+                // Image can only have a single band
+
+                int mask = samplesPerByte - 1;
+                for (int s = xOffset; s < numSamples; s += xSkip) {
+                    int val = clamp(samples[s] >> bitShift, maxValue);
+                    tmp = (tmp << bitDepth) | val;
+
+                    if ((pos++ & mask) == mask) {
+                        row[count++] = (byte) tmp;
+                        tmp = 0;
+                    }
+                }
+
+                // Left shift the last byte
+                if ((pos & mask) != 0) {
+                    // Fix 4655018: PNGImageEncoder doesn't correctly write some
+                    // bilevel images.
+                    // modify "pos" to "pos & mask" in the sentence below.
+                    tmp <<= (8 / bitDepth - (pos & mask)) * bitDepth;
+                    row[count++] = (byte) tmp;
+                }
+                break;
+
+            case 8:
+                for (int s = xOffset; s < numSamples; s += xSkip) {
+                    for (int b = 0; b < numBands; b++) {
+                        row[count++] = (byte) clamp(samples[s + b] >> bitShift, maxValue);
+                    }
+                }
+                break;
+
+            case 16:
+                for (int s = xOffset; s < numSamples; s += xSkip) {
+                    for (int b = 0; b < numBands; b++) {
+                        int val = clamp(samples[s + b] >> bitShift, maxValue);
+                        row[count++] = (byte) (val >> 8);
+                        row[count++] = (byte) (val & 0xff);
+                    }
+                }
+                break;
+        }
+    }
 
+    private void encodePass(OutputStream os, Raster ras, int xOffset, int yOffset, int xSkip, int ySkip)
+            throws IOException {
+        int minX = ras.getMinX();
+        int minY = ras.getMinY();
+        int width = ras.getWidth();
+        int height = ras.getHeight();
+
+        int bytesPerRow = getBytesPerRow(width, xOffset, xSkip);
         if (bytesPerRow == 0) {
             return;
         }
 
+        xOffset *= numBands;
+        xSkip *= numBands;
+
+        int numSamples = width * numBands;
+        int[] samples = new int[numSamples];
+
         currRow = new byte[bytesPerRow + bpp];
         prevRow = new byte[bytesPerRow + bpp];
 
         filteredRows = new byte[5][bytesPerRow + bpp];
 
-        int maxValue = (1 << bitDepth) - 1;
-
         for (int row = minY + yOffset; row < minY + height; row += ySkip) {
             ras.getPixels(minX, row, width, 1, samples);
+            packRow(samples, numSamples, xOffset, xSkip, currRow);
+
+            // Perform filtering
+            int filterType = param.filterRow(currRow, prevRow, filteredRows, bytesPerRow, bpp);
+
+            os.write(filterType);
+            os.write(filteredRows[filterType], bpp, bytesPerRow);
+
+            // Swap current and previous rows
+            byte[] swap = currRow;
+            currRow = prevRow;
+            prevRow = swap;
+        }
+    }
+
+    /**
+     * Reads the rows of a non interlaced image tile by tile. The bytes of 8 and 16 bit images whose tiles use a <code>
+     * ComponentSampleModel</code> are copied straight from the data of the tiles; other images go through <code>
+     * Raster.getPixels()</code>. Instances are not thread safe.
+     */
+    private final class RowReader {
+
+        private final int minX = image.getMinX();
+
+        private final int[] samples = new int[width * numBands];
+
+        private final int[] pixels = new int[width * numBands];
+
+        private final int[] bandList;
+
+        private int tileY = Integer.MIN_VALUE;
 
-            if (compressGray) {
-                int shift = 8 - bitDepth;
-                for (int i = 0; i < width; i++) {
-                    samples[i] >>= shift;
+        private Raster[] tiles;
+
+        private boolean direct;
+
+        RowReader() {
+            if (skipAlpha) {
+                bandList = new int[numBands];
+                for (int i = 0; i < numBands; i++) {
+                    bandList[i] = i;
                 }
+            } else {
+                bandList = null;
             }
+        }
 
-            int count = bpp; // leave first 'bpp' bytes zero
-            int pos = 0;
-            int tmp = 0;
-
-            switch (bitDepth) {
-                case 1:
-                case 2:
-                case 4:
-                    // Image can only have a single band
-
-                    int mask = samplesPerByte - 1;
-                    for (int s = xOffset; s < numSamples; s += xSkip) {
-                        int val = clamp(samples[s] >> bitShift, maxValue);
-                        tmp = (tmp << bitDepth) | val;
-
-                        if ((pos++ & mask) == mask) {
-                            currRow[count++] = (byte) tmp;
-                            tmp = 0;
-                        }
+        /** Reads a row of the image into <code>row</code>, starting at index <code>bpp</code>. */
+        void read(int y, byte[] row) {
+            int ty = Math.floorDiv(y - image.getTileGridYOffset(), image.getTileHeight());
+            if (ty != tileY) {
+                int tileWidth = image.getTileWidth();
+                int minTileX = Math.floorDiv(minX - image.getTileGridXOffset(), tileWidth);
+                int maxTileX = Math.floorDiv(minX + width - 1 - image.getTileGridXOffset(), tileWidth);
+                tiles = new Raster[maxTileX - minTileX + 1];
+                direct = true;
+                for (int i = 0; i < tiles.length; i++) {
+                    Raster tile = image.getTile(minTileX + i, ty);
+                    if (bandList != null) {
+                        tile = tile.createChild(
+                                tile.getMinX(),
+                                tile.getMinY(),
+                                tile.getWidth(),
+                                tile.getHeight(),
+                                tile.getMinX(),
+                                tile.getMinY(),
+                                bandList);
                     }
+                    tiles[i] = tile;
+                    direct &= isDirect(tile);
+                }
+                tileY = ty;
+            }
 
-                    // Left shift the last byte
-                    if ((pos & mask) != 0) {
-                        // Fix 4655018: PNGImageEncoder doesn't correctly write some
-                        // bilevel images.
-                        // modify "pos" to "pos & mask" in the sentence below.
-                        tmp <<= (8 / bitDepth - (pos & mask)) * bitDepth;
-                        currRow[count++] = (byte) tmp;
-                    }
-                    break;
+            for (Raster tile : tiles) {
+                int x0 = Math.max(minX, tile.getMinX());
+                int x1 = Math.min(minX + width, tile.getMinX() + tile.getWidth());
+                if (direct) {
+                    copyDirect(tile, x0, y, x1 - x0, row, bpp + (x0 - minX) * bpp);
+                } else {
+                    tile.getPixels(x0, y, x1 - x0, 1, pixels);
+                    System.arraycopy(pixels, 0, samples, (x0 - minX) * numBands, (x1 - x0) * numBands);
+                }
+            }
+            if (!direct) {
+                packRow(samples, samples.length, 0, numBands, row);
+            }
+        }
 
-                case 8:
-                    for (int s = xOffset; s < numSamples; s += xSkip) {
-                        for (int b = 0; b < numBands; b++) {
-                            currRow[count++] = (byte) clamp(samples[s + b] >> bitShift, maxValue);
-                        }
-                    }
-                    break;
+        /** Returns whether the bytes of the pixels of a tile can be copied straight from its data. */
+        private boolean isDirect(Raster tile) {
+            if (bitShift != 0 || compressGray || !(tile.getSampleModel() instanceof ComponentSampleModel)) {
+                return false;
+            }
+            DataBuffer db = tile.getDataBuffer();
+            return (bitDepth == 8
+                            && db instanceof DataBufferByte
+                            && tile.getSampleModel().getSampleSize(0) == 8)
+                    || (bitDepth == 16 && db instanceof DataBufferUShort);
+        }
 
-                case 16:
-                    for (int s = xOffset; s < numSamples; s += xSkip) {
-                        for (int b = 0; b < numBands; b++) {
-                            int val = clamp(samples[s + b] >> bitShift, maxValue);
-                            currRow[count++] = (byte) (val >> 8);
-                            currRow[count++] = (byte) (val & 0xff);
-                        }
+        /** Copies the bytes of the pixels of a row of a tile. */
+        private void copyDirect(Raster tile, int x, int y, int w, byte[] row, int offset) {
+            ComponentSampleModel sm = (ComponentSampleModel) tile.getSampleModel();
+            DataBuffer db = tile.getDataBuffer();
+            int dx = x - tile.getSampleModelTranslateX();
+            int dy = y - tile.getSampleModelTranslateY();
+            int pixelStride = sm.getPixelStride();
+            int[] bankIndices = sm.getBankIndices();
+            int[] bandOffsets = sm.getBandOffsets();
+
+            if (bitDepth == 8) {
+                boolean interleaved = pixelStride == numBands;
+                for (int b = 1; b < numBands; b++) {
+                    interleaved &= bankIndices[b] == bankIndices[0] && bandOffsets[b] == bandOffsets[0] + b;
+                }
+                if (interleaved) {
+                    byte[] data = ((DataBufferByte) db).getData(bankIndices[0]);
+                    int index = db.getOffsets()[bankIndices[0]] + sm.getOffset(dx, dy, 0);
+                    System.arraycopy(data, index, row, offset, w * numBands);
+                    return;
+                }
+                for (int b = 0; b < numBands; b++) {
+                    byte[] data = ((DataBufferByte) db).getData(bankIndices[b]);
+                    int index = db.getOffsets()[bankIndices[b]] + sm.getOffset(dx, dy, b);
+                    for (int i = 0, o = offset + b; i < w; i++, o += numBands, index += pixelStride) {
+                        row[o] = data[index];
                     }
+                }
+            } else {
+                for (int b = 0; b < numBands; b++) {
+                    short[] data = ((DataBufferUShort) db).getData(bankIndices[b]);
+                    int index = db.getOffsets()[bankIndices[b]] + sm.getOffset(dx, dy, b);
+                    for (int i = 0, o = offset + 2 * b; i < w; i++, o += bpp, index += pixelStride) {
+                        short value = data[index];
+                        row[o] = (byte) (value >> 8);
+                        row[o + 1] = (byte) value;
+                    }
+                }
+            }
+        }
+    }
+
+    /** The uncompressed size of the blocks of rows compressed concurrently. */
+    private static final int BLOCK_SIZE = 256 * 1024;
+
+    /** The size of the deflate window, used as preset dictionary for the next block. */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /** A block of rows, filtered and compressed as a raw deflate stream ending on a byte boundary. */
+    private static final class Block {
+
+        byte[] data;
+
+        int length;
+
+        int uncompressedLength;
+
+        int adler;
+    }
+
+    /** Filters the rows of a block into a byte array, filter type bytes included. */
+    private byte[] filterBlock(int firstRow, int numRows, int bytesPerRow) {
+        RowReader reader = new RowReader();
+        byte[] curr = new byte[bytesPerRow + bpp];
+        byte[] prev = new byte[bytesPerRow + bpp];
+        byte[][] scratch = new byte[5][bytesPerRow + bpp];
+
+        int minY = image.getMinY();
+        if (firstRow > 0) {
+            reader.read(minY + firstRow - 1, prev);
+        }
+        byte[] filtered = new byte[numRows * (bytesPerRow + 1)];
+        for (int r = 0, pos = 0; r < numRows; r++, pos += bytesPerRow + 1) {
+            reader.read(minY + firstRow + r, curr);
+            int filterType = param.filterRow(curr, prev, scratch, bytesPerRow, bpp);
+            filtered[pos] = (byte) filterType;
+            System.arraycopy(scratch[filterType], bpp, filtered, pos + 1, bytesPerRow);
+
+            byte[] swap = curr;
+            curr = prev;
+            prev = swap;
+        }
+        return filtered;
+    }
+
+    /**
+     * Compresses a filtered block, using the end of the previous block, if any, as preset dictionary. Each block but
+     * the last one ends with a sync flush, so that the concatenation of the blocks is a valid deflate stream.
+     */
+    private static Block deflateBlock(byte[] filtered, byte[] previous, int level, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (previous != null && level > 0) {
+                int length = Math.min(DICTIONARY_SIZE, previous.length);
+                deflater.setDictionary(previous, previous.length - length, length);
+            }
+            deflater.setInput(filtered);
+            if (last) {
+                deflater.finish();
+            }
+
+            Block block = new Block();
+            block.data = new byte[filtered.length / 2 + 64];
+            while (true) {
+                if (block.length == block.data.length) {
+                    block.data = Arrays.copyOf(block.data, block.data.length * 2);
+                }
+                int n = deflater.deflate(
+                        block.data,
+                        block.length,
+                        block.data.length - block.length,
+                        last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                block.length += n;
+                if (last ? deflater.finished() : block.length < block.data.length) {
                     break;
+                }
             }
 
-            // Perform filtering
-            int filterType = param.filterRow(currRow, prevRow, filteredRows, bytesPerRow, bpp);
+            Adler32 adler = new Adler32();
+            adler.update(filtered);
+            block.adler = (int) adler.getValue();
+            block.uncompressedLength = filtered.length;
+            return block;
+        } finally {
+            deflater.end();
+        }
+    }
 
-            os.write(filterType);
-            os.write(filteredRows[filterType], bpp, bytesPerRow);
+    /** Combines the Adler-32 checksums of two consecutive byte sequences, as done by zlib. */
+    static int combineAdler32(int adler1, int adler2, long length2) {
+        final int BASE = 65521;
+        long rem = length2 % BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % BASE;
+        sum1 += (adler2 & 0xffff) + BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xffff) + ((adler2 >>> 16) & 0xffff) + BASE - rem;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum1 >= BASE) sum1 -= BASE;
+        if (sum2 >= (BASE << 1)) sum2 -= (BASE << 1);
+        if (sum2 >= BASE) sum2 -= BASE;
+        return (int) (sum1 | (sum2 << 16));
+    }
 
-            // Swap current and previous rows
-            byte[] swap = currRow;
-            currRow = prevRow;
-            prevRow = swap;
+    /**
+     * Writes the image data of a non interlaced image, filtering and compressing blocks of rows concurrently in the
+     * manner of pigz, then concatenating the blocks, in order, into a single zlib stream.
+     */
+    private void writeConcurrentIDAT(IDATOutputStream ios, int numThreads) throws IOException {
+        int level = param.getCompressionLevel();
+        int bytesPerRow = getBytesPerRow(width, 0, 1);
+        int rowsPerBlock = Math.max(1, BLOCK_SIZE / (bytesPerRow + 1));
+        int numBlocks = (height + rowsPerBlock - 1) / rowsPerBlock;
+
+        // zlib header: deflate with a 32K window and the compression level as a hint
+        int cmf = 0x78;
+        int flg = (level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3) << 6;
+        flg += (31 - ((cmf << 8) + flg) % 31) % 31;
+        ios.write(cmf);
+        ios.write(flg);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, r -> {
+            Thread thread = new Thread(r, "PNGImageEncoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int adler = 1;
+            ArrayDeque<CompletableFuture<Block>> pending = new ArrayDeque<>();
+            CompletableFuture<byte[]> previous = null;
+            for (int b = 0; b < numBlocks; b++) {
+                int firstRow = b * rowsPerBlock;
+                int numRows = Math.min(rowsPerBlock, height - firstRow);
+                boolean last = b == numBlocks - 1;
+                CompletableFuture<byte[]> filtered =
+                        CompletableFuture.supplyAsync(() -> filterBlock(firstRow, numRows, bytesPerRow), executor);
+                pending.add(
+                        previous == null
+                                ? filtered.thenApplyAsync(f -> deflateBlock(f, null, level, last), executor)
+                                : filtered.thenCombineAsync(
+                                        previous, (f, p) -> deflateBlock(f, p, level, last), executor));
+                previous = filtered;
+
+                // Bound the number of blocks held in memory
+                while (pending.size() > 2 * numThreads || (last && !pending.isEmpty())) {
+                    Block block = pending.remove().join();
+                    ios.write(block.data, 0, block.length);
+                    adler = combineAdler32(adler, block.adler, block.uncompressedLength);
+                }
+            }
+
+            ios.write(adler >>> 24);
+            ios.write((adler >> 16) & 0xff);
+            ios.write((adler >> 8) & 0xff);
+            ios.write(adler & 0xff);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            executor.shutdownNow();
         }
     }
 
     private void writeIDAT() throws IOException {
         IDATOutputStream ios = new IDATOutputStream(dataOutput, 8192);
-        DeflaterOutputStream dos = new DeflaterOutputStream(ios, new Deflater(9));
-
-        // Future work - don't convert entire image to a Raster
-        Raster ras = image.getData();
 
-        if (skipAlpha) {
-            int numBands = ras.getNumBands() - 1;
-            int[] bandList = new int[numBands];
-            for (int i = 0; i < numBands; i++) {
-                bandList[i] = i;
-            }
-            ras = ras.createChild(0, 0, ras.getWidth(), ras.getHeight(), 0, 0, bandList);
+        if (!interlace && param.getNumThreads() > 1) {
+            writeConcurrentIDAT(ios, param.getNumThreads());
+            ios.flush();
+            return;
         }
 
+        DeflaterOutputStream dos = new DeflaterOutputStream(ios, new Deflater(param.getCompressionLevel()));
+
         if (interlace) {
+            // Future work - don't convert entire image to a Raster
+            Raster ras = image.getData();
+
+            if (skipAlpha) {
+                int numBands = ras.getNumBands() - 1;
+                int[] bandList = new int[numBands];
+                for (int i = 0; i < numBands; i++) {
+                    bandList[i] = i;
+                }
+                ras = ras.createChild(0, 0, ras.getWidth(), ras.getHeight(), 0, 0, bandList);
+            }
+
             // Interlacing pass 1
             encodePass(dos, ras, 0, 0, 8, 8);
             // Interlacing pass 2
@@ -459,7 +788,22 @@ public class PNGImageEncoder extends ImageEncoderImpl {
             // Interlacing pass 7
             encodePass(dos, ras, 0, 1, 1, 2);
         } else {
-            encodePass(dos, ras, 0, 0, 1, 1);
+            // Read the rows straight from the tiles rather than copying the whole image
+            RowReader reader = new RowReader();
+            int bytesPerRow = getBytesPerRow(width, 0, 1);
+            currRow = new byte[bytesPerRow + bpp];
+            prevRow = new byte[bytesPerRow + bpp];
+            filteredRows = new byte[5][bytesPerRow + bpp];
+            for (int row = image.getMinY(); row < image.getMinY() + height; row++) {
+                reader.read(row, currRow);
+                int filterType = param.filterRow(currRow, prevRow, filteredRows, bytesPerRow, bpp);
+                dos.write(filterType);
+                dos.write(filteredRows[filterType], bpp, bytesPerRow);
+
+                byte[] swap = currRow;
+                currRow = prevRow;
+                prevRow = swap;
+            }
         }
 
         dos.finish();
@@ -0,0 +1,435 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.codecimpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * A pure Java decoder for the zlib stream (RFC 1950/1951) held in the IDAT chunks of a PNG image.
+ *
+ * <p>Unlike <code>java.util.zip.Inflater</code>, the whole decoder state can be captured at any output position with
+ * <code>checkpoint()</code>, and a new decoder can resume from it later on. This is what allows the strips of a large
+ * image to be decoded on demand, in any order. The Adler-32 trailer of the stream is not verified.
+ */
+final class PNGInflater extends InputStream {
+
+    /** Random access to the concatenated content of the IDAT chunks. */
+    interface Input {
+
+        /**
+         * Reads up to <code>len</code> bytes starting at <code>position</code>, returning the number of bytes read or
+         * -1 past the end of the data.
+         */
+        int read(long position, byte[] b, int off, int len) throws IOException;
+    }
+
+    /** An immutable snapshot of the decoder state, which may be resumed any number of times. */
+    static final class Checkpoint {
+        private final long inputPosition;
+        private final long bitBuffer;
+        private final int bitCount;
+        private final int mode;
+        private final boolean lastBlock;
+        private final int storedLength;
+        private final Huffman lengthCodes;
+        private final Huffman distanceCodes;
+        private final int copyLength;
+        private final int copyDistance;
+        private final byte[] window;
+        private final long outputPosition;
+
+        private Checkpoint(PNGInflater inflater) {
+            inputPosition = inflater.bufferPosition + inflater.bufferIndex;
+            bitBuffer = inflater.bitBuffer;
+            bitCount = inflater.bitCount;
+            mode = inflater.mode;
+            lastBlock = inflater.lastBlock;
+            storedLength = inflater.storedLength;
+            lengthCodes = inflater.lengthCodes;
+            distanceCodes = inflater.distanceCodes;
+            copyLength = inflater.copyLength;
+            copyDistance = inflater.copyDistance;
+            window = inflater.outputPosition == 0 ? null : inflater.window.clone();
+            outputPosition = inflater.outputPosition;
+        }
+    }
+
+    /** A canonical Huffman code, with a lookup table for the codes of up to <code>FAST_BITS</code> bits. */
+    private static final class Huffman {
+        private final int[] count = new int[MAX_BITS + 1];
+        private final int[] symbol;
+        private final int[] fast = new int[1 << FAST_BITS];
+
+        Huffman(int[] lengths, int offset, int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                count[lengths[offset + i]]++;
+            }
+            int left = 1;
+            for (int len = 1; len <= MAX_BITS; len++) {
+                left = (left << 1) - count[len];
+                if (left < 0) {
+                    // Over-subscribed, incomplete codes are allowed
+                    throw corrupt();
+                }
+            }
+
+            int[] offsets = new int[MAX_BITS + 2];
+            for (int len = 1; len <= MAX_BITS; len++) {
+                offsets[len + 1] = offsets[len] + count[len];
+            }
+            symbol = new int[offsets[MAX_BITS + 1]];
+            for (int i = 0; i < n; i++) {
+                int len = lengths[offset + i];
+                if (len != 0) {
+                    symbol[offsets[len]++] = i;
+                }
+            }
+
+            // Codes are stored starting from their most significant bit, hence the reversed table index
+            Arrays.fill(fast, -1);
+            int code = 0;
+            int index = 0;
+            for (int len = 1; len <= FAST_BITS; len++) {
+                for (int i = 0; i < count[len]; i++) {
+                    int entry = (symbol[index++] << 4) | len;
+                    for (int j = Integer.reverse(code++) >>> (32 - len); j < fast.length; j += 1 << len) {
+                        fast[j] = entry;
+                    }
+                }
+                code <<= 1;
+            }
+        }
+    }
+
+    private static final int MAX_BITS = 15;
+
+    private static final int FAST_BITS = 9;
+
+    private static final int FAST_MASK = (1 << FAST_BITS) - 1;
+
+    private static final int WINDOW_SIZE = 1 << 15;
+
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    // Decoder modes
+    private static final int ZLIB_HEADER = 0;
+    private static final int BLOCK_HEADER = 1;
+    private static final int STORED = 2;
+    private static final int CODES = 3;
+    private static final int DONE = 4;
+
+    private static final int[] CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+    private static final int[] LENGTH_BASE = {
+        3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227,
+        258
+    };
+
+    private static final int[] LENGTH_EXTRA = {
+        0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0
+    };
+
+    private static final int[] DISTANCE_BASE = {
+        1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097,
+        6145, 8193, 12289, 16385, 24577
+    };
+
+    private static final int[] DISTANCE_EXTRA = {
+        0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13
+    };
+
+    private static final Huffman FIXED_LENGTH_CODES;
+
+    private static final Huffman FIXED_DISTANCE_CODES;
+
+    static {
+        int[] lengths = new int[288];
+        Arrays.fill(lengths, 0, 144, 8);
+        Arrays.fill(lengths, 144, 256, 9);
+        Arrays.fill(lengths, 256, 280, 7);
+        Arrays.fill(lengths, 280, 288, 8);
+        int[] distances = new int[30];
+        Arrays.fill(distances, 5);
+        try {
+            FIXED_LENGTH_CODES = new Huffman(lengths, 0, lengths.length);
+            FIXED_DISTANCE_CODES = new Huffman(distances, 0, distances.length);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Input input;
+
+    private final byte[] buffer = new byte[8192];
+    private long bufferPosition;
+    private int bufferIndex;
+    private int bufferLength;
+
+    private long bitBuffer;
+    private int bitCount;
+
+    private int mode;
+    private boolean lastBlock;
+    private int storedLength;
+    private Huffman lengthCodes;
+    private Huffman distanceCodes;
+    private int copyLength;
+    private int copyDistance;
+
+    private final byte[] window = new byte[WINDOW_SIZE];
+    private long outputPosition;
+
+    /** Creates a decoder positioned at the start of the zlib stream. */
+    PNGInflater(Input input) {
+        this.input = input;
+        this.mode = ZLIB_HEADER;
+    }
+
+    /** Creates a decoder resuming from a checkpoint taken on a decoder of the same input. */
+    PNGInflater(Input input, Checkpoint checkpoint) {
+        this.input = input;
+        bufferPosition = checkpoint.inputPosition;
+        bitBuffer = checkpoint.bitBuffer;
+        bitCount = checkpoint.bitCount;
+        mode = checkpoint.mode;
+        lastBlock = checkpoint.lastBlock;
+        storedLength = checkpoint.storedLength;
+        lengthCodes = checkpoint.lengthCodes;
+        distanceCodes = checkpoint.distanceCodes;
+        copyLength = checkpoint.copyLength;
+        copyDistance = checkpoint.copyDistance;
+        if (checkpoint.window != null) {
+            System.arraycopy(checkpoint.window, 0, window, 0, WINDOW_SIZE);
+        }
+        outputPosition = checkpoint.outputPosition;
+    }
+
+    /** Captures the current state of this decoder. */
+    Checkpoint checkpoint() {
+        return new Checkpoint(this);
+    }
+
+    private static IOException corrupt() {
+        return new IOException(JaiI18N.getString("PNGImageDecoder22"));
+    }
+
+    /** Loads one more byte into the bit buffer, returns <code>false</code> at the end of the input. */
+    private boolean fill() throws IOException {
+        if (bufferIndex == bufferLength) {
+            bufferPosition += bufferLength;
+            bufferIndex = 0;
+            bufferLength = Math.max(input.read(bufferPosition, buffer, 0, buffer.length), 0);
+            if (bufferLength == 0) {
+                return false;
+            }
+        }
+        bitBuffer |= (long) (buffer[bufferIndex++] & 0xff) << bitCount;
+        bitCount += 8;
+        return true;
+    }
+
+    private int bits(int n) throws IOException {
+        while (bitCount < n) {
+            if (!fill()) {
+                throw corrupt();
+            }
+        }
+        int value = (int) (bitBuffer & ((1L << n) - 1));
+        bitBuffer >>>= n;
+        bitCount -= n;
+        return value;
+    }
+
+    private int decode(Huffman codes) throws IOException {
+        while (bitCount < FAST_BITS && fill()) {
+            // Near the end of the input the table is looked up with fewer bits
+        }
+        int entry = codes.fast[(int) bitBuffer & FAST_MASK];
+        if (entry >= 0) {
+            int len = entry & 0xf;
+            if (len > bitCount) {
+                throw corrupt();
+            }
+            bitBuffer >>>= len;
+            bitCount -= len;
+            return entry >>> 4;
+        }
+
+        // Longer codes, decoded one bit at a time
+        int code = 0;
+        int first = 0;
+        int index = 0;
+        for (int len = 1; len <= MAX_BITS; len++) {
+            code |= bits(1);
+            int count = codes.count[len];
+            if (code - count < first) {
+                return codes.symbol[index + (code - first)];
+            }
+            index += count;
+            first = (first + count) << 1;
+            code <<= 1;
+        }
+        throw corrupt();
+    }
+
+    private void readDynamicCodes() throws IOException {
+        int numLengths = bits(5) + 257;
+        int numDistances = bits(5) + 1;
+        int numCodes = bits(4) + 4;
+        if (numLengths > 286 || numDistances > 30) {
+            throw corrupt();
+        }
+
+        int[] lengths = new int[numLengths + numDistances];
+        int[] codeLengths = new int[19];
+        for (int i = 0; i < numCodes; i++) {
+            codeLengths[CODE_LENGTH_ORDER[i]] = bits(3);
+        }
+        Huffman codes = new Huffman(codeLengths, 0, codeLengths.length);
+
+        int index = 0;
+        while (index < lengths.length) {
+            int symbol = decode(codes);
+            if (symbol < 16) {
+                lengths[index++] = symbol;
+                continue;
+            }
+            int len = 0;
+            int repeat;
+            if (symbol == 16) {
+                if (index == 0) {
+                    throw corrupt();
+                }
+                len = lengths[index - 1];
+                repeat = 3 + bits(2);
+            } else if (symbol == 17) {
+                repeat = 3 + bits(3);
+            } else {
+                repeat = 11 + bits(7);
+            }
+            if (index + repeat > lengths.length) {
+                throw corrupt();
+            }
+            Arrays.fill(lengths, index, index + repeat, len);
+            index += repeat;
+        }
+        if (lengths[256] == 0) {
+            // No end of block code
+            throw corrupt();
+        }
+
+        lengthCodes = new Huffman(lengths, 0, numLengths);
+        distanceCodes = new Huffman(lengths, numLengths, numDistances);
+    }
+
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == 1 ? b[0] & 0xff : -1;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            if (copyLength > 0) {
+                // Pending match, overlapping copies work byte by byte
+                int count = Math.min(copyLength, len - n);
+                int w = (int) outputPosition;
+                for (int i = 0; i < count; i++, w++) {
+                    byte value = window[(w - copyDistance) & WINDOW_MASK];
+                    window[w & WINDOW_MASK] = value;
+                    b[off + n++] = value;
+                }
+                outputPosition += count;
+                copyLength -= count;
+                continue;
+            }
+
+            switch (mode) {
+                case ZLIB_HEADER:
+                    int cmf = bits(8);
+                    int flg = bits(8);
+                    if ((cmf & 0x0f) != 8 || ((cmf << 8) | flg) % 31 != 0 || (flg & 0x20) != 0) {
+                        throw corrupt();
+                    }
+                    mode = BLOCK_HEADER;
+                    break;
+                case BLOCK_HEADER:
+                    if (lastBlock) {
+                        mode = DONE;
+                        break;
+                    }
+                    lastBlock = bits(1) == 1;
+                    int type = bits(2);
+                    if (type == 0) {
+                        bits(bitCount & 7);
+                        int length = bits(16);
+                        if (length != (~bits(16) & 0xffff)) {
+                            throw corrupt();
+                        }
+                        storedLength = length;
+                        mode = STORED;
+                    } else if (type == 1) {
+                        lengthCodes = FIXED_LENGTH_CODES;
+                        distanceCodes = FIXED_DISTANCE_CODES;
+                        mode = CODES;
+                    } else if (type == 2) {
+                        readDynamicCodes();
+                        mode = CODES;
+                    } else {
+                        throw corrupt();
+                    }
+                    break;
+                case STORED:
+                    while (storedLength > 0 && n < len) {
+                        byte value = (byte) bits(8);
+                        window[(int) outputPosition++ & WINDOW_MASK] = value;
+                        b[off + n++] = value;
+                        storedLength--;
+                    }
+                    if (storedLength == 0) {
+                        mode = BLOCK_HEADER;
+                    }
+                    break;
+                case CODES:
+                    while (n < len) {
+                        int symbol = decode(lengthCodes);
+                        if (symbol < 256) {
+                            window[(int) outputPosition++ & WINDOW_MASK] = (byte) symbol;
+                            b[off + n++] = (byte) symbol;
+                        } else if (symbol == 256) {
+                            mode = BLOCK_HEADER;
+                            break;
+                        } else {
+                            symbol -= 257;
+                            if (symbol >= LENGTH_BASE.length) {
+                                throw corrupt();
+                            }
+                            copyLength = LENGTH_BASE[symbol] + bits(LENGTH_EXTRA[symbol]);
+                            symbol = decode(distanceCodes);
+                            if (symbol >= DISTANCE_BASE.length) {
+                                throw corrupt();
+                            }
+                            copyDistance = DISTANCE_BASE[symbol] + bits(DISTANCE_EXTRA[symbol]);
+                            if (copyDistance > outputPosition) {
+                                throw corrupt();
+                            }
+                            break;
+                        }
+                    }
+                    break;
+                default:
+                    return n == 0 && len > 0 ? -1 : n;
+            }
+        }
+        return n;
+    }
+}
@@ -35,7 +35,7 @@ import java.util.jar.JarFile;
 public class PropertyUtil {
 
     private static Hashtable bundles = new Hashtable();
-    private static String propertiesDir = "org/eclipse/imagen/media/codec";
+    private static String propertiesDir = "org.eclipse.imagen";
 
     public static InputStream getFileFromClasspath(String path) throws IOException, FileNotFoundException {
         InputStream is;
@@ -132,7 +132,7 @@ public class PropertyUtil {
         return null;
     }
 
-    /** Get bundle from .properties files in org/eclipse/imagen/media/codec dir. */
+    /** Get bundle from .properties files in org.eclipse.imagen dir. */
     private static ResourceBundle getBundle(String packageName) {
         ResourceBundle bundle = null;
 
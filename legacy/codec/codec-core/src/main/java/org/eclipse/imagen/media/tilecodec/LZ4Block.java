@@ -0,0 +1,191 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.io.IOException;
+
+/**
+ * A pure Java compressor and decompressor for the LZ4 block format. The compressor is the greedy, single probe variant
+ * of the reference implementation: it favors speed over ratio, and its output can be decoded by any LZ4 block decoder.
+ */
+final class LZ4Block {
+
+    // Matches are at least this long
+    private static final int MIN_MATCH = 4;
+
+    // The last match must start at least this far from the end of the input
+    private static final int MF_LIMIT = 12;
+
+    // The last bytes of the input are always literals
+    private static final int LAST_LITERALS = 5;
+
+    private static final int MAX_DISTANCE = 65535;
+
+    private static final int HASH_LOG = 14;
+
+    // Inputs shorter than this are stored as a single literal run
+    private static final int MIN_LENGTH = MF_LIMIT + 1;
+
+    // Search acceleration: the step grows every 2^SKIP_TRIGGER misses
+    private static final int SKIP_TRIGGER = 6;
+
+    private LZ4Block() {}
+
+    /** Returns the maximum size of the compressed form of <code>length</code> bytes. */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xff) | ((b[i + 1] & 0xff) << 8) | ((b[i + 2] & 0xff) << 16) | (b[i + 3] << 24);
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static int writeLength(byte[] dst, int op, int length) {
+        while (length >= 255) {
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+
+    private static int writeLiterals(byte[] src, int anchor, int length, byte[] dst, int op, int matchToken) {
+        int token = op++;
+        if (length >= 15) {
+            dst[token] = (byte) (0xf0 | matchToken);
+            op = writeLength(dst, op, length - 15);
+        } else {
+            dst[token] = (byte) ((length << 4) | matchToken);
+        }
+        System.arraycopy(src, anchor, dst, op, length);
+        return op + length;
+    }
+
+    /**
+     * Compresses <code>length</code> bytes of <code>src</code> into <code>dst</code>, which must hold at least <code>
+     * maxCompressedLength(length)</code> bytes, and returns the compressed size.
+     */
+    static int compress(byte[] src, int length, byte[] dst) {
+        int op = 0;
+        int anchor = 0;
+        if (length >= MIN_LENGTH) {
+            // Positions are stored plus one so that 0 means empty
+            int[] table = new int[1 << HASH_LOG];
+            int matchLimit = length - MF_LIMIT;
+            int limit = length - LAST_LITERALS;
+            int ip = 0;
+            int misses = 1 << SKIP_TRIGGER;
+            while (ip < matchLimit) {
+                int sequence = readInt(src, ip);
+                int h = hash(sequence);
+                int ref = table[h] - 1;
+                table[h] = ip + 1;
+                if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip += misses++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+                misses = 1 << SKIP_TRIGGER;
+
+                while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < limit && src[ip + matchLength] == src[ref + matchLength]) {
+                    matchLength++;
+                }
+
+                int matchToken = Math.min(matchLength - MIN_MATCH, 15);
+                op = writeLiterals(src, anchor, ip - anchor, dst, op, matchToken);
+                int distance = ip - ref;
+                dst[op++] = (byte) distance;
+                dst[op++] = (byte) (distance >>> 8);
+                if (matchToken == 15) {
+                    op = writeLength(dst, op, matchLength - MIN_MATCH - 15);
+                }
+
+                ip += matchLength;
+                anchor = ip;
+                if (ip - 2 < matchLimit) {
+                    table[hash(readInt(src, ip - 2))] = ip - 2 + 1;
+                }
+            }
+        }
+        return writeLiterals(src, anchor, length - anchor, dst, op, 0);
+    }
+
+    /**
+     * Decompresses <code>srcLength</code> bytes of <code>src</code> starting at <code>srcOffset</code> into exactly
+     * <code>dst.length</code> bytes.
+     *
+     * @throws IOException if the compressed data is corrupt or does not decompress to <code>dst.length</code> bytes.
+     */
+    static void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst) throws IOException {
+        int ip = srcOffset;
+        int end = srcOffset + srcLength;
+        int op = 0;
+        try {
+            while (true) {
+                int token = src[ip++] & 0xff;
+
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xff;
+                        literals += b;
+                    } while (b == 255);
+                }
+                if (ip + literals > end || op + literals > dst.length) {
+                    throw new IOException(JaiI18N.getString("LZ4TileDecoder0"));
+                }
+                System.arraycopy(src, ip, dst, op, literals);
+                ip += literals;
+                op += literals;
+                if (ip == end) {
+                    break;
+                }
+
+                int distance = (src[ip++] & 0xff) | ((src[ip++] & 0xff) << 8);
+                int matchLength = token & 0xf;
+                if (matchLength == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xff;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = op - distance;
+                if (distance == 0 || ref < 0 || op + matchLength > dst.length) {
+                    throw new IOException(JaiI18N.getString("LZ4TileDecoder0"));
+                }
+                if (distance >= matchLength) {
+                    System.arraycopy(dst, ref, dst, op, matchLength);
+                    op += matchLength;
+                } else {
+                    // Overlapping copy, repeats the last distance bytes
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[op++] = dst[ref++];
+                    }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException(JaiI18N.getString("LZ4TileDecoder0"), e);
+        }
+        if (op != dst.length) {
+            throw new IOException(JaiI18N.getString("LZ4TileDecoder0"));
+        }
+    }
+}
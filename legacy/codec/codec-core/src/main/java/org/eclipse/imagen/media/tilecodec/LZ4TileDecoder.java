@@ -0,0 +1,131 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import org.eclipse.imagen.media.util.ImageUtil;
+import org.eclipse.imagen.tilecodec.TileCodecParameterList;
+import org.eclipse.imagen.tilecodec.TileDecoderImpl;
+import org.eclipse.imagen.util.ImagingListener;
+
+/**
+ * A concrete implementation of the <code>TileDecoderImpl</code> class for the lz4 tile codec.
+ *
+ * @see org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor
+ */
+public class LZ4TileDecoder extends TileDecoderImpl {
+
+    /**
+     * Constructs a <code>LZ4TileDecoder</code>. <code>LZ4TileDecoder</code> may throw a <code>
+     * IllegalArgumentException</code> if <code>param</code>'s <code>getParameterListDescriptor()</code> method does not
+     * return the same descriptor as that from the associated <code>TileCodecDescriptor</code>'s <code>
+     * getParameterListDescriptor</code> method for the "tileDecoder" registry mode.
+     *
+     * <p>If param is null, then the default parameter list for decoding as defined by the associated <code>
+     * TileCodecDescriptor</code>'s <code>getDefaultParameters()</code> method will be used for decoding. The parameters
+     * are ignored since the encoded stream records the filters used.
+     *
+     * @param input The <code>InputStream</code> to decode data from.
+     * @param param The object containing the tile decoding parameters.
+     * @throws IllegalArgumentException if input is null.
+     * @throws IllegalArgumentException if param is not appropriate.
+     */
+    public LZ4TileDecoder(InputStream input, TileCodecParameterList param) {
+        super("lz4", input, param);
+    }
+
+    /**
+     * Returns a <code>Raster</code> that contains the decoded contents of the <code>InputStream</code> associated with
+     * this <code>TileDecoder</code>.
+     *
+     * @throws IOException if an I/O error occurs while reading from the associated InputStream, or if the encoded data
+     *     is corrupt.
+     */
+    public Raster decode() throws IOException {
+
+        ObjectInputStream ois = new ObjectInputStream(inputStream);
+
+        try {
+            SampleModel sm = TileCodecUtils.deserializeSampleModel(ois.readObject());
+            int minX = ois.readInt();
+            int minY = ois.readInt();
+            int shuffle = ois.readInt();
+            int rowLength = ois.readInt();
+            int distance = ois.readInt();
+            int numBanks = ois.readInt();
+
+            int dataType = sm.getDataType();
+            int size = ShuffleFilter.getElementSize(dataType);
+            DataBuffer db = null;
+            byte[] compressed = null;
+            for (int b = 0; b < numBanks; b++) {
+                int length = ois.readInt();
+                int compressedLength = ois.readInt();
+                if (length < 0 || length % size != 0 || compressedLength < 0) {
+                    throw new IOException(JaiI18N.getString("LZ4TileDecoder0"));
+                }
+                if (compressed == null || compressed.length < compressedLength) {
+                    compressed = new byte[compressedLength];
+                }
+                ois.readFully(compressed, 0, compressedLength);
+                byte[] data = new byte[length];
+                LZ4Block.decompress(compressed, 0, compressedLength, data);
+
+                if (db == null) {
+                    db = createDataBuffer(dataType, length / size, numBanks);
+                }
+                ShuffleFilter.decode(data, LZ4TileEncoder.getBank(db, b), dataType, rowLength, distance, shuffle);
+            }
+            return Raster.createWritableRaster(sm, db, new Point(minX, minY));
+        } catch (ClassNotFoundException e) {
+            ImagingListener listener = ImageUtil.getImagingListener((RenderingHints) null);
+            listener.errorOccurred(JaiI18N.getString("ClassNotFound"), e, this, false);
+            return null;
+        } finally {
+            ois.close();
+        }
+    }
+
+    public Raster decode(Point location) throws IOException {
+        return decode();
+    }
+
+    private static DataBuffer createDataBuffer(int dataType, int size, int numBanks) throws IOException {
+        switch (dataType) {
+            case DataBuffer.TYPE_BYTE:
+                return new DataBufferByte(size, numBanks);
+            case DataBuffer.TYPE_USHORT:
+                return new DataBufferUShort(size, numBanks);
+            case DataBuffer.TYPE_SHORT:
+                return new DataBufferShort(size, numBanks);
+            case DataBuffer.TYPE_INT:
+                return new DataBufferInt(size, numBanks);
+            case DataBuffer.TYPE_FLOAT:
+                return new DataBufferFloat(size, numBanks);
+            case DataBuffer.TYPE_DOUBLE:
+                return new DataBufferDouble(size, numBanks);
+            default:
+                throw new IOException(JaiI18N.getString("LZ4TileDecoder0"));
+        }
+    }
+}
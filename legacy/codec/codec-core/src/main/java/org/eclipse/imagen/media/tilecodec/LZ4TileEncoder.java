@@ -0,0 +1,160 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.awt.Point;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor;
+import org.eclipse.imagen.tilecodec.TileCodecParameterList;
+import org.eclipse.imagen.tilecodec.TileEncoderImpl;
+
+/**
+ * A concrete implementation of the <code>TileEncoderImpl</code> class for the lz4 tile codec.
+ *
+ * @see LZ4TileCodecDescriptor
+ */
+public class LZ4TileEncoder extends TileEncoderImpl {
+
+    /**
+     * Constructs an <code>LZ4TileEncoder</code>.
+     *
+     * @param output The <code>OutputStream</code> to write encoded data to.
+     * @param param The object containing the tile encoding parameters.
+     * @throws IllegalArgumentException if param is not the appropriate Class type.
+     * @throws IllegalArgumentException is output is null.
+     */
+    public LZ4TileEncoder(OutputStream output, TileCodecParameterList param) {
+        super("lz4", output, param);
+    }
+
+    /**
+     * Encodes a <code>Raster</code> and writes the output to the <code>OutputStream</code> associated with this <code>
+     * TileEncoder</code>.
+     *
+     * @param ras the <code>Raster</code> to encode.
+     * @throws IOException if an I/O error occurs while writing to the OutputStream.
+     * @throws IllegalArgumentException if ras is null.
+     */
+    public void encode(Raster ras) throws IOException {
+        if (ras == null) throw new IllegalArgumentException(JaiI18N.getString("TileEncoder1"));
+
+        int shuffle = paramList.getIntParameter("shuffle");
+        boolean predictor = paramList.getIntParameter("predictor") == LZ4TileCodecDescriptor.PREDICTOR_HORIZONTAL;
+
+        ras = normalize(ras);
+        SampleModel sm = ras.getSampleModel();
+        DataBuffer db = ras.getDataBuffer();
+
+        // The layout of the rows in the banks, and the distance between consecutive samples of a band
+        int rowLength = 0;
+        int distance = 0;
+        if (sm instanceof ComponentSampleModel) {
+            rowLength = ((ComponentSampleModel) sm).getScanlineStride();
+            distance = ((ComponentSampleModel) sm).getPixelStride();
+        } else if (sm instanceof SinglePixelPackedSampleModel) {
+            rowLength = ((SinglePixelPackedSampleModel) sm).getScanlineStride();
+            distance = 1;
+        } else if (sm instanceof MultiPixelPackedSampleModel) {
+            rowLength = ((MultiPixelPackedSampleModel) sm).getScanlineStride();
+        }
+        if (!predictor) {
+            distance = 0;
+        }
+
+        ObjectOutputStream oos = new ObjectOutputStream(outputStream);
+        oos.writeObject(TileCodecUtils.serializeSampleModel(sm));
+        oos.writeInt(ras.getMinX());
+        oos.writeInt(ras.getMinY());
+        oos.writeInt(shuffle);
+        oos.writeInt(rowLength);
+        oos.writeInt(distance);
+        oos.writeInt(db.getNumBanks());
+
+        byte[] compressed = null;
+        for (int b = 0; b < db.getNumBanks(); b++) {
+            byte[] data = ShuffleFilter.encode(getBank(db, b), db.getDataType(), rowLength, distance, shuffle);
+            int max = LZ4Block.maxCompressedLength(data.length);
+            if (compressed == null || compressed.length < max) {
+                compressed = new byte[max];
+            }
+            int length = LZ4Block.compress(data, data.length, compressed);
+            oos.writeInt(data.length);
+            oos.writeInt(length);
+            oos.write(compressed, 0, length);
+        }
+        oos.close();
+    }
+
+    /** Returns the bank array of a standard <code>DataBuffer</code>. */
+    static Object getBank(DataBuffer db, int bank) {
+        if (db instanceof DataBufferByte) {
+            return ((DataBufferByte) db).getData(bank);
+        } else if (db instanceof DataBufferUShort) {
+            return ((DataBufferUShort) db).getData(bank);
+        } else if (db instanceof DataBufferShort) {
+            return ((DataBufferShort) db).getData(bank);
+        } else if (db instanceof DataBufferInt) {
+            return ((DataBufferInt) db).getData(bank);
+        } else if (db instanceof DataBufferFloat) {
+            return ((DataBufferFloat) db).getData(bank);
+        } else if (db instanceof DataBufferDouble) {
+            return ((DataBufferDouble) db).getData(bank);
+        }
+        throw new IllegalArgumentException(JaiI18N.getString("LZ4TileEncoder0"));
+    }
+
+    /**
+     * Returns a <code>Raster</code> with the content of <code>ras</code> whose <code>DataBuffer</code> has no offset
+     * and only holds the data of the raster, copying the data when <code>ras</code> is a child raster.
+     */
+    private static Raster normalize(Raster ras) {
+        SampleModel sm = ras.getSampleModel();
+        DataBuffer db = ras.getDataBuffer();
+        boolean standard = sm.getWidth() == ras.getWidth()
+                && sm.getHeight() == ras.getHeight()
+                && ras.getSampleModelTranslateX() == ras.getMinX()
+                && ras.getSampleModelTranslateY() == ras.getMinY()
+                && (db instanceof DataBufferByte
+                        || db instanceof DataBufferUShort
+                        || db instanceof DataBufferShort
+                        || db instanceof DataBufferInt
+                        || db instanceof DataBufferFloat
+                        || db instanceof DataBufferDouble);
+        int[] offsets = db.getOffsets();
+        for (int i = 0; standard && i < offsets.length; i++) {
+            standard = offsets[i] == 0 && db.getSize() == Array.getLength(getBank(db, i));
+        }
+        if (standard) {
+            return ras;
+        }
+
+        WritableRaster copy = Raster.createWritableRaster(
+                sm.createCompatibleSampleModel(ras.getWidth(), ras.getHeight()),
+                new Point(ras.getMinX(), ras.getMinY()));
+        copy.setRect(ras);
+        return copy;
+    }
+}
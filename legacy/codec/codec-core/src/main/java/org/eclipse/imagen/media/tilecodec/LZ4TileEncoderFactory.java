@@ -0,0 +1,95 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.awt.image.SampleModel;
+import java.io.OutputStream;
+import java.util.Vector;
+import org.eclipse.imagen.NegotiableCapability;
+import org.eclipse.imagen.NegotiableCollection;
+import org.eclipse.imagen.ParameterListDescriptorImpl;
+import org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor;
+import org.eclipse.imagen.tilecodec.TileCodecParameterList;
+import org.eclipse.imagen.tilecodec.TileEncoder;
+import org.eclipse.imagen.tilecodec.TileEncoderFactory;
+
+/**
+ * A factory for creating <code>LZ4TileEncoder</code>s.
+ *
+ * <p>This class stipulates that the capabilities of the <code>TileEncoder</code> be specified by implementing the
+ * <code>getEncodingCapability()</code> method.
+ *
+ * @see org.eclipse.imagen.NegotiableCapability
+ */
+public class LZ4TileEncoderFactory implements TileEncoderFactory {
+
+    /**
+     * Creates a <code>TileEncoder</code> capable of encoding a <code>Raster</code> with the specified <code>SampleModel
+     * </code> using the specified <code>TileCodecParameterList</code> containing the encoding parameters to the given
+     * <code>OutputStream</code>.
+     *
+     * <p>This method can return null if the <code>TileEncoder</code> is not capable of producing output for the given
+     * set of parameters. For example, if a <code>TileEncoder</code> is only capable of dealing with a <code>
+     * PixelInterleavedSampleModel</code>, and the supplied <code>SampleModel</code> is not an instance of <code>
+     * PixelInterleavedSampleModel</code>, null should be returned. The supplied <code>SampleModel</code> should be used
+     * to decide whether it can be encoded by this class, and is not needed to actually construct a <code>TileEncoder
+     * </code>.
+     *
+     * <p>If the supplied <code>TileCodecParameterList</code> is null, the default <code>TileCodecParameterList</code>
+     * for the supplied <code>SampleModel</code> from the <code>TileCodecDescriptor</code> will be used to create the
+     * encoder.
+     *
+     * <p>Exceptions thrown by the <code>TileEncoder</code> will be caught by this method and will not be propagated.
+     *
+     * @param output The <code>OutputStream</code> to write the encoded data to.
+     * @param paramList The <code>TileCodecParameterList</code> containing the encoding parameters.
+     * @param sampleModel The <code>SampleModel</code> of the encoded <code>Raster</code>s.
+     * @throws IllegalArgumentException if output is null.
+     */
+    public TileEncoder createEncoder(OutputStream output, TileCodecParameterList paramList, SampleModel sampleModel) {
+        if (output == null) throw new IllegalArgumentException(JaiI18N.getString("TileEncoder0"));
+
+        if (paramList == null) {
+            paramList = TileCodecUtils.getTileCodecDescriptor("tileEncoder", "lz4")
+                    .getDefaultParameters("tileEncoder", sampleModel);
+        }
+        return new LZ4TileEncoder(output, paramList);
+    }
+
+    /** Returns the capabilities of this <code>TileEncoder</code> as a <code>NegotiableCapability</code>. */
+    public NegotiableCapability getEncodeCapability() {
+
+        Vector generators = new Vector();
+        generators.add(LZ4TileEncoderFactory.class);
+
+        NegotiableCollection shuffle = new NegotiableCollection(new Integer[] {
+            LZ4TileCodecDescriptor.SHUFFLE_BYTE, LZ4TileCodecDescriptor.SHUFFLE_BIT, LZ4TileCodecDescriptor.SHUFFLE_NONE
+        });
+        NegotiableCollection predictor = new NegotiableCollection(
+                new Integer[] {LZ4TileCodecDescriptor.PREDICTOR_HORIZONTAL, LZ4TileCodecDescriptor.PREDICTOR_NONE});
+
+        String[] paramNames = {"shuffle", "predictor"};
+        Class[] paramClasses = {NegotiableCollection.class, NegotiableCollection.class};
+        Object[] defaults = {shuffle, predictor};
+
+        NegotiableCapability capability = new NegotiableCapability(
+                "tileCodec",
+                "lz4",
+                generators,
+                new ParameterListDescriptorImpl(null, paramNames, paramClasses, defaults, null),
+                false);
+
+        // Set the negotiable parameters, the first value of each collection is the preferred one
+        capability.setParameter(paramNames[0], shuffle);
+        capability.setParameter(paramNames[1], predictor);
+
+        return capability;
+    }
+}
@@ -0,0 +1,227 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.awt.image.DataBuffer;
+import java.lang.reflect.Array;
+import org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor;
+
+/**
+ * The reversible filters applied to a bank of a <code>DataBuffer</code> before it is compressed by the "lz4" tile
+ * codec.
+ *
+ * <p>The horizontal predictor replaces every element with its difference to the element <code>distance</code> elements
+ * before it on the same row, computed on the raw bits of floating point values. The elements are then written as big
+ * endian bytes, either as they are, grouped by byte significance (byte shuffle), or grouped by bit significance within
+ * each group of bytes (bit shuffle). Both leave the slowly varying high order bits of neighbouring samples next to each
+ * other, which the LZ stage compresses well.
+ */
+final class ShuffleFilter {
+
+    private ShuffleFilter() {}
+
+    /** Returns the size in bytes of the elements of the given <code>DataBuffer</code> type. */
+    static int getElementSize(int dataType) {
+        return DataBuffer.getDataTypeSize(dataType) / 8;
+    }
+
+    /**
+     * Applies the filters to a bank and returns its bytes.
+     *
+     * @param bank the bank array, whose type matches <code>dataType</code>.
+     * @param rowLength the number of elements of a row, the predictor starts over on every row.
+     * @param distance the distance to the predicting element, 0 to disable the predictor.
+     * @param shuffle one of the <code>LZ4TileCodecDescriptor.SHUFFLE_*</code> constants.
+     */
+    static byte[] encode(Object bank, int dataType, int rowLength, int distance, int shuffle) {
+        int n = Array.getLength(bank);
+        int size = getElementSize(dataType);
+        byte[] out = new byte[n * size];
+        int planeStride = shuffle == LZ4TileCodecDescriptor.SHUFFLE_NONE ? 1 : n;
+        int elementStride = shuffle == LZ4TileCodecDescriptor.SHUFFLE_NONE ? size : 1;
+        int d = distance > 0 ? distance : Integer.MAX_VALUE;
+        int length = rowLength > 0 ? rowLength : n;
+
+        for (int row = 0; row < n; row += length) {
+            int end = Math.min(n, row + length);
+            int predicted = d < end - row ? row + d : end;
+            switch (dataType) {
+                case DataBuffer.TYPE_BYTE: {
+                    byte[] a = (byte[]) bank;
+                    for (int i = row; i < end; i++) {
+                        out[i * elementStride] = (byte) (i < predicted ? a[i] : a[i] - a[i - d]);
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_USHORT:
+                case DataBuffer.TYPE_SHORT: {
+                    short[] a = (short[]) bank;
+                    for (int i = row; i < end; i++) {
+                        int v = i < predicted ? a[i] : a[i] - a[i - d];
+                        int o = i * elementStride;
+                        out[o] = (byte) (v >>> 8);
+                        out[o + planeStride] = (byte) v;
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_INT:
+                case DataBuffer.TYPE_FLOAT: {
+                    int[] bits = dataType == DataBuffer.TYPE_INT ? (int[]) bank : null;
+                    float[] f = dataType == DataBuffer.TYPE_FLOAT ? (float[]) bank : null;
+                    for (int i = row; i < end; i++) {
+                        int v = bits != null ? bits[i] : Float.floatToRawIntBits(f[i]);
+                        if (i >= predicted) {
+                            v -= bits != null ? bits[i - d] : Float.floatToRawIntBits(f[i - d]);
+                        }
+                        int o = i * elementStride;
+                        out[o] = (byte) (v >>> 24);
+                        out[o + planeStride] = (byte) (v >>> 16);
+                        out[o + 2 * planeStride] = (byte) (v >>> 8);
+                        out[o + 3 * planeStride] = (byte) v;
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_DOUBLE: {
+                    double[] a = (double[]) bank;
+                    for (int i = row; i < end; i++) {
+                        long v = Double.doubleToRawLongBits(a[i]);
+                        if (i >= predicted) {
+                            v -= Double.doubleToRawLongBits(a[i - d]);
+                        }
+                        int o = i * elementStride;
+                        for (int b = 0; b < 8; b++, o += planeStride) {
+                            out[o] = (byte) (v >>> (56 - 8 * b));
+                        }
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException(JaiI18N.getString("LZ4TileEncoder0"));
+            }
+        }
+
+        if (shuffle == LZ4TileCodecDescriptor.SHUFFLE_BIT) {
+            byte[] shuffled = new byte[out.length];
+            for (int b = 0; b < size; b++) {
+                bitShuffle(out, shuffled, b * n, n, true);
+            }
+            out = shuffled;
+        }
+        return out;
+    }
+
+    /** Reverts <code>encode()</code>, writing the elements into <code>bank</code>. */
+    static void decode(byte[] in, Object bank, int dataType, int rowLength, int distance, int shuffle) {
+        int n = Array.getLength(bank);
+        int size = getElementSize(dataType);
+        if (shuffle == LZ4TileCodecDescriptor.SHUFFLE_BIT) {
+            byte[] unshuffled = new byte[in.length];
+            for (int b = 0; b < size; b++) {
+                bitShuffle(in, unshuffled, b * n, n, false);
+            }
+            in = unshuffled;
+        }
+        int planeStride = shuffle == LZ4TileCodecDescriptor.SHUFFLE_NONE ? 1 : n;
+        int elementStride = shuffle == LZ4TileCodecDescriptor.SHUFFLE_NONE ? size : 1;
+        int d = distance > 0 ? distance : Integer.MAX_VALUE;
+        int length = rowLength > 0 ? rowLength : n;
+
+        for (int row = 0; row < n; row += length) {
+            int end = Math.min(n, row + length);
+            int predicted = d < end - row ? row + d : end;
+            switch (dataType) {
+                case DataBuffer.TYPE_BYTE: {
+                    byte[] a = (byte[]) bank;
+                    for (int i = row; i < end; i++) {
+                        byte v = in[i * elementStride];
+                        a[i] = i < predicted ? v : (byte) (v + a[i - d]);
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_USHORT:
+                case DataBuffer.TYPE_SHORT: {
+                    short[] a = (short[]) bank;
+                    for (int i = row; i < end; i++) {
+                        int o = i * elementStride;
+                        int v = ((in[o] & 0xff) << 8) | (in[o + planeStride] & 0xff);
+                        a[i] = (short) (i < predicted ? v : v + a[i - d]);
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_INT:
+                case DataBuffer.TYPE_FLOAT: {
+                    int[] bits = dataType == DataBuffer.TYPE_INT ? (int[]) bank : null;
+                    float[] f = dataType == DataBuffer.TYPE_FLOAT ? (float[]) bank : null;
+                    for (int i = row; i < end; i++) {
+                        int o = i * elementStride;
+                        int v = (in[o] << 24)
+                                | ((in[o + planeStride] & 0xff) << 16)
+                                | ((in[o + 2 * planeStride] & 0xff) << 8)
+                                | (in[o + 3 * planeStride] & 0xff);
+                        if (bits != null) {
+                            bits[i] = i < predicted ? v : v + bits[i - d];
+                        } else {
+                            f[i] = Float.intBitsToFloat(i < predicted ? v : v + Float.floatToRawIntBits(f[i - d]));
+                        }
+                    }
+                    break;
+                }
+                case DataBuffer.TYPE_DOUBLE: {
+                    double[] a = (double[]) bank;
+                    for (int i = row; i < end; i++) {
+                        int o = i * elementStride;
+                        long v = 0;
+                        for (int b = 0; b < 8; b++, o += planeStride) {
+                            v = (v << 8) | (in[o] & 0xff);
+                        }
+                        if (i >= predicted) {
+                            v += Double.doubleToRawLongBits(a[i - d]);
+                        }
+                        a[i] = Double.longBitsToDouble(v);
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException(JaiI18N.getString("LZ4TileEncoder0"));
+            }
+        }
+    }
+
+    /**
+     * Transposes the bits of every group of 8 bytes of a byte plane, so that the bits of the same significance are
+     * stored together. The bytes of the last incomplete group are copied as they are.
+     */
+    private static void bitShuffle(byte[] src, byte[] dst, int offset, int n, boolean forward) {
+        int groups = n / 8;
+        for (int j = 0; j < groups; j++) {
+            long x = 0;
+            for (int i = 0; i < 8; i++) {
+                int index = forward ? offset + 8 * j + i : offset + i * groups + j;
+                x |= (src[index] & 0xffL) << (8 * i);
+            }
+            x = transpose8(x);
+            for (int i = 0; i < 8; i++) {
+                int index = forward ? offset + i * groups + j : offset + 8 * j + i;
+                dst[index] = (byte) (x >>> (8 * i));
+            }
+        }
+        System.arraycopy(src, offset + 8 * groups, dst, offset + 8 * groups, n - 8 * groups);
+    }
+
+    /** Transposes an 8x8 bit matrix held one row per byte, see Hacker's Delight 7-3. */
+    private static long transpose8(long x) {
+        long t = (x ^ (x >>> 7)) & 0x00AA00AA00AA00AAL;
+        x = x ^ t ^ (t << 7);
+        t = (x ^ (x >>> 14)) & 0x0000CCCC0000CCCCL;
+        x = x ^ t ^ (t << 14);
+        t = (x ^ (x >>> 28)) & 0x00000000F0F0F0F0L;
+        return x ^ t ^ (t << 28);
+    }
+}
@@ -0,0 +1,41 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.eclipse.imagen.spi.RegistryAllowListProvider;
+
+/**
+ * Allows the registry file of this module to register the "tileEncoder" and "tileDecoder" registry modes, and the tile
+ * codec descriptors and factories using them.
+ */
+public class TileCodecRegistryAllowListProvider implements RegistryAllowListProvider {
+
+    private static final Set<String> CLASSES = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(
+            "org.eclipse.imagen.registry.TileDecoderRegistryMode",
+            "org.eclipse.imagen.registry.TileEncoderRegistryMode",
+            "org.eclipse.imagen.tilecodec.GZIPTileCodecDescriptor",
+            "org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor",
+            "org.eclipse.imagen.tilecodec.RawTileCodecDescriptor",
+            "org.eclipse.imagen.media.tilecodec.GZIPTileDecoderFactory",
+            "org.eclipse.imagen.media.tilecodec.LZ4TileDecoderFactory",
+            "org.eclipse.imagen.media.tilecodec.RawTileDecoderFactory",
+            "org.eclipse.imagen.media.tilecodec.GZIPTileEncoderFactory",
+            "org.eclipse.imagen.media.tilecodec.LZ4TileEncoderFactory",
+            "org.eclipse.imagen.media.tilecodec.RawTileEncoderFactory")));
+
+    @Override
+    public Set<String> getAllowedRegistryClasses() {
+        return CLASSES;
+    }
+}
@@ -0,0 +1,226 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.tilecodec;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import org.eclipse.imagen.ParameterListDescriptor;
+import org.eclipse.imagen.ParameterListDescriptorImpl;
+import org.eclipse.imagen.util.Range;
+
+/**
+ * This class is the descriptor for the "LZ4" tile codec. This lossless codec scheme filters the banks of the tile
+ * <code>DataBuffer</code> with an optional horizontal predictor and byte or bit shuffle, and compresses them with the
+ * LZ4 block format. It trades some compression ratio against encoding and decoding speeds that are an order of
+ * magnitude above those of the "gzip" codec, and the filters make it much more effective than plain LZ compression on
+ * 16 bit, 32 bit and floating point data. The format name for the lz4 tile codec is "lz4". The encoded stream contains
+ * the <code>SampleModel</code> and the tile's upper left corner position, thus the <code>includesSampleModelInfo()
+ * </code> and <code>includesLocationInfo()</code> methods in this descriptor return true.
+ *
+ * <p>The parameters for the "tileDecoder" mode are read-only and are ignored, since the filters used to encode a tile
+ * are recorded in the encoded stream. <code>getDefaultParameters(String, SampleModel)</code> returns the filters best
+ * suited to the data type of a <code>SampleModel</code>: no shuffle for byte data, no filter at all for bit packed
+ * data, and the predictor with byte shuffle otherwise.
+ *
+ * <p>
+ *
+ * <table border=1>
+ * <caption>Resource List</caption>
+ * <tr><th>Name</th>        <th>Value</th></tr>
+ * <tr><td>Vendor</td>      <td>org.eclipse.imagen.media</td></tr>
+ * <tr><td>Description</td> <td>A descriptor to describe the lossless "lz4"
+ *                              codec scheme. </td></tr>
+ * <tr><td>Version</td>     <td>1.0</td></tr>
+ * <tr><td>shuffle</td>     <td>How the bytes of the data elements are
+ *                              reordered before compression, one of
+ *                              SHUFFLE_NONE, SHUFFLE_BYTE and
+ *                              SHUFFLE_BIT.</td></tr>
+ * <tr><td>predictor</td>   <td>PREDICTOR_HORIZONTAL to store the difference
+ *                              of every sample to the previous one of the
+ *                              same band on the row, PREDICTOR_NONE to
+ *                              store the samples as they are.</td></tr>
+ * </table>
+ *
+ * <p>
+ *
+ * <table border=1>
+ * <caption>Parameter List</caption>
+ * <tr><th>Name</th>          <th>Class Type</th>
+ *                            <th>Default Value</th></tr>
+ * <tr><td>shuffle</td>       <td>java.lang.Integer</td>
+ *                            <td>SHUFFLE_BYTE</td>
+ * <tr><td>predictor</td>     <td>java.lang.Integer</td>
+ *                            <td>PREDICTOR_HORIZONTAL</td>
+ * </table>
+ */
+public class LZ4TileCodecDescriptor extends TileCodecDescriptorImpl {
+
+    /** The data elements are stored as big endian bytes. */
+    public static final int SHUFFLE_NONE = 0;
+
+    /** The bytes of the data elements are grouped by significance. */
+    public static final int SHUFFLE_BYTE = 1;
+
+    /** The bits of the data elements are grouped by significance. */
+    public static final int SHUFFLE_BIT = 2;
+
+    /** The samples are stored as they are. */
+    public static final int PREDICTOR_NONE = 0;
+
+    /** The difference of every sample to the previous sample of the same band on the row is stored. */
+    public static final int PREDICTOR_HORIZONTAL = 1;
+
+    // Parameter names
+    private static final String[] paramNames = {"shuffle", "predictor"};
+
+    // Parameter class names
+    private static final Class[] paramClasses = {java.lang.Integer.class, java.lang.Integer.class};
+
+    // Parameter default values.
+    private static final Object[] paramDefaults = {SHUFFLE_BYTE, PREDICTOR_HORIZONTAL};
+
+    // Parameters' valid value ranges
+    private static final Object[] validParamValues = {
+        new Range(java.lang.Integer.class, SHUFFLE_NONE, SHUFFLE_BIT),
+        new Range(java.lang.Integer.class, PREDICTOR_NONE, PREDICTOR_HORIZONTAL)
+    };
+
+    private static ParameterListDescriptor paramListDescriptor =
+            new ParameterListDescriptorImpl(null, paramNames, paramClasses, paramDefaults, validParamValues);
+
+    /** Creates a <code>LZ4TileCodecDescriptor</code> */
+    public LZ4TileCodecDescriptor() {
+        super("lz4", true, true);
+    }
+
+    /**
+     * Returns a <code>TileCodecParameterList</code> valid for the specified modeName and compatible with the supplied
+     * <code>TileCodecParameterList</code>. For example, given a <code>TileCodecParameterList</code> used to encode a
+     * tile with the modeName being specified as "tileDecoder", this method will return a <code>TileCodecParameterList
+     * </code> sufficient to decode that same tile.
+     *
+     * @param modeName The registry mode to return a valid parameter list for.
+     * @param otherParamList The parameter list for which a compatible parameter list for the complementary modeName is
+     *     to be found.
+     * @throws IllegalArgumentException if <code>modeName</code> is null.
+     * @throws IllegalArgumentException if <code>modeName</code> is not one of the modes valid for this descriptor, i.e
+     *     those returned from the getSupportedNames() method.
+     * @throws IllegalArgumentException if <code>otherParamList</code> is null.
+     */
+    public TileCodecParameterList getCompatibleParameters(String modeName, TileCodecParameterList otherParamList) {
+        if (modeName == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodecDescriptorImpl1"));
+        }
+
+        if (otherParamList == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodecDescriptorImpl3"));
+        }
+
+        String name = getName();
+        if (!otherParamList.getFormatName().equals(name)) {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodec2"));
+        }
+
+        if (otherParamList.isValidForMode(modeName)) return otherParamList;
+
+        if (modeName.equalsIgnoreCase("tileDecoder")) {
+            return new TileCodecParameterList(
+                    name, new String[] {"tileDecoder"}, otherParamList.getParameterListDescriptor());
+        } else if (modeName.equalsIgnoreCase("tileEncoder")) {
+            return new TileCodecParameterList(
+                    name, new String[] {"tileEncoder"}, otherParamList.getParameterListDescriptor());
+        } else {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodec1"));
+        }
+    }
+
+    /**
+     * Returns the default parameters for the specified modeName as an instance of the <code>TileCodecParameterList
+     * </code>. If the supplied modeName is one of the valid mode names as ascertained from the <code>
+     * getSupportedNames()</code> method, this method returns the default parameters for that mode.
+     *
+     * @param modeName The mode to return the default parameters for.
+     * @throws IllegalArgumentException if <code>modeName</code> is null.
+     * @throws IllegalArgumentException if <code>modeName</code> is not one of the modes valid for this descriptor, i.e
+     *     those returned from the getSupportedNames() method.
+     */
+    public TileCodecParameterList getDefaultParameters(String modeName) {
+        if (modeName == null) throw new IllegalArgumentException(JaiI18N.getString("TileCodecDescriptorImpl1"));
+
+        String validNames[] = getSupportedModes();
+        boolean valid = false;
+
+        for (int i = 0; i < validNames.length; i++) {
+            if (modeName.equalsIgnoreCase(validNames[i])) {
+                valid = true;
+                break;
+            }
+        }
+
+        if (valid == false) {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodec1"));
+        }
+
+        return new TileCodecParameterList("lz4", new String[] {"tileDecoder", "tileEncoder"}, paramListDescriptor);
+    }
+
+    /**
+     * Returns the default parameters for the specified modeName as an instance of the <code>TileCodecParameterList
+     * </code>, with the filters best suited to the data type of the supplied <code>SampleModel</code>. The <code>
+     * SampleModel</code> itself is not added to the list since the encoded stream includes it.
+     *
+     * @param modeName The mode to return the default parameters for.
+     * @param sm The <code>SampleModel</code> of the tiles to encode, may be null.
+     * @throws IllegalArgumentException if <code>modeName</code> is null.
+     * @throws IllegalArgumentException if <code>modeName</code> is not one of the modes valid for this descriptor, i.e
+     *     those returned from the getSupportedNames() method.
+     */
+    public TileCodecParameterList getDefaultParameters(String modeName, SampleModel sm) {
+        TileCodecParameterList params = getDefaultParameters(modeName);
+        if (sm instanceof MultiPixelPackedSampleModel) {
+            params.setParameter("shuffle", SHUFFLE_NONE);
+            params.setParameter("predictor", PREDICTOR_NONE);
+        } else if (sm != null && sm.getDataType() == DataBuffer.TYPE_BYTE) {
+            params.setParameter("shuffle", SHUFFLE_NONE);
+        }
+        return params;
+    }
+
+    /**
+     * Returns the <code>ParameterListDescriptor</code> that describes the associated parameters (NOT sources). If the
+     * supplied modeName is one of the valid mode names as ascertained from the <code>getSupportedNames()</code> method,
+     * this method returns a non-null <code>ParameterListDescriptor</code> with the appropriate parameters.
+     *
+     * @param modeName The mode to return the ParameterListDescriptor for.
+     * @throws IllegalArgumentException if <code>modeName</code> is null.
+     * @throws IllegalArgumentException if <code>modeName</code> is not one of the modes valid for this descriptor, i.e
+     *     those returned from the getSupportedNames() method.
+     */
+    public ParameterListDescriptor getParameterListDescriptor(String modeName) {
+        if (modeName == null) throw new IllegalArgumentException(JaiI18N.getString("TileCodecDescriptorImpl1"));
+
+        String validNames[] = getSupportedModes();
+        boolean valid = false;
+
+        for (int i = 0; i < validNames.length; i++) {
+            if (modeName.equalsIgnoreCase(validNames[i])) {
+                valid = true;
+                break;
+            }
+        }
+
+        if (valid == false) {
+            throw new IllegalArgumentException(JaiI18N.getString("TileCodec1"));
+        }
+
+        return paramListDescriptor;
+    }
+}
@@ -0,0 +1,218 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests <code>MappedFileSeekableStream</code> with windows much smaller than the file. */
+public class MappedFileSeekableStreamTest {
+
+    private static final int WINDOW_SIZE = 7;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private byte[] content;
+
+    private MappedFileSeekableStream stream;
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7 + 3);
+        }
+        File file = folder.newFile("content.bin");
+        Files.write(file.toPath(), content);
+        stream = new MappedFileSeekableStream(FileChannel.open(file.toPath(), StandardOpenOption.READ), WINDOW_SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        stream.close();
+    }
+
+    @Test
+    public void testReadAcrossWindows() throws IOException {
+        assertEquals(content.length, stream.length());
+        for (int i = 0; i < content.length; i++) {
+            assertEquals(i, stream.getFilePointer());
+            assertEquals(content[i] & 0xff, stream.read());
+        }
+        assertEquals(-1, stream.read());
+
+        // A single read stops at the end of the window, readFully() carries on
+        stream.seek(5);
+        byte[] b = new byte[10];
+        assertEquals(2, stream.read(b, 0, 10));
+        assertEquals(7, stream.getFilePointer());
+        stream.seek(5);
+        stream.readFully(b);
+        assertArrayEquals(Arrays.copyOfRange(content, 5, 15), b);
+        assertEquals(15, stream.getFilePointer());
+
+        // Backwards across windows, and primitives spanning two windows
+        stream.seek(60);
+        byte[] all = new byte[content.length - 60];
+        stream.readFully(all);
+        assertArrayEquals(Arrays.copyOfRange(content, 60, content.length), all);
+        stream.seek(12);
+        assertEquals(ByteBuffer.wrap(content, 12, 4).getInt(), stream.readInt());
+        stream.seek(3);
+        assertEquals(ByteBuffer.wrap(content, 3, 8).getLong(), stream.readLong());
+
+        // read(byte[]) at the end of the file
+        stream.seek(98);
+        assertEquals(2, stream.read(b));
+        assertEquals(-1, stream.read(b));
+        assertEquals(0, stream.read(b, 0, 0));
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        // Within a window, the mapped pages are shared
+        ByteBuffer buffer = stream.getByteBuffer(8, 5);
+        assertTrue(buffer.isReadOnly());
+        assertTrue(buffer.isDirect());
+        assertBuffer(8, 5, buffer);
+
+        // Spanning three windows, the content is copied
+        buffer = stream.getByteBuffer(5, 12);
+        assertTrue(buffer.isReadOnly());
+        assertFalse(buffer.isDirect());
+        assertBuffer(5, 12, buffer);
+        assertBuffer(0, content.length, stream.getByteBuffer(0, Integer.MAX_VALUE));
+
+        // Clipped at the end of the file, empty past it
+        assertBuffer(95, 5, stream.getByteBuffer(95, 10));
+        assertEquals(0, stream.getByteBuffer(100, 10).remaining());
+        assertEquals(0, stream.getByteBuffer(500, 10).remaining());
+        assertEquals(0, stream.getFilePointer());
+
+        stream.seek(4);
+        assertBuffer(4, 20, stream.readByteBuffer(20));
+        assertEquals(24, stream.getFilePointer());
+        assertBuffer(24, 76, stream.readByteBuffer(200));
+        assertEquals(100, stream.getFilePointer());
+        assertEquals(0, stream.readByteBuffer(10).remaining());
+
+        try {
+            stream.getByteBuffer(-1, 10);
+            fail("A negative position should be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private void assertBuffer(int pos, int len, ByteBuffer buffer) {
+        assertEquals(len, buffer.remaining());
+        byte[] data = new byte[len];
+        buffer.get(data);
+        assertArrayEquals(Arrays.copyOfRange(content, pos, pos + len), data);
+    }
+
+    @Test
+    public void testSeekPastEnd() throws IOException {
+        stream.seek(150);
+        assertEquals(150, stream.getFilePointer());
+        assertEquals(0, stream.available());
+        assertEquals(-1, stream.read());
+        assertEquals(-1, stream.read(new byte[4], 0, 4));
+        assertEquals(150, stream.getFilePointer());
+
+        // The stream is still usable after seeking back
+        stream.seek(99);
+        assertEquals(1, stream.available());
+        assertEquals(content[99] & 0xff, stream.read());
+
+        try {
+            stream.seek(-1);
+            fail("A negative position should be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMarkReset() throws IOException {
+        assertTrue(stream.markSupported());
+        stream.seek(5);
+        stream.mark(0);
+        byte[] first = new byte[20];
+        stream.readFully(first);
+        stream.reset();
+        assertEquals(5, stream.getFilePointer());
+        byte[] second = new byte[20];
+        stream.readFully(second);
+        assertArrayEquals(first, second);
+
+        // Reset after a seek to another window
+        stream.seek(90);
+        stream.reset();
+        assertEquals(content[5] & 0xff, stream.read());
+    }
+
+    @Test
+    public void testClosed() throws IOException {
+        stream.seek(3);
+        stream.read();
+        stream.close();
+        try {
+            stream.read();
+            fail("Reading a closed stream should fail");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            stream.read(new byte[4], 0, 4);
+            fail("Reading a closed stream should fail");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            stream.getByteBuffer(50, 4);
+            fail("Reading a closed stream should fail");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBuffersOutliveStream() throws IOException {
+        ByteBuffer buffer = stream.getByteBuffer(15, 5);
+        stream.close();
+        assertBuffer(15, 5, buffer);
+
+        try (RandomAccessFile file = new RandomAccessFile(folder.newFile("empty.bin"), "r");
+                MappedFileSeekableStream empty = new MappedFileSeekableStream(file)) {
+            assertEquals(0, empty.length());
+            assertEquals(-1, empty.read());
+            assertEquals(0, empty.getByteBuffer(0, 10).remaining());
+        }
+    }
+}
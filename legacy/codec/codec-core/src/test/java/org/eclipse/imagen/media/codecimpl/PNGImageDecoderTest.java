@@ -0,0 +1,456 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.codecimpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.media.codec.ByteArraySeekableStream;
+import org.eclipse.imagen.media.codec.ForwardSeekableStream;
+import org.eclipse.imagen.media.codec.ImageCodec;
+import org.eclipse.imagen.media.codec.PNGDecodeParam;
+import org.eclipse.imagen.media.codec.PNGEncodeParam;
+import org.junit.Test;
+
+/**
+ * Tests the decoding of PNG images in strips, see <code>PNGDecodeParam.setTileHeight()</code>, against the decoding of
+ * the whole image.
+ *
+ * <p>The image data of the test files is recompressed into stored, fixed Huffman and dynamic Huffman deflate blocks,
+ * and split into IDAT chunks of various lengths, so that all the paths of <code>PNGInflater</code> are used.
+ */
+public class PNGImageDecoderTest {
+
+    private static final int[] LENGTH_BASE = {
+        3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227,
+        258
+    };
+
+    private static final int[] LENGTH_EXTRA = {
+        0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0
+    };
+
+    /** Writes bits in the order of a deflate stream. */
+    private static final class BitWriter {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int buffer;
+        int count;
+
+        void write(int value, int n) {
+            buffer |= value << count;
+            count += n;
+            while (count >= 8) {
+                out.write(buffer);
+                buffer >>>= 8;
+                count -= 8;
+            }
+        }
+
+        /** Writes a Huffman code, most significant bit first. */
+        void writeCode(int code, int n) {
+            write(Integer.reverse(code) >>> (32 - n), n);
+        }
+
+        void align() {
+            if (count > 0) {
+                write(0, 8 - count);
+            }
+        }
+    }
+
+    private static void writeFixedLiteral(BitWriter bits, int symbol) {
+        if (symbol < 144) {
+            bits.writeCode(0x30 + symbol, 8);
+        } else if (symbol < 256) {
+            bits.writeCode(0x190 + symbol - 144, 9);
+        } else if (symbol < 280) {
+            bits.writeCode(symbol - 256, 7);
+        } else {
+            bits.writeCode(0xc0 + symbol - 280, 8);
+        }
+    }
+
+    /** Writes a fixed Huffman block, with matches at distances of up to 8 bytes, reaching back into previous blocks. */
+    private static void writeFixedBlock(BitWriter bits, byte[] data, int start, int end) {
+        bits.write(0, 1);
+        bits.write(1, 2);
+        int i = start;
+        while (i < end) {
+            int bestLength = 0;
+            int bestDistance = 0;
+            for (int distance = 1; distance <= 8 && distance <= i; distance++) {
+                int length = 0;
+                while (length < 258 && i + length < end && data[i + length] == data[i + length - distance]) {
+                    length++;
+                }
+                if (length > bestLength) {
+                    bestLength = length;
+                    bestDistance = distance;
+                }
+            }
+            if (bestLength < 3) {
+                writeFixedLiteral(bits, data[i++] & 0xff);
+                continue;
+            }
+            int code = LENGTH_BASE.length - 1;
+            while (LENGTH_BASE[code] > bestLength) {
+                code--;
+            }
+            writeFixedLiteral(bits, 257 + code);
+            bits.write(bestLength - LENGTH_BASE[code], LENGTH_EXTRA[code]);
+            // Distance codes 0 to 3 are the distances 1 to 4, 4 and 5 have one extra bit
+            if (bestDistance <= 4) {
+                bits.writeCode(bestDistance - 1, 5);
+            } else {
+                bits.writeCode(bestDistance <= 6 ? 4 : 5, 5);
+                bits.write((bestDistance - 1) & 1, 1);
+            }
+            i += bestLength;
+        }
+        writeFixedLiteral(bits, 256);
+    }
+
+    private static void writeStoredBlock(BitWriter bits, byte[] data, int start, int end) {
+        bits.write(0, 1);
+        bits.write(0, 2);
+        bits.align();
+        int length = end - start;
+        bits.write(length & 0xffff, 16);
+        bits.write(~length & 0xffff, 16);
+        bits.out.write(data, start, length);
+    }
+
+    /** Compresses data as a zlib stream mixing stored, fixed Huffman and dynamic Huffman blocks. */
+    private static byte[] deflateMixed(byte[] data) {
+        BitWriter bits = new BitWriter();
+        bits.out.write(0x78);
+        bits.out.write(0x01);
+
+        int segment = Math.max(1, data.length / 7);
+        for (int start = 0, mode = 0; start < data.length; start += segment, mode = (mode + 1) % 3) {
+            int end = Math.min(data.length, start + segment);
+            if (mode == 0) {
+                for (int s = start; s < end; s += 65535) {
+                    writeStoredBlock(bits, data, s, Math.min(end, s + 65535));
+                }
+            } else if (mode == 1) {
+                writeFixedBlock(bits, data, start, end);
+                // An empty stored block brings the stream back to a byte boundary
+                writeStoredBlock(bits, data, end, end);
+            } else {
+                // zlib ends a sync flush with an empty stored block too
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                deflater.setInput(data, start, end - start);
+                byte[] buffer = new byte[8192];
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    bits.out.write(buffer, 0, n);
+                } while (n == buffer.length);
+                deflater.end();
+            }
+        }
+
+        // Empty final fixed block
+        bits.write(1, 1);
+        bits.write(1, 2);
+        writeFixedLiteral(bits, 256);
+        bits.align();
+
+        Adler32 adler = new Adler32();
+        adler.update(data);
+        int value = (int) adler.getValue();
+        bits.write((value >>> 24) & 0xff, 8);
+        bits.write((value >>> 16) & 0xff, 8);
+        bits.write((value >>> 8) & 0xff, 8);
+        bits.write(value & 0xff, 8);
+        return bits.out.toByteArray();
+    }
+
+    /**
+     * Encodes an image, then replaces its image data with a stream mixing all deflate block types, split into IDAT
+     * chunks of various lengths, empty ones included.
+     */
+    private static byte[] createPNG(RenderedImage image) throws IOException, DataFormatException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        new PNGImageEncoder(encoded, null).encode(image);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded.toByteArray()));
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(png);
+        out.writeLong(in.readLong());
+        List<byte[]> chunks = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        while (true) {
+            byte[] data = new byte[in.readInt()];
+            int type = in.readInt();
+            in.readFully(data);
+            in.readInt();
+            types.add(type);
+            chunks.add(data);
+            if (type == 0x49454E44) {
+                break;
+            }
+        }
+
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (types.get(i) == 0x49444154) {
+                idat.write(chunks.get(i));
+            }
+        }
+        byte[] zlib = deflateMixed(inflate(idat.toByteArray()));
+
+        boolean idatWritten = false;
+        for (int i = 0; i < chunks.size(); i++) {
+            if (types.get(i) != 0x49444154) {
+                writeChunk(out, types.get(i), chunks.get(i), 0, chunks.get(i).length);
+            } else if (!idatWritten) {
+                int[] lengths = {0, 1, 7, 1000, 8192, 65536};
+                for (int pos = 0, k = 0; pos < zlib.length; k++) {
+                    int length = Math.min(lengths[k % lengths.length], zlib.length - pos);
+                    writeChunk(out, 0x49444154, zlib, pos, length);
+                    pos += length;
+                }
+                idatWritten = true;
+            }
+        }
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream out, int type, byte[] data, int off, int len) throws IOException {
+        out.writeInt(len);
+        out.writeInt(type);
+        out.write(data, off, len);
+        CRC32 crc = new CRC32();
+        crc.update(new byte[] {(byte) (type >>> 24), (byte) (type >>> 16), (byte) (type >>> 8), (byte) type});
+        crc.update(data, off, len);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static byte[] inflate(byte[] zlib) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(zlib);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[65536];
+        while (!inflater.finished()) {
+            out.write(buffer, 0, inflater.inflate(buffer));
+        }
+        inflater.end();
+        return out.toByteArray();
+    }
+
+    /** Creates an image with a gradient and some noise, so that every filter type gets used. */
+    private static BufferedImage createImage(SampleModel sm, ColorModel cm) {
+        WritableRaster raster = Raster.createWritableRaster(sm, null);
+        int maxValue = (1 << sm.getSampleSize(0)) - 1;
+        if (cm instanceof IndexColorModel) {
+            maxValue = Math.min(maxValue, ((IndexColorModel) cm).getMapSize() - 1);
+        }
+        for (int b = 0; b < raster.getNumBands(); b++) {
+            for (int y = 0; y < raster.getHeight(); y++) {
+                for (int x = 0; x < raster.getWidth(); x++) {
+                    int value = x * 3 + y * 5 + b * 40;
+                    int hash = (x * 73856093) ^ (y * 19349663) ^ (b * 83492791);
+                    if (((hash >>> 8) & 7) == 0) {
+                        value += (hash >>> 12) % (maxValue + 1);
+                    }
+                    raster.setSample(x, y, b, value % (maxValue + 1));
+                }
+            }
+        }
+        return new BufferedImage(cm, raster, false, null);
+    }
+
+    private static BufferedImage createComponentImage(int dataType, int width, int height, int numBands) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, width, height, numBands);
+        return createImage(sm, ImageCodec.createComponentColorModel(sm));
+    }
+
+    /** Creates an image with a palette of gray levels, encoded as a gray image, or of colors. */
+    private static BufferedImage createIndexedImage(int bits, int width, int height, boolean gray) {
+        int size = 1 << bits;
+        byte[] r = new byte[size];
+        byte[] g = new byte[size];
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = (byte) (i * 255 / (size - 1));
+            g[i] = gray ? r[i] : (byte) (255 - i * 255 / (size - 1));
+            b[i] = gray ? r[i] : (byte) (i * 37);
+        }
+        SampleModel sm = bits == 8
+                ? RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, width, height, 1)
+                : new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, width, height, bits);
+        return createImage(sm, new IndexColorModel(bits, size, r, g, b));
+    }
+
+    private static RenderedImage decode(InputStream in, PNGDecodeParam param) throws IOException {
+        return new PNGImageDecoder(in, param).decodeAsRenderedImage();
+    }
+
+    private static void assertRasterEquals(String message, Raster expected, Raster actual) {
+        assertEquals(message, expected.getNumBands(), actual.getNumBands());
+        for (int b = 0; b < actual.getNumBands(); b++) {
+            for (int y = actual.getMinY(); y < actual.getMinY() + actual.getHeight(); y++) {
+                for (int x = actual.getMinX(); x < actual.getMinX() + actual.getWidth(); x++) {
+                    assertEquals(message, expected.getSample(x, y, b), actual.getSample(x, y, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes an image in strips, from a stream that can seek backwards and from one that cannot, requesting the strips
+     * out of order, again after they were evicted from the strip cache, and compares them with the whole image.
+     */
+    private static void assertStrips(RenderedImage source, PNGDecodeParam param) throws Exception {
+        byte[] png = createPNG(source);
+        RenderedImage whole = decode(new ByteArrayInputStream(png), param);
+        Raster expected = whole.getData();
+        assertEquals(source.getWidth(), expected.getWidth());
+        assertEquals(source.getHeight(), expected.getHeight());
+
+        for (int tileHeight : new int[] {1, 7, 32, source.getHeight() + 5}) {
+            for (boolean seekable : new boolean[] {true, false}) {
+                String message = "Tile height " + tileHeight + (seekable ? ", seekable" : ", forward only");
+                PNGDecodeParam stripParam = param == null ? new PNGDecodeParam() : param;
+                stripParam.setTileHeight(tileHeight);
+                stripParam.setTileCacheSize(2);
+                InputStream in = seekable
+                        ? new ByteArraySeekableStream(png)
+                        : new ForwardSeekableStream(new ByteArrayInputStream(png));
+                RenderedImage strips = decode(in, stripParam);
+                stripParam.setTileHeight(0);
+
+                int expectedTileHeight = Math.min(tileHeight, source.getHeight());
+                int numStrips = (source.getHeight() + expectedTileHeight - 1) / expectedTileHeight;
+                assertEquals(message, expectedTileHeight, strips.getTileHeight());
+                assertEquals(message, numStrips, strips.getNumYTiles());
+                assertEquals(message, 1, strips.getNumXTiles());
+                assertEquals(message, whole.getColorModel(), strips.getColorModel());
+
+                // Last, first and middle strips, then backwards, then forwards
+                List<Integer> order = new ArrayList<>();
+                order.add(numStrips - 1);
+                order.add(0);
+                order.add(numStrips / 2);
+                for (int i = numStrips - 1; i >= 0; i--) {
+                    order.add(i);
+                }
+                for (int i = 0; i < numStrips; i++) {
+                    order.add(i);
+                }
+                order.add(numStrips / 3);
+                for (int strip : order) {
+                    Raster tile = strips.getTile(0, strip);
+                    assertEquals(message, strip * expectedTileHeight, tile.getMinY());
+                    assertEquals(
+                            message,
+                            Math.min(expectedTileHeight, source.getHeight() - tile.getMinY()),
+                            tile.getHeight());
+                    assertRasterEquals(message + ", strip " + strip, expected, tile);
+                }
+                assertRasterEquals(message, expected, strips.getData());
+            }
+        }
+    }
+
+    @Test
+    public void testGrayBitDepths() throws Exception {
+        for (int bits : new int[] {1, 2, 4, 8}) {
+            assertStrips(createIndexedImage(bits, 61, 97, true), null);
+        }
+        assertStrips(createComponentImage(DataBuffer.TYPE_USHORT, 61, 97, 1), null);
+
+        PNGDecodeParam param = new PNGDecodeParam();
+        param.setOutput8BitGray(true);
+        assertStrips(createIndexedImage(2, 61, 97, true), param);
+    }
+
+    @Test
+    public void testPalette() throws Exception {
+        assertStrips(createIndexedImage(8, 61, 97, false), null);
+        assertStrips(createIndexedImage(2, 61, 97, false), null);
+
+        PNGDecodeParam param = new PNGDecodeParam();
+        param.setExpandPalette(true);
+        assertStrips(createIndexedImage(4, 61, 97, false), param);
+    }
+
+    @Test
+    public void testGrayAlpha() throws Exception {
+        assertStrips(createComponentImage(DataBuffer.TYPE_BYTE, 61, 97, 2), null);
+        assertStrips(createComponentImage(DataBuffer.TYPE_USHORT, 61, 97, 2), null);
+    }
+
+    @Test
+    public void testColor() throws Exception {
+        assertStrips(createComponentImage(DataBuffer.TYPE_BYTE, 61, 97, 3), null);
+        // Much larger than the 32K window of the inflater
+        assertStrips(createComponentImage(DataBuffer.TYPE_USHORT, 200, 150, 4), null);
+    }
+
+    @Test
+    public void testSpacedCheckpoints() throws Exception {
+        // 700 strips of one row need more than 16MB of checkpoints, so that only every other strip gets one
+        BufferedImage source = createComponentImage(DataBuffer.TYPE_BYTE, 16, 700, 1);
+        byte[] png = createPNG(source);
+        Raster expected = decode(new ByteArrayInputStream(png), null).getData();
+
+        PNGDecodeParam param = new PNGDecodeParam();
+        param.setTileHeight(1);
+        param.setTileCacheSize(1);
+        RenderedImage strips = decode(new ByteArraySeekableStream(png), param);
+        for (int strip : new int[] {699, 1, 0, 351, 350, 352, 2, 698, 3}) {
+            assertRasterEquals("Strip " + strip, expected, strips.getTile(0, strip));
+        }
+    }
+
+    @Test
+    public void testEncoderOutput() throws Exception {
+        // A single dynamic Huffman zlib stream, written by Deflater
+        BufferedImage source = createComponentImage(DataBuffer.TYPE_BYTE, 150, 120, 3);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        PNGEncodeParam encodeParam = PNGEncodeParam.getDefaultEncodeParam(source);
+        encodeParam.setCompressionLevel(9);
+        new PNGImageEncoder(png, encodeParam).encode(source);
+
+        PNGDecodeParam param = new PNGDecodeParam();
+        param.setTileHeight(16);
+        RenderedImage strips = decode(new ByteArrayInputStream(png.toByteArray()), param);
+        assertTrue(strips.getNumYTiles() > 1);
+        for (int strip = strips.getNumYTiles() - 1; strip >= 0; strip--) {
+            assertRasterEquals("Strip " + strip, source.getRaster(), strips.getTile(0, strip));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.codecimpl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.image.BandedSampleModel;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.imageio.ImageIO;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.media.codec.ImageCodec;
+import org.eclipse.imagen.media.codec.PNGEncodeParam;
+import org.junit.Test;
+
+/**
+ * Tests the PNG encoder reading the rows straight from the tiles and compressing blocks of rows concurrently.
+ *
+ * <p>The checksums of the default output were computed with the encoder as it was before rows were read tile by tile,
+ * which copied the whole image with <code>getData()</code>.
+ */
+public class PNGImageEncoderTest {
+
+    /**
+     * An image whose tiles are computed on demand from a gradient and some noise, so that every filter type gets used.
+     * <code>TiledImage</code> is not used as it would initialize the operation registry.
+     */
+    private static final class TestImage extends SimpleRenderedImage {
+
+        private final int maxValue;
+
+        TestImage(
+                SampleModel sm,
+                ColorModel cm,
+                int minX,
+                int minY,
+                int width,
+                int height,
+                int gridX,
+                int gridY,
+                int maxValue) {
+            this.minX = minX;
+            this.minY = minY;
+            this.width = width;
+            this.height = height;
+            this.tileGridXOffset = gridX;
+            this.tileGridYOffset = gridY;
+            this.tileWidth = sm.getWidth();
+            this.tileHeight = sm.getHeight();
+            this.sampleModel = sm;
+            this.colorModel = cm;
+            this.maxValue = maxValue;
+        }
+
+        @Override
+        public Raster getTile(int tileX, int tileY) {
+            WritableRaster tile = Raster.createWritableRaster(sampleModel, new Point(tileXToX(tileX), tileYToY(tileY)));
+            for (int b = 0; b < tile.getNumBands(); b++) {
+                for (int y = tile.getMinY(); y < tile.getMinY() + tile.getHeight(); y++) {
+                    for (int x = tile.getMinX(); x < tile.getMinX() + tile.getWidth(); x++) {
+                        int value = x * 3 + y * 5 + b * 40;
+                        int hash = (x * 73856093) ^ (y * 19349663) ^ (b * 83492791);
+                        if (((hash >>> 8) & 7) == 0) {
+                            value += (hash >>> 12) % (maxValue + 1);
+                        }
+                        tile.setSample(x, y, b, Math.floorMod(value, maxValue + 1));
+                    }
+                }
+            }
+            return tile;
+        }
+    }
+
+    private static RenderedImage createImage(
+            SampleModel sm, int minX, int minY, int width, int height, int gridX, int gridY, int maxValue) {
+        return new TestImage(
+                sm, ImageCodec.createComponentColorModel(sm), minX, minY, width, height, gridX, gridY, maxValue);
+    }
+
+    private static RenderedImage createPaletteImage(int bits, int tileSize, int gridOffset) {
+        int size = 1 << bits;
+        byte[] r = new byte[size];
+        byte[] g = new byte[size];
+        byte[] b = new byte[size];
+        for (int i = 0; i < size; i++) {
+            r[i] = (byte) (i * 255 / (size - 1));
+            g[i] = (byte) (255 - i * 255 / (size - 1));
+            b[i] = (byte) (i * 37);
+        }
+        SampleModel sm = bits == 8
+                ? RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, tileSize, tileSize, 1)
+                : new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, tileSize, tileSize, bits);
+        return new TestImage(
+                sm, new IndexColorModel(bits, size, r, g, b), 0, 0, 75, 53, gridOffset, gridOffset, size - 1);
+    }
+
+    private static byte[] encode(RenderedImage image, PNGEncodeParam param) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PNGImageEncoder(out, param).encode(image);
+        return out.toByteArray();
+    }
+
+    private static long checksum(byte[] data) {
+        Adler32 adler = new Adler32();
+        adler.update(data);
+        return adler.getValue();
+    }
+
+    /** Concatenates the data of the IDAT chunks of a PNG file. */
+    private static byte[] getIDAT(byte[] png) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(png));
+        in.skipBytes(8);
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        while (true) {
+            int length = in.readInt();
+            int type = in.readInt();
+            byte[] data = new byte[length];
+            in.readFully(data);
+            in.readInt();
+            if (type == 0x49444154) {
+                idat.write(data);
+            } else if (type == 0x49454E44) {
+                return idat.toByteArray();
+            }
+        }
+    }
+
+    /** Inflates a zlib stream, which checks its Adler-32 checksum. */
+    private static byte[] inflate(byte[] zlib) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(zlib);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[65536];
+        while (!inflater.finished()) {
+            int n = inflater.inflate(buffer);
+            assertTrue("Truncated zlib stream", n > 0 || !inflater.needsInput());
+            out.write(buffer, 0, n);
+        }
+        assertEquals("Trailing bytes after the zlib stream", 0, inflater.getRemaining());
+        inflater.end();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testByteDefaultOutput() throws IOException {
+        SampleModel interleaved = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 32, 24, 3);
+        assertEquals(0xe9f8ed05L, checksum(encode(createImage(interleaved, 0, 0, 75, 53, 0, 0, 255), null)));
+
+        // Non interleaved bands and tiles not aligned to the image origin
+        SampleModel banded = new BandedSampleModel(DataBuffer.TYPE_BYTE, 32, 24, 3);
+        assertEquals(0x23ad695cL, checksum(encode(createImage(banded, -5, 7, 75, 53, 3, -2, 255), null)));
+    }
+
+    @Test
+    public void testUShortDefaultOutput() throws IOException {
+        SampleModel gray = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, 20, 20, 1);
+        assertEquals(0x449a108cL, checksum(encode(createImage(gray, 0, 0, 75, 53, 0, 0, 65535), null)));
+
+        SampleModel rgba = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, 20, 20, 4);
+        assertEquals(0x2f5ee2c0L, checksum(encode(createImage(rgba, 10, -3, 75, 53, 1, 5, 65535), null)));
+    }
+
+    @Test
+    public void testGrayAlphaDefaultOutput() throws IOException {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 16, 16, 2);
+        assertEquals(0xc90f2071L, checksum(encode(createImage(sm, 0, 0, 75, 53, 0, 0, 255), null)));
+        assertEquals(0x6c474ddfL, checksum(encode(createImage(sm, 4, 4, 75, 53, -7, 9, 255), null)));
+    }
+
+    @Test
+    public void testPaletteDefaultOutput() throws IOException {
+        assertEquals(0xdcdf6c37L, checksum(encode(createPaletteImage(8, 16, 0), null)));
+        assertEquals(0x5be0b7f4L, checksum(encode(createPaletteImage(4, 16, 5), null)));
+        assertEquals(0x2fbf8ea8L, checksum(encode(createPaletteImage(1, 40, -3), null)));
+    }
+
+    @Test
+    public void testSkipAlphaDefaultOutput() throws IOException {
+        SampleModel rgba = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 32, 24, 4);
+        RenderedImage image = createImage(rgba, 0, 0, 75, 53, 0, 0, 255);
+        PNGEncodeParam.RGB rgb = new PNGEncodeParam.RGB();
+        rgb.setTransparentRGB(new int[] {1, 2, 3});
+        assertEquals(0xb59df12cL, checksum(encode(image, rgb)));
+
+        SampleModel grayAlpha = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 16, 16, 2);
+        image = createImage(grayAlpha, 0, 0, 75, 53, 5, -3, 255);
+        PNGEncodeParam.Gray gray = new PNGEncodeParam.Gray();
+        gray.setTransparentGray(7);
+        assertEquals(0x9322edddL, checksum(encode(image, gray)));
+    }
+
+    @Test
+    public void testConcurrentOutput() throws Exception {
+        // About 720 KB of filtered rows, that is three blocks, in tiles not aligned to the image origin
+        SampleModel rgb = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 128, 96, 3);
+        assertConcurrentOutput(createImage(rgb, 0, 0, 600, 400, 0, 0, 255));
+        assertConcurrentOutput(createImage(rgb, -13, 21, 600, 400, 50, -40, 255));
+
+        SampleModel rgba = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, 100, 100, 4);
+        assertConcurrentOutput(createImage(rgba, 3, 3, 317, 271, 0, 0, 65535));
+
+        // Fewer rows than threads, and a single row
+        assertConcurrentOutput(createImage(rgb, 0, 0, 600, 3, 0, 0, 255));
+        assertConcurrentOutput(createImage(rgb, 0, 0, 17, 1, 0, 0, 255));
+        assertConcurrentOutput(createPaletteImage(4, 16, 5));
+    }
+
+    /**
+     * Checks that the image data written by 4 threads is a valid zlib stream holding the same filtered rows as the
+     * single threaded output, and that it decodes to the pixels of the image.
+     */
+    private static void assertConcurrentOutput(RenderedImage image) throws Exception {
+        byte[] expected = inflate(getIDAT(encode(image, null)));
+        for (int level : new int[] {0, 1, 9}) {
+            PNGEncodeParam param = PNGEncodeParam.getDefaultEncodeParam(image);
+            param.setCompressionLevel(level);
+            param.setNumThreads(4);
+            byte[] png = encode(image, param);
+            assertArrayEquals("Level " + level, expected, inflate(getIDAT(png)));
+
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png));
+            Raster source = image.getData();
+            Raster raster = decoded.getRaster();
+            assertEquals(image.getWidth(), raster.getWidth());
+            assertEquals(image.getHeight(), raster.getHeight());
+            for (int b = 0; b < raster.getNumBands(); b++) {
+                for (int y = 0; y < image.getHeight(); y++) {
+                    for (int x = 0; x < image.getWidth(); x++) {
+                        assertEquals(
+                                source.getSample(image.getMinX() + x, image.getMinY() + y, b),
+                                raster.getSample(x, y, b));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCombineAdler32() {
+        Random random = new Random(11);
+        byte[] data = new byte[200000];
+        random.nextBytes(data);
+        for (int split : new int[] {0, 1, 5552, 65521, 65522, 100000, 199999, 200000}) {
+            Adler32 first = new Adler32();
+            first.update(data, 0, split);
+            Adler32 second = new Adler32();
+            second.update(data, split, data.length - split);
+            Adler32 whole = new Adler32();
+            whole.update(data);
+            assertEquals(
+                    "Split at " + split,
+                    (int) whole.getValue(),
+                    PNGImageEncoder.combineAdler32(
+                            (int) first.getValue(), (int) second.getValue(), data.length - split));
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.rmi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.ParameterBlock;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.NegotiableCapability;
+import org.eclipse.imagen.NegotiableCapabilitySet;
+import org.eclipse.imagen.OperationRegistry;
+import org.eclipse.imagen.ParameterListDescriptorImpl;
+import org.eclipse.imagen.PropertyChangeEventImageN;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.RegistryMode;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.RenderingChangeEvent;
+import org.eclipse.imagen.TileCache;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.operator.MaxFilterDescriptor;
+import org.eclipse.imagen.operator.MinFilterDescriptor;
+import org.eclipse.imagen.registry.RemoteRenderableRegistryMode;
+import org.eclipse.imagen.registry.RemoteRenderedRegistryMode;
+import org.eclipse.imagen.remote.JAIRMIDescriptor;
+import org.eclipse.imagen.remote.RemoteJAI;
+import org.eclipse.imagen.remote.RemoteRenderedOp;
+import org.eclipse.imagen.remote.SerializableRenderedImage;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Renders images on an <code>ImageNRMIImageServer</code> bound to a registry on an ephemeral loopback port. */
+public class RMIServerProxyTest {
+
+    private static Registry registry;
+
+    private static ImageNRMIImageServer server;
+
+    private static String serverName;
+
+    private static TiledImage source;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        // The remote modes are not registered by default
+        OperationRegistry operations = ImageN.getDefaultInstance().getOperationRegistry();
+        if (RegistryMode.getMode(RemoteRenderedRegistryMode.MODE_NAME) == null) {
+            RegistryMode.addMode(new RemoteRenderedRegistryMode());
+            RegistryMode.addMode(new RemoteRenderableRegistryMode());
+        }
+        if (operations.getDescriptor(RemoteRenderedRegistryMode.MODE_NAME, "jairmi") == null) {
+            operations.registerDescriptor(new JAIRMIDescriptor());
+            operations.registerFactory(RemoteRenderedRegistryMode.MODE_NAME, "jairmi", null, new ImageNRMICRIF());
+        }
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        registry = LocateRegistry.createRegistry(port);
+        server = new ImageNRMIImageServer(0);
+        registry.rebind(JAIRMIDescriptor.IMAGE_SERVER_BIND_NAME, server);
+        serverName = "localhost:" + port;
+
+        // A single tile, which the server pulls from the client at once
+        source = new TiledImage(
+                0,
+                0,
+                100,
+                90,
+                0,
+                0,
+                RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, 100, 90, 2),
+                null);
+        for (int y = 0; y < 90; y++) {
+            for (int x = 0; x < 100; x++) {
+                source.setSample(x, y, 0, (x * 31 + y * 17) % 1000);
+                source.setSample(x, y, 1, (x ^ y) * 50);
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        registry.unbind(JAIRMIDescriptor.IMAGE_SERVER_BIND_NAME);
+        UnicastRemoteObject.unexportObject(server, true);
+        UnicastRemoteObject.unexportObject(registry, true);
+    }
+
+    /** Returns preferences selecting the given tile codec, or no codec at all for an unknown name. */
+    private static NegotiableCapabilitySet codecPreference(String codec) {
+        ParameterListDescriptorImpl pld = new ParameterListDescriptorImpl(null, null, null, null, null);
+        NegotiableCapabilitySet preferences = new NegotiableCapabilitySet(true);
+        preferences.add(new NegotiableCapability("tileCodec", codec, null, pld, true));
+        return preferences;
+    }
+
+    private static RenderingHints hints(String codec, TileCache cache) {
+        RenderingHints hints = new RenderingHints(ImageN.KEY_TILE_CACHE, cache);
+        hints.put(ImageN.KEY_IMAGE_LAYOUT, new ImageLayout().setTileWidth(32).setTileHeight(32));
+        hints.put(RemoteJAI.KEY_NEGOTIATION_PREFERENCES, codecPreference(codec));
+        hints.put(RemoteJAI.KEY_TILE_BATCH_SIZE, 5);
+        hints.put(RemoteJAI.KEY_MAX_TILE_REQUESTS, 2);
+        return hints;
+    }
+
+    private static ParameterBlock maxFilter(RenderedImage image) {
+        return new ParameterBlock()
+                .addSource(new SerializableRenderedImage(image, true))
+                .add(MaxFilterDescriptor.MAX_MASK_SQUARE)
+                .add(3);
+    }
+
+    private static Point[] allTiles(RenderedImage image) {
+        Point[] indices = new Point[image.getNumXTiles() * image.getNumYTiles()];
+        int i = 0;
+        for (int y = 0; y < image.getNumYTiles(); y++) {
+            for (int x = 0; x < image.getNumXTiles(); x++) {
+                indices[i++] = new Point(image.getMinTileX() + x, image.getMinTileY() + y);
+            }
+        }
+        return indices;
+    }
+
+    private static void assertTileEquals(RenderedImage expected, Raster tile) {
+        assertNotNull(tile);
+        Rectangle bounds = tile.getBounds();
+        assertArrayEquals(
+                expected.getData(bounds).getPixels(bounds.x, bounds.y, bounds.width, bounds.height, (int[]) null),
+                tile.getPixels(bounds.x, bounds.y, bounds.width, bounds.height, (int[]) null));
+    }
+
+    private static void assertBatchedTiles(String codec) {
+        RenderedOp expected = ImageN.create(
+                "MaxFilter",
+                new ParameterBlock()
+                        .addSource(source)
+                        .add(MaxFilterDescriptor.MAX_MASK_SQUARE)
+                        .add(3));
+
+        TileCache batchedCache = ImageN.createTileCache();
+        RMIServerProxy batched =
+                new RMIServerProxy(serverName, "MaxFilter", maxFilter(source), hints(codec, batchedCache));
+        RMIServerProxy single =
+                new RMIServerProxy(serverName, "MaxFilter", maxFilter(source), hints(codec, ImageN.createTileCache()));
+        try {
+            NegotiableCapability negotiated = batched.getNegotiatedValue("tileCodec");
+            if (codec.equals("lz4")) {
+                assertEquals("lz4", negotiated.getCapabilityName());
+            } else {
+                assertNull(negotiated);
+            }
+            assertEquals(12, batched.getNumXTiles() * batched.getNumYTiles());
+
+            // Duplicated indices are fetched once, tiles outside the image are null
+            Point[] indices = allTiles(batched);
+            Point[] requested = new Point[indices.length + 2];
+            System.arraycopy(indices, 0, requested, 0, indices.length);
+            requested[indices.length] = new Point(indices[3]);
+            requested[indices.length + 1] = new Point(batched.getMaxTileX() + 1, 0);
+
+            Raster[] tiles = batched.getTiles(requested);
+            assertEquals(requested.length, tiles.length);
+            for (int i = 0; i < indices.length; i++) {
+                Point p = indices[i];
+                Raster tile = single.getTile(p.x, p.y);
+                assertTileEquals(expected, tile);
+                assertTileEquals(expected, tiles[i]);
+                assertEquals(tile.getBounds(), tiles[i].getBounds());
+                // The batched tiles were cached
+                assertNotNull(batchedCache.getTile(batched, p.x, p.y));
+            }
+            assertTileEquals(expected, tiles[indices.length]);
+            assertNull(tiles[indices.length + 1]);
+
+            // A second request is served from the cache
+            Raster[] again = batched.getTiles(indices);
+            for (int i = 0; i < indices.length; i++) {
+                assertEquals(batchedCache.getTile(batched, indices[i].x, indices[i].y), again[i]);
+            }
+        } finally {
+            batched.dispose();
+            single.dispose();
+        }
+    }
+
+    @Test
+    public void testGetTiles() throws IOException {
+        assertBatchedTiles("noExistingCodec");
+    }
+
+    @Test
+    public void testGetTilesLZ4() throws IOException {
+        assertBatchedTiles("lz4");
+    }
+
+    /** Returns a max filter of the given size applied to a 3x3 min filter of the source. */
+    private static RenderedOp localFilters(int size) {
+        RenderedOp min = ImageN.create(
+                "MinFilter",
+                new ParameterBlock()
+                        .addSource(source)
+                        .add(MinFilterDescriptor.MIN_MASK_SQUARE)
+                        .add(3));
+        return ImageN.create(
+                "MaxFilter",
+                new ParameterBlock()
+                        .addSource(min)
+                        .add(MaxFilterDescriptor.MAX_MASK_SQUARE)
+                        .add(size));
+    }
+
+    /** Renders a 3x3 max filter on the server whose source is a 3x3 min filter on the server. */
+    private static RemoteRenderedOp remoteFilters(TileCache cache) {
+        RemoteRenderedOp min = new RemoteRenderedOp(
+                "jairmi",
+                serverName,
+                "MinFilter",
+                new ParameterBlock()
+                        .addSource(new SerializableRenderedImage(source, true))
+                        .add(MinFilterDescriptor.MIN_MASK_SQUARE)
+                        .add(3),
+                null);
+        return new RemoteRenderedOp(
+                "jairmi",
+                serverName,
+                "MaxFilter",
+                new ParameterBlock()
+                        .addSource(min)
+                        .add(MaxFilterDescriptor.MAX_MASK_SQUARE)
+                        .add(3),
+                hints("lz4", cache));
+    }
+
+    @Test
+    public void testUnchangedRenderingReusesTiles() {
+        TileCache firstCache = ImageN.createTileCache();
+        TileCache secondCache = ImageN.createTileCache();
+        RMIServerProxy first = new RMIServerProxy(serverName, "MaxFilter", maxFilter(source), hints("lz4", firstCache));
+        RMIServerProxy second = null;
+        try {
+            Point[] indices = allTiles(first);
+            Raster[] tiles = first.getTiles(indices);
+
+            // Another rendering of the same server node starts with the cached tiles
+            second = new RMIServerProxy(serverName + "::" + first.getRMIID(), "MaxFilter", hints("lz4", secondCache));
+            for (int i = 0; i < indices.length; i++) {
+                assertSame(tiles[i], secondCache.getTile(second, indices[i].x, indices[i].y));
+                assertSame(tiles[i], second.getTile(indices[i].x, indices[i].y));
+            }
+
+            // Nothing changed on the server
+            assertTrue(first.revalidate().getBounds().isEmpty());
+            assertTrue(second.revalidate().getBounds().isEmpty());
+            for (int i = 0; i < indices.length; i++) {
+                assertSame(tiles[i], firstCache.getTile(first, indices[i].x, indices[i].y));
+            }
+        } finally {
+            if (second != null) {
+                second.dispose();
+            }
+            first.dispose();
+        }
+    }
+
+    @Test
+    public void testRenderingChangeRefetchesInvalidTiles() {
+        RenderedOp expected = localFilters(3);
+        TileCache cache = ImageN.createTileCache();
+        RemoteRenderedOp node = remoteFilters(cache);
+        RenderedOp sourceNode = (RenderedOp) node.getNodeSource(0);
+        RMIServerProxy oldRendering = (RMIServerProxy) node.getRendering();
+        RMIServerProxy newRendering = null;
+        try {
+            Point[] indices = allTiles(oldRendering);
+            Raster[] tiles = oldRendering.getTiles(indices);
+
+            // Only the area read by the upper left tile of the filter changes
+            Rectangle changed = new Rectangle(2, 3, 10, 10);
+            RenderingChangeEvent event =
+                    new RenderingChangeEvent(sourceNode, sourceNode.getRendering(), sourceNode.getRendering(), changed);
+            newRendering = new RMIServerProxy(oldRendering, node, event);
+            assertEquals(oldRendering.getBounds(), newRendering.getBounds());
+
+            for (int i = 0; i < indices.length; i++) {
+                Point p = indices[i];
+                Raster cached = cache.getTile(newRendering, p.x, p.y);
+                if (newRendering.getTileRect(p.x, p.y).intersects(changed)) {
+                    assertNull(cached);
+                } else {
+                    assertSame(tiles[i], cached);
+                }
+            }
+
+            // The valid tiles are served from the cache, the others are fetched again
+            Raster[] again = newRendering.getTiles(indices);
+            for (int i = 0; i < indices.length; i++) {
+                assertTileEquals(expected, again[i]);
+                if (newRendering.getTileRect(indices[i].x, indices[i].y).intersects(changed)) {
+                    assertNotSame(tiles[i], again[i]);
+                } else {
+                    assertSame(tiles[i], again[i]);
+                }
+            }
+            assertTrue(newRendering.revalidate().getBounds().isEmpty());
+        } finally {
+            if (newRendering != null) {
+                newRendering.dispose();
+            }
+            oldRendering.dispose();
+        }
+    }
+
+    @Test
+    public void testLayoutChangeRefetchesAllTiles() {
+        RenderedOp expected = localFilters(3);
+        TileCache cache = ImageN.createTileCache();
+        RemoteRenderedOp node = remoteFilters(cache);
+        RMIServerProxy oldRendering = (RMIServerProxy) node.getRendering();
+        RMIServerProxy newRendering = null;
+        try {
+            oldRendering.getTiles(allTiles(oldRendering));
+
+            // Smaller tiles cover different areas
+            RenderingHints oldHints = node.getRenderingHints();
+            RenderingHints newHints = (RenderingHints) oldHints.clone();
+            newHints.put(
+                    ImageN.KEY_IMAGE_LAYOUT, new ImageLayout().setTileWidth(16).setTileHeight(16));
+            newRendering = new RMIServerProxy(
+                    oldRendering, node, new PropertyChangeEventImageN(node, "RenderingHints", oldHints, newHints));
+            assertEquals(oldRendering.getBounds(), newRendering.getBounds());
+            assertEquals(16, newRendering.getTileWidth());
+
+            Point[] indices = allTiles(newRendering);
+            for (Point p : indices) {
+                assertNull(cache.getTile(newRendering, p.x, p.y));
+            }
+            for (Raster tile : newRendering.getTiles(indices)) {
+                assertTileEquals(expected, tile);
+            }
+        } finally {
+            if (newRendering != null) {
+                newRendering.dispose();
+            }
+            oldRendering.dispose();
+        }
+    }
+}
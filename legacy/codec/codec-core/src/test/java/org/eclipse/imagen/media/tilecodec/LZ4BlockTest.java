@@ -0,0 +1,222 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests <code>LZ4Block</code> against blocks assembled by hand following the LZ4 block format specification, and checks
+ * that its output follows the end of block rules of the specification, which some decoders rely on.
+ */
+public class LZ4BlockTest {
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] compress(byte[] data) {
+        byte[] compressed = new byte[LZ4Block.maxCompressedLength(data.length)];
+        int length = LZ4Block.compress(data, data.length, compressed);
+        return Arrays.copyOf(compressed, length);
+    }
+
+    private static byte[] decompress(byte[] block, int length) throws IOException {
+        byte[] data = new byte[length];
+        LZ4Block.decompress(block, 0, block.length, data);
+        return data;
+    }
+
+    @Test
+    public void testReferenceBlocks() throws IOException {
+        // Empty input: a single token with no literals
+        assertArrayEquals(new byte[] {0x00}, compress(new byte[0]));
+        assertArrayEquals(new byte[0], decompress(new byte[] {0x00}, 0));
+
+        // Input shorter than 13 bytes: literals only
+        byte[] hello = {0x50, 'H', 'e', 'l', 'l', 'o'};
+        assertArrayEquals(hello, compress(ascii("Hello")));
+        assertArrayEquals(ascii("Hello"), decompress(hello, 5));
+
+        // 4 literals, a match of 12 bytes at offset 4, then the 5 last literals
+        byte[] repeated = {0x48, 'a', 'b', 'c', 'd', 0x04, 0x00, 0x50, 'X', 'Y', 'Z', '1', '2'};
+        assertArrayEquals(repeated, compress(ascii("abcdabcdabcdabcdXYZ12")));
+        assertArrayEquals(ascii("abcdabcdabcdabcdXYZ12"), decompress(repeated, 21));
+
+        // 15 and more literals use extra length bytes: 15 + 255 + 30 = 300 literals,
+        // an overlapping match of 4 + 15 + 255 + 255 + 71 = 600 bytes at offset 1, then 5 literals
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        byte[] expected = new byte[905];
+        block.write(0xff);
+        block.write(255);
+        block.write(30);
+        for (int i = 0; i < 300; i++) {
+            expected[i] = (byte) (i * 7);
+            block.write(expected[i]);
+        }
+        block.write(0x01);
+        block.write(0x00);
+        block.write(255);
+        block.write(255);
+        block.write(71);
+        Arrays.fill(expected, 300, 900, expected[299]);
+        block.write(0x50);
+        for (int i = 900; i < 905; i++) {
+            expected[i] = (byte) i;
+            block.write(expected[i]);
+        }
+        assertArrayEquals(expected, decompress(block.toByteArray(), 905));
+
+        // Offsets are little endian: 260 literals, a match of 4 bytes at offset 258, then 5 literals
+        byte[] far = new byte[269];
+        ByteArrayOutputStream farBlock = new ByteArrayOutputStream();
+        farBlock.write(0xf0);
+        farBlock.write(245);
+        for (int i = 0; i < 260; i++) {
+            far[i] = (byte) (i ^ 0x55);
+            farBlock.write(far[i]);
+        }
+        farBlock.write(0x02);
+        farBlock.write(0x01);
+        System.arraycopy(far, 2, far, 260, 4);
+        farBlock.write(0x50);
+        for (int i = 264; i < 269; i++) {
+            far[i] = (byte) i;
+            farBlock.write(far[i]);
+        }
+        assertArrayEquals(far, decompress(farBlock.toByteArray(), 269));
+    }
+
+    @Test
+    public void testCorruptBlocks() {
+        byte[][] corrupt = {
+            // Offset 0
+            {0x10, 'a', 0x00, 0x00, 0x00},
+            // Offset before the start of the output
+            {0x10, 'a', 0x02, 0x00, 0x00},
+            // Literals past the end of the block
+            {0x50, 'a', 'b'},
+            // Truncated length bytes
+            {(byte) 0xf0, (byte) 255},
+            // Truncated offset
+            {0x10, 'a', 0x01},
+        };
+        for (byte[] block : corrupt) {
+            try {
+                decompress(block, 64);
+                fail("Corrupt block " + Arrays.toString(block) + " should be rejected");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+
+        // Valid blocks decompressing to more or less than expected
+        try {
+            decompress(new byte[] {0x50, 'H', 'e', 'l', 'l', 'o'}, 4);
+            fail("Overflowing output should be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            decompress(new byte[] {0x50, 'H', 'e', 'l', 'l', 'o'}, 6);
+            fail("Short output should be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Parses a block independently of <code>LZ4Block</code>, checking the rules of the specification: the last sequence
+     * only holds literals, the last 5 bytes are literals, the last match starts at least 12 bytes before the end, and
+     * offsets are within 1 and 65535.
+     */
+    private static byte[] parse(byte[] block, int length) {
+        byte[] out = new byte[length];
+        int ip = 0;
+        int op = 0;
+        int lastMatchStart = -1;
+        while (true) {
+            int token = block[ip++] & 0xff;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    literals += b = block[ip++] & 0xff;
+                } while (b == 255);
+            }
+            System.arraycopy(block, ip, out, op, literals);
+            ip += literals;
+            op += literals;
+            if (ip == block.length) {
+                assertEquals("The last sequence has no match", 0, token & 0xf);
+                break;
+            }
+            int offset = (block[ip++] & 0xff) | ((block[ip++] & 0xff) << 8);
+            assertTrue("Offset " + offset, offset >= 1 && offset <= op);
+            int match = (token & 0xf) + 4;
+            if ((token & 0xf) == 15) {
+                int b;
+                do {
+                    match += b = block[ip++] & 0xff;
+                } while (b == 255);
+            }
+            lastMatchStart = op;
+            for (int i = 0; i < match; i++, op++) {
+                out[op] = out[op - offset];
+            }
+            assertTrue("The last 5 bytes are literals", op <= length - 5);
+        }
+        assertEquals(length, op);
+        if (lastMatchStart >= 0) {
+            assertTrue("The last match starts 12 bytes before the end", lastMatchStart <= length - 12);
+        }
+        return out;
+    }
+
+    private static void assertConforming(byte[] data) throws IOException {
+        byte[] block = compress(data);
+        assertTrue(block.length <= LZ4Block.maxCompressedLength(data.length));
+        assertArrayEquals(data, parse(block, data.length));
+        assertArrayEquals(data, decompress(block, data.length));
+    }
+
+    @Test
+    public void testConformingOutput() throws IOException {
+        Random random = new Random(3);
+        for (int length = 0; length < 40; length++) {
+            assertConforming(new byte[length]);
+            byte[] noise = new byte[length];
+            random.nextBytes(noise);
+            assertConforming(noise);
+        }
+
+        // Incompressible data grows by less than maxCompressedLength
+        byte[] noise = new byte[100000];
+        random.nextBytes(noise);
+        assertConforming(noise);
+
+        // Runs, repeated patterns, and a repetition further than the 65535 byte window
+        byte[] data = new byte[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i < 1000 ? i / 100 : i < 70000 ? random.nextInt() : (i % 1234) * 3);
+        }
+        System.arraycopy(data, 1000, data, 150000, 5000);
+        assertConforming(data);
+    }
+}
@@ -0,0 +1,239 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BandedSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor;
+import org.eclipse.imagen.tilecodec.TileCodecParameterList;
+import org.junit.Test;
+
+/** Encodes and decodes tiles with the lz4 tile codec, for every data type and combination of filters. */
+public class LZ4TileCodecTest {
+
+    private static final int[] DATA_TYPES = {
+        DataBuffer.TYPE_BYTE,
+        DataBuffer.TYPE_USHORT,
+        DataBuffer.TYPE_SHORT,
+        DataBuffer.TYPE_INT,
+        DataBuffer.TYPE_FLOAT,
+        DataBuffer.TYPE_DOUBLE
+    };
+
+    private static final int[] SHUFFLES = {
+        LZ4TileCodecDescriptor.SHUFFLE_NONE, LZ4TileCodecDescriptor.SHUFFLE_BYTE, LZ4TileCodecDescriptor.SHUFFLE_BIT
+    };
+
+    private static final int[] PREDICTORS = {
+        LZ4TileCodecDescriptor.PREDICTOR_NONE, LZ4TileCodecDescriptor.PREDICTOR_HORIZONTAL
+    };
+
+    /** Fills a raster with a smooth gradient, or with noise using the whole range of the data type. */
+    private static WritableRaster fill(WritableRaster raster, boolean noise, long seed) {
+        Random random = new Random(seed);
+        int dataType = raster.getSampleModel().getDataType();
+        int[] sizes = raster.getSampleModel().getSampleSize();
+        for (int y = raster.getMinY(); y < raster.getMinY() + raster.getHeight(); y++) {
+            for (int x = raster.getMinX(); x < raster.getMinX() + raster.getWidth(); x++) {
+                for (int b = 0; b < raster.getNumBands(); b++) {
+                    double smooth = (Math.sin(x / 9.0 + b) + Math.cos(y / 7.0) + 2) / 4;
+                    if (dataType == DataBuffer.TYPE_FLOAT || dataType == DataBuffer.TYPE_DOUBLE) {
+                        double v = noise
+                                ? (dataType == DataBuffer.TYPE_FLOAT
+                                        ? Float.intBitsToFloat(random.nextInt())
+                                        : Double.longBitsToDouble(random.nextLong()))
+                                : smooth * 1000 - 300;
+                        raster.setSample(x, y, b, v);
+                    } else {
+                        long range = 1L << Math.min(sizes[b], 31);
+                        long v = noise ? random.nextInt() : (long) (smooth * (range - 1));
+                        if (dataType == DataBuffer.TYPE_SHORT) {
+                            v -= noise ? 0 : 20000;
+                        }
+                        raster.setSample(x, y, b, (int) v);
+                    }
+                }
+            }
+        }
+        return raster;
+    }
+
+    private static byte[] encode(Raster raster, int shuffle, int predictor) throws IOException {
+        LZ4TileCodecDescriptor descriptor = new LZ4TileCodecDescriptor();
+        TileCodecParameterList param = descriptor.getDefaultParameters("tileEncoder");
+        param.setParameter("shuffle", shuffle);
+        param.setParameter("predictor", predictor);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new LZ4TileEncoderFactory()
+                .createEncoder(out, param, raster.getSampleModel())
+                .encode(raster);
+        return out.toByteArray();
+    }
+
+    private static Raster decode(byte[] encoded) throws IOException {
+        return new LZ4TileDecoderFactory()
+                .createDecoder(new ByteArrayInputStream(encoded), null)
+                .decode();
+    }
+
+    /** Compares the raw bits of the samples, so that NaNs and negative zeros are checked too. */
+    private static void assertRasterEquals(String message, Raster expected, Raster actual) {
+        assertEquals(message, expected.getBounds(), actual.getBounds());
+        assertEquals(message, expected.getNumBands(), actual.getNumBands());
+        assertEquals(
+                message,
+                expected.getSampleModel().getDataType(),
+                actual.getSampleModel().getDataType());
+        for (int y = expected.getMinY(); y < expected.getMinY() + expected.getHeight(); y++) {
+            for (int x = expected.getMinX(); x < expected.getMinX() + expected.getWidth(); x++) {
+                for (int b = 0; b < expected.getNumBands(); b++) {
+                    if (expected.getSampleModel().getDataType() == DataBuffer.TYPE_DOUBLE) {
+                        assertEquals(
+                                message,
+                                Double.doubleToRawLongBits(expected.getSampleDouble(x, y, b)),
+                                Double.doubleToRawLongBits(actual.getSampleDouble(x, y, b)));
+                    } else if (expected.getSampleModel().getDataType() == DataBuffer.TYPE_FLOAT) {
+                        assertEquals(
+                                message,
+                                Float.floatToRawIntBits(expected.getSampleFloat(x, y, b)),
+                                Float.floatToRawIntBits(actual.getSampleFloat(x, y, b)));
+                    } else {
+                        assertEquals(message, expected.getSample(x, y, b), actual.getSample(x, y, b));
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] assertRoundTrip(String message, Raster raster, int shuffle, int predictor)
+            throws IOException {
+        message += ", shuffle " + shuffle + ", predictor " + predictor;
+        byte[] encoded = encode(raster, shuffle, predictor);
+        assertRasterEquals(message, raster, decode(encoded));
+        return encoded;
+    }
+
+    @Test
+    public void testDataTypes() throws IOException {
+        for (int dataType : DATA_TYPES) {
+            SampleModel interleaved = RasterFactory.createPixelInterleavedSampleModel(dataType, 37, 23, 3);
+            SampleModel banded = new BandedSampleModel(dataType, 37, 23, 2);
+            for (int shuffle : SHUFFLES) {
+                for (int predictor : PREDICTORS) {
+                    String message = "Type " + dataType;
+                    assertRoundTrip(
+                            message,
+                            fill(Raster.createWritableRaster(interleaved, new Point(-5, 12)), false, dataType),
+                            shuffle,
+                            predictor);
+                    assertRoundTrip(
+                            message + ", banded",
+                            fill(Raster.createWritableRaster(banded, null), false, dataType),
+                            shuffle,
+                            predictor);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIncompressible() throws IOException {
+        for (int dataType : DATA_TYPES) {
+            SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, 64, 64, 2);
+            Raster raster = fill(Raster.createWritableRaster(sm, null), true, dataType);
+            int size = 64 * 64 * 2 * DataBuffer.getDataTypeSize(dataType) / 8;
+            for (int shuffle : SHUFFLES) {
+                for (int predictor : PREDICTORS) {
+                    byte[] encoded = assertRoundTrip("Noise, type " + dataType, raster, shuffle, predictor);
+                    // The LZ4 worst case plus the serialized header
+                    assertTrue(encoded.length < LZ4Block.maxCompressedLength(size) + 1024);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTinyTiles() throws IOException {
+        for (int dataType : DATA_TYPES) {
+            for (Rectangle bounds : new Rectangle[] {
+                new Rectangle(0, 0, 1, 1),
+                new Rectangle(3, -4, 1, 5),
+                new Rectangle(0, 0, 5, 1),
+                new Rectangle(2, 2, 3, 2)
+            }) {
+                SampleModel sm =
+                        RasterFactory.createPixelInterleavedSampleModel(dataType, bounds.width, bounds.height, 1);
+                WritableRaster raster = Raster.createWritableRaster(sm, bounds.getLocation());
+                fill(raster, true, bounds.hashCode());
+                for (int shuffle : SHUFFLES) {
+                    for (int predictor : PREDICTORS) {
+                        assertRoundTrip("Tiny " + bounds + ", type " + dataType, raster, shuffle, predictor);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPackedAndChildRasters() throws IOException {
+        SampleModel packed = new SinglePixelPackedSampleModel(
+                DataBuffer.TYPE_INT, 40, 30, new int[] {0xff0000, 0xff00, 0xff, 0xff000000});
+        SampleModel binary = new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, 43, 30, 1);
+        SampleModel nibbles = new MultiPixelPackedSampleModel(DataBuffer.TYPE_USHORT, 43, 30, 4);
+        WritableRaster parent = fill(
+                Raster.createWritableRaster(
+                        RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_USHORT, 50, 40, 3), null),
+                false,
+                0);
+        Raster child = parent.createChild(7, 5, 20, 30, 100, 200, new int[] {2, 0});
+
+        for (int shuffle : SHUFFLES) {
+            for (int predictor : PREDICTORS) {
+                assertRoundTrip(
+                        "Single pixel packed",
+                        fill(Raster.createWritableRaster(packed, new Point(1, 2)), false, 0),
+                        shuffle,
+                        predictor);
+                assertRoundTrip("Binary", fill(Raster.createWritableRaster(binary, null), true, 1), shuffle, predictor);
+                assertRoundTrip(
+                        "Nibbles", fill(Raster.createWritableRaster(nibbles, null), false, 2), shuffle, predictor);
+                assertRoundTrip("Child", child, shuffle, predictor);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultParameters() throws IOException {
+        LZ4TileCodecDescriptor descriptor = new LZ4TileCodecDescriptor();
+        for (int dataType : DATA_TYPES) {
+            SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, 32, 32, 3);
+            Raster raster = fill(Raster.createWritableRaster(sm, null), false, dataType);
+            TileCodecParameterList param = descriptor.getDefaultParameters("tileEncoder", sm);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new LZ4TileEncoderFactory().createEncoder(out, param, sm).encode(raster);
+            assertRasterEquals("Type " + dataType, raster, decode(out.toByteArray()));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.tilecodec;
+
+import java.awt.Point;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.tilecodec.LZ4TileCodecDescriptor;
+import org.eclipse.imagen.tilecodec.TileCodecParameterList;
+import org.eclipse.imagen.tilecodec.TileDecoderFactory;
+import org.eclipse.imagen.tilecodec.TileEncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the encoding and decoding times of the "raw", "gzip" and "lz4" tile codecs, the latter with each of its
+ * shuffle filters, on smooth three band tiles of several data types. The compression ratio of every combination is
+ * printed during the setup. Run from the IDE, or with:
+ *
+ * <pre>
+ * mvn -pl legacy/codec/codec-core test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipse.imagen.media.tilecodec.TileCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TileCodecBenchmark {
+
+    private static final int TILE_SIZE = 256;
+
+    @Param({"raw", "gzip", "lz4", "lz4-noshuffle", "lz4-bitshuffle"})
+    public String codec;
+
+    @Param({"BYTE", "USHORT", "FLOAT"})
+    public String dataType;
+
+    private Raster tile;
+
+    private TileEncoderFactory encoderFactory;
+
+    private TileDecoderFactory decoderFactory;
+
+    private TileCodecParameterList encodeParam;
+
+    private TileCodecParameterList decodeParam;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        int type = "BYTE".equals(dataType)
+                ? DataBuffer.TYPE_BYTE
+                : "USHORT".equals(dataType) ? DataBuffer.TYPE_USHORT : DataBuffer.TYPE_FLOAT;
+        tile = createTile(type);
+        SampleModel sm = tile.getSampleModel();
+
+        if (codec.startsWith("lz4")) {
+            encoderFactory = new LZ4TileEncoderFactory();
+            decoderFactory = new LZ4TileDecoderFactory();
+            LZ4TileCodecDescriptor descriptor = new LZ4TileCodecDescriptor();
+            encodeParam = descriptor.getDefaultParameters("tileEncoder", sm);
+            if (codec.endsWith("noshuffle")) {
+                encodeParam.setParameter("shuffle", LZ4TileCodecDescriptor.SHUFFLE_NONE);
+            } else if (codec.endsWith("bitshuffle")) {
+                encodeParam.setParameter("shuffle", LZ4TileCodecDescriptor.SHUFFLE_BIT);
+            }
+        } else if ("gzip".equals(codec)) {
+            encoderFactory = new GZIPTileEncoderFactory();
+            decoderFactory = new GZIPTileDecoderFactory();
+        } else {
+            encoderFactory = new RawTileEncoderFactory();
+            decoderFactory = new RawTileDecoderFactory();
+        }
+
+        encoded = encode();
+        long raw = (long) TILE_SIZE * TILE_SIZE * 3 * DataBuffer.getDataTypeSize(type) / 8;
+        System.out.printf(
+                "%n%s %s: %d bytes, ratio %.2f%n", codec, dataType, encoded.length, (double) raw / encoded.length);
+    }
+
+    /** A smooth gradient with some noise, like most imagery. */
+    private static Raster createTile(int type) {
+        WritableRaster raster = RasterFactory.createWritableRaster(
+                RasterFactory.createPixelInterleavedSampleModel(type, TILE_SIZE, TILE_SIZE, 3), new Point(0, 0));
+        double scale = type == DataBuffer.TYPE_BYTE ? 100 : type == DataBuffer.TYPE_USHORT ? 20000 : 1;
+        Random random = new Random(0);
+        for (int y = 0; y < TILE_SIZE; y++) {
+            for (int x = 0; x < TILE_SIZE; x++) {
+                for (int b = 0; b < 3; b++) {
+                    double v = (Math.sin(x / 40.0 + b) + Math.cos(y / 30.0) + 2) / 4 + random.nextGaussian() * 0.01;
+                    raster.setSample(x, y, b, v * scale);
+                }
+            }
+        }
+        return raster;
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoderFactory.createEncoder(out, encodeParam, tile.getSampleModel()).encode(tile);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Raster decode() throws IOException {
+        return decoderFactory
+                .createDecoder(new ByteArrayInputStream(encoded), decodeParam)
+                .decode(new Point(0, 0));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(TileCodecBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
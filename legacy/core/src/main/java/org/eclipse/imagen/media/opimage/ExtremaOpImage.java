@@ -27,6 +27,7 @@ import java.util.ListIterator;
 import org.eclipse.imagen.PixelAccessor;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.StatisticsOpImage;
+import org.eclipse.imagen.StatisticsSampling;
 import org.eclipse.imagen.UnpackedImageData;
 
 /**
@@ -74,6 +75,7 @@ public class ExtremaOpImage extends StatisticsOpImage {
      * Constructs an <code>ExtremaOpImage</code>.
      *
      * @param source The source image.
+     * @param sampling The tile sampling policy, or <code>null</code> to visit every tile.
      */
     public ExtremaOpImage(
             RenderedImage source,
@@ -83,8 +85,9 @@ public class ExtremaOpImage extends StatisticsOpImage {
             int xPeriod,
             int yPeriod,
             boolean saveLocations,
-            int maxRuns) {
-        super(source, roi, xStart, yStart, xPeriod, yPeriod);
+            int maxRuns,
+            StatisticsSampling sampling) {
+        super(source, roi, xStart, yStart, xPeriod, yPeriod, sampling);
 
         extrema = null;
         this.saveLocations = saveLocations;
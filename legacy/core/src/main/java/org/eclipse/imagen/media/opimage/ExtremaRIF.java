@@ -21,7 +21,9 @@ import java.awt.RenderingHints;
 import java.awt.image.RenderedImage;
 import java.awt.image.renderable.ParameterBlock;
 import java.awt.image.renderable.RenderedImageFactory;
+import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.ROI;
+import org.eclipse.imagen.StatisticsSampling;
 
 /**
  * A <code>RIF</code> supporting the "Extrema" operation in the rendered image layer.
@@ -35,10 +37,14 @@ public class ExtremaRIF implements RenderedImageFactory {
 
     /**
      * Creates a new instance of <code>ExtremaOpImage</code> in the rendered layer. Any image layout information in
-     * <code>RenderingHints</code> is ignored. This method satisfies the implementation of RIF.
+     * <code>RenderingHints</code> is ignored, while a {@link StatisticsSampling} mapped to <code>
+     * ImageN.KEY_STATISTICS_SAMPLING</code> restricts the tiles being scanned. This method satisfies the implementation
+     * of RIF.
      */
     public RenderedImage create(ParameterBlock paramBlock, RenderingHints hints) {
         RenderedImage src = paramBlock.getRenderedSource(0);
+        StatisticsSampling sampling =
+                hints == null ? null : (StatisticsSampling) hints.get(ImageN.KEY_STATISTICS_SAMPLING);
 
         int xStart = src.getMinX(); // default values
         int yStart = src.getMinY();
@@ -54,6 +60,7 @@ public class ExtremaRIF implements RenderedImageFactory {
                 paramBlock.getIntParameter(1),
                 paramBlock.getIntParameter(2),
                 ((Boolean) paramBlock.getObjectParameter(3)).booleanValue(),
-                paramBlock.getIntParameter(4));
+                paramBlock.getIntParameter(4),
+                sampling);
     }
 }
@@ -22,6 +22,7 @@ import java.awt.image.RenderedImage;
 import org.eclipse.imagen.Histogram;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.StatisticsOpImage;
+import org.eclipse.imagen.StatisticsSampling;
 
 /**
  * An <code>OpImage</code> implementing the "Histogram" operation as described in <code>
@@ -57,6 +58,7 @@ final class HistogramOpImage extends StatisticsOpImage {
      * Constructs an <code>HistogramOpImage</code>.
      *
      * @param source The source image.
+     * @param sampling The tile sampling policy, or <code>null</code> to visit every tile.
      */
     public HistogramOpImage(
             RenderedImage source,
@@ -67,8 +69,9 @@ final class HistogramOpImage extends StatisticsOpImage {
             int yPeriod,
             int[] numBins,
             double[] lowValue,
-            double[] highValue) {
-        super(source, roi, xStart, yStart, xPeriod, yPeriod);
+            double[] highValue,
+            StatisticsSampling sampling) {
+        super(source, roi, xStart, yStart, xPeriod, yPeriod, sampling);
 
         numBands = source.getSampleModel().getNumBands();
 
@@ -21,7 +21,9 @@ import java.awt.RenderingHints;
 import java.awt.image.RenderedImage;
 import java.awt.image.renderable.ParameterBlock;
 import java.awt.image.renderable.RenderedImageFactory;
+import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.ROI;
+import org.eclipse.imagen.StatisticsSampling;
 import org.eclipse.imagen.media.util.ImageUtil;
 import org.eclipse.imagen.util.ImagingListener;
 
@@ -39,7 +41,9 @@ public class HistogramRIF implements RenderedImageFactory {
 
     /**
      * Creates a new instance of <code>HistogramOpImage</code> in the rendered layer. Any image layout information in
-     * <code>RenderingHints</code> is ignored. This method satisfies the implementation of RIF.
+     * <code>RenderingHints</code> is ignored, while a {@link StatisticsSampling} mapped to <code>
+     * ImageN.KEY_STATISTICS_SAMPLING</code> restricts the tiles being scanned. This method satisfies the implementation
+     * of RIF.
      */
     public RenderedImage create(ParameterBlock args, RenderingHints hints) {
         RenderedImage src = args.getRenderedSource(0);
@@ -56,10 +60,13 @@ public class HistogramRIF implements RenderedImageFactory {
         int[] numBins = (int[]) args.getObjectParameter(3);
         double[] lowValue = (double[]) args.getObjectParameter(4);
         double[] highValue = (double[]) args.getObjectParameter(5);
+        StatisticsSampling sampling =
+                hints == null ? null : (StatisticsSampling) hints.get(ImageN.KEY_STATISTICS_SAMPLING);
 
         HistogramOpImage op = null;
         try {
-            op = new HistogramOpImage(src, roi, xStart, yStart, xPeriod, yPeriod, numBins, lowValue, highValue);
+            op = new HistogramOpImage(
+                    src, roi, xStart, yStart, xPeriod, yPeriod, numBins, lowValue, highValue, sampling);
         } catch (Exception e) {
             ImagingListener listener = ImageUtil.getImagingListener(hints);
             String message = JaiI18N.getString("HistogramRIF0");
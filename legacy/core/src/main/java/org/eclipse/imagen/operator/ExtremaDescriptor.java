@@ -46,6 +46,11 @@ import org.eclipse.imagen.registry.RenderedRegistryMode;
  * represent the sampling rate along each axis. These variables may not be less than 1. However, they may be <code>null
  * </code>, in which case the sampling rate is set to 1; that is, every pixel in the ROI is processed.
  *
+ * <p>For large images, where approximate extrema are sufficient, a {@link org.eclipse.imagen.StatisticsSampling} can be
+ * supplied through the <code>ImageN.KEY_STATISTICS_SAMPLING</code> rendering hint. Only the sampled tiles are then
+ * scanned (and hence computed upstream), and intermediate extrema may be monitored through a
+ * {@link org.eclipse.imagen.StatisticsListener}.
+ *
  * <p>The <code>Boolean</code> parameter "saveLocations" indicates whether the locations of the extrema will be
  * computed. If <code>TRUE</code>, the locations are computed and stored in the properties "minLocations" and
  * "maxLocations" in the form of lists of run length codes. Each run length code is stored as a three-entry integer
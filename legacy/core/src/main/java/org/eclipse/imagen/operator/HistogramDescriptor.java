@@ -46,6 +46,11 @@ import org.eclipse.imagen.registry.RenderedRegistryMode;
  * represent the sampling rate along the two axis. These variables may not be less than 1. If they are not set, the
  * default value of 1 is used so that every pixel within the ROI is counted.
  *
+ * <p>For large images, where an approximate histogram is sufficient, a {@link org.eclipse.imagen.StatisticsSampling}
+ * can be supplied through the <code>ImageN.KEY_STATISTICS_SAMPLING</code> rendering hint. Only the sampled tiles are
+ * then scanned (and hence computed upstream), and the histogram only counts the pixels of those tiles. Intermediate
+ * histograms, along with an error bound, may be monitored through a {@link org.eclipse.imagen.StatisticsListener}.
+ *
  * <p>The three arguments, <code>numBins</code>, <code>lowValue</code>, and <code>highValue</code>, define the type of
  * the histogram to be generated. Please see the <code>Histogram</code> specification for their detailed descriptions.
  * The three arrays must either have an array length of 1, in which case the same value is applied to all bands of the
@@ -18,6 +18,7 @@
 package org.eclipse.imagen.media.rmi;
 
 import java.awt.*;
+import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
@@ -25,6 +26,8 @@ import java.awt.image.renderable.ContextualRenderedImageFactory;
 import java.awt.image.renderable.ParameterBlock;
 import java.awt.image.renderable.RenderContext;
 import java.awt.image.renderable.RenderableImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
 import java.net.InetAddress;
@@ -34,6 +37,7 @@ import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Vector;
 import org.eclipse.imagen.*;
@@ -44,6 +48,7 @@ import org.eclipse.imagen.media.tilecodec.TileCodecUtils;
 import org.eclipse.imagen.media.util.ImageUtil;
 import org.eclipse.imagen.media.util.Service;
 import org.eclipse.imagen.registry.CRIFRegistry;
+import org.eclipse.imagen.registry.RenderableRegistryMode;
 import org.eclipse.imagen.remote.*;
 import org.eclipse.imagen.tilecodec.TileCodecDescriptor;
 import org.eclipse.imagen.tilecodec.TileCodecParameterList;
@@ -95,6 +100,82 @@ public class ImageNRMIImageServer extends UnicastRemoteObject implements ImageSe
     /** Hashtable to store the number of references existing to a particular id on this server. */
     private static Hashtable refCount = new Hashtable();
 
+    /** Hashtable to store the versions of the rendering of each RenderedOp node which is not dynamic. */
+    private static Hashtable versions = new Hashtable();
+
+    /**
+     * Records the versions of the rendering of a node and the regions each version invalidated, from the <code>
+     * RenderingChangeEvent</code>s the node emits.
+     */
+    private static class NodeVersion implements PropertyChangeListener {
+
+        // The number of versions whose invalid region is remembered
+        private static final int HISTORY_SIZE = 32;
+
+        private long version = 0L;
+
+        // The invalid regions of the last versions, null when the entire rendering was invalidated
+        private final LinkedList<Shape> regions = new LinkedList<>();
+
+        public synchronized void propertyChange(PropertyChangeEvent evt) {
+            if (!(evt instanceof RenderingChangeEvent)) {
+                return;
+            }
+
+            RenderingChangeEvent rcEvent = (RenderingChangeEvent) evt;
+            Shape invalidRegion = rcEvent.getInvalidRegion();
+            if (!hasSameLayout((RenderedImage) rcEvent.getOldValue(), (RenderedImage) rcEvent.getNewValue())) {
+                invalidRegion = null;
+            }
+
+            version++;
+            regions.addLast(invalidRegion);
+            if (regions.size() > HISTORY_SIZE) {
+                regions.removeFirst();
+            }
+        }
+
+        synchronized long getVersion() {
+            return version;
+        }
+
+        /** Returns the union of the regions invalidated since the given version, or null if it is unknown. */
+        synchronized Shape getInvalidRegion(long since) {
+            long count = version - since;
+            if (count < 0 || count > regions.size()) {
+                return null;
+            }
+
+            Area area = new Area();
+            for (int i = regions.size() - (int) count; i < regions.size(); i++) {
+                Shape region = regions.get(i);
+                if (region == null) {
+                    return null;
+                }
+                area.add(new Area(region));
+            }
+            return area;
+        }
+
+        /** Whether the tiles of two renderings cover the same areas with the same kind of data. */
+        private static boolean hasSameLayout(RenderedImage oldImage, RenderedImage newImage) {
+            return oldImage != null
+                    && newImage != null
+                    && oldImage.getMinX() == newImage.getMinX()
+                    && oldImage.getMinY() == newImage.getMinY()
+                    && oldImage.getWidth() == newImage.getWidth()
+                    && oldImage.getHeight() == newImage.getHeight()
+                    && oldImage.getTileWidth() == newImage.getTileWidth()
+                    && oldImage.getTileHeight() == newImage.getTileHeight()
+                    && oldImage.getTileGridXOffset() == newImage.getTileGridXOffset()
+                    && oldImage.getTileGridYOffset() == newImage.getTileGridYOffset()
+                    && oldImage.getSampleModel().getDataType()
+                            == newImage.getSampleModel().getDataType()
+                    && oldImage.getSampleModel().getNumBands()
+                            == newImage.getSampleModel().getNumBands();
+        }
+    }
+
     /**
      * Retrieve a PlanarImage source from the Hashtable of sources.
      *
@@ -144,8 +225,13 @@ public class ImageNRMIImageServer extends UnicastRemoteObject implements ImageSe
             // If this was the last reference, remove all Objects
             // associated with this id in various Hashtables.
             if (nodes != null) {
-                nodes.remove(id);
+                Object node = nodes.remove(id);
                 negotiated.remove(id);
+
+                NodeVersion nodeVersion = (NodeVersion) versions.remove(id);
+                if (nodeVersion != null && node instanceof PlanarImage) {
+                    ((PlanarImage) node).removePropertyChangeListener(nodeVersion);
+                }
             }
 
             refCount.remove(id);
@@ -350,83 +436,143 @@ public class ImageNRMIImageServer extends UnicastRemoteObject implements ImageSe
      */
     public byte[] getCompressedTile(Long id, int x, int y) throws RemoteException {
 
-        TileCodecParameterList tcpl = null;
-        TileEncoderFactory tef = null;
-        NegotiableCapability codecCap = null;
+        NegotiableCapability codecCap = getTileCodecCapability(id);
+        TileEncoderFactory tef = getTileEncoderFactory(codecCap);
+        TileCodecParameterList tcpl = getTileEncoderParameters(codecCap);
+
+        return encodeTile(tef, tcpl, getSource(id).getTile(x, y));
+    }
+
+    /**
+     * Returns the tiles at the given indices in the tile array, so that a single call replaces a round trip per tile.
+     * The tiles are computed in the calling thread rather than handed to the <code>TileScheduler</code>, whose workers
+     * may be busy waiting for the very tiles requested when the client runs in the same virtual machine; concurrent
+     * requests are served by distinct threads.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return the tiles as Rasters, in the order of <code>tileIndices</code>.
+     */
+    public SerializableState[] getTiles(Long id, Point[] tileIndices) throws RemoteException {
+
+        RenderedImage source = getSource(id);
+        SerializableState[] states = new SerializableState[tileIndices.length];
+        for (int i = 0; i < tileIndices.length; i++) {
+            states[i] = SerializerFactory.getState(source.getTile(tileIndices[i].x, tileIndices[i].y), null);
+        }
+        return states;
+    }
+
+    /**
+     * Compresses the tiles at the given indices in the tile array with the negotiated <code>TileEncoder</code> and
+     * returns the compressed tiles' contents. The tiles are computed in the calling thread, as in <code>getTiles()
+     * </code>.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return byte arrays containing the compressed tiles' contents, in the order of <code>tileIndices</code>.
+     */
+    public byte[][] getCompressedTiles(Long id, Point[] tileIndices) throws RemoteException {
+
+        NegotiableCapability codecCap = getTileCodecCapability(id);
+        TileEncoderFactory tef = getTileEncoderFactory(codecCap);
+        TileCodecParameterList tcpl = getTileEncoderParameters(codecCap);
 
-        if (negotiated != null) {
-            codecCap = ((NegotiableCapabilitySet) negotiated.get(id)).getNegotiatedValue("tileCodec");
+        RenderedImage source = getSource(id);
+        byte[][] data = new byte[tileIndices.length][];
+        for (int i = 0; i < tileIndices.length; i++) {
+            data[i] = encodeTile(tef, tcpl, source.getTile(tileIndices[i].x, tileIndices[i].y));
         }
+        return data;
+    }
 
-        if (codecCap != null) {
+    /** Returns the negotiated "tileCodec" capability of the given id. */
+    private static NegotiableCapability getTileCodecCapability(Long id) {
+        NegotiableCapabilitySet negotiatedValues = (NegotiableCapabilitySet) negotiated.get(id);
+        NegotiableCapability codecCap =
+                negotiatedValues == null ? null : negotiatedValues.getNegotiatedValue("tileCodec");
 
-            String category = codecCap.getCategory();
-            String capabilityName = codecCap.getCapabilityName();
-            List generators = codecCap.getGenerators();
+        if (codecCap == null) {
+            throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer2"));
+        }
+        return codecCap;
+    }
 
-            Class factory;
-            for (Iterator i = generators.iterator(); i.hasNext(); ) {
+    /** Creates the <code>TileEncoderFactory</code> of the negotiated "tileCodec" capability. */
+    private static TileEncoderFactory getTileEncoderFactory(NegotiableCapability codecCap) {
 
-                factory = (Class) i.next();
-                if (tef == null && TileEncoderFactory.class.isAssignableFrom(factory)) {
-                    try {
-                        tef = (TileEncoderFactory) factory.newInstance();
-                    } catch (InstantiationException ie) {
-                        throw new RuntimeException(ie.getMessage());
-                    } catch (IllegalAccessException iae) {
-                        throw new RuntimeException(iae.getMessage());
-                    }
+        TileEncoderFactory tef = null;
+        List generators = codecCap.getGenerators();
+
+        Class factory;
+        for (Iterator i = generators.iterator(); i.hasNext(); ) {
+
+            factory = (Class) i.next();
+            if (tef == null && TileEncoderFactory.class.isAssignableFrom(factory)) {
+                try {
+                    tef = (TileEncoderFactory) factory.newInstance();
+                } catch (InstantiationException ie) {
+                    throw new RuntimeException(ie.getMessage());
+                } catch (IllegalAccessException iae) {
+                    throw new RuntimeException(iae.getMessage());
                 }
             }
+        }
 
-            if (tef == null) {
-                throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer0"));
-            }
+        if (tef == null) {
+            throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer0"));
+        }
+        return tef;
+    }
 
-            TileCodecDescriptor tcd = (TileCodecDescriptor)
-                    ImageN.getDefaultInstance().getOperationRegistry().getDescriptor("tileEncoder", capabilityName);
+    /** Creates the encoding parameters from the negotiated "tileCodec" capability. */
+    private static TileCodecParameterList getTileEncoderParameters(NegotiableCapability codecCap) {
 
-            if (tcd.includesSampleModelInfo() == false || tcd.includesLocationInfo() == false) {
-                throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer1"));
-            }
+        String capabilityName = codecCap.getCapabilityName();
+        TileCodecDescriptor tcd = (TileCodecDescriptor)
+                ImageN.getDefaultInstance().getOperationRegistry().getDescriptor("tileEncoder", capabilityName);
+
+        if (tcd.includesSampleModelInfo() == false || tcd.includesLocationInfo() == false) {
+            throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer1"));
+        }
 
-            ParameterListDescriptor pld = tcd.getParameterListDescriptor("tileEncoder");
+        ParameterListDescriptor pld = tcd.getParameterListDescriptor("tileEncoder");
 
-            tcpl = new TileCodecParameterList(capabilityName, new String[] {"tileEncoder"}, pld);
+        TileCodecParameterList tcpl = new TileCodecParameterList(capabilityName, new String[] {"tileEncoder"}, pld);
 
-            if (pld != null) {
+        if (pld != null) {
 
-                String paramNames[] = pld.getParamNames();
-                String currParam;
-                Object currValue;
+            String paramNames[] = pld.getParamNames();
+            String currParam;
+            Object currValue;
 
-                if (paramNames != null) {
-                    for (int i = 0; i < paramNames.length; i++) {
-                        currParam = paramNames[i];
-                        try {
-                            currValue = codecCap.getNegotiatedValue(currParam);
-                        } catch (IllegalArgumentException iae) {
-                            continue;
-                        }
-                        tcpl.setParameter(currParam, currValue);
+            if (paramNames != null) {
+                for (int i = 0; i < paramNames.length; i++) {
+                    currParam = paramNames[i];
+                    try {
+                        currValue = codecCap.getNegotiatedValue(currParam);
+                    } catch (IllegalArgumentException iae) {
+                        continue;
                     }
+                    tcpl.setParameter(currParam, currValue);
                 }
             }
+        }
+        return tcpl;
+    }
 
-            Raster r = getSource(id).getTile(x, y);
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            TileEncoder encoder = tef.createEncoder(stream, tcpl, r.getSampleModel());
-
-            try {
-                encoder.encode(r);
-            } catch (java.io.IOException ioe) {
-                throw new RuntimeException(ioe.getMessage());
-            }
+    /** Encodes a tile with the given factory and parameters. */
+    private static byte[] encodeTile(TileEncoderFactory tef, TileCodecParameterList tcpl, Raster r) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        TileEncoder encoder = tef.createEncoder(stream, tcpl, r.getSampleModel());
 
-            return stream.toByteArray();
-        } else {
-            throw new RuntimeException(JaiI18N.getString("ImageNRMIImageServer2"));
+        try {
+            encoder.encode(r);
+        } catch (java.io.IOException ioe) {
+            throw new RuntimeException(ioe.getMessage());
         }
+
+        return stream.toByteArray();
     }
 
     /**
@@ -480,6 +626,21 @@ public class ImageNRMIImageServer extends UnicastRemoteObject implements ImageSe
         node.removeSinks();
 
         nodes.put(id, node);
+
+        // Track the versions of the rendering unless it may change
+        // without notice, which only renderable operations may declare.
+        OperationRegistry registry = node.getRegistry() != null
+                ? node.getRegistry()
+                : ImageN.getDefaultInstance().getOperationRegistry();
+        ContextualRenderedImageFactory crif = null;
+        if (registry.getDescriptor(RenderableRegistryMode.MODE_NAME, opName) != null) {
+            crif = CRIFRegistry.get(registry, opName);
+        }
+        if (crif == null || !crif.isDynamic()) {
+            NodeVersion nodeVersion = new NodeVersion();
+            node.addPropertyChangeListener(nodeVersion);
+            versions.put(id, nodeVersion);
+        }
     }
 
     /** Calls for Rendering of the Op and returns true if the RenderedOp could be rendered else false */
@@ -812,6 +973,37 @@ public class ImageNRMIImageServer extends UnicastRemoteObject implements ImageSe
         return node.isDynamic();
     }
 
+    /**
+     * Returns the version of the rendering of the node represented by the given id. The version is incremented every
+     * time the node emits a <code>RenderingChangeEvent</code>. Images which are not operation nodes never change and
+     * are always at version 0. -1 is returned for nodes whose rendering may change without notice.
+     */
+    public long getVersion(Long id) throws RemoteException {
+
+        NodeVersion nodeVersion = (NodeVersion) versions.get(id);
+        if (nodeVersion != null) {
+            return nodeVersion.getVersion();
+        }
+        return nodes.get(id) instanceof OperationNode ? -1L : 0L;
+    }
+
+    /**
+     * Returns the region of the rendering of the node represented by the given id which was invalidated since the given
+     * version, or null if the entire rendering must be considered invalid.
+     */
+    public SerializableState getInvalidRegion(Long id, long version) throws RemoteException {
+
+        Shape invalidRegion = null;
+        NodeVersion nodeVersion = (NodeVersion) versions.get(id);
+        if (nodeVersion != null) {
+            invalidRegion = nodeVersion.getInvalidRegion(version);
+        } else if (version == 0L && !(nodes.get(id) instanceof OperationNode)) {
+            invalidRegion = new Rectangle();
+        }
+
+        return invalidRegion == null ? null : SerializerFactory.getState(invalidRegion, null);
+    }
+
     /** Gets the operation names supported on the Server */
     public String[] getServerSupportedOperationNames() throws RemoteException {
         return ImageN.getDefaultInstance().getOperationRegistry().getDescriptorNames(OperationDescriptor.class);
@@ -180,6 +180,26 @@ public interface ImageServer extends Remote {
      */
     byte[] getCompressedTile(Long id, int x, int y) throws RemoteException;
 
+    /**
+     * Returns the tiles at the given indices in the tile array. This is the batched form of <code>getTile()</code> and
+     * saves a round trip per tile.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return copies of the tiles as Rasters, in the order of <code>tileIndices</code>.
+     */
+    SerializableState[] getTiles(Long id, Point[] tileIndices) throws RemoteException;
+
+    /**
+     * Compresses the tiles at the given indices in the tile array and returns the compressed tiles' contents. This is
+     * the batched form of <code>getCompressedTile()</code>.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return byte arrays containing the compressed tiles' contents, in the order of <code>tileIndices</code>.
+     */
+    byte[][] getCompressedTiles(Long id, Point[] tileIndices) throws RemoteException;
+
     /**
      * Returns the entire image as a single Raster.
      *
@@ -351,6 +371,20 @@ public interface ImageServer extends Remote {
      */
     public boolean isDynamic(Long id) throws RemoteException;
 
+    /**
+     * Returns the version of the rendering of the node represented by the given id. The version is incremented every
+     * time the rendering changes, so that a client can tell whether tiles it obtained earlier are still valid. -1 is
+     * returned for nodes whose rendering may change without notice, whose tiles should not be reused.
+     */
+    long getVersion(Long id) throws RemoteException;
+
+    /**
+     * Returns the region of the rendering of the node represented by the given id which was invalidated since the given
+     * version, as the <code>SerializableState</code> of a <code>Shape</code>. An empty shape means that the tiles
+     * obtained at that version are all still valid, while <code>null</code> means that none are.
+     */
+    SerializableState getInvalidRegion(Long id, long version) throws RemoteException;
+
     /** Gets the operation names supported on the Server */
     String[] getServerSupportedOperationNames() throws RemoteException;
 
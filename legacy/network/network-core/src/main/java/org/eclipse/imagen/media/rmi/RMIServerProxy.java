@@ -26,12 +26,24 @@ import java.awt.image.renderable.ParameterBlock;
 import java.awt.image.renderable.RenderContext;
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.net.InetAddress;
 import java.rmi.Naming;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.imagen.*;
 import org.eclipse.imagen.media.serialize.SerializableState;
 import org.eclipse.imagen.media.serialize.SerializerFactory;
@@ -68,6 +80,31 @@ public class RMIServerProxy extends PlanarImageServerProxy {
     // Cache the listener
     private ImagingListener listener;
 
+    // The threads sending the batched tile requests, shared by all the proxies
+    private static final ExecutorService fetchExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "ImageN RMI tile fetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // The tiles requested in batches and not received yet
+    private final Map<Point, CompletableFuture<Raster>> pendingTiles = new ConcurrentHashMap<>();
+
+    // The batches waiting for a fetcher
+    private final Queue<Point[]> pendingBatches = new ConcurrentLinkedQueue<>();
+
+    // The number of fetchers running, each one has at most one request in flight
+    private final AtomicInteger activeFetchers = new AtomicInteger();
+
+    // The latest rendering of each server node, keyed by server name and node id, whose cached tiles may be reused
+    private static final Map<String, WeakReference<RMIServerProxy>> nodeRenderings = new HashMap<>();
+
+    // The version of the server node the cached tiles belong to, -1 if they may not be reused
+    private volatile long version = -1L;
+
+    // The time of the last check of the version, in milliseconds
+    private volatile long lastValidation;
+
     /**
      * Construct an RMIServerProxy. This constructor should only be used when the source is a RenderedOp on a different
      * server.
@@ -109,6 +146,10 @@ public class RMIServerProxy extends PlanarImageServerProxy {
         } catch (RemoteException re) {
             System.err.println(JaiI18N.getString("RMIServerProxy2"));
         }
+
+        // Reuse the valid tiles of another rendering of the same node
+        RMIServerProxy previous = getNodeRendering(serverName, id);
+        reuseTiles(previous, previous == null ? -1L : previous.version);
     }
 
     /**
@@ -152,6 +193,10 @@ public class RMIServerProxy extends PlanarImageServerProxy {
         } catch (RemoteException re) {
             System.err.println(JaiI18N.getString("RMIServerProxy2"));
         }
+
+        // Reuse the valid tiles of another rendering of the same node
+        RMIServerProxy previous = getNodeRendering(serverName, id);
+        reuseTiles(previous, previous == null ? -1L : previous.version);
     }
 
     /**
@@ -258,6 +303,9 @@ public class RMIServerProxy extends PlanarImageServerProxy {
         } catch (RemoteException re) {
             System.err.println(JaiI18N.getString("RMIServerProxy2"));
         }
+
+        // Record the version of the new node
+        reuseTiles(null, -1L);
     }
 
     /** Creates a <code>RMIServerProxy</code> which is the new rendering produced when the serverName is updated. */
@@ -293,6 +341,7 @@ public class RMIServerProxy extends PlanarImageServerProxy {
         }
 
         Long opID = oldRMISP.getRMIID();
+        long previousVersion = oldRMISP.version;
 
         String propName = event.getPropertyName();
         if (event instanceof RenderingChangeEvent) {
@@ -337,6 +386,7 @@ public class RMIServerProxy extends PlanarImageServerProxy {
 
             oldRMISP.id = oldRenderingID;
             this.id = opID;
+            oldRMISP.version = previousVersion < 0 ? -1L : 0L;
 
         } else {
 
@@ -419,11 +469,16 @@ public class RMIServerProxy extends PlanarImageServerProxy {
 
             oldRMISP.id = oldRenderingID;
             this.id = opID;
+            oldRMISP.version = previousVersion < 0 ? -1L : 0L;
         }
 
         // If PlanarImageServerProxy had set the preferences during the
         // call to the super constructor, then honor that now.
         if (preferencesSet) super.setNegotiationPreferences(negPref);
+
+        // The old rendering now refers to a frozen copy of the previous
+        // rendering of the node, reuse the tiles which were not invalidated.
+        reuseTiles(oldRMISP, previousVersion);
     }
 
     /**
@@ -651,6 +706,15 @@ public class RMIServerProxy extends PlanarImageServerProxy {
      * Disposes of any resources allocated for remote operation.
      */
     public void dispose() {
+        synchronized (nodeRenderings) {
+            expungeNodeRenderings();
+            String key = getNodeKey(serverName, id);
+            WeakReference<RMIServerProxy> ref = nodeRenderings.get(key);
+            if (ref != null && ref.get() == this) {
+                nodeRenderings.remove(key);
+            }
+        }
+
         try {
             remoteImage.dispose(id);
         } catch (Exception e) {
@@ -692,7 +756,18 @@ public class RMIServerProxy extends PlanarImageServerProxy {
     }
 
     /**
-     * Gets the requested tile from the server, which does the processing to produce the desired tile.
+     * Returns the tile at the given indices, from the tile cache if possible. When <code>
+     * RemoteJAI.KEY_TILE_REVALIDATION_INTERVAL</code> is set, the cached tiles are first checked against the server
+     * node if that interval elapsed since the last check.
+     */
+    public Raster getTile(int tileX, int tileY) {
+        checkTiles();
+        return super.getTile(tileX, tileY);
+    }
+
+    /**
+     * Gets the requested tile from the server, which does the processing to produce the desired tile. If the tile is
+     * part of a batched request in flight, waits for that request instead.
      *
      * @throws a RemoteImagingException if a RemoteException is thrown during the RMI communication.
      */
@@ -703,95 +778,421 @@ public class RMIServerProxy extends PlanarImageServerProxy {
             return null;
         }
 
+        CompletableFuture<Raster> pending = pendingTiles.get(new Point(tileX, tileY));
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException ce) {
+                // The batch failed, request the tile on its own.
+            }
+        }
+
         // Since "tileCodec" is the only category that we care about or honor
         // currently in the remote communication.
         NegotiableCapability codecCap = getNegotiatedValue("tileCodec");
 
-        TileDecoderFactory tdf = null;
-        TileCodecParameterList tcpl = null;
+        try {
+            // If a compression hint was set, use it
+            if (codecCap != null) {
+                TileDecoderFactory tdf = getTileDecoderFactory(codecCap);
+                TileCodecParameterList tcpl = getTileDecoderParameters(codecCap);
+                return decodeTile(tdf, tcpl, remoteImage.getCompressedTile(id, tileX, tileY));
+            } else {
+                // Ask for uncompressed tiles.
+                SerializableState rp = remoteImage.getTile(id, tileX, tileY);
+                return (Raster) (rp.getObject());
+            }
+        } catch (RemoteException e) {
+            String message = JaiI18N.getString("RMIServerProxy15");
+            listener.errorOccurred(message, new RemoteImagingException(message, e), this, false);
+            //	    throw new RemoteImagingException(ImageUtil.getStackTraceString(e));
+        }
 
-        if (codecCap != null) {
+        return null;
+    }
 
-            String category = codecCap.getCategory();
-            String capabilityName = codecCap.getCapabilityName();
-            List generators = codecCap.getGenerators();
+    /**
+     * Returns the tiles at the given indices. The tiles missing from the cache are requested from the server in batches
+     * of up to <code>RemoteJAI.KEY_TILE_BATCH_SIZE</code> tiles, with up to <code>RemoteJAI.KEY_MAX_TILE_REQUESTS
+     * </code> batches in flight, instead of one round trip per tile. Tiles of failed batches are requested one by one
+     * with the usual retries.
+     *
+     * @throws IllegalArgumentException If <code>tileIndices</code> is <code>null</code>.
+     */
+    public Raster[] getTiles(Point[] tileIndices) {
+        if (tileIndices == null) {
+            return super.getTiles(tileIndices);
+        }
 
-            Class factory;
-            for (Iterator i = generators.iterator(); i.hasNext(); ) {
-                factory = (Class) i.next();
-                if (tdf == null && TileDecoderFactory.class.isAssignableFrom(factory)) {
+        Map<Point, CompletableFuture<Raster>> fetched = fetchTiles(tileIndices);
 
-                    try {
-                        tdf = (TileDecoderFactory) factory.newInstance();
-                    } catch (InstantiationException ie) {
-                        throw new RemoteImagingException(ImageUtil.getStackTraceString(ie));
-                    } catch (IllegalAccessException iae) {
-                        throw new RemoteImagingException(ImageUtil.getStackTraceString(iae));
-                    }
+        Raster[] tiles = new Raster[tileIndices.length];
+        for (int i = 0; i < tileIndices.length; i++) {
+            Point p = tileIndices[i];
+            CompletableFuture<Raster> future = fetched.get(p);
+            tiles[i] = null;
+            if (future != null) {
+                try {
+                    tiles[i] = future.join();
+                } catch (CompletionException ce) {
+                    // Fall back to getTile() below
                 }
             }
-
-            if (tdf == null) {
-                throw new RemoteImagingException(JaiI18N.getString("RMIServerProxy0"));
+            if (tiles[i] == null) {
+                tiles[i] = getTile(p.x, p.y);
             }
+        }
+        return tiles;
+    }
 
-            TileCodecDescriptor tcd = (TileCodecDescriptor) registry.getDescriptor("tileDecoder", capabilityName);
+    /**
+     * Queues a list of tiles for computation. The tiles missing from the cache are requested from the server in
+     * pipelined batches as in <code>getTiles()</code>, and the <code>TileScheduler</code> notifies the listeners as
+     * they arrive.
+     *
+     * @throws IllegalArgumentException If <code>tileIndices</code> is <code>null</code>.
+     */
+    public TileRequest queueTiles(Point[] tileIndices) {
+        if (tileIndices != null) {
+            fetchTiles(tileIndices);
+        }
+        return super.queueTiles(tileIndices);
+    }
 
-            if (tcd.includesSampleModelInfo() == false || tcd.includesLocationInfo() == false) {
-                throw new RemoteImagingException(JaiI18N.getString("RMIServerProxy1"));
-            }
+    /**
+     * Hints that the given tiles might be needed in the near future. The tiles missing from the cache are requested
+     * from the server in pipelined batches and cached as they arrive.
+     *
+     * @throws IllegalArgumentException If <code>tileIndices</code> is <code>null</code>.
+     */
+    public void prefetchTiles(Point[] tileIndices) {
+        if (tileIndices == null || cache == null) {
+            super.prefetchTiles(tileIndices);
+        } else {
+            fetchTiles(tileIndices);
+        }
+    }
 
-            ParameterListDescriptor pld = tcd.getParameterListDescriptor("tileDecoder");
+    /**
+     * Starts fetching the given tiles which are neither cached nor already being fetched, and returns the futures of
+     * all the given tiles being fetched.
+     */
+    private Map<Point, CompletableFuture<Raster>> fetchTiles(Point[] tileIndices) {
 
-            tcpl = new TileCodecParameterList(capabilityName, new String[] {"tileDecoder"}, pld);
+        checkTiles();
 
-            // Set parameters on TileCodecParameterList only if there are any
-            // parameters defined.
-            if (pld != null) {
+        Map<Point, CompletableFuture<Raster>> fetched = new HashMap<>();
+        List<Point> missing = new ArrayList<>();
+        int minTileX = getMinTileX();
+        int maxTileX = getMaxTileX();
+        int minTileY = getMinTileY();
+        int maxTileY = getMaxTileY();
 
-                String paramNames[] = pld.getParamNames();
-                String currParam;
-                Object currValue;
-                if (paramNames != null) {
-                    for (int i = 0; i < paramNames.length; i++) {
-                        currParam = paramNames[i];
-                        try {
-                            currValue = codecCap.getNegotiatedValue(currParam);
-                        } catch (IllegalArgumentException iae) {
-                            // If this parameter is not defined on the
-                            // NegotiableCapability, then move onto the next
-                            continue;
-                        }
+        for (Point p : tileIndices) {
+            if (p.x < minTileX || p.x > maxTileX || p.y < minTileY || p.y > maxTileY || fetched.containsKey(p)) {
+                continue;
+            }
+            if (cache != null && cache.getTile(this, p.x, p.y) != null) {
+                continue;
+            }
+            Point key = new Point(p);
+            CompletableFuture<Raster> future = new CompletableFuture<>();
+            CompletableFuture<Raster> pending = pendingTiles.putIfAbsent(key, future);
+            if (pending != null) {
+                fetched.put(key, pending);
+            } else {
+                fetched.put(key, future);
+                missing.add(key);
+            }
+        }
 
-                        tcpl.setParameter(currParam, currValue);
-                    }
-                }
+        int batchSize = getHint(RemoteJAI.KEY_TILE_BATCH_SIZE, RemoteJAI.DEFAULT_TILE_BATCH_SIZE);
+        for (int i = 0; i < missing.size(); i += batchSize) {
+            List<Point> batch = missing.subList(i, Math.min(missing.size(), i + batchSize));
+            pendingBatches.add(batch.toArray(new Point[batch.size()]));
+        }
+        startFetchers();
+
+        return fetched;
+    }
+
+    /** Starts fetcher tasks until the batch queue is empty or the maximum number of requests in flight is reached. */
+    private void startFetchers() {
+        int maxRequests = getHint(RemoteJAI.KEY_MAX_TILE_REQUESTS, RemoteJAI.DEFAULT_MAX_TILE_REQUESTS);
+        while (!pendingBatches.isEmpty()) {
+            int active = activeFetchers.get();
+            if (active >= maxRequests) {
+                return;
+            }
+            if (activeFetchers.compareAndSet(active, active + 1)) {
+                fetchExecutor.execute(this::runFetcher);
             }
         }
+    }
 
+    /** Fetches the queued batches one after the other. */
+    private void runFetcher() {
         try {
-            // If a compression hint was set, use it
+            Point[] batch;
+            while ((batch = pendingBatches.poll()) != null) {
+                fetchBatch(batch);
+            }
+        } finally {
+            activeFetchers.decrementAndGet();
+        }
+
+        // A batch may have been queued after the queue was found empty
+        startFetchers();
+    }
+
+    /** Requests a batch of tiles from the server, caches them, and completes their futures. */
+    private void fetchBatch(Point[] batch) {
+        Raster[] tiles = null;
+        Exception failure = null;
+        long requestVersion = version;
+        try {
+            NegotiableCapability codecCap = getNegotiatedValue("tileCodec");
             if (codecCap != null) {
-                byte ctile[] = remoteImage.getCompressedTile(id, tileX, tileY);
-                ByteArrayInputStream stream = new ByteArrayInputStream(ctile);
-                TileDecoder decoder = tdf.createDecoder(stream, tcpl);
-                try {
-                    return decoder.decode();
-                } catch (java.io.IOException ioe) {
-                    throw new RemoteImagingException(ImageUtil.getStackTraceString(ioe));
+                TileDecoderFactory tdf = getTileDecoderFactory(codecCap);
+                TileCodecParameterList tcpl = getTileDecoderParameters(codecCap);
+                byte[][] data = remoteImage.getCompressedTiles(id, batch);
+                tiles = new Raster[data.length];
+                for (int i = 0; i < data.length; i++) {
+                    tiles[i] = decodeTile(tdf, tcpl, data[i]);
                 }
             } else {
-                // Ask for uncompressed tiles.
-                SerializableState rp = remoteImage.getTile(id, tileX, tileY);
-                return (Raster) (rp.getObject());
+                SerializableState[] states = remoteImage.getTiles(id, batch);
+                tiles = new Raster[states.length];
+                for (int i = 0; i < states.length; i++) {
+                    tiles[i] = (Raster) states[i].getObject();
+                }
+            }
+            if (tiles.length != batch.length) {
+                throw new RemoteImagingException(JaiI18N.getString("RMIServerProxy15"));
+            }
+        } catch (RemoteException | RuntimeException e) {
+            tiles = null;
+            failure = e;
+        }
+
+        // Tiles requested before the cached tiles were invalidated may be stale
+        boolean cacheable = tiles != null && cache != null && requestVersion == version;
+        for (int i = 0; i < batch.length; i++) {
+            if (cacheable) {
+                cache.add(this, batch[i].x, batch[i].y, tiles[i], tileCacheMetric);
+            }
+            CompletableFuture<Raster> future = pendingTiles.remove(batch[i]);
+            if (tiles != null) {
+                future.complete(tiles[i]);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the rendering of the node on the server changed since the tiles in the tile cache were obtained,
+     * and removes the tiles of the invalidated region from the tile cache.
+     *
+     * @return the invalidated region, empty if all the cached tiles are still valid, or <code>null</code> if the entire
+     *     rendering was invalidated.
+     */
+    public synchronized Shape revalidate() {
+        long oldVersion = version;
+        long newVersion;
+        Shape invalidRegion = null;
+        try {
+            newVersion = remoteImage.getVersion(id);
+            if (newVersion >= 0 && newVersion == oldVersion) {
+                lastValidation = System.currentTimeMillis();
+                return new Rectangle();
+            }
+            if (newVersion >= 0 && oldVersion >= 0) {
+                SerializableState state = remoteImage.getInvalidRegion(id, oldVersion);
+                invalidRegion = state == null ? null : (Shape) state.getObject();
             }
         } catch (RemoteException e) {
-            String message = JaiI18N.getString("RMIServerProxy15");
+            String message = JaiI18N.getString("RMIServerProxy20");
             listener.errorOccurred(message, new RemoteImagingException(message, e), this, false);
-            //	    throw new RemoteImagingException(ImageUtil.getStackTraceString(e));
+            newVersion = -1L;
         }
 
-        return null;
+        version = newVersion;
+        lastValidation = System.currentTimeMillis();
+        removeTiles(invalidRegion);
+        return invalidRegion;
+    }
+
+    /** Revalidates the cached tiles if <code>RemoteJAI.KEY_TILE_REVALIDATION_INTERVAL</code> elapsed. */
+    private void checkTiles() {
+        int interval = getHint(RemoteJAI.KEY_TILE_REVALIDATION_INTERVAL, 0);
+        if (interval > 0 && cache != null && System.currentTimeMillis() - lastValidation >= interval) {
+            revalidate();
+        }
+    }
+
+    /** Removes the cached tiles intersecting the given region, all of them if it is <code>null</code>. */
+    private void removeTiles(Shape invalidRegion) {
+        if (cache == null) {
+            return;
+        }
+        if (invalidRegion == null) {
+            cache.removeTiles(this);
+            return;
+        }
+
+        Raster[] tiles = cache.getTiles(this);
+        int numTiles = tiles == null ? 0 : tiles.length;
+        for (int i = 0; i < numTiles; i++) {
+            Rectangle bounds = tiles[i].getBounds();
+            if (invalidRegion.intersects(bounds)) {
+                cache.remove(this, XToTileX(bounds.x), YToTileY(bounds.y));
+            }
+        }
+    }
+
+    /**
+     * Records the current version of the server node, copies the tiles of a previous rendering of the node cached at
+     * the given version which were not invalidated since, and makes this image the rendering whose tiles later
+     * renderings of the node may reuse.
+     */
+    private void reuseTiles(RMIServerProxy previous, long previousVersion) {
+        try {
+            version = remoteImage.getVersion(id);
+            lastValidation = System.currentTimeMillis();
+
+            if (version >= 0
+                    && previousVersion >= 0
+                    && previous != null
+                    && previous != this
+                    && cache != null
+                    && previous.getTileCache() != null) {
+                SerializableState state = remoteImage.getInvalidRegion(id, previousVersion);
+                Shape invalidRegion = state == null ? null : (Shape) state.getObject();
+
+                if (invalidRegion != null) {
+                    Raster[] tiles = previous.getTileCache().getTiles(previous);
+                    int numTiles = tiles == null ? 0 : tiles.length;
+                    for (int i = 0; i < numTiles; i++) {
+                        Rectangle bounds = tiles[i].getBounds();
+                        if (!invalidRegion.intersects(bounds)) {
+                            cache.add(this, XToTileX(bounds.x), YToTileY(bounds.y), tiles[i], tileCacheMetric);
+                        }
+                    }
+                }
+            }
+        } catch (RemoteException e) {
+            // The tiles of the node are not reused.
+            version = -1L;
+        }
+
+        if (version >= 0) {
+            synchronized (nodeRenderings) {
+                expungeNodeRenderings();
+                nodeRenderings.put(getNodeKey(serverName, id), new WeakReference<>(this));
+            }
+        }
+    }
+
+    /** Returns the latest rendering of the given server node, or <code>null</code>. */
+    private static RMIServerProxy getNodeRendering(String serverName, Long id) {
+        synchronized (nodeRenderings) {
+            expungeNodeRenderings();
+            WeakReference<RMIServerProxy> ref = nodeRenderings.get(getNodeKey(serverName, id));
+            return ref == null ? null : ref.get();
+        }
+    }
+
+    /** Drops the entries of the renderings which were garbage collected, the caller holds the lock of the map. */
+    private static void expungeNodeRenderings() {
+        nodeRenderings.values().removeIf(ref -> ref.get() == null);
+    }
+
+    private static String getNodeKey(String serverName, Long id) {
+        return serverName + "::" + id;
+    }
+
+    /** Returns the positive <code>Integer</code> value of a hint, or the default value. */
+    private int getHint(RenderingHints.Key key, int defaultValue) {
+        Object value = hints != null ? hints.get(key) : null;
+        return value instanceof Integer && (Integer) value > 0 ? (Integer) value : defaultValue;
+    }
+
+    /** Creates the <code>TileDecoderFactory</code> of the negotiated "tileCodec" capability. */
+    private TileDecoderFactory getTileDecoderFactory(NegotiableCapability codecCap) {
+
+        TileDecoderFactory tdf = null;
+        List generators = codecCap.getGenerators();
+
+        Class factory;
+        for (Iterator i = generators.iterator(); i.hasNext(); ) {
+            factory = (Class) i.next();
+            if (tdf == null && TileDecoderFactory.class.isAssignableFrom(factory)) {
+
+                try {
+                    tdf = (TileDecoderFactory) factory.newInstance();
+                } catch (InstantiationException ie) {
+                    throw new RemoteImagingException(ImageUtil.getStackTraceString(ie));
+                } catch (IllegalAccessException iae) {
+                    throw new RemoteImagingException(ImageUtil.getStackTraceString(iae));
+                }
+            }
+        }
+
+        if (tdf == null) {
+            throw new RemoteImagingException(JaiI18N.getString("RMIServerProxy0"));
+        }
+        return tdf;
+    }
+
+    /** Creates the decoding parameters from the negotiated "tileCodec" capability. */
+    private TileCodecParameterList getTileDecoderParameters(NegotiableCapability codecCap) {
+
+        String capabilityName = codecCap.getCapabilityName();
+        TileCodecDescriptor tcd = (TileCodecDescriptor) registry.getDescriptor("tileDecoder", capabilityName);
+
+        if (tcd.includesSampleModelInfo() == false || tcd.includesLocationInfo() == false) {
+            throw new RemoteImagingException(JaiI18N.getString("RMIServerProxy1"));
+        }
+
+        ParameterListDescriptor pld = tcd.getParameterListDescriptor("tileDecoder");
+
+        TileCodecParameterList tcpl = new TileCodecParameterList(capabilityName, new String[] {"tileDecoder"}, pld);
+
+        // Set parameters on TileCodecParameterList only if there are any
+        // parameters defined.
+        if (pld != null) {
+
+            String paramNames[] = pld.getParamNames();
+            String currParam;
+            Object currValue;
+            if (paramNames != null) {
+                for (int i = 0; i < paramNames.length; i++) {
+                    currParam = paramNames[i];
+                    try {
+                        currValue = codecCap.getNegotiatedValue(currParam);
+                    } catch (IllegalArgumentException iae) {
+                        // If this parameter is not defined on the
+                        // NegotiableCapability, then move onto the next
+                        continue;
+                    }
+
+                    tcpl.setParameter(currParam, currValue);
+                }
+            }
+        }
+        return tcpl;
+    }
+
+    /** Decodes a tile encoded by the server. */
+    private static Raster decodeTile(TileDecoderFactory tdf, TileCodecParameterList tcpl, byte[] ctile) {
+        ByteArrayInputStream stream = new ByteArrayInputStream(ctile);
+        TileDecoder decoder = tdf.createDecoder(stream, tcpl);
+        try {
+            return decoder.decode();
+        } catch (java.io.IOException ioe) {
+            throw new RemoteImagingException(ImageUtil.getStackTraceString(ioe));
+        }
     }
 
     public Object getRemoteProperty(String name) throws RemoteImagingException {
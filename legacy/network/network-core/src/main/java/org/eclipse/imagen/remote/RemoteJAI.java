@@ -143,6 +143,9 @@ public class RemoteJAI {
     private static final int HINT_RETRY_INTERVAL = 115;
     private static final int HINT_NUM_RETRIES = 116;
     private static final int HINT_NEGOTIATION_PREFERENCES = 117;
+    private static final int HINT_TILE_BATCH_SIZE = 118;
+    private static final int HINT_MAX_TILE_REQUESTS = 119;
+    private static final int HINT_TILE_REVALIDATION_INTERVAL = 120;
 
     /**
      * Key for the retry interval value to be used for dealing with network errors during remote imaging. The
@@ -170,6 +173,36 @@ public class RemoteJAI {
      */
     public static RenderingHints.Key KEY_NEGOTIATION_PREFERENCES =
             new RemoteJAI.RenderingKey(HINT_NEGOTIATION_PREFERENCES, NegotiableCapabilitySet.class);
+    /**
+     * Key for the maximum number of tiles requested from the server in a single call when several tiles are requested
+     * at once, e.g. through <code>getTiles()</code> or <code>queueTiles()</code>. The corresponding object must be an
+     * <code>Integer</code>. The common <code>RenderingHints</code> do not contain a default hint corresponding to this
+     * key.
+     *
+     * @see RemoteJAI
+     */
+    public static RenderingHints.Key KEY_TILE_BATCH_SIZE =
+            new RemoteJAI.RenderingKey(HINT_TILE_BATCH_SIZE, Integer.class);
+    /**
+     * Key for the maximum number of batched tile requests an image sends to the server without waiting for the previous
+     * ones to complete. The corresponding object must be an <code>Integer</code>. The common <code>
+     * RenderingHints</code> do not contain a default hint corresponding to this key.
+     *
+     * @see RemoteJAI
+     */
+    public static RenderingHints.Key KEY_MAX_TILE_REQUESTS =
+            new RemoteJAI.RenderingKey(HINT_MAX_TILE_REQUESTS, Integer.class);
+    /**
+     * Key for the minimum time in milliseconds between two checks of whether the rendering of the node on the server
+     * changed since the locally cached tiles of an image were obtained. The corresponding object must be an <code>
+     * Integer</code>. If this hint is not set, the cached tiles are only checked when a new rendering of the same
+     * server node is created. The common <code>RenderingHints</code> do not contain a default hint corresponding to
+     * this key.
+     *
+     * @see RemoteJAI
+     */
+    public static RenderingHints.Key KEY_TILE_REVALIDATION_INTERVAL =
+            new RemoteJAI.RenderingKey(HINT_TILE_REVALIDATION_INTERVAL, Integer.class);
     /** The String representing the remote server machine. */
     protected String serverName;
 
@@ -185,6 +218,12 @@ public class RemoteJAI {
     /** The default number of retries. */
     public static final int DEFAULT_NUM_RETRIES = 5;
 
+    /** The default number of tiles requested in a single call. */
+    public static final int DEFAULT_TILE_BATCH_SIZE = 16;
+
+    /** The default number of batched tile requests in flight per image. */
+    public static final int DEFAULT_MAX_TILE_REQUESTS = 4;
+
     /** Time in milliseconds between retries, initialized to default value. */
     private int retryInterval = DEFAULT_RETRY_INTERVAL; // Milliseconds
 
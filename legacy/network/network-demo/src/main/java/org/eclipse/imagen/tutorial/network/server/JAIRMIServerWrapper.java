@@ -315,6 +315,32 @@ public class JAIRMIServerWrapper extends UnicastRemoteObject implements ImageSer
         return server.getCompressedTile(id, x, y);
     }
 
+    /**
+     * Returns the tiles at the given indices in the tile array, computed concurrently on the server.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return copies of the tiles as Rasters, in the order of <code>tileIndices</code>.
+     */
+    public SerializableState[] getTiles(Long id, Point[] tileIndices) throws RemoteException {
+
+        guiPrint(tileIndices.length + " Tiles\n");
+        return server.getTiles(id, tileIndices);
+    }
+
+    /**
+     * Compresses the tiles at the given indices in the tile array and returns the compressed tiles' contents.
+     *
+     * @param id An ID for the source which must be unique across all clients.
+     * @param tileIndices the indices of the requested tiles in the tile array.
+     * @return byte arrays containing the compressed tiles' contents, in the order of <code>tileIndices</code>.
+     */
+    public byte[][] getCompressedTiles(Long id, Point[] tileIndices) throws RemoteException {
+
+        guiPrint(tileIndices.length + " Compressed Tiles\n");
+        return server.getCompressedTiles(id, tileIndices);
+    }
+
     /**
      * Returns the entire image as a single Raster.
      *
@@ -572,6 +598,18 @@ public class JAIRMIServerWrapper extends UnicastRemoteObject implements ImageSer
         return server.isDynamic(id);
     }
 
+    /** Returns the version of the rendering of the node represented by the given id. */
+    public long getVersion(Long id) throws RemoteException {
+        return server.getVersion(id);
+    }
+
+    /** Returns the region of the rendering of the node which was invalidated since the given version. */
+    public SerializableState getInvalidRegion(Long id, long version) throws RemoteException {
+
+        guiPrint("getInvalidRegion\n");
+        return server.getInvalidRegion(id, version);
+    }
+
     /** Gets the operation names supported on the Server */
     public String[] getServerSupportedOperationNames() throws RemoteException {
 
@@ -0,0 +1,107 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.affine;
+
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.Interpolation;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.RenderedOpOptimizer;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.nullop.NullDescriptor;
+import org.eclipse.imagen.media.scale.ScaleDescriptor;
+import org.eclipse.imagen.media.testclasses.TestBase;
+import org.eclipse.imagen.media.translate.TranslateDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the rendering of an Affine, Null, Scale and Translate chain as written and as optimized by the
+ * {@link RenderedOpOptimizer}. Run from the IDE, or with:
+ *
+ * <pre>
+ * mvn -pl modules/affine test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipse.imagen.media.affine.GraphOptimizerBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphOptimizerBenchmark {
+
+    @Param({"NEAREST", "BILINEAR", "BICUBIC"})
+    public String interpolation;
+
+    private RenderedImage source;
+
+    private Interpolation interp;
+
+    @Setup
+    public void setup() {
+        source = new TiledImage(TestBase.createTestImage(DataBuffer.TYPE_BYTE, 1024, 1024, null, false, 3), 256, 256);
+        interp = Interpolation.getInstance(
+                "NEAREST".equals(interpolation)
+                        ? Interpolation.INTERP_NEAREST
+                        : "BILINEAR".equals(interpolation)
+                                ? Interpolation.INTERP_BILINEAR
+                                : Interpolation.INTERP_BICUBIC);
+    }
+
+    private Raster render(RenderingHints hints) {
+        RenderedOp affine = AffineDescriptor.create(
+                source, AffineTransform.getRotateInstance(0.2), interp, null, null, false, false, null, hints);
+        RenderedOp nullOp = NullDescriptor.create(affine, hints);
+        RenderedOp scale = ScaleDescriptor.create(nullOp, 0.75f, 0.75f, 0f, 0f, interp, hints);
+        RenderedOp translate = TranslateDescriptor.create(scale, 100f, 50f, interp, hints);
+        Raster data = translate.getData();
+        translate.dispose();
+        scale.dispose();
+        nullOp.dispose();
+        affine.dispose();
+        return data;
+    }
+
+    @Benchmark
+    public Raster asWritten() {
+        return render(null);
+    }
+
+    @Benchmark
+    public Raster optimized() {
+        return render(new RenderingHints(ImageN.KEY_GRAPH_OPTIMIZER, new RenderedOpOptimizer()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(GraphOptimizerBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
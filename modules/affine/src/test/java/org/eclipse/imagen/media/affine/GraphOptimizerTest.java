@@ -0,0 +1,125 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.affine;
+
+import static org.junit.Assert.*;
+
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.Interpolation;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.RenderedOpOptimizer;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.nullop.NullDescriptor;
+import org.eclipse.imagen.media.scale.ScaleDescriptor;
+import org.eclipse.imagen.media.translate.TranslateDescriptor;
+import org.junit.Test;
+
+/** Checks the default rewrites of the {@link RenderedOpOptimizer} on chains of geometric operations. */
+public class GraphOptimizerTest {
+
+    private static final Interpolation NEAREST = Interpolation.getInstance(Interpolation.INTERP_NEAREST);
+
+    private static final Interpolation BILINEAR = Interpolation.getInstance(Interpolation.INTERP_BILINEAR);
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 64, 64, 1);
+        TiledImage image = new TiledImage(0, 0, 160, 100, 0, 0, sm, PlanarImage.createColorModel(sm));
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 160; x++) {
+                image.setSample(x, y, 0, (x * 5 + y * 11) & 0xFF);
+            }
+        }
+        return image;
+    }
+
+    private static void assertSameData(RenderedOp expected, RenderedOp actual) {
+        assertEquals(expected.getBounds(), actual.getBounds());
+        Raster e = expected.getData();
+        Raster a = actual.getData();
+        assertArrayEquals(
+                e.getSamples(e.getMinX(), e.getMinY(), e.getWidth(), e.getHeight(), 0, (int[]) null),
+                a.getSamples(a.getMinX(), a.getMinY(), a.getWidth(), a.getHeight(), 0, (int[]) null));
+    }
+
+    @Test
+    public void testCollapseChain() {
+        TiledImage source = createImage();
+        AffineTransform rotation = AffineTransform.getRotateInstance(0.3);
+        RenderedOp affine = AffineDescriptor.create(source, rotation, BILINEAR, null, null);
+        RenderedOp scale = ScaleDescriptor.create(affine, 2f, 1.5f, 3f, 0f, BILINEAR, null);
+        RenderedOp translate = TranslateDescriptor.create(scale, 10f, -4f, BILINEAR, null);
+
+        RenderedOpOptimizer.Plan plan = new RenderedOpOptimizer().explain(translate);
+        assertEquals(plan.toString(), 2, plan.getSteps().size());
+        RenderedOp optimized = plan.getOptimized();
+        assertEquals("Affine", optimized.getOperationName());
+        assertSame(source, optimized.getNodeSource(0));
+
+        AffineTransform expected = new AffineTransform(2, 0, 0, 1.5, 13, -4);
+        expected.concatenate(rotation);
+        AffineTransform actual = (AffineTransform) optimized.getParameterBlock().getObjectParameter(0);
+        double[] e = new double[6];
+        double[] a = new double[6];
+        expected.getMatrix(e);
+        actual.getMatrix(a);
+        assertArrayEquals(e, a, 1e-12);
+    }
+
+    @Test
+    public void testDropIdentityAndMergeScales() {
+        TiledImage source = createImage();
+        RenderedOp scale = ScaleDescriptor.create(source, 2f, 2f, 0f, 0f, NEAREST, null);
+        RenderedOp identity = ScaleDescriptor.create(scale, 1f, 1f, 0f, 0f, NEAREST, null);
+        RenderedOp nullOp = NullDescriptor.create(identity, null);
+        RenderedOp translate = TranslateDescriptor.create(nullOp, 5f, 7f, NEAREST, null);
+
+        RenderedOp optimized = new RenderedOpOptimizer().optimize(translate);
+        assertEquals("Scale", optimized.getOperationName());
+        assertSame(source, optimized.getNodeSource(0));
+        assertEquals(2f, optimized.getParameterBlock().getFloatParameter(0), 0);
+        assertEquals(7f, optimized.getParameterBlock().getFloatParameter(3), 0);
+
+        // Nearest neighbour scaling by integral factors followed by integral translations is exact
+        assertSameData(translate, optimized);
+    }
+
+    @Test
+    public void testDifferentInterpolationsAreKept() {
+        TiledImage source = createImage();
+        RenderedOp scale = ScaleDescriptor.create(source, 2f, 2f, 0f, 0f, BILINEAR, null);
+        RenderedOp scale2 = ScaleDescriptor.create(scale, 0.5f, 0.5f, 0f, 0f, NEAREST, null);
+        assertSame(scale2, new RenderedOpOptimizer().optimize(scale2));
+
+        // Background values would be resampled
+        RenderedOp affine = AffineDescriptor.create(
+                source, AffineTransform.getRotateInstance(0.1), NEAREST, new double[] {255}, null);
+        RenderedOp scale3 = ScaleDescriptor.create(affine, 2f, 2f, 0f, 0f, NEAREST, null);
+        assertSame(scale3, new RenderedOpOptimizer().optimize(scale3));
+    }
+
+    @Test
+    public void testRenderingHint() {
+        TiledImage source = createImage();
+        RenderingHints hints = new RenderingHints(ImageN.KEY_GRAPH_OPTIMIZER, new RenderedOpOptimizer());
+        RenderedOp scale = ScaleDescriptor.create(source, 3f, 3f, 0f, 0f, NEAREST, hints);
+        RenderedOp translate = TranslateDescriptor.create(scale, -20f, 30f, NEAREST, hints);
+
+        RenderedOp expected = ScaleDescriptor.create(source, 3f, 3f, -20f, 30f, NEAREST, null);
+        assertSameData(expected, translate);
+        assertNull(scale.getCurrentRendering());
+    }
+}
@@ -30,11 +30,11 @@ public class CachingColorIndexer implements ColorIndexer {
     /** {@link ColorIndexer} wrapped by this instance */
     ColorIndexer delegate;
 
-    /** Last used element of its colorcomponent */
-    int lr, lg, lb, la;
-
-    /** Last used colormap index */
-    int idx = -1;
+    /**
+     * Last used color in the upper 32 bits and its colormap index plus one in the lower ones, 0 if none. Packing both
+     * in a single field lets concurrent threads share the cache without locking.
+     */
+    volatile long last;
 
     public CachingColorIndexer(ColorIndexer delegate) {
         this.delegate = delegate;
@@ -46,20 +46,16 @@ public class CachingColorIndexer implements ColorIndexer {
 
     public int getClosestIndex(int r, int g, int b, int a) {
         // Cecking if it is the same colours
-        synchronized (this) {
-            if (r == lr && g == lg && b == lb && a == la && idx >= 0) {
-                return idx;
-            }
+        int color = ColorUtils.color(r, g, b, a);
+        boolean cacheable = ((r | g | b | a) & ~0xFF) == 0;
+        long cached = last;
+        if (cacheable && (int) (cached >>> 32) == color && (int) cached != 0) {
+            return (int) cached - 1;
         }
         // Otherwise get a new one
         int delegateIdx = delegate.getClosestIndex(r, g, b, a);
-
-        synchronized (this) {
-            lr = r;
-            lg = g;
-            lb = b;
-            la = a;
-            idx = delegateIdx;
+        if (cacheable && delegateIdx >= 0) {
+            last = ((long) color << 32) | (delegateIdx + 1);
         }
 
         return delegateIdx;
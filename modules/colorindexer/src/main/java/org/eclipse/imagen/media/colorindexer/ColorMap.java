@@ -83,7 +83,7 @@ public final class ColorMap implements Iterable<ColorEntry> {
         increment(red, green, blue, alpha, 1);
     }
 
-    /** Increments the counter associated to the specified color by one */
+    /** Increments the counter associated to the specified color by the given amount */
     public void increment(int r, int g, int b, int a, int increment) {
         int color = color(r, g, b, a);
         int index = indexFor(hash(color), table.length);
@@ -93,7 +93,7 @@ public final class ColorMap implements Iterable<ColorEntry> {
         for (ColorEntry e = table[index]; e != null; e = e.next) {
             scanCount++;
             if (e.color == color) {
-                e.value++;
+                e.value += increment;
                 return;
             }
         }
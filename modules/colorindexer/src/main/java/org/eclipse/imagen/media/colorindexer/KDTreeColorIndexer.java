@@ -0,0 +1,207 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.colorindexer;
+
+import java.awt.image.IndexColorModel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Maps every given color to the closest color in the palette, using a k-d tree built over the palette entries. The
+ * result is the same as the one of {@link SimpleColorIndexer}, including the choice of the lowest index among equally
+ * distant entries, but a lookup only visits the few entries close to the color.
+ *
+ * <p>The tree is immutable once built, and the results are memoized in a direct mapped cache updated without locks, so
+ * a single instance can be shared by all the tiles of a {@link ColorIndexerOpImage} computed concurrently.
+ */
+public class KDTreeColorIndexer implements ColorIndexer {
+
+    /** The default number of cached colors */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    /** Weights of the red, green, blue and alpha differences in the color distance, as in SimpleColorIndexer */
+    private static final int[] WEIGHTS = {3, 4, 2, 4};
+
+    /** Input colors */
+    private final byte[][] colors;
+
+    /** Palette index of each tree node, the nodes of a range are rooted at its middle */
+    private final int[] index;
+
+    /** Red, green, blue and alpha components of each tree node */
+    private final int[] components;
+
+    /** Component the tree node splits its range on */
+    private final byte[] axis;
+
+    /** First fully transparent palette entry, -1 if none */
+    private final int transparentIndex;
+
+    /** Cached colors and their index plus one, 0 for an empty slot, or null if caching is disabled */
+    private final AtomicLongArray cache;
+
+    private final int cacheShift;
+
+    public KDTreeColorIndexer(byte[][] colors) {
+        this(colors, DEFAULT_CACHE_SIZE);
+    }
+
+    public KDTreeColorIndexer(IndexColorModel icm) {
+        this(toColors(icm), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Builds a new {@link KDTreeColorIndexer}
+     *
+     * @param colors The palette, as red, green, blue and alpha arrays
+     * @param cacheSize The number of colors to cache, rounded up to a power of two, or 0 to disable the cache
+     */
+    public KDTreeColorIndexer(byte[][] colors, int cacheSize) {
+        this.colors = colors;
+        int n = colors[0].length;
+        index = new int[n];
+        components = new int[4 * n];
+        axis = new byte[n];
+
+        int[] palette = new int[4 * n];
+        int transparent = -1;
+        for (int i = 0; i < n; i++) {
+            index[i] = i;
+            for (int c = 0; c < 4; c++) {
+                palette[4 * i + c] = colors[c][i] & 0xFF;
+            }
+            if (transparent < 0 && palette[4 * i + 3] == 0) {
+                transparent = i;
+            }
+        }
+        transparentIndex = transparent;
+        build(palette, new long[n], 0, n);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(palette, 4 * index[i], components, 4 * i, 4);
+        }
+
+        if (cacheSize > 0) {
+            int bits = 32 - Integer.numberOfLeadingZeros(cacheSize - 1);
+            cache = new AtomicLongArray(1 << bits);
+            cacheShift = 32 - bits;
+        } else {
+            cache = null;
+            cacheShift = 0;
+        }
+    }
+
+    private static byte[][] toColors(IndexColorModel icm) {
+        byte[][] colors = new byte[4][icm.getMapSize()];
+        icm.getReds(colors[0]);
+        icm.getGreens(colors[1]);
+        icm.getBlues(colors[2]);
+        icm.getAlphas(colors[3]);
+        return colors;
+    }
+
+    /** Sorts the range along its widest weighted component, and recurses on the entries before and after its middle */
+    private void build(int[] palette, long[] keys, int lo, int hi) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int splitAxis = 0;
+        long widest = -1;
+        for (int c = 0; c < 4; c++) {
+            int min = 255;
+            int max = 0;
+            for (int i = lo; i < hi; i++) {
+                int v = palette[4 * index[i] + c];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            long spread = (long) WEIGHTS[c] * (max - min) * (max - min);
+            if (spread > widest) {
+                widest = spread;
+                splitAxis = c;
+            }
+        }
+        for (int i = lo; i < hi; i++) {
+            keys[i] = ((long) palette[4 * index[i] + splitAxis] << 32) | index[i];
+        }
+        Arrays.sort(keys, lo, hi);
+        for (int i = lo; i < hi; i++) {
+            index[i] = (int) keys[i];
+        }
+        int mid = (lo + hi) >>> 1;
+        axis[mid] = (byte) splitAxis;
+        build(palette, keys, lo, mid);
+        build(palette, keys, mid + 1, hi);
+    }
+
+    public IndexColorModel toIndexColorModel() {
+        int bits = (int) Math.ceil(Math.log(colors[0].length) / Math.log(2));
+        if (bits == 0) {
+            bits = 1;
+        }
+        return new IndexColorModel(bits, colors[0].length, colors[0], colors[1], colors[2], colors[3]);
+    }
+
+    public int getClosestIndex(int r, int g, int b, int a) {
+        // special use case, alpha = 0 is equally distant for any value of r g and b
+        if (a == 0 && transparentIndex >= 0) {
+            return transparentIndex;
+        }
+        if (cache == null || ((r | g | b | a) & ~0xFF) != 0) {
+            return (int) search(0, index.length, r, g, b, a, Long.MAX_VALUE);
+        }
+
+        // Racing threads may overwrite each other's entries, which only costs a new search
+        int color = ColorUtils.color(r, g, b, a);
+        int slot = (color * 0x9E3779B9) >>> cacheShift;
+        long entry = cache.getOpaque(slot);
+        if ((int) (entry >>> 32) == color && (int) entry != 0) {
+            return (int) entry - 1;
+        }
+        int idx = (int) search(0, index.length, r, g, b, a, Long.MAX_VALUE);
+        cache.setOpaque(slot, ((long) color << 32) | (idx + 1));
+        return idx;
+    }
+
+    /**
+     * Searches the nodes of a range for an entry closer than <code>best</code>, which holds the distance of the best
+     * entry so far in its upper 32 bits and its index in the lower ones, so that ties go to the lowest index.
+     */
+    private long search(int lo, int hi, int r, int g, int b, int a, long best) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int o = 4 * mid;
+            int dr = r - components[o];
+            int dg = g - components[o + 1];
+            int db = b - components[o + 2];
+            int da = a - components[o + 3];
+            long d = 3 * dr * dr + 4 * dg * dg + 2 * db * db + 4 * da * da;
+            long candidate = (d << 32) | index[mid];
+            if (candidate < best) {
+                best = candidate;
+            }
+
+            int splitAxis = axis[mid];
+            int delta = splitAxis == 0 ? dr : splitAxis == 1 ? dg : splitAxis == 2 ? db : da;
+            long planeDistance = (long) WEIGHTS[splitAxis] * delta * delta;
+            // Visit the side of the query first, then the other side if it may hold a closer entry
+            if (delta < 0) {
+                best = search(lo, mid, r, g, b, a, best);
+                lo = mid + 1;
+            } else {
+                best = search(mid + 1, hi, r, g, b, a, best);
+                hi = mid;
+            }
+            if (planeDistance > (best >>> 32)) {
+                break;
+            }
+        }
+        return best;
+    }
+}
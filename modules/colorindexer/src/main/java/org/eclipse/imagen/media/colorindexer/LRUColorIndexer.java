@@ -22,7 +22,9 @@ import java.awt.image.IndexColorModel;
 
 /**
  * A color indexer used when all we have is the target palette. Uses a LRU map to cache only the most recently used
- * colors (the original image can often have too many to practically keep in memory under concurrent load)
+ * colors (the original image can often have too many to practically keep in memory under concurrent load). The map is
+ * guarded by a lock, while the closest colors are searched concurrently. {@link KDTreeColorIndexer} needs no lock at
+ * all.
  *
  * @author Andrea Aime - GeoSolutions
  */
@@ -39,7 +41,7 @@ public class LRUColorIndexer implements ColorIndexer {
 
     public LRUColorIndexer(IndexColorModel icm, int maxSize) {
         this.icm = icm;
-        this.delegate = new SimpleColorIndexer(icm);
+        this.delegate = new KDTreeColorIndexer(icm);
         this.cm = new ColorMap(maxSize);
         this.lru = new LRUColors();
         this.maxSize = maxSize;
@@ -50,22 +52,30 @@ public class LRUColorIndexer implements ColorIndexer {
     }
 
     public int getClosestIndex(int r, int g, int b, int a) {
-        int idx = cm.get(r, g, b, a);
+        int idx;
+        synchronized (cm) {
+            idx = cm.get(r, g, b, a);
+        }
         if (idx == -1) {
+            // The closest color is searched outside of the lock, the delegate is thread safe
             idx = delegate.getClosestIndex(r, g, b, a);
-            cm.put(r, g, b, a, idx);
-            if (cm.size() > maxSize) {
-                ColorEntry ce = lru.removeLast();
-                int red = ColorUtils.red(ce.color);
-                int green = ColorUtils.green(ce.color);
-                int blue = ColorUtils.blue(ce.color);
-                int alpha = ColorUtils.alpha(ce.color);
-                cm.remove(red, green, blue, alpha);
-                ce.color = ColorUtils.color(r, g, b, a);
-                lru.add(ce);
-            } else {
-                int color = ColorUtils.color(r, g, b, a);
-                lru.add(new ColorEntry(color, null, null));
+            synchronized (cm) {
+                if (cm.get(r, g, b, a) == -1) {
+                    cm.put(r, g, b, a, idx);
+                    if (cm.size() > maxSize) {
+                        ColorEntry ce = lru.removeLast();
+                        int red = ColorUtils.red(ce.color);
+                        int green = ColorUtils.green(ce.color);
+                        int blue = ColorUtils.blue(ce.color);
+                        int alpha = ColorUtils.alpha(ce.color);
+                        cm.remove(red, green, blue, alpha);
+                        ce.color = ColorUtils.color(r, g, b, a);
+                        lru.add(ce);
+                    } else {
+                        int color = ColorUtils.color(r, g, b, a);
+                        lru.add(new ColorEntry(color, null, null));
+                    }
+                }
             }
         }
         return idx;
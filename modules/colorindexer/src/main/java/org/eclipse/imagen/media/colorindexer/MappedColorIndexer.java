@@ -34,7 +34,7 @@ public class MappedColorIndexer implements ColorIndexer {
 
     int shift;
 
-    SimpleColorIndexer delegate;
+    KDTreeColorIndexer delegate;
 
     /**
      * Builds a new {@link MappedColorIndexer}
@@ -47,7 +47,7 @@ public class MappedColorIndexer implements ColorIndexer {
         this.colors = colors;
         this.shift = shift;
         this.colorMap = colorMap;
-        this.delegate = new SimpleColorIndexer(colors);
+        this.delegate = new KDTreeColorIndexer(colors, 0);
     }
 
     public IndexColorModel toIndexColorModel() {
@@ -71,14 +71,17 @@ public class MappedColorIndexer implements ColorIndexer {
             sb = 255;
             sa = 0;
         }
-        // Concurrent get and put operation
+        // Concurrent get and put operation, the closest color is searched outside of the lock
+        int idx;
         synchronized (colorMap) {
-            int idx = colorMap.get(sr, sg, sb, sa);
-            if (idx < 0) {
-                idx = delegate.getClosestIndex(r, g, b, a);
+            idx = colorMap.get(sr, sg, sb, sa);
+        }
+        if (idx < 0) {
+            idx = delegate.getClosestIndex(r, g, b, a);
+            synchronized (colorMap) {
                 colorMap.put(sr, sg, sb, sa, idx);
             }
-            return idx;
         }
+        return idx;
     }
 }
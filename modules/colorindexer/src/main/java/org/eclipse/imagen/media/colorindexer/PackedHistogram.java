@@ -23,8 +23,15 @@ import static org.eclipse.imagen.media.colorindexer.ColorUtils.*;
 import java.awt.*;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.imagen.iterator.RectIter;
 import org.eclipse.imagen.media.colorindexer.ColorMap.ColorEntry;
 import org.eclipse.imagen.media.iterators.RectIterFactory;
@@ -35,6 +42,10 @@ import org.eclipse.imagen.media.iterators.RectIterFactory;
  * reduce the unique color count. Most vector maps with alpha channel and antialiasing don't actually need the shift,
  * but satellite and aerial imagery often does
  *
+ * <p>The tiles can be scanned concurrently: each tile then builds its own list of colors, in order of first occurrence,
+ * and the lists are merged in tile order. A tile which would make the unique colors go above the limit is scanned again
+ * in sequence, so the histogram, its shift and the order of its colors are the same as with a sequential scan.
+ *
  * @author Andrea Aime - GeoSolutions
  */
 public class PackedHistogram {
@@ -107,6 +118,24 @@ public class PackedHistogram {
         }
     };
 
+    /**
+     * Threads scanning the tiles, shared by all the histograms and as many as the processors. Idle threads are
+     * released.
+     */
+    private static final ExecutorService SCAN_EXECUTOR;
+
+    static {
+        int processors = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                processors, processors, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "PackedHistogram");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        SCAN_EXECUTOR = executor;
+    }
+
     private int shift = 0;
 
     private HistogramBin[] histogram;
@@ -116,6 +145,18 @@ public class PackedHistogram {
     boolean transparentPixels = false;
 
     PackedHistogram(RenderedImage image, int stepX, int stepY) {
+        this(image, stepX, stepY, 1);
+    }
+
+    /**
+     * Builds the histogram scanning up to <code>parallelism</code> tiles concurrently
+     *
+     * @param image the image to scan
+     * @param stepX the horizontal subsampling step, restarting at each tile
+     * @param stepY the vertical subsampling step, restarting at each tile
+     * @param parallelism the maximum number of tiles scanned concurrently
+     */
+    PackedHistogram(RenderedImage image, int stepX, int stepY, int parallelism) {
         // build a reduced map of the colors
         colorMap = new ColorMap();
 
@@ -124,10 +165,14 @@ public class PackedHistogram {
         final int minY = image.getMinTileY();
         final int maxY = minY + image.getNumYTiles();
         this.shift = 0;
-        for (int y = minY; y < maxY; y++) {
-            for (int x = minX; x < maxX; x++) {
-                Raster tile = image.getTile(x, y);
-                shift = updateColorMap(image, tile, colorMap, shift, stepX, stepY);
+        if (parallelism > 1 && image.getNumXTiles() * image.getNumYTiles() > 1) {
+            updateColorMapConcurrently(image, parallelism, stepX, stepY);
+        } else {
+            for (int y = minY; y < maxY; y++) {
+                for (int x = minX; x < maxX; x++) {
+                    Raster tile = image.getTile(x, y);
+                    shift = updateColorMap(image, tile, colorMap, shift, stepX, stepY);
+                }
             }
         }
 
@@ -202,6 +247,61 @@ public class PackedHistogram {
         return shift;
     }
 
+    /**
+     * Scans the tiles concurrently on the shared threads, keeping at most <code>2 * parallelism</code> of them in
+     * flight, and merges their colors in tile order. A tile is scanned at the shift in use when it is submitted, and
+     * shifted further if needed when merged.
+     */
+    private void updateColorMapConcurrently(RenderedImage image, int parallelism, int stepX, int stepY) {
+        final int minX = image.getMinTileX();
+        final int numXTiles = image.getNumXTiles();
+        final int numTiles = numXTiles * image.getNumYTiles();
+        final int minY = image.getMinTileY();
+
+        ArrayDeque<CompletableFuture<TileColors>> pending = new ArrayDeque<>();
+        try {
+            int submitted = 0;
+            for (int t = 0; t < numTiles; t++) {
+                // Bound the number of tiles held in memory
+                while (submitted < numTiles && pending.size() < 2 * parallelism) {
+                    final int tileX = minX + submitted % numXTiles;
+                    final int tileY = minY + submitted / numXTiles;
+                    final int tileShift = shift;
+                    pending.add(CompletableFuture.supplyAsync(
+                            () -> new TileColors(image, image.getTile(tileX, tileY), tileShift, stepX, stepY),
+                            SCAN_EXECUTOR));
+                    submitted++;
+                }
+
+                TileColors colors = pending.remove().join();
+                if (colors.shift < shift) {
+                    colors = colors.shiftTo(shift);
+                }
+                if (colorMap.size() + colors.countMissing(colorMap) <= Short.MAX_VALUE) {
+                    colors.addTo(colorMap);
+                    transparentPixels |= colors.transparentPixels;
+                } else {
+                    // The color map gets shifted while scanning this tile, do it in sequence
+                    Raster tile = image.getTile(minX + t % numXTiles, minY + t / numXTiles);
+                    shift = updateColorMap(image, tile, colorMap, shift, stepX, stepY);
+                }
+            }
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } finally {
+            // Tiles not scanned yet are skipped
+            for (CompletableFuture<TileColors> colors : pending) {
+                colors.cancel(false);
+            }
+        }
+    }
+
     public boolean hasTransparentPixels() {
         return transparentPixels;
     }
@@ -281,4 +381,131 @@ public class PackedHistogram {
     public void clear() {
         histogram = null;
     }
+
+    /** The colors of a single tile, at a given shift, in order of first occurrence */
+    static final class TileColors {
+
+        final int shift;
+
+        /** Maps each color to its position in the arrays below */
+        final ColorMap positions = new ColorMap();
+
+        int[] colors = new int[256];
+
+        int[] counts = new int[256];
+
+        int size;
+
+        boolean transparentPixels;
+
+        TileColors(int shift) {
+            this.shift = shift;
+        }
+
+        /** Scans a tile exactly as {@link PackedHistogram#updateColorMap} does at a constant shift */
+        TileColors(RenderedImage image, Raster tile, int shift, int stepX, int stepY) {
+            this(shift);
+            final int minX = Math.max(tile.getMinX(), image.getMinX());
+            final int maxX = Math.min(tile.getWidth() + tile.getMinX(), image.getMinX() + image.getWidth());
+            final int minY = Math.max(tile.getMinY(), image.getMinY());
+            final int maxY = Math.min(tile.getHeight() + tile.getMinY(), image.getMinY() + image.getHeight());
+            final int bands = tile.getNumBands();
+            final int[] pixel = new int[bands];
+            final RectIter iter = RectIterFactory.create(tile, new Rectangle(minX, minY, maxX - minX, maxY - minY));
+            for (int y = minY; y < maxY; y += stepY) {
+                for (int x = minX; x < maxX; x += stepX) {
+                    // grab the pixel and the color
+                    iter.getPixel(pixel);
+                    int red, green, blue, alpha;
+
+                    if (bands == 1 || bands == 2) {
+                        red = green = blue = pixel[0];
+                        alpha = bands == 2 ? pixel[1] : 255;
+                    } else {
+                        red = pixel[0];
+                        green = pixel[1];
+                        blue = pixel[2];
+                        alpha = bands == 4 ? pixel[3] : 255;
+                    }
+
+                    // normalize colors with very low alpha = 0 to just one
+                    if (alpha <= ALPHA_THRESHOLD) {
+                        red = 255;
+                        green = 255;
+                        blue = 255;
+                        alpha = 0;
+                    }
+
+                    if (shift > 0) {
+                        red = shift(red, shift);
+                        green = shift(green, shift);
+                        blue = shift(blue, shift);
+                        alpha = shift(alpha, shift);
+                    }
+                    add(red, green, blue, alpha, 1);
+
+                    if (x + stepX < maxX) {
+                        iter.jumpPixels(stepX);
+                    }
+                }
+                if (y + stepY < maxY) {
+                    iter.jumpLines(stepY);
+                    iter.startPixels();
+                }
+            }
+        }
+
+        private void add(int red, int green, int blue, int alpha, int count) {
+            int position = positions.get(red, green, blue, alpha);
+            if (position < 0) {
+                position = size++;
+                if (position == colors.length) {
+                    colors = Arrays.copyOf(colors, 2 * position);
+                    counts = Arrays.copyOf(counts, 2 * position);
+                }
+                positions.put(red, green, blue, alpha, position);
+                colors[position] = color(red, green, blue, alpha);
+                if (alpha == 0) {
+                    transparentPixels = true;
+                }
+            }
+            counts[position] += count;
+        }
+
+        /** Returns these colors shifted to a larger shift, keeping the order of first occurrence */
+        TileColors shiftTo(int newShift) {
+            int bits = newShift - shift;
+            TileColors shifted = new TileColors(newShift);
+            for (int i = 0; i < size; i++) {
+                int color = colors[i];
+                shifted.add(
+                        shift(red(color), bits),
+                        shift(green(color), bits),
+                        shift(blue(color), bits),
+                        shift(alpha(color), bits),
+                        counts[i]);
+            }
+            return shifted;
+        }
+
+        /** Returns the number of colors missing from the color map */
+        int countMissing(ColorMap colorMap) {
+            int missing = 0;
+            for (int i = 0; i < size; i++) {
+                int color = colors[i];
+                if (colorMap.get(red(color), green(color), blue(color), alpha(color)) < 0) {
+                    missing++;
+                }
+            }
+            return missing;
+        }
+
+        /** Adds the colors to the color map, the new ones in order of first occurrence */
+        void addTo(ColorMap colorMap) {
+            for (int i = 0; i < size; i++) {
+                int color = colors[i];
+                colorMap.increment(red(color), green(color), blue(color), alpha(color), counts[i]);
+            }
+        }
+    }
 }
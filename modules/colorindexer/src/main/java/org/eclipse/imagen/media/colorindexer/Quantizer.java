@@ -34,6 +34,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.TileScheduler;
 import org.eclipse.imagen.media.colorindexer.ColorMap.ColorEntry;
 import org.eclipse.imagen.media.colorindexer.PackedHistogram.SortComponent;
 
@@ -56,6 +58,9 @@ public class Quantizer {
     /** Parameter indicating the maximum number of COlors */
     int maxColors;
 
+    /** Maximum number of tiles scanned concurrently while building the histogram, 0 to use the tile scheduler's */
+    int parallelism = 0;
+
     public Quantizer(int maxColors) {
         this.maxColors = maxColors;
     }
@@ -70,6 +75,19 @@ public class Quantizer {
         return this;
     }
 
+    /**
+     * Sets the maximum number of tiles scanned concurrently while building the color histogram. The default, 0, uses
+     * the parallelism of the default {@link TileScheduler}. The tiles are scanned on threads shared by all the
+     * quantizers, one per processor. The palette does not depend on this setting.
+     *
+     * @param parallelism the number of tiles, 1 to scan them in sequence
+     * @return this quantizer
+     */
+    public Quantizer parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public ColorIndexer buildColorIndexer(RenderedImage image) {
         long totalPixelCount = (long) image.getWidth() * (long) image.getHeight();
 
@@ -84,7 +102,10 @@ public class Quantizer {
             subsx = 1;
             subsy = 1;
         }
-        PackedHistogram histogram = new PackedHistogram(image, subsx, subsy);
+        int threads = parallelism > 0
+                ? parallelism
+                : ImageN.getDefaultInstance().getTileScheduler().getParallelism();
+        PackedHistogram histogram = new PackedHistogram(image, subsx, subsy, threads);
         if (LOGGER.isLoggable(Level.FINE)) {
             LOGGER.fine("Found " + histogram.size() + " unique colors with shift " + histogram.getShift());
             LOGGER.fine("Histogram count " + histogram.pixelCount() + " and pixels " + totalPixelCount);
@@ -465,6 +465,34 @@ public class ColorIndexerTest extends TestBase {
         }
     }
 
+    @Test
+    public void testIncrementByAmount() {
+        ColorMap map = new ColorMap();
+        map.increment(10, 20, 30, 255, 5);
+        map.increment(10, 20, 30, 255, 7);
+        map.increment(10, 20, 30, 255);
+        assertEquals(13, map.get(10, 20, 30, 255));
+    }
+
+    @Test
+    public void testShiftKeepsPixelCounts() {
+        // more colors than the histogram can hold without shifting
+        java.util.Random random = new java.util.Random(7);
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_4BYTE_ABGR);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                image.setRGB(x, y, random.nextInt() | 0xFF000000);
+            }
+        }
+        PackedHistogram histogram = new PackedHistogram(image, 1, 1);
+        assertTrue(histogram.getShift() > 0);
+        long pixels = 0;
+        for (int i = 0; i < histogram.size(); i++) {
+            pixels += histogram.getCount(i);
+        }
+        assertEquals(256 * 256, pixels);
+    }
+
     @Test
     public void testRegistration() {
         RegistryElementDescriptor descriptor =
@@ -474,4 +502,125 @@ public class ColorIndexerTest extends TestBase {
         ParameterListDescriptor parameters = descriptor.getParameterListDescriptor("rendered");
         assertArrayEquals(new String[] {"Indexer", "roi", "nodata", "destNoData"}, parameters.getParamNames());
     }
+
+    @Test
+    public void testKDTreeMatchesExhaustiveSearch() {
+        java.util.Random random = new java.util.Random(42);
+        for (int size : new int[] {1, 2, 3, 16, 255, 256}) {
+            byte[][] colors = new byte[4][size];
+            for (int c = 0; c < 4; c++) {
+                random.nextBytes(colors[c]);
+            }
+            // duplicates, opaque and transparent entries
+            if (size > 2) {
+                for (int c = 0; c < 4; c++) {
+                    colors[c][size - 1] = colors[c][1];
+                }
+                colors[3][0] = (byte) 255;
+                colors[3][size / 2] = 0;
+            }
+            SimpleColorIndexer simple = new SimpleColorIndexer(colors);
+            KDTreeColorIndexer kdTree = new KDTreeColorIndexer(colors);
+            for (int i = 0; i < 20000; i++) {
+                int r = random.nextInt(256);
+                int g = random.nextInt(256);
+                int b = random.nextInt(256);
+                int a = i % 5 == 0 ? 0 : i % 3 == 0 ? 255 : random.nextInt(256);
+                assertEquals(simple.getClosestIndex(r, g, b, a), kdTree.getClosestIndex(r, g, b, a));
+                // cached
+                assertEquals(simple.getClosestIndex(r, g, b, a), kdTree.getClosestIndex(r, g, b, a));
+            }
+            for (int i = 0; i < size; i++) {
+                int r = colors[0][i] & 0xFF;
+                int g = colors[1][i] & 0xFF;
+                int b = colors[2][i] & 0xFF;
+                int a = colors[3][i] & 0xFF;
+                assertEquals(simple.getClosestIndex(r, g, b, a), kdTree.getClosestIndex(r, g, b, a));
+            }
+        }
+    }
+
+    @Test
+    public void testKDTreeSharedAcrossTiles() {
+        BufferedImage image = new BufferedImage(512, 512, BufferedImage.TYPE_4BYTE_ABGR);
+        java.util.Random random = new java.util.Random(7);
+        for (int y = 0; y < 512; y++) {
+            for (int x = 0; x < 512; x++) {
+                image.setRGB(x, y, random.nextInt(8) == 0 ? random.nextInt() : (x / 16) * 0x10204 | 0xFF000000);
+            }
+        }
+        Quantizer q = new Quantizer(256);
+        IndexColorModel icm = q.buildColorIndexer(image).toIndexColorModel();
+
+        ImageLayout layout = new ImageLayout();
+        layout.setTileWidth(64);
+        layout.setTileHeight(64);
+        RenderingHints hints = new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+        RenderedOp expected = ColorIndexerDescriptor.create(image, new SimpleColorIndexer(icm), null, null, 0, hints);
+        RenderedOp actual = ColorIndexerDescriptor.create(image, new KDTreeColorIndexer(icm), null, null, 0, hints);
+        // computes the tiles concurrently
+        actual.getTiles();
+
+        int[] expectedSamples = expected.getData().getSamples(0, 0, 512, 512, 0, (int[]) null);
+        int[] actualSamples = actual.getData().getSamples(0, 0, 512, 512, 0, (int[]) null);
+        assertArrayEquals(expectedSamples, actualSamples);
+        expected.dispose();
+        actual.dispose();
+    }
+
+    @Test
+    public void testConcurrentHistogram() {
+        // few colors and transparent pixels
+        BufferedImage image = new BufferedImage(300, 300, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics g = image.getGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(20, 20, 200, 100);
+        g.setColor(new Color(0, 0, 255, 128));
+        g.fillOval(50, 50, 240, 240);
+        g.dispose();
+        assertSameHistogram(tile(image), 1, 1);
+        assertSameHistogram(tile(image), 2, 3);
+
+        // enough colors to shift while scanning
+        java.util.Random random = new java.util.Random(1);
+        image = new BufferedImage(400, 400, BufferedImage.TYPE_4BYTE_ABGR);
+        for (int y = 0; y < 400; y++) {
+            for (int x = 0; x < 400; x++) {
+                int rgb = y < 100 ? (x * 0x10101) | 0xFF000000 : random.nextInt();
+                image.setRGB(x, y, rgb);
+            }
+        }
+        assertTrue(new PackedHistogram(tile(image), 1, 1, 1).getShift() > 0);
+        assertSameHistogram(tile(image), 1, 1);
+        assertSameHistogram(tile(image), 2, 2);
+
+        Quantizer sequential = new Quantizer(256).parallelism(1);
+        Quantizer concurrent = new Quantizer(256).parallelism(4);
+        IndexColorModel expected = sequential.buildColorIndexer(tile(image)).toIndexColorModel();
+        IndexColorModel actual = concurrent.buildColorIndexer(tile(image)).toIndexColorModel();
+        int[] expectedRGBs = new int[expected.getMapSize()];
+        int[] actualRGBs = new int[actual.getMapSize()];
+        expected.getRGBs(expectedRGBs);
+        actual.getRGBs(actualRGBs);
+        assertArrayEquals(expectedRGBs, actualRGBs);
+    }
+
+    private RenderedImage tile(BufferedImage image) {
+        SampleModel sm = image.getSampleModel().createCompatibleSampleModel(64, 64);
+        TiledImage tiled = new TiledImage(0, 0, image.getWidth(), image.getHeight(), 0, 0, sm, image.getColorModel());
+        tiled.setData(image.getRaster());
+        return tiled;
+    }
+
+    private void assertSameHistogram(RenderedImage image, int stepX, int stepY) {
+        PackedHistogram expected = new PackedHistogram(image, stepX, stepY, 1);
+        PackedHistogram actual = new PackedHistogram(image, stepX, stepY, 4);
+        assertEquals(expected.getShift(), actual.getShift());
+        assertEquals(expected.hasTransparentPixels(), actual.hasTransparentPixels());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getPackedColor(i), actual.getPackedColor(i));
+            assertEquals(expected.getCount(i), actual.getCount(i));
+        }
+    }
 }
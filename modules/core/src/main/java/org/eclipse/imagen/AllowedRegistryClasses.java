@@ -91,6 +91,7 @@ final class AllowedRegistryClasses {
             "org.eclipse.imagen.operator.MinFilterDescriptor",
             "org.eclipse.imagen.operator.OverlayDescriptor",
             "org.eclipse.imagen.operator.PatternDescriptor",
+            "org.eclipse.imagen.operator.PyramidDescriptor",
             "org.eclipse.imagen.operator.RenderableDescriptor",
             "org.eclipse.imagen.operator.SubsampleAverageDescriptor",
             "org.eclipse.imagen.media.opimage.ConstantCRIF",
@@ -100,6 +101,7 @@ final class AllowedRegistryClasses {
             "org.eclipse.imagen.media.opimage.MinFilterRIF",
             "org.eclipse.imagen.media.opimage.OverlayCRIF",
             "org.eclipse.imagen.media.opimage.PatternRIF",
+            "org.eclipse.imagen.media.opimage.PyramidCIF",
             "org.eclipse.imagen.media.opimage.SubsampleAverageCRIF",
             "org.eclipse.imagen.media.crop.CropDescriptor",
             "org.eclipse.imagen.media.crop.CropCRIF",
@@ -0,0 +1,182 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>PointOpImage</code> computing a chain of single source <code>PointOpImage</code>s in a single tile pass.
+ *
+ * <p>In a chain such as Rescale, Clamp, Format and Lookup, each operation computes and caches its own tiles, so that
+ * every intermediate tile is written to memory, read back by the next operation and kept in the tile cache. A <code>
+ * FusedPointOpImage</code> instead reads each tile of the source of the chain once and runs the <code>computeRect
+ * </code> of every operation of the chain on consecutive strips of a few rows of that tile. Intermediate results are
+ * written to strips small enough to stay in the processor cache, and only the result of the last operation is written
+ * to the destination tile. The intermediate operations never compute tiles of their own, and therefore do not fill the
+ * tile cache.
+ *
+ * <p>Since the pixels are computed by the tile loops of the fused operations themselves, the result is identical to the
+ * one of the unfused chain, including ROI and NoData handling. Any <code>PointOpImage</code> with a single source which
+ * uses cobbled sources and does not override <code>computeTile</code> can be fused. The properties of the operations
+ * are not carried over to the fused image.
+ *
+ * @see #fuse(RenderedImage)
+ */
+public class FusedPointOpImage extends PointOpImage {
+
+    /** The number of samples of a strip, sized to fit in the processor cache. */
+    private static final int STRIP_SAMPLES = 16384;
+
+    /** The fused operations, starting from the one reading the source. */
+    private final PointOpImage[] stages;
+
+    /**
+     * Fuses the chain of point operations ending at an image, if any.
+     *
+     * <p>The chain is followed from the supplied image through the first source of each operation, rendering the <code>
+     * RenderedOp</code> nodes encountered, as long as the operations are fusible point operations with a single source
+     * and cover the bounds of the supplied image.
+     *
+     * @param image The last image of the chain.
+     * @return A <code>FusedPointOpImage</code> computing the chain, or <code>image</code> itself if fewer than two
+     *     operations can be fused.
+     * @throws IllegalArgumentException if <code>image</code> is <code>null</code>.
+     */
+    public static RenderedImage fuse(RenderedImage image) {
+        if (image == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+
+        PointOpImage last = asFusible(image);
+        if (last == null) {
+            return image;
+        }
+
+        List<PointOpImage> chain = new ArrayList<>();
+        chain.add(last);
+        PointOpImage stage = asFusible(last.getSourceImage(0));
+        while (stage != null && stage.getBounds().contains(last.getBounds())) {
+            chain.add(stage);
+            stage = asFusible(stage.getSourceImage(0));
+        }
+        if (chain.size() < 2) {
+            return image;
+        }
+        Collections.reverse(chain);
+
+        RenderingHints hints = null;
+        if (image instanceof RenderedOp && ((RenderedOp) image).getRenderingHints() != null) {
+            hints = (RenderingHints) ((RenderedOp) image).getRenderingHints().clone();
+            hints.remove(ImageN.KEY_IMAGE_LAYOUT);
+        }
+        return new FusedPointOpImage(
+                chain.get(0).getSourceImage(0), new ImageLayout(last), hints, chain.toArray(new PointOpImage[0]));
+    }
+
+    /** Returns the image, or its rendering, as a fusible point operation, or <code>null</code>. */
+    private static PointOpImage asFusible(RenderedImage image) {
+        if (image instanceof RenderedOp) {
+            image = ((RenderedOp) image).getRendering();
+        }
+        if (!(image instanceof PointOpImage) || image instanceof FusedPointOpImage) {
+            return null;
+        }
+        PointOpImage op = (PointOpImage) image;
+        if (op.getNumSources() != 1 || !op.cobbleSources) {
+            return null;
+        }
+        try {
+            Class<?> c =
+                    op.getClass().getMethod("computeTile", int.class, int.class).getDeclaringClass();
+            if (c != PointOpImage.class && c != OpImage.class) {
+                return null;
+            }
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        return op;
+    }
+
+    /**
+     * Constructs a <code>FusedPointOpImage</code>.
+     *
+     * @param source The source of the first operation.
+     * @param layout The layout of the destination, usually the one of the last operation.
+     * @param configuration Configurable attributes of the image.
+     * @param stages The operations to fuse, starting from the one reading <code>source</code>. Each operation must use
+     *     the previous one as its single source, and the first one must use <code>source</code>.
+     * @throws IllegalArgumentException if <code>source</code> or <code>stages</code> is <code>null</code>.
+     */
+    public FusedPointOpImage(RenderedImage source, ImageLayout layout, Map configuration, PointOpImage[] stages) {
+        super(source, layout, configuration, true);
+        if (stages == null || stages.length == 0) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        this.stages = stages.clone();
+    }
+
+    /** Returns the number of fused operations. */
+    public int getNumStages() {
+        return stages.length;
+    }
+
+    /**
+     * Returns one of the fused operations.
+     *
+     * @param index The index of the operation, 0 being the one reading the source.
+     */
+    public PointOpImage getStage(int index) {
+        return stages[index];
+    }
+
+    /**
+     * Runs the fused operations on strips of the destination rectangle.
+     *
+     * @param sources Cobbled sources, guaranteed to provide all the source data necessary for computing the rectangle.
+     * @param dest The tile containing the rectangle to be computed.
+     * @param destRect The rectangle within the tile to be computed.
+     */
+    protected void computeRect(Raster[] sources, WritableRaster dest, Rectangle destRect) {
+        int last = stages.length - 1;
+        int stripHeight = destRect.height;
+        for (int i = 0; i < last; i++) {
+            int samples = destRect.width * stages[i].getSampleModel().getNumBands();
+            stripHeight = Math.min(stripHeight, Math.max(1, STRIP_SAMPLES / samples));
+        }
+
+        // Intermediate strips, translated along the destination rectangle
+        WritableRaster[] strips = new WritableRaster[last];
+        for (int i = 0; i < last; i++) {
+            SampleModel sm = stages[i].getSampleModel().createCompatibleSampleModel(destRect.width, stripHeight);
+            strips[i] = RasterFactory.createWritableRaster(sm, null);
+        }
+
+        int maxY = destRect.y + destRect.height;
+        for (int y = destRect.y; y < maxY; y += stripHeight) {
+            Rectangle strip = new Rectangle(destRect.x, y, destRect.width, Math.min(stripHeight, maxY - y));
+            Raster input = sources[0];
+            for (int i = 0; i < last; i++) {
+                WritableRaster output = strips[i].createWritableTranslatedChild(destRect.x, y);
+                stages[i].computeRect(new Raster[] {input}, output, strip);
+                input = output;
+            }
+            stages[last].computeRect(new Raster[] {input}, dest, strip);
+        }
+    }
+}
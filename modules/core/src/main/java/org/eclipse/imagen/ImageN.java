@@ -136,6 +136,9 @@ public class ImageN implements AutoCloseable {
     private static final int HINT_CACHED_TILE_RECYCLING_ENABLED = 123;
     private static final int HINT_TRANSFORM_ON_COLORMAP = 124;
     private static final int HINT_IMAGING_LISTENER = 125;
+    private static final int HINT_STATISTICS_SAMPLING = 126;
+    private static final int HINT_WARP_TOLERANCE = 127;
+    private static final int HINT_GRAPH_OPTIMIZER = 128;
 
     //
     // Public keys
@@ -326,6 +329,38 @@ public class ImageN implements AutoCloseable {
     public static RenderingHints.Key KEY_IMAGING_LISTENER =
             new RenderingKey(HINT_IMAGING_LISTENER, ImagingListener.class);
 
+    /**
+     * Key for {@link StatisticsSampling} object values. When set, {@link StatisticsOpImage}s accumulate their
+     * statistics over a sampled subset of the source tiles rather than over every tile, optionally reporting
+     * intermediate results to a {@link StatisticsListener}. The common <code>RenderingHints</code> do not contain a
+     * default hint corresponding to this key, which is equivalent to visiting every tile.
+     *
+     * @see StatisticsOpImage
+     */
+    public static RenderingHints.Key KEY_STATISTICS_SAMPLING =
+            new RenderingKey(HINT_STATISTICS_SAMPLING, StatisticsSampling.class);
+
+    /**
+     * Key for <code>Double</code> object values. When set, the "Warp" operation approximates warps which are expensive
+     * to evaluate with a {@link WarpAdaptiveGrid} whose positions are within the given distance, in source pixels, of
+     * the exact ones. The common <code>RenderingHints</code> do not contain a default hint corresponding to this key,
+     * which is equivalent to evaluating the exact warp for every pixel.
+     *
+     * @see WarpAdaptiveGrid
+     */
+    public static RenderingHints.Key KEY_WARP_TOLERANCE = new RenderingKey(HINT_WARP_TOLERANCE, Double.class);
+
+    /**
+     * Key for {@link RenderedOpOptimizer} object values. When set, a <code>RenderedOp</code> node rewrites the chain of
+     * nodes it depends on with the optimizer before creating its rendering, so that for instance consecutive affine
+     * transformations are resampled once. The common <code>RenderingHints</code> do not contain a default hint
+     * corresponding to this key, which is equivalent to rendering every node as written.
+     *
+     * @see RenderedOpOptimizer
+     */
+    public static RenderingHints.Key KEY_GRAPH_OPTIMIZER =
+            new RenderingKey(HINT_GRAPH_OPTIMIZER, RenderedOpOptimizer.class);
+
     /** Initial default tile size. Applies to both dimensions. */
     private static final int DEFAULT_TILE_SIZE = 512;
 
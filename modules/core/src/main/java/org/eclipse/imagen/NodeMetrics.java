@@ -0,0 +1,170 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The tile statistics of an <code>OpImage</code>, or of all the <code>OpImage</code>s of a class, collected while
+ * {@link RenderingMetrics} is enabled.
+ *
+ * <p>A tile requested through <code>getTile()</code> is a cache hit if it was found in the <code>TileCache</code> of
+ * the image, and a miss otherwise, including when the image has no cache. The compute time of a missed tile excludes
+ * the time spent waiting for the tiles of the source <code>OpImage</code>s, which is counted as source wait time. The
+ * latency histogram counts the compute times of the tiles in buckets whose upper bounds are powers of two microseconds.
+ *
+ * @see RenderingMetrics
+ */
+public final class NodeMetrics {
+
+    /** The number of buckets of the latency histogram, the last one holding the compute times above 2^30 us */
+    public static final int NUM_BUCKETS = 32;
+
+    private final String name;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder computeNanos = new LongAdder();
+
+    private final LongAdder sourceWaitNanos = new LongAdder();
+
+    private final LongAdder bytesAllocated = new LongAdder();
+
+    private final AtomicLongArray histogram = new AtomicLongArray(NUM_BUCKETS);
+
+    NodeMetrics(String name) {
+        this.name = name;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void computed(long computeNanos, long sourceWaitNanos, long bytes, boolean failed) {
+        misses.increment();
+        if (failed) {
+            failures.increment();
+        }
+        this.computeNanos.add(computeNanos);
+        this.sourceWaitNanos.add(sourceWaitNanos);
+        bytesAllocated.add(bytes);
+        histogram.incrementAndGet(bucket(computeNanos / 1000));
+    }
+
+    /** Returns the histogram bucket of a duration: 0 below 1 us, i for [2^(i-1), 2^i) us. */
+    static int bucket(long micros) {
+        return Math.min(64 - Long.numberOfLeadingZeros(Math.max(micros, 0)), NUM_BUCKETS - 1);
+    }
+
+    /** Returns the name of the image or class the statistics are about. */
+    public String getName() {
+        return name;
+    }
+
+    /** Returns the number of tiles found in the cache. */
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    /** Returns the number of tiles computed because they were not in the cache. */
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+
+    /** Returns the number of tile computations which failed. */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /** Returns the total compute time of the missed tiles, excluding the source wait time, in nanoseconds. */
+    public long getComputeNanos() {
+        return computeNanos.sum();
+    }
+
+    /** Returns the total time spent waiting for the tiles of the source <code>OpImage</code>s, in nanoseconds. */
+    public long getSourceWaitNanos() {
+        return sourceWaitNanos.sum();
+    }
+
+    /** Returns the total size of the data buffers of the computed tiles, in bytes. */
+    public long getBytesAllocated() {
+        return bytesAllocated.sum();
+    }
+
+    /**
+     * Returns the latency histogram of the compute times: element 0 counts the tiles computed in less than 1 us, and
+     * element i the ones computed in [2^(i-1), 2^i) us.
+     */
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns an upper bound of a percentile of the compute times, the bound of the histogram bucket containing it.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the bound in microseconds, or 0 if no tile was computed.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long getLatencyPercentileMicros(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(ImageNI18N.getString("NodeMetrics0"));
+        }
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return 1L << (NUM_BUCKETS - 1);
+    }
+
+    /** Returns the median compute time bound, in microseconds. */
+    public long getMedianMicros() {
+        return getLatencyPercentileMicros(50);
+    }
+
+    /** Returns the 99th percentile compute time bound, in microseconds. */
+    public long getPercentile99Micros() {
+        return getLatencyPercentileMicros(99);
+    }
+
+    @Override
+    public String toString() {
+        return name
+                + "[hits=" + getCacheHits()
+                + ", misses=" + getCacheMisses()
+                + ", computeMs=" + getComputeNanos() / 1000000
+                + ", sourceWaitMs=" + getSourceWaitNanos() / 1000000
+                + ", bytes=" + getBytesAllocated()
+                + ", p50=" + getMedianMicros()
+                + "us, p99=" + getPercentile99Micros()
+                + "us]";
+    }
+}
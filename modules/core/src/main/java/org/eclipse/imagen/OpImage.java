@@ -192,6 +192,9 @@ public abstract class OpImage extends PlanarImage {
      */
     protected TileRecycler tileRecycler;
 
+    /** The tile statistics of this image, created when first collected by <code>RenderingMetrics</code>. */
+    transient volatile NodeMetrics metrics;
+
     /** The default RasterAccessor format tags. */
     // XXX This variable should be removed if we stop using RasterAccessor.
     private RasterFormatTag[] formatTags = null;
@@ -874,6 +877,8 @@ public abstract class OpImage extends PlanarImage {
      * <p>If a subclass overrides this method, then it needs to handle tile caching and scheduling. It should also
      * override <code>computeTile()</code> which may be invoked directly by the <code>TileScheduler</code>.
      *
+     * <p>The cache hits and the tile computations are recorded by {@link RenderingMetrics} when it is enabled.
+     *
      * @param tileX The X index of the tile.
      * @param tileY The Y index of the tile.
      */
@@ -886,21 +891,30 @@ public abstract class OpImage extends PlanarImage {
             tile = getTileFromCache(tileX, tileY);
 
             if (tile == null) { // tile not in cache
+                Object metricsState = RenderingMetrics.enabled ? RenderingMetrics.start(this, tileX, tileY) : null;
                 try {
-                    tile = scheduler.scheduleTile(this, tileX, tileY);
-                } catch (OutOfMemoryError e) {
-                    // Empty the cache and call System.gc()
-                    if (cache != null) {
-                        cache.flush();
-                        System.gc(); // slow
-                    }
+                    try {
+                        tile = scheduler.scheduleTile(this, tileX, tileY);
+                    } catch (OutOfMemoryError e) {
+                        // Empty the cache and call System.gc()
+                        if (cache != null) {
+                            cache.flush();
+                            System.gc(); // slow
+                        }
 
-                    // Need to reissue the tile scheduling.
-                    tile = scheduler.scheduleTile(this, tileX, tileY);
+                        // Need to reissue the tile scheduling.
+                        tile = scheduler.scheduleTile(this, tileX, tileY);
+                    }
+                } finally {
+                    if (metricsState != null) {
+                        RenderingMetrics.end(metricsState, tileX, tileY, tile);
+                    }
                 }
 
                 // Cache the result tile.
                 addTileToCache(tileX, tileY, tile);
+            } else if (RenderingMetrics.enabled) {
+                RenderingMetrics.cacheHit(this, tileX, tileY);
             }
         }
 
@@ -0,0 +1,726 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * An <code>ROI</code> stored as the sorted spans of pixels of each of its rows, in two arrays of ints. Masks which are
+ * large and sparse, or made of long runs, take a fraction of the memory of a bilevel image, and the set operations
+ * between two <code>ROISpans</code> merge the spans of each row in linear time. Other <code>ROI</code>s are converted
+ * on the fly, and the image and shape representations of an <code>ROISpans</code> are only built, once, when asked for.
+ *
+ * <p>Operators can walk the pixels of the ROI span by span with {@link #forEachSpan(Rectangle, SpanConsumer)} or
+ * {@link #getRowSpans(int, int, int)}, instead of testing them one by one.
+ *
+ * <p>Instances are immutable.
+ *
+ * @see ROI
+ * @see ROIShape
+ */
+public class ROISpans extends ROI {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Rows converted at once from the bitmask of other ROIs */
+    private static final int STRIP_HEIGHT = 256;
+
+    /** Receives the spans of an ROI, row after row. */
+    @FunctionalInterface
+    public interface SpanConsumer {
+
+        /**
+         * Receives a span of pixels.
+         *
+         * @param y the row
+         * @param x0 the first column of the span
+         * @param x1 the column after the last one of the span
+         */
+        void span(int y, int x0, int x1);
+    }
+
+    /** The first row */
+    private final int minY;
+
+    /** Offsets of the spans of each row in {@link #spans}, one more entry than rows */
+    private final int[] rowStart;
+
+    /** Pairs of first and after last columns of the spans, sorted, disjoint and not abutting within a row */
+    private final int[] spans;
+
+    private final Rectangle bounds;
+
+    private transient volatile PlanarImage image;
+
+    private transient volatile Shape shape;
+
+    /**
+     * Constructs an <code>ROISpans</code> covering a rectangle.
+     *
+     * @param rect the rectangle.
+     * @throws IllegalArgumentException if rect is null.
+     */
+    public ROISpans(Rectangle rect) {
+        if (rect == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        Builder builder = new Builder(rect.y, Math.max(0, rect.height));
+        for (int y = 0; y < rect.height; y++) {
+            if (rect.width > 0) {
+                builder.add(rect.x, rect.x + rect.width);
+            }
+            builder.endRow();
+        }
+        ROISpans built = builder.build();
+        this.minY = built.minY;
+        this.rowStart = built.rowStart;
+        this.spans = built.spans;
+        this.bounds = built.bounds;
+    }
+
+    /**
+     * Constructs an <code>ROISpans</code> with the pixels of another <code>ROI</code>, read from its bitmask.
+     *
+     * @param roi an ROI.
+     * @throws IllegalArgumentException if roi is null.
+     */
+    public ROISpans(ROI roi) {
+        if (roi == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        ROISpans built = roi instanceof ROISpans ? (ROISpans) roi : fromBitmask(roi);
+        this.minY = built.minY;
+        this.rowStart = built.rowStart;
+        this.spans = built.spans;
+        this.bounds = built.bounds;
+        this.threshold = roi.threshold;
+    }
+
+    private ROISpans(int minY, int[] rowStart, int[] spans, Rectangle bounds) {
+        this.minY = minY;
+        this.rowStart = rowStart;
+        this.spans = spans;
+        this.bounds = bounds;
+    }
+
+    private static ROISpans fromBitmask(ROI roi) {
+        Rectangle r = roi.getBounds();
+        Builder builder = new Builder(r.y, Math.max(0, r.height));
+        int[][] mask = null;
+        for (int stripY = r.y; stripY < r.y + r.height; stripY += STRIP_HEIGHT) {
+            int stripHeight = Math.min(STRIP_HEIGHT, r.y + r.height - stripY);
+            if (mask == null || mask.length < stripHeight) {
+                mask = new int[stripHeight][(r.width + 31) / 32];
+            }
+            int[][] bits = roi.getAsBitmask(r.x, stripY, r.width, stripHeight, mask);
+            for (int row = 0; row < stripHeight; row++) {
+                if (bits != null) {
+                    addBits(builder, bits[row], r.x, r.width);
+                }
+                builder.endRow();
+            }
+        }
+        return builder.build();
+    }
+
+    /** Adds the runs of set bits of a bitmask row, most significant bit first. */
+    private static void addBits(Builder builder, int[] row, int x, int width) {
+        boolean in = false;
+        int start = 0;
+        for (int word = 0; word < (width + 31) / 32; word++) {
+            int bits = row[word];
+            int base = x + word * 32;
+            int pos = 0;
+            while (pos < 32) {
+                // skip to the next bit differing from the current state
+                int rest = (in ? ~bits : bits) << pos;
+                if (rest == 0) {
+                    break;
+                }
+                pos += Integer.numberOfLeadingZeros(rest);
+                if (in) {
+                    builder.add(start, base + pos);
+                } else {
+                    start = base + pos;
+                }
+                in = !in;
+            }
+        }
+        if (in) {
+            builder.add(start, x + width);
+        }
+    }
+
+    /** Returns the bounds of the pixels of the ROI as a <code>Rectangle</code>. */
+    @Override
+    public Rectangle getBounds() {
+        return new Rectangle(bounds);
+    }
+
+    /** Returns the bounds of the pixels of the ROI as a <code>Rectangle2D</code>. */
+    @Override
+    public Rectangle2D getBounds2D() {
+        return new Rectangle2D.Float(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    /** Returns the number of spans of the ROI. */
+    public int getNumSpans() {
+        return spans.length / 2;
+    }
+
+    /**
+     * Returns <code>true</code> if the ROI contains a pixel.
+     *
+     * @param x the column of the pixel.
+     * @param y the row of the pixel.
+     * @return <code>true</code> if the pixel lies within the ROI.
+     */
+    @Override
+    public boolean contains(int x, int y) {
+        int row = y - minY;
+        if (row < 0 || row >= rowStart.length - 1) {
+            return false;
+        }
+        int s = firstSpanEndingAfter(row, x);
+        return s < rowStart[row + 1] && spans[s] <= x;
+    }
+
+    /**
+     * Returns <code>true</code> if all the pixels of a rectangle are within the ROI.
+     *
+     * @param rect the rectangle.
+     * @throws IllegalArgumentException if rect is null.
+     * @return <code>true</code> if the rectangle is entirely contained within the ROI.
+     */
+    @Override
+    public boolean contains(Rectangle rect) {
+        if (rect == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        if (rect.isEmpty() || !bounds.contains(rect)) {
+            return false;
+        }
+        for (int row = rect.y - minY; row < rect.y + rect.height - minY; row++) {
+            int s = firstSpanEndingAfter(row, rect.x);
+            if (s == rowStart[row + 1] || spans[s] > rect.x || spans[s + 1] < rect.x + rect.width) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if some pixels of a rectangle are within the ROI.
+     *
+     * @param rect the rectangle.
+     * @throws IllegalArgumentException if rect is null.
+     * @return <code>true</code> if the rectangle intersects the ROI.
+     */
+    @Override
+    public boolean intersects(Rectangle rect) {
+        if (rect == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        Rectangle r = rect.intersection(bounds);
+        if (r.isEmpty()) {
+            return false;
+        }
+        for (int row = r.y - minY; row < r.y + r.height - minY; row++) {
+            int s = firstSpanEndingAfter(row, r.x);
+            if (s < rowStart[row + 1] && spans[s] < r.x + r.width) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the index of the first span of a row ending after column x, or the end of the row. */
+    private int firstSpanEndingAfter(int row, int x) {
+        int low = rowStart[row] / 2;
+        int high = rowStart[row + 1] / 2;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (spans[2 * mid + 1] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return 2 * low;
+    }
+
+    /**
+     * Returns the spans of a row clipped to a range of columns.
+     *
+     * @param y the row.
+     * @param x the first column of the range.
+     * @param width the number of columns of the range.
+     * @return pairs of first (inclusive) and last (exclusive) columns of the spans, in increasing order.
+     */
+    public int[] getRowSpans(int y, int x, int width) {
+        int row = y - minY;
+        if (row < 0 || row >= rowStart.length - 1 || width <= 0) {
+            return new int[0];
+        }
+        int from = firstSpanEndingAfter(row, x);
+        int to = from;
+        while (to < rowStart[row + 1] && spans[to] < x + width) {
+            to += 2;
+        }
+        int[] result = Arrays.copyOfRange(spans, from, to);
+        if (result.length > 0) {
+            result[0] = Math.max(result[0], x);
+            result[result.length - 1] = Math.min(result[result.length - 1], x + width);
+        }
+        return result;
+    }
+
+    /**
+     * Passes the spans of the ROI clipped to a rectangle to a consumer, row after row and from left to right.
+     *
+     * @param rect the rectangle, or null for the whole ROI.
+     * @param consumer receives the spans.
+     * @throws IllegalArgumentException if consumer is null.
+     */
+    public void forEachSpan(Rectangle rect, SpanConsumer consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        Rectangle r = rect == null ? bounds : rect.intersection(bounds);
+        if (r.isEmpty()) {
+            return;
+        }
+        int maxX = r.x + r.width;
+        for (int row = r.y - minY; row < r.y + r.height - minY; row++) {
+            for (int s = firstSpanEndingAfter(row, r.x); s < rowStart[row + 1] && spans[s] < maxX; s += 2) {
+                consumer.span(minY + row, Math.max(spans[s], r.x), Math.min(spans[s + 1], maxX));
+            }
+        }
+    }
+
+    /** Set operations on the pixels of two rows */
+    private static final int OR = 0;
+
+    private static final int AND = 1;
+
+    private static final int AND_NOT = 2;
+
+    private static final int XOR = 3;
+
+    private static boolean apply(int op, boolean a, boolean b) {
+        switch (op) {
+            case OR:
+                return a || b;
+            case AND:
+                return a && b;
+            case AND_NOT:
+                return a && !b;
+            default:
+                return a != b;
+        }
+    }
+
+    private ROISpans combine(ROI roi, int op) {
+        if (roi == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        ROISpans other = roi instanceof ROISpans ? (ROISpans) roi : new ROISpans(roi);
+        int thisRows = rowStart.length - 1;
+        int otherRows = other.rowStart.length - 1;
+        int first = Math.min(minY, other.minY);
+        int last = Math.max(minY + thisRows, other.minY + otherRows);
+        if (op == AND) {
+            first = Math.max(minY, other.minY);
+            last = Math.min(minY + thisRows, other.minY + otherRows);
+        } else if (op == AND_NOT) {
+            first = minY;
+            last = minY + thisRows;
+        }
+
+        Builder builder = new Builder(first, Math.max(0, last - first));
+        for (int y = first; y < last; y++) {
+            int a = y - minY;
+            int b = y - other.minY;
+            int aFrom = a >= 0 && a < thisRows ? rowStart[a] : 0;
+            int aTo = a >= 0 && a < thisRows ? rowStart[a + 1] : 0;
+            int bFrom = b >= 0 && b < otherRows ? other.rowStart[b] : 0;
+            int bTo = b >= 0 && b < otherRows ? other.rowStart[b + 1] : 0;
+            mergeRow(builder, op, spans, aFrom, aTo, other.spans, bFrom, bTo);
+            builder.endRow();
+        }
+        ROISpans result = builder.build();
+        result.threshold = threshold;
+        return result;
+    }
+
+    /**
+     * Sweeps the boundaries of the spans of two rows from left to right, adding a span wherever the operation on the
+     * inclusion in each row is true.
+     */
+    private static void mergeRow(Builder builder, int op, int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+        int i = aFrom;
+        int j = bFrom;
+        boolean inA = false;
+        boolean inB = false;
+        int start = 0;
+        boolean in = false;
+        while (i < aTo || j < bTo) {
+            int x = Math.min(i < aTo ? a[i] : Integer.MAX_VALUE, j < bTo ? b[j] : Integer.MAX_VALUE);
+            // boundaries alternate between span starts (even indices) and ends (odd ones)
+            while (i < aTo && a[i] == x) {
+                inA = (i & 1) == 0;
+                i++;
+            }
+            while (j < bTo && b[j] == x) {
+                inB = (j & 1) == 0;
+                j++;
+            }
+            boolean out = apply(op, inA, inB);
+            if (out && !in) {
+                start = x;
+            } else if (!out && in) {
+                builder.add(start, x);
+            }
+            in = out;
+        }
+    }
+
+    /**
+     * Adds another <code>ROI</code> to this one and returns the result as a new <code>ROISpans</code>. An ROI which is
+     * not an <code>ROISpans</code> is first converted.
+     *
+     * @param roi An ROI.
+     * @throws IllegalArgumentException if roi is null.
+     * @return A new ROISpans containing the union.
+     */
+    @Override
+    public ROI add(ROI roi) {
+        return combine(roi, OR);
+    }
+
+    /**
+     * Subtracts another <code>ROI</code> from this one and returns the result as a new <code>ROISpans</code>. An ROI
+     * which is not an <code>ROISpans</code> is first converted.
+     *
+     * @param roi An ROI.
+     * @throws IllegalArgumentException if roi is null.
+     * @return A new ROISpans containing the difference.
+     */
+    @Override
+    public ROI subtract(ROI roi) {
+        return combine(roi, AND_NOT);
+    }
+
+    /**
+     * Intersects this <code>ROI</code> with another one and returns the result as a new <code>ROISpans</code>. An ROI
+     * which is not an <code>ROISpans</code> is first converted.
+     *
+     * @param roi An ROI.
+     * @throws IllegalArgumentException if roi is null.
+     * @return A new ROISpans containing the intersection.
+     */
+    @Override
+    public ROI intersect(ROI roi) {
+        return combine(roi, AND);
+    }
+
+    /**
+     * Exclusive-ors this <code>ROI</code> with another one and returns the result as a new <code>ROISpans</code>. An
+     * ROI which is not an <code>ROISpans</code> is first converted.
+     *
+     * @param roi An ROI.
+     * @throws IllegalArgumentException if roi is null.
+     * @return A new ROISpans containing the exclusive or.
+     */
+    @Override
+    public ROI exclusiveOr(ROI roi) {
+        return combine(roi, XOR);
+    }
+
+    /**
+     * Transforms the ROI. Integer translations shift the spans, other transformations are performed on the image
+     * representation of the ROI.
+     *
+     * @param at an AffineTransform specifying the transformation.
+     * @throws IllegalArgumentException if at is null.
+     * @return a new ROI containing the transformed ROI data.
+     */
+    @Override
+    public ROI transform(AffineTransform at) {
+        if (at == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        double tx = at.getTranslateX();
+        double ty = at.getTranslateY();
+        if ((at.getType() & ~AffineTransform.TYPE_TRANSLATION) == 0 && tx == (int) tx && ty == (int) ty) {
+            int[] shifted = spans.clone();
+            for (int i = 0; i < shifted.length; i++) {
+                shifted[i] += (int) tx;
+            }
+            Rectangle b = new Rectangle(bounds);
+            b.translate((int) tx, (int) ty);
+            ROISpans result = new ROISpans(minY + (int) ty, rowStart, shifted, b);
+            result.threshold = threshold;
+            return result;
+        }
+        return super.transform(at);
+    }
+
+    /**
+     * Returns the ROI as a <code>Shape</code>, the union of the disjoint rectangles merging the spans which are
+     * identical in consecutive rows. The shape is built on the first call.
+     *
+     * @return The <code>ROI</code> as a <code>Shape</code>.
+     */
+    @Override
+    public Shape getAsShape() {
+        Shape result = shape;
+        if (result == null) {
+            GeneralPath path = new GeneralPath(GeneralPath.WIND_NON_ZERO);
+            for (Rectangle r : mergedRectangles(bounds)) {
+                path.append(r, false);
+            }
+            shape = result = path;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ROI as a bilevel image whose <code>SampleModel</code> is a <code>MultiPixelPackedSampleModel</code>.
+     * The image is built on the first call.
+     *
+     * @return The <code>ROI</code> as a <code>PlanarImage</code>.
+     */
+    @Override
+    public PlanarImage getAsImage() {
+        PlanarImage result = image;
+        if (result == null) {
+            synchronized (this) {
+                result = image;
+                if (result == null) {
+                    image = result = createImage();
+                }
+            }
+        }
+        return result;
+    }
+
+    private PlanarImage createImage() {
+        Rectangle r = bounds.isEmpty() ? new Rectangle(bounds.x, bounds.y, 1, 1) : bounds;
+        SampleModel sm = new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, r.width, r.height, 1);
+        TiledImage ti = new TiledImage(r.x, r.y, r.width, r.height, r.x, r.y, sm, PlanarImage.createColorModel(sm));
+        WritableRaster raster = ti.getWritableTile(0, 0);
+        byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+        int lineStride = (r.width + 7) / 8;
+        forEachSpan(r, (y, x0, x1) -> setBits(data, (y - r.y) * lineStride, x0 - r.x, x1 - r.x));
+        ti.releaseWritableTile(0, 0);
+        return ti;
+    }
+
+    /** Sets the bits from <code>from</code> (inclusive) to <code>to</code> (exclusive) of a packed row. */
+    private static void setBits(byte[] data, int base, int from, int to) {
+        int firstByte = base + (from >> 3);
+        int lastByte = base + ((to - 1) >> 3);
+        int firstMask = 0xff >>> (from & 7);
+        int lastMask = 0xff << (7 - ((to - 1) & 7));
+        if (firstByte == lastByte) {
+            data[firstByte] |= (byte) (firstMask & lastMask);
+            return;
+        }
+        data[firstByte] |= (byte) firstMask;
+        Arrays.fill(data, firstByte + 1, lastByte, (byte) 0xff);
+        data[lastByte] |= (byte) lastMask;
+    }
+
+    /**
+     * Returns a bitmask for a given rectangular region of the ROI, with the same layout as {@link ROI#getAsBitmask}.
+     *
+     * @param mask A two-dimensional array of ints at least (width + 31)/32 entries wide and (height) entries tall, or
+     *     null.
+     * @return A reference to the <code>mask</code> parameter, or to a newly constructed array if <code>mask</code> is
+     *     <code>null</code>. If the specified rectangle does intersect with the ROI bounds then a <code>null</code> is
+     *     returned.
+     */
+    @Override
+    public int[][] getAsBitmask(int x, int y, int width, int height, int[][] mask) {
+        Rectangle rect = bounds.intersection(new Rectangle(x, y, width, height));
+        if (rect.isEmpty()) {
+            return null;
+        }
+        int bitmaskIntWidth = (width + 31) / 32;
+        if (mask == null) {
+            mask = new int[height][bitmaskIntWidth];
+        } else if (mask.length < height || mask[0].length < bitmaskIntWidth) {
+            throw new RuntimeException(ImageNI18N.getString("ROI3"));
+        } else {
+            for (int row = 0; row < height; row++) {
+                Arrays.fill(mask[row], 0, bitmaskIntWidth, 0);
+            }
+        }
+        int[][] bits = mask;
+        forEachSpan(rect, (sy, x0, x1) -> {
+            int[] row = bits[sy - y];
+            for (int i = x0 - x; i < x1 - x; ) {
+                int word = i >> 5;
+                int bit = i & 31;
+                int n = Math.min(32 - bit, x1 - x - i);
+                row[word] |= (int) (((1L << n) - 1) << (32 - bit - n));
+                i += n;
+            }
+        });
+        return mask;
+    }
+
+    /**
+     * Returns a <code>LinkedList</code> of <code>Rectangle</code>s for a given rectangular region of the ROI.
+     *
+     * @param x The X coordinate of the upper left corner of the rectangle.
+     * @param y The Y coordinate of the upper left corner of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param mergeRectangles <code>true</code> if the <code>Rectangle</code>s are to be merged into a minimal set.
+     * @return A <code>LinkedList</code> of <code>Rectangle</code>s. If the specified rectangle does intersect with the
+     *     ROI bounds then a <code>null</code> is returned.
+     */
+    @Override
+    protected LinkedList getAsRectangleList(int x, int y, int width, int height, boolean mergeRectangles) {
+        Rectangle rect = new Rectangle(x, y, width, height);
+        if (!bounds.intersects(rect)) {
+            return null;
+        }
+        LinkedList<Rectangle> rectList = new LinkedList<>();
+        if (mergeRectangles) {
+            rectList.addAll(mergedRectangles(rect));
+        } else {
+            forEachSpan(rect, (sy, x0, x1) -> rectList.add(new Rectangle(x0, sy, x1 - x0, 1)));
+        }
+        return rectList;
+    }
+
+    /**
+     * Merges the spans clipped to a rectangle into rectangles, extending a rectangle down as long as the next row has
+     * the same span, in a single pass over the rows. The rectangles are sorted by row then column.
+     */
+    private List<Rectangle> mergedRectangles(Rectangle clip) {
+        List<Rectangle> result = new ArrayList<>();
+        Rectangle r = clip.intersection(bounds);
+        if (r.isEmpty()) {
+            return result;
+        }
+        // rectangles still open, sorted by column as the spans of the previous row
+        List<Rectangle> open = new ArrayList<>();
+        List<Rectangle> next = new ArrayList<>();
+        int maxX = r.x + r.width;
+        for (int y = r.y; y < r.y + r.height; y++) {
+            int row = y - minY;
+            int o = 0;
+            for (int s = firstSpanEndingAfter(row, r.x); s < rowStart[row + 1] && spans[s] < maxX; s += 2) {
+                int x0 = Math.max(spans[s], r.x);
+                int x1 = Math.min(spans[s + 1], maxX);
+                while (o < open.size() && open.get(o).x < x0) {
+                    o++;
+                }
+                Rectangle current;
+                if (o < open.size() && open.get(o).x == x0 && open.get(o).width == x1 - x0) {
+                    current = open.set(o++, null);
+                    current.height++;
+                } else {
+                    current = new Rectangle(x0, y, x1 - x0, 1);
+                    result.add(current);
+                }
+                next.add(current);
+            }
+            List<Rectangle> swap = open;
+            open = next;
+            next = swap;
+            next.clear();
+        }
+        return result;
+    }
+
+    /** Accumulates the spans of consecutive rows, dropping the empty rows at both ends. */
+    private static final class Builder {
+
+        private final int minY;
+
+        private final int[] rowStart;
+
+        private int[] spans = new int[16];
+
+        private int numRows;
+
+        private int size;
+
+        Builder(int minY, int numRows) {
+            this.minY = minY;
+            this.rowStart = new int[numRows + 1];
+        }
+
+        /** Adds a span to the current row, after the previous ones, merging it with the previous one if abutting. */
+        void add(int x0, int x1) {
+            if (size > rowStart[numRows] && spans[size - 1] == x0) {
+                spans[size - 1] = x1;
+                return;
+            }
+            if (size + 2 > spans.length) {
+                spans = Arrays.copyOf(spans, spans.length * 2);
+            }
+            spans[size++] = x0;
+            spans[size++] = x1;
+        }
+
+        void endRow() {
+            rowStart[++numRows] = size;
+        }
+
+        ROISpans build() {
+            int first = 0;
+            while (first < numRows && rowStart[first + 1] == rowStart[first]) {
+                first++;
+            }
+            int last = numRows;
+            while (last > first && rowStart[last] == rowStart[last - 1]) {
+                last--;
+            }
+            if (first == last) {
+                return new ROISpans(minY, new int[1], new int[0], new Rectangle(0, 0, 0, 0));
+            }
+            int[] rows = new int[last - first + 1];
+            int base = rowStart[first];
+            int minX = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            for (int row = first; row < last; row++) {
+                rows[row - first + 1] = rowStart[row + 1] - base;
+                if (rowStart[row + 1] > rowStart[row]) {
+                    minX = Math.min(minX, spans[rowStart[row]]);
+                    maxX = Math.max(maxX, spans[rowStart[row + 1] - 1]);
+                }
+            }
+            return new ROISpans(
+                    minY + first,
+                    rows,
+                    Arrays.copyOfRange(spans, base, rowStart[last]),
+                    new Rectangle(minX, minY + first, maxX - minX, last - first));
+        }
+    }
+}
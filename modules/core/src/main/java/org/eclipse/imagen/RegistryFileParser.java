@@ -256,6 +256,7 @@ class RegistryFileParser {
                 if (mode != null) {
                     if (RegistryMode.addMode(mode) == false)
                         registryFileError(ImageNI18N.getString("RegistryFileParser10"));
+                    else localNamesTable.put(new CaselessStringKey(mode.getName()), new Hashtable());
                 }
 
                 // Old format operation-descriptor line OR
@@ -32,6 +32,7 @@ import java.awt.image.WritableRaster;
 import java.awt.image.renderable.ParameterBlock;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -593,6 +594,9 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
      * <p>The <code>RenderedImage</code> generated by the selected <code>RenderedImageFactory</code> will be converted
      * to a <code>PlanarImage</code> by invoking <code>PlanarImage.wrapRenderedImage()</code>.
      *
+     * <p>If the rendering hints of the node map {@link ImageN#KEY_GRAPH_OPTIMIZER} to a {@link RenderedOpOptimizer}
+     * which rewrites the chain ending at this node, the rendering of the optimized chain is returned instead.
+     *
      * @return The resulting image as a <code>PlanarImage</code>.
      * @throws RuntimeException if the image factory charged with rendering the node is unable to create a rendering.
      */
@@ -608,6 +612,17 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
      * @see #createInstance()
      */
     protected synchronized PlanarImage createInstance(boolean isNodeRendered) {
+        // Render the optimized chain if an optimizer is set.
+        RenderingHints nodeHints = nodeSupport.getRenderingHints();
+        Object optimizer = nodeHints == null ? null : nodeHints.get(ImageN.KEY_GRAPH_OPTIMIZER);
+        if (optimizer instanceof RenderedOpOptimizer) {
+            RenderedOp optimized = ((RenderedOpOptimizer) optimizer).optimize(this);
+            if (optimized != this) {
+                oldHints = (RenderingHints) nodeHints.clone();
+                return isNodeRendered ? optimized.getRendering() : optimized.createInstance();
+            }
+        }
+
         ParameterBlock pb = new ParameterBlock();
         Vector parameters = nodeSupport.getParameterBlock().getParameters();
 
@@ -782,6 +797,13 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
      * "InvalidRegion" event emitted by a source <code>RenderedImage</code> in a manner similar to that applied for
      * <code>RenderingChangeEvent</code>s.
      *
+     * <p>When the source was modified in place, that is for an "InvalidRegion" event or a <code>RenderingChangeEvent
+     * </code> whose old and new renderings are the same image, an <code>OpImage</code> rendering is kept: only the
+     * tiles whose source region, as given by <code>mapDestRect()</code>, intersects the invalid source region are
+     * removed from its <code>TileCache</code>, and a <code>RenderingChangeEvent</code> with identical old and new
+     * renderings is fired in turn. The edits of a source <code>TiledImage</code> are thus propagated down a chain of
+     * nodes without re-rendering them.
+     *
      * @see TiledImage#propertyChange
      */
     public synchronized void propertyChange(PropertyChangeEvent evt) {
@@ -897,6 +919,7 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
 
                     boolean saveAllTiles = false;
                     ArrayList validTiles = null;
+                    ArrayList invalidTiles = null;
                     if (srcInvalidBounds.isEmpty()) {
                         invalidRegion = srcInvalidRegion;
                         saveAllTiles = true;
@@ -915,6 +938,7 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
                         Point[] indices = getTileIndices(dstRegionBounds);
                         int numIndices = indices != null ? indices.length : 0;
                         GeneralPath gp = null;
+                        boolean mapped = true;
 
                         for (int i = 0; i < numIndices; i++) {
                             if (i % 1000 == 0 && gp != null) gp = new GeneralPath(new Area(gp));
@@ -923,14 +947,17 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
                             Rectangle srcRect = oldOpImage.mapDestRect(dstRect, idx);
                             if (srcRect == null) {
                                 gp = null;
+                                mapped = false;
                                 break;
                             }
                             if (srcInvalidRegion.intersects(srcRect)) {
                                 if (gp == null) {
                                     gp = new GeneralPath(dstRect);
+                                    invalidTiles = new ArrayList();
                                 } else {
                                     gp.append(dstRect, false);
                                 }
+                                invalidTiles.add(indices[i]);
                             } else {
                                 if (validTiles == null) {
                                     validTiles = new ArrayList();
@@ -939,47 +966,74 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
                             }
                         }
 
-                        invalidRegion = (gp == null) ? null : new Area(gp);
+                        if (gp != null) {
+                            invalidRegion = new Area(gp);
+                        } else if (mapped) {
+                            // No tile depends on the invalid source region.
+                            invalidRegion = new Rectangle();
+                        }
                     }
 
-                    // Clear the current rendering.
-                    theImage = null;
-
-                    // Retrieve the old TileCache.
-                    TileCache oldCache = oldOpImage.getTileCache();
-
-                    // Only perform further processing if there is a cache
-                    // and there are tiles to save.
-                    if (oldCache != null && (saveAllTiles || validTiles != null)) {
-                        // Re-render the node.
-                        createRendering();
-
-                        // Only perform further processing if the new
-                        // rendering is an OpImage with a non-null TileCache.
-                        if (theImage instanceof OpImage && ((OpImage) theImage).getTileCache() != null) {
-                            OpImage newOpImage = (OpImage) theImage;
-                            TileCache newCache = newOpImage.getTileCache();
-                            Object tileCacheMetric = newOpImage.getTileCacheMetric();
-
-                            if (saveAllTiles) {
-                                Raster[] tiles = oldCache.getTiles(oldOpImage);
-                                int numTiles = tiles == null ? 0 : tiles.length;
-                                for (int i = 0; i < numTiles; i++) {
-                                    Raster tile = tiles[i];
-                                    int tx = newOpImage.XToTileX(tile.getMinX());
-                                    int ty = newOpImage.YToTileY(tile.getMinY());
-                                    newCache.add(newOpImage, tx, ty, tile, tileCacheMetric);
+                    if (isInPlaceChange(evt, oldOpImage, nodeSources.indexOf(evtSrc))) {
+                        // The source object is unchanged: keep the rendering
+                        // and only discard the tiles which depend on the
+                        // invalid source region.
+                        TileCache cache = oldOpImage.getTileCache();
+                        if (cache != null && !saveAllTiles) {
+                            if (invalidRegion == null) {
+                                // Some tiles cannot be mapped to the source.
+                                cache.removeTiles(oldOpImage);
+                            } else if (invalidTiles != null) {
+                                int numInvalidTiles = invalidTiles.size();
+                                for (int i = 0; i < numInvalidTiles; i++) {
+                                    Point tileIndex = (Point) invalidTiles.get(i);
+                                    cache.remove(oldOpImage, tileIndex.x, tileIndex.y);
                                 }
-                            } else { // save some, but not all, tiles
-                                int numValidTiles = validTiles.size();
-                                for (int i = 0; i < numValidTiles; i++) {
-                                    Point tileIndex = (Point) validTiles.get(i);
-                                    Raster tile = oldCache.getTile(oldOpImage, tileIndex.x, tileIndex.y);
-                                    if (tile != null) {
-                                        newCache.add(newOpImage, tileIndex.x, tileIndex.y, tile, tileCacheMetric);
+                            }
+                        }
+                    } else {
+                        // Clear the current rendering.
+                        theImage = null;
+
+                        // Retrieve the old TileCache.
+                        TileCache oldCache = oldOpImage.getTileCache();
+
+                        // Only perform further processing if there is a cache
+                        // and there are tiles to save.
+                        if (oldCache != null && (saveAllTiles || validTiles != null)) {
+                            // Re-render the node.
+                            createRendering();
+
+                            // Only perform further processing if the new
+                            // rendering is an OpImage with a non-null TileCache.
+                            if (theImage instanceof OpImage && ((OpImage) theImage).getTileCache() != null) {
+                                OpImage newOpImage = (OpImage) theImage;
+                                TileCache newCache = newOpImage.getTileCache();
+                                Object tileCacheMetric = newOpImage.getTileCacheMetric();
+
+                                if (saveAllTiles) {
+                                    Raster[] tiles = oldCache.getTiles(oldOpImage);
+                                    int numTiles = tiles == null ? 0 : tiles.length;
+                                    for (int i = 0; i < numTiles; i++) {
+                                        Raster tile = tiles[i];
+                                        int tx = newOpImage.XToTileX(tile.getMinX());
+                                        int ty = newOpImage.YToTileY(tile.getMinY());
+                                        newCache.add(newOpImage, tx, ty, tile, tileCacheMetric);
+                                    }
+                                } else { // save some, but not all, tiles
+                                    int numValidTiles = validTiles.size();
+                                    for (int i = 0; i < numValidTiles; i++) {
+                                        Point tileIndex = (Point) validTiles.get(i);
+                                        Raster tile = oldCache.getTile(oldOpImage, tileIndex.x, tileIndex.y);
+                                        if (tile != null) {
+                                            newCache.add(newOpImage, tileIndex.x, tileIndex.y, tile, tileCacheMetric);
+                                        }
                                     }
                                 }
                             }
+
+                            // The tiles of the old rendering are stale.
+                            oldCache.removeTiles(oldOpImage);
                         }
                     }
                 }
@@ -1114,6 +1168,9 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
                                     }
                                 }
                             }
+
+                            // The tiles of the old rendering are stale.
+                            oldCache.removeTiles(oldRendering);
                         }
                     }
                 }
@@ -1133,7 +1190,11 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
                 RenderingChangeEvent rcEvent = new RenderingChangeEvent(this, theOldImage, theImage, invalidRegion);
 
                 // Fire to all registered listeners.
-                eventManager.firePropertyChange(rcEvent);
+                if (theImage == theOldImage) {
+                    fireInPlaceChange(rcEvent);
+                } else {
+                    eventManager.firePropertyChange(rcEvent);
+                }
 
                 // Fire an event to all PropertyChangeListener sinks.
                 Vector sinks = getSinks();
@@ -1150,6 +1211,44 @@ public class RenderedOp extends PlanarImage implements OperationNode, PropertyCh
         }
     }
 
+    /**
+     * Whether an event notifies a modification of the pixels of a source which is still the same object, either an
+     * "InvalidRegion" event from a <code>RenderedImage</code> or a <code>RenderingChangeEvent</code> whose old and new
+     * renderings are the same image, and the rendering reads that image directly rather than through intermediate
+     * images created by its factory.
+     */
+    private static boolean isInPlaceChange(PropertyChangeEvent evt, OpImage rendering, int sourceIndex) {
+        Object source;
+        if (evt instanceof RenderingChangeEvent) {
+            if (evt.getOldValue() != evt.getNewValue()) {
+                return false;
+            }
+            source = evt.getNewValue();
+        } else {
+            source = evt.getSource();
+        }
+        return sourceIndex >= 0
+                && sourceIndex < rendering.getNumSources()
+                && rendering.getSourceObject(sourceIndex) == source;
+    }
+
+    /**
+     * Fires a <code>RenderingChangeEvent</code> whose old and new renderings are the same image to the registered
+     * listeners, as <code>PropertyChangeSupport</code> drops the events whose old and new values are equal.
+     */
+    private void fireInPlaceChange(RenderingChangeEvent rcEvent) {
+        PropertyChangeListener[] listeners = eventManager.getPropertyChangeListeners();
+        for (PropertyChangeListener listener : listeners) {
+            if (listener instanceof PropertyChangeListenerProxy
+                    && !((PropertyChangeListenerProxy) listener)
+                            .getPropertyName()
+                            .equalsIgnoreCase(rcEvent.getPropertyName())) {
+                continue;
+            }
+            listener.propertyChange(rcEvent);
+        }
+    }
+
     /* ----- Node source methods: interact with ParameterBlock sources ----- */
 
     /**
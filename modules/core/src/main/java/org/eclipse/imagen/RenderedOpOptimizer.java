@@ -0,0 +1,705 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.ParameterBlock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import org.eclipse.imagen.registry.RenderedRegistryMode;
+
+/**
+ * Rewrites a chain of <code>RenderedOp</code> nodes into an equivalent chain which is cheaper to render.
+ *
+ * <p>Each node of a chain is rendered as written, so that a "Translate" of a "Scale" of an "Affine" resamples the image
+ * three times, and a "Crop" following an expensive operation still computes the full tiles of that operation. An
+ * optimizer applies a list of {@link Rewrite}s to the nodes of a chain, from the sources to the sink, until none of
+ * them applies. The nodes of the original chain are never modified: rewritten nodes are new <code>RenderedOp</code>s,
+ * and the nodes which are not rewritten are shared with the original chain.
+ *
+ * <p>The default rewrites are:
+ *
+ * <ul>
+ *   <li>"DropIdentity" removes "Null" nodes and "Scale", "Translate" and "Affine" nodes performing the identity.
+ *   <li>"CollapseAffine" replaces two consecutive "Scale", "Translate" or "Affine" nodes using the same interpolation
+ *       by a single node performing the concatenated transform, so that the image is resampled once. The result differs
+ *       from the one of the original chain by the rounding of the intermediate resampling.
+ *   <li>"MergeCrop" and "MergeBandSelect" replace two consecutive "Crop" or "BandSelect" nodes by a single one.
+ *   <li>"PushCrop" moves a "Crop" below single source point operations and integral translations, so that only the
+ *       cropped area is computed.
+ *   <li>"PushBandSelect" moves a "BandSelect" below "Crop", "Format", "Null" and geometric operations, so that only the
+ *       selected bands are computed.
+ * </ul>
+ *
+ * <p>These rewrites only apply to nodes without ROI, NoData or <code>ImageLayout</code> hint, and merge nodes only if
+ * their rendering hints are the same. The operations they create must be registered in the registry of the rewritten
+ * nodes, otherwise the nodes are left as is.
+ *
+ * <p>An optimizer is used by setting it as the value of the {@link ImageN#KEY_GRAPH_OPTIMIZER} hint, in which case a
+ * node renders the optimized chain instead of itself. The rewrites performed on a chain can be inspected with
+ * {@link #explain(RenderedOp)}.
+ *
+ * @see ImageN#KEY_GRAPH_OPTIMIZER
+ */
+public class RenderedOpOptimizer {
+
+    /** A rewrite of a node of a chain. */
+    public interface Rewrite {
+
+        /** Returns the name of the rewrite, as reported by {@link Plan}. */
+        String getName();
+
+        /**
+         * Rewrites a node.
+         *
+         * <p>The returned image replaces the node in the chain. It is usually a new <code>RenderedOp</code>, but may
+         * also be one of the sources of the node when the node performs the identity. The supplied node must not be
+         * modified.
+         *
+         * @param node The node to rewrite, whose sources have already been rewritten.
+         * @return The replacement of the node, or <code>null</code> if the rewrite does not apply.
+         */
+        RenderedImage rewrite(RenderedOp node);
+    }
+
+    /** The result of the optimization of a chain. */
+    public static class Plan {
+
+        private final RenderedOp original;
+
+        private final RenderedOp optimized;
+
+        private final List<String> steps;
+
+        Plan(RenderedOp original, RenderedOp optimized, List<String> steps) {
+            this.original = original;
+            this.optimized = optimized;
+            this.steps = Collections.unmodifiableList(steps);
+        }
+
+        /** Returns the node which was optimized. */
+        public RenderedOp getOriginal() {
+            return original;
+        }
+
+        /** Returns the optimized node, which is the original node if no rewrite applied. */
+        public RenderedOp getOptimized() {
+            return optimized;
+        }
+
+        /** Returns whether any rewrite applied. */
+        public boolean isRewritten() {
+            return optimized != original;
+        }
+
+        /** Returns a description of each rewrite applied, in order. */
+        public List<String> getSteps() {
+            return steps;
+        }
+
+        /** Returns the rewrites applied followed by the original and the optimized chains. */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(steps.size()).append(" rewrite(s)\n");
+            for (String step : steps) {
+                sb.append("  ").append(step).append('\n');
+            }
+            sb.append("Original:\n");
+            appendTree(sb, original, 1);
+            sb.append("Optimized:\n");
+            appendTree(sb, optimized, 1);
+            return sb.toString();
+        }
+
+        private static void appendTree(StringBuilder sb, Object image, int depth) {
+            for (int i = 0; i < depth; i++) {
+                sb.append("  ");
+            }
+            sb.append(describe(image)).append('\n');
+            if (image instanceof RenderedOp) {
+                RenderedOp node = (RenderedOp) image;
+                for (int i = 0; i < node.getNumSources(); i++) {
+                    appendTree(sb, node.getNodeSource(i), depth + 1);
+                }
+            }
+        }
+    }
+
+    /** Upper bound of the rewrites applied to a single node, guarding against rewrites undoing each other. */
+    private static final int MAX_REWRITES = 64;
+
+    /** Single source point operations below which a "Crop" is moved. */
+    private static final List<String> POINT_OPERATIONS = Arrays.asList(
+            "BandCombine",
+            "Binarize",
+            "Clamp",
+            "ColorConvert",
+            "Format",
+            "Lookup",
+            "operationConst",
+            "Rescale",
+            "RLookup",
+            "Threshold");
+
+    /** Operations below which a "BandSelect" is moved. */
+    private static final List<String> BAND_INDEPENDENT_OPERATIONS =
+            Arrays.asList("Affine", "Crop", "Format", "Null", "Scale", "Translate");
+
+    private final List<Rewrite> rewrites;
+
+    /** Constructs an optimizer applying the default rewrites. */
+    public RenderedOpOptimizer() {
+        this(getDefaultRewrites());
+    }
+
+    /**
+     * Constructs an optimizer applying the supplied rewrites, the first one which applies to a node being used.
+     *
+     * @param rewrites The rewrites to apply.
+     * @throws IllegalArgumentException if <code>rewrites</code> is <code>null</code>.
+     */
+    public RenderedOpOptimizer(List<Rewrite> rewrites) {
+        if (rewrites == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        this.rewrites = Collections.unmodifiableList(new ArrayList<>(rewrites));
+    }
+
+    /** Returns a new list containing the default rewrites, which may be extended and supplied to the constructor. */
+    public static List<Rewrite> getDefaultRewrites() {
+        List<Rewrite> list = new ArrayList<>();
+        list.add(new DropIdentity());
+        list.add(new CollapseAffine());
+        list.add(new MergeCrop());
+        list.add(new MergeBandSelect());
+        list.add(new PushCrop());
+        list.add(new PushBandSelect());
+        return list;
+    }
+
+    /** Returns the rewrites applied by this optimizer. */
+    public List<Rewrite> getRewrites() {
+        return rewrites;
+    }
+
+    /**
+     * Optimizes the chain ending at a node.
+     *
+     * @param node The last node of the chain.
+     * @return The optimized node, or <code>node</code> itself if no rewrite applied.
+     * @throws IllegalArgumentException if <code>node</code> is <code>null</code>.
+     */
+    public RenderedOp optimize(RenderedOp node) {
+        return explain(node).getOptimized();
+    }
+
+    /**
+     * Optimizes the chain ending at a node, reporting the rewrites applied.
+     *
+     * <p>The last node of the chain is never replaced by one of its sources, so that the optimized chain is always
+     * ended by a <code>RenderedOp</code>.
+     *
+     * @param node The last node of the chain.
+     * @throws IllegalArgumentException if <code>node</code> is <code>null</code>.
+     */
+    public Plan explain(RenderedOp node) {
+        if (node == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        List<String> steps = new ArrayList<>();
+        RenderedImage optimized = rewrite(node, true, new IdentityHashMap<>(), steps);
+        return new Plan(node, (RenderedOp) optimized, steps);
+    }
+
+    private RenderedImage rewrite(
+            RenderedOp node, boolean root, Map<RenderedOp, RenderedImage> done, List<String> steps) {
+        RenderedImage result = done.get(node);
+        if (result != null) {
+            return result;
+        }
+
+        RenderedOp current = rewriteSources(node, done, steps);
+        result = current;
+        for (int count = 0; count < MAX_REWRITES; count++) {
+            RenderedImage replacement = null;
+            Rewrite applied = null;
+            for (Rewrite r : rewrites) {
+                replacement = r.rewrite(current);
+                if (replacement != null && (replacement instanceof RenderedOp || !root)) {
+                    applied = r;
+                    break;
+                }
+            }
+            if (applied == null) {
+                break;
+            }
+            steps.add(applied.getName() + ": " + describe(current) + " -> " + describe(replacement));
+            if (!(replacement instanceof RenderedOp)) {
+                result = replacement;
+                break;
+            }
+            // Nodes created by the rewrite below the replacement may be rewritten in turn
+            current = rewriteSources((RenderedOp) replacement, done, steps);
+            result = current;
+        }
+
+        done.put(node, result);
+        if (result instanceof RenderedOp) {
+            done.put((RenderedOp) result, result);
+        }
+        return result;
+    }
+
+    /** Returns the node, or a copy of it if any of its sources was rewritten. */
+    private RenderedOp rewriteSources(RenderedOp node, Map<RenderedOp, RenderedImage> done, List<String> steps) {
+        Vector sources = node.getSources();
+        if (sources == null) {
+            return node;
+        }
+        boolean changed = false;
+        for (int i = 0; i < sources.size(); i++) {
+            Object source = sources.get(i);
+            if (source instanceof RenderedOp) {
+                RenderedImage rewritten = rewrite((RenderedOp) source, false, done, steps);
+                if (rewritten != source) {
+                    sources.set(i, rewritten);
+                    changed = true;
+                }
+            }
+        }
+        if (!changed) {
+            return node;
+        }
+        ParameterBlock pb = node.getParameterBlock();
+        pb.setSources(sources);
+        return new RenderedOp(node.getRegistry(), node.getOperationName(), pb, getHints(node));
+    }
+
+    private static String describe(Object image) {
+        if (!(image instanceof RenderedOp)) {
+            return image == null ? "null" : image.getClass().getSimpleName();
+        }
+        RenderedOp node = (RenderedOp) image;
+        StringBuilder sb = new StringBuilder(node.getOperationName()).append('(');
+        String[] names = getParamNames(node);
+        ParameterBlock pb = node.getParameterBlock();
+        String separator = "";
+        for (int i = 0; i < pb.getNumParameters(); i++) {
+            Object value = pb.getObjectParameter(i);
+            if (value == null) {
+                continue;
+            }
+            sb.append(separator);
+            if (names != null && i < names.length) {
+                sb.append(names[i]).append('=');
+            }
+            if (value instanceof double[]) {
+                sb.append(Arrays.toString((double[]) value));
+            } else if (value instanceof int[]) {
+                sb.append(Arrays.toString((int[]) value));
+            } else if (value instanceof Interpolation) {
+                sb.append(value.getClass().getSimpleName());
+            } else {
+                sb.append(value);
+            }
+            separator = ", ";
+        }
+        return sb.append(')').toString();
+    }
+
+    /* ----- Helpers of the default rewrites ----- */
+
+    private static String[] getParamNames(RenderedOp node) {
+        OperationDescriptor desc = getDescriptor(node, node.getOperationName());
+        return desc == null
+                ? null
+                : desc.getParameterListDescriptor(RenderedRegistryMode.MODE_NAME)
+                        .getParamNames();
+    }
+
+    private static OperationDescriptor getDescriptor(RenderedOp node, String opName) {
+        OperationRegistry registry = node.getRegistry();
+        if (registry == null) {
+            registry = ImageN.getDefaultInstance().getOperationRegistry();
+        }
+        return (OperationDescriptor) registry.getDescriptor(RenderedRegistryMode.MODE_NAME, opName);
+    }
+
+    /** Returns a parameter of a node by name, ignoring case, or <code>null</code> if it is missing. */
+    private static Object getParam(RenderedOp node, String name) {
+        String[] names = getParamNames(node);
+        if (names != null) {
+            for (int i = 0; i < names.length && i < node.getNumParameters(); i++) {
+                if (names[i].equalsIgnoreCase(name)) {
+                    return node.getObjectParameter(i);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static float getFloat(RenderedOp node, String name) {
+        return ((Number) getParam(node, name)).floatValue();
+    }
+
+    /** Returns the hints of a node without the optimizer, so that rewritten nodes are not optimized again. */
+    private static RenderingHints getHints(RenderedOp node) {
+        RenderingHints hints = node.getRenderingHints();
+        if (hints == null) {
+            return new RenderingHints(null);
+        }
+        hints.remove(ImageN.KEY_GRAPH_OPTIMIZER);
+        return hints;
+    }
+
+    private static boolean is(Object image, String opName) {
+        return image instanceof RenderedOp
+                && ((RenderedOp) image).getOperationName().equalsIgnoreCase(opName);
+    }
+
+    private static boolean isAny(Object image, List<String> opNames) {
+        for (String opName : opNames) {
+            if (is(image, opName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the single rendered source of a node, or <code>null</code>. */
+    private static RenderedImage getSource(RenderedOp node) {
+        if (node.getNumSources() != 1 || !(node.getNodeSource(0) instanceof RenderedImage)) {
+            return null;
+        }
+        return (RenderedImage) node.getNodeSource(0);
+    }
+
+    /** Returns whether a node has no layout hint and no ROI or NoData parameter. */
+    private static boolean isPlain(RenderedOp node) {
+        return !hasLayout(node) && getParam(node, "roi") == null && getParam(node, "nodata") == null;
+    }
+
+    private static boolean hasLayout(RenderedOp node) {
+        RenderingHints hints = node.getRenderingHints();
+        return hints != null && hints.get(ImageN.KEY_IMAGE_LAYOUT) != null;
+    }
+
+    private static boolean sameHints(RenderedOp a, RenderedOp b) {
+        return getHints(a).equals(getHints(b));
+    }
+
+    /** Creates a copy of a node with a new source and some parameters replaced, given as name and value pairs. */
+    private static RenderedOp copy(RenderedOp node, RenderedImage source, Object... params) {
+        ParameterBlock pb = node.getParameterBlock();
+        Vector<Object> sources = new Vector<>();
+        sources.add(source);
+        pb.setSources(sources);
+        String[] names = getParamNames(node);
+        for (int p = 0; p < params.length; p += 2) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase((String) params[p])) {
+                    pb.set(params[p + 1], i);
+                }
+            }
+        }
+        return new RenderedOp(node.getRegistry(), node.getOperationName(), pb, getHints(node));
+    }
+
+    /**
+     * Creates a node of an operation with the hints of another node, or returns <code>null</code> if the operation is
+     * not registered.
+     */
+    private static RenderedOp create(RenderedOp like, String opName, RenderedImage source, Object... params) {
+        OperationDescriptor desc = getDescriptor(like, opName);
+        if (desc == null) {
+            return null;
+        }
+        ParameterBlockImageN pb = new ParameterBlockImageN(desc, RenderedRegistryMode.MODE_NAME);
+        pb.addSource(source);
+        for (int p = 0; p < params.length; p += 2) {
+            pb.setParameter((String) params[p], params[p + 1]);
+        }
+        return new RenderedOp(like.getRegistry(), opName, pb, getHints(like));
+    }
+
+    /** Returns the transform performed by a "Scale", "Translate" or "Affine" node, or <code>null</code>. */
+    private static AffineTransform getTransform(RenderedOp node) {
+        if (is(node, "Affine")) {
+            AffineTransform transform = (AffineTransform) getParam(node, "transform");
+            return transform == null ? new AffineTransform() : new AffineTransform(transform);
+        } else if (is(node, "Scale")) {
+            return new AffineTransform(
+                    getFloat(node, "xScale"),
+                    0,
+                    0,
+                    getFloat(node, "yScale"),
+                    getFloat(node, "xTrans"),
+                    getFloat(node, "yTrans"));
+        } else if (is(node, "Translate")) {
+            return AffineTransform.getTranslateInstance(getFloat(node, "xTrans"), getFloat(node, "yTrans"));
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(double value) {
+        return value == Math.rint(value);
+    }
+
+    /** Removes "Null" nodes and geometric operations performing the identity. */
+    private static class DropIdentity implements Rewrite {
+
+        public String getName() {
+            return "DropIdentity";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            if (source == null || !isPlain(node)) {
+                return null;
+            }
+            if (is(node, "Null")) {
+                return source;
+            }
+            AffineTransform transform = getTransform(node);
+            return transform != null && transform.isIdentity() ? source : null;
+        }
+    }
+
+    /** Replaces two consecutive geometric operations with a single one. */
+    private static class CollapseAffine implements Rewrite {
+
+        public String getName() {
+            return "CollapseAffine";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            AffineTransform outer = getTransform(node);
+            if (outer == null || !(source instanceof RenderedOp)) {
+                return null;
+            }
+            RenderedOp inner = (RenderedOp) source;
+            AffineTransform transform = getTransform(inner);
+            RenderedImage image = getSource(inner);
+            if (transform == null || image == null || !isPlain(node) || !isPlain(inner) || !sameHints(node, inner)) {
+                return null;
+            }
+
+            Interpolation interpolation = (Interpolation) getParam(node, "interpolation");
+            Interpolation innerInterpolation = (Interpolation) getParam(inner, "interpolation");
+            if (interpolation == null
+                    || innerInterpolation == null
+                    || interpolation.getClass() != innerInterpolation.getClass()
+                    || interpolation.getSubsampleBitsH() != innerInterpolation.getSubsampleBitsH()
+                    || interpolation.getSubsampleBitsV() != innerInterpolation.getSubsampleBitsV()) {
+                return null;
+            }
+            double[] background = (double[]) getParam(node, "backgroundValues");
+            double[] innerBackground = (double[]) getParam(inner, "backgroundValues");
+            if (innerBackground != null && !Arrays.equals(background, innerBackground)) {
+                return null;
+            }
+
+            transform.preConcatenate(outer);
+            if (transform.isIdentity()) {
+                return image;
+            }
+            if (transform.getShearX() == 0
+                    && transform.getShearY() == 0
+                    && transform.getScaleX() > 0
+                    && transform.getScaleY() > 0) {
+                if (transform.getScaleX() == 1
+                        && transform.getScaleY() == 1
+                        && isIntegral(transform.getTranslateX())
+                        && isIntegral(transform.getTranslateY())) {
+                    return create(
+                            node,
+                            "Translate",
+                            image,
+                            "xTrans",
+                            (float) transform.getTranslateX(),
+                            "yTrans",
+                            (float) transform.getTranslateY(),
+                            "interpolation",
+                            interpolation);
+                }
+                return create(
+                        node,
+                        "Scale",
+                        image,
+                        "xScale",
+                        (float) transform.getScaleX(),
+                        "yScale",
+                        (float) transform.getScaleY(),
+                        "xTrans",
+                        (float) transform.getTranslateX(),
+                        "yTrans",
+                        (float) transform.getTranslateY(),
+                        "interpolation",
+                        interpolation,
+                        "backgroundValues",
+                        background);
+            }
+            return create(
+                    node,
+                    "Affine",
+                    image,
+                    "transform",
+                    transform,
+                    "interpolation",
+                    interpolation,
+                    "backgroundValues",
+                    background);
+        }
+    }
+
+    /** Replaces two consecutive "Crop" nodes with a single one. */
+    private static class MergeCrop implements Rewrite {
+
+        public String getName() {
+            return "MergeCrop";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            if (!is(node, "Crop") || !is(source, "Crop")) {
+                return null;
+            }
+            RenderedOp inner = (RenderedOp) source;
+            RenderedImage image = getSource(inner);
+            if (image == null || !isPlain(node) || !isPlain(inner) || !sameHints(node, inner)) {
+                return null;
+            }
+            Rectangle2D r = getRect(node).createIntersection(getRect(inner));
+            if (r.isEmpty()) {
+                return null;
+            }
+            return copy(
+                    node,
+                    image,
+                    "x",
+                    (float) r.getX(),
+                    "y",
+                    (float) r.getY(),
+                    "width",
+                    (float) r.getWidth(),
+                    "height",
+                    (float) r.getHeight());
+        }
+    }
+
+    private static Rectangle2D getRect(RenderedOp crop) {
+        return new Rectangle2D.Float(
+                getFloat(crop, "x"), getFloat(crop, "y"), getFloat(crop, "width"), getFloat(crop, "height"));
+    }
+
+    /** Replaces two consecutive "BandSelect" nodes with a single one. */
+    private static class MergeBandSelect implements Rewrite {
+
+        public String getName() {
+            return "MergeBandSelect";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            if (!is(node, "BandSelect") || !is(source, "BandSelect")) {
+                return null;
+            }
+            RenderedOp inner = (RenderedOp) source;
+            RenderedImage image = getSource(inner);
+            if (image == null || hasLayout(node) || hasLayout(inner) || !sameHints(node, inner)) {
+                return null;
+            }
+            int[] outer = (int[]) getParam(node, "bandIndices");
+            int[] indices = (int[]) getParam(inner, "bandIndices");
+            int[] composed = new int[outer.length];
+            for (int i = 0; i < outer.length; i++) {
+                composed[i] = indices[outer[i]];
+            }
+            return copy(node, image, "bandIndices", composed);
+        }
+    }
+
+    /** Moves a "Crop" below a point operation or an integral translation. */
+    private static class PushCrop implements Rewrite {
+
+        public String getName() {
+            return "PushCrop";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            if (!is(node, "Crop") || !isPlain(node) || !(source instanceof RenderedOp)) {
+                return null;
+            }
+            RenderedOp op = (RenderedOp) source;
+            RenderedImage image = getSource(op);
+            if (image == null || hasLayout(op)) {
+                return null;
+            }
+            if (isAny(op, POINT_OPERATIONS)) {
+                return copy(op, copy(node, image));
+            }
+            if (is(op, "Translate")) {
+                float tx = getFloat(op, "xTrans");
+                float ty = getFloat(op, "yTrans");
+                if (isIntegral(tx) && isIntegral(ty)) {
+                    RenderedOp crop = copy(node, image, "x", getFloat(node, "x") - tx, "y", getFloat(node, "y") - ty);
+                    return copy(op, crop);
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Moves a "BandSelect" below an operation processing each band independently. */
+    private static class PushBandSelect implements Rewrite {
+
+        public String getName() {
+            return "PushBandSelect";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            RenderedImage source = getSource(node);
+            if (!is(node, "BandSelect") || hasLayout(node) || !isAny(source, BAND_INDEPENDENT_OPERATIONS)) {
+                return null;
+            }
+            RenderedOp op = (RenderedOp) source;
+            RenderedImage image = getSource(op);
+            if (image == null || !isPlain(op)) {
+                return null;
+            }
+            int[] indices = (int[]) getParam(node, "bandIndices");
+            RenderedOp select = copy(node, image);
+
+            double[] background = (double[]) getParam(op, "backgroundValues");
+            if (background == null || background.length == 1) {
+                return copy(op, select);
+            }
+            double[] selected = new double[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                if (indices[i] >= background.length) {
+                    return null;
+                }
+                selected[i] = background[indices[i]];
+            }
+            return copy(op, select, "backgroundValues", selected);
+        }
+    }
+}
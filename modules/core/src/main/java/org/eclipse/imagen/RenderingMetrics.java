@@ -0,0 +1,338 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.lang.management.ManagementFactory;
+import java.util.EventListener;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects per node rendering statistics at the level of {@link OpImage#getTile(int, int)}, so that the nodes
+ * responsible for a slow chain can be found.
+ *
+ * <p>While enabled, each tile request of an <code>OpImage</code> updates the {@link NodeMetrics} of the image and the
+ * ones of its class: cache hits and misses, the compute time of the missed tiles, the time they spent waiting for the
+ * tiles of their source <code>OpImage</code>s, and the size of the computed tiles. Every computed tile is also reported
+ * to the registered {@link Listener}s. The statistics are available through {@link #getMetrics(RenderedImage)},
+ * {@link #getOperationMetrics()}, and through JMX once {@link #registerMBean()} was called.
+ *
+ * <p>When trace sampling is enabled, one request out of the sampling interval issued outside of any tile computation
+ * records the dependency tree of the tile with its timings, which is delivered to the listeners as a {@link TileTrace}.
+ *
+ * <p>The statistics are collected on the thread requesting a tile, so the tiles computed by the worker threads of the
+ * <code>TileScheduler</code> for <code>queueTiles()</code> and <code>prefetchTiles()</code> are not measured, and
+ * <code>OpImage</code>s overriding <code>getTile()</code> are measured only if they call the implementation of <code>
+ * OpImage</code>. When disabled, which is the default, the cost is the read of a volatile flag per tile request.
+ *
+ * @see NodeMetrics
+ * @see TileTrace
+ */
+public final class RenderingMetrics {
+
+    /** The JMX name of the management interface. */
+    public static final String OBJECT_NAME = "org.eclipse.imagen:type=RenderingMetrics";
+
+    /** Receives the metrics of the tiles as they are computed. */
+    public interface Listener extends EventListener {
+
+        /**
+         * Invoked after a tile of an <code>OpImage</code> was computed, on the thread which computed it.
+         *
+         * @param image the image.
+         * @param tileX the X index of the tile.
+         * @param tileY the Y index of the tile.
+         * @param computeNanos the compute time, excluding the source wait time.
+         * @param sourceWaitNanos the time spent waiting for the tiles of the source <code>OpImage</code>s.
+         * @param bytes the size of the data of the tile, 0 if the computation failed.
+         */
+        void tileComputed(OpImage image, int tileX, int tileY, long computeNanos, long sourceWaitNanos, long bytes);
+
+        /**
+         * Invoked after a sampled tile request completed, on the thread which requested it.
+         *
+         * @param trace the dependency tree of the tile.
+         */
+        void traceCompleted(TileTrace trace);
+    }
+
+    /** A tile computation in progress on a thread. */
+    private static final class Frame {
+
+        final Frame parent;
+
+        final OpImage image;
+
+        final long startNanos;
+
+        /** The time spent in the getTile() calls of the source OpImages */
+        long sourceNanos;
+
+        final TileTrace trace;
+
+        Frame(Frame parent, OpImage image, long startNanos, TileTrace trace) {
+            this.parent = parent;
+            this.image = image;
+            this.startNanos = startNanos;
+            this.trace = trace;
+        }
+    }
+
+    /** Read before any other state on each tile request */
+    static volatile boolean enabled;
+
+    private static volatile int traceSampling;
+
+    private static final AtomicLong requests = new AtomicLong();
+
+    private static final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+    private static final Map<String, NodeMetrics> operations = new ConcurrentHashMap<>();
+
+    private static final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final RenderingMetricsMXBean MBEAN = new RenderingMetricsMXBean() {
+        public boolean isEnabled() {
+            return RenderingMetrics.isEnabled();
+        }
+
+        public void setEnabled(boolean enabled) {
+            RenderingMetrics.setEnabled(enabled);
+        }
+
+        public int getTraceSampling() {
+            return RenderingMetrics.getTraceSampling();
+        }
+
+        public void setTraceSampling(int interval) {
+            RenderingMetrics.setTraceSampling(interval);
+        }
+
+        public Map<String, NodeMetrics> getOperationMetrics() {
+            return RenderingMetrics.getOperationMetrics();
+        }
+
+        public void reset() {
+            RenderingMetrics.reset();
+        }
+    };
+
+    private RenderingMetrics() {}
+
+    /** Returns whether the metrics are collected. */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the collection of the metrics. The statistics collected so far are kept.
+     *
+     * @param enabled whether to collect the metrics.
+     */
+    public static void setEnabled(boolean enabled) {
+        RenderingMetrics.enabled = enabled;
+    }
+
+    /** Returns the sampling interval of the traces, 0 if tracing is disabled. */
+    public static int getTraceSampling() {
+        return traceSampling;
+    }
+
+    /**
+     * Sets the sampling interval of the traces: one out of <code>interval</code> tile requests issued outside of a tile
+     * computation is traced while the metrics are enabled.
+     *
+     * @param interval the sampling interval, 1 to trace all the requests, 0 to disable tracing.
+     * @throws IllegalArgumentException if <code>interval</code> is negative.
+     */
+    public static void setTraceSampling(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException(ImageNI18N.getString("RenderingMetrics0"));
+        }
+        traceSampling = interval;
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener the listener.
+     * @throws IllegalArgumentException if <code>listener</code> is <code>null</code>.
+     */
+    public static void addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener.
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the statistics of an image.
+     *
+     * @param image an <code>OpImage</code>, or a <code>RenderedOp</code> whose rendering is one.
+     * @return the statistics, or <code>null</code> if none were collected for the image.
+     */
+    public static NodeMetrics getMetrics(RenderedImage image) {
+        if (image instanceof RenderedOp) {
+            image = ((RenderedOp) image).getCurrentRendering();
+        }
+        return image instanceof OpImage ? ((OpImage) image).metrics : null;
+    }
+
+    /** Returns a snapshot of the statistics of the <code>OpImage</code>s by class name. */
+    public static Map<String, NodeMetrics> getOperationMetrics() {
+        return new TreeMap<>(operations);
+    }
+
+    /** Discards the statistics of the <code>OpImage</code> classes. The statistics of each image are kept. */
+    public static void reset() {
+        operations.clear();
+    }
+
+    /**
+     * Registers the management interface of the metrics, a {@link RenderingMetricsMXBean}, in the platform MBean server
+     * under the name {@value #OBJECT_NAME}. Does nothing if it is already registered.
+     *
+     * @throws RuntimeException if the registration fails.
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(MBEAN, name);
+            }
+        } catch (JMException e) {
+            throw new RuntimeException(ImageNI18N.getString("RenderingMetrics1"), e);
+        }
+    }
+
+    /**
+     * Unregisters the management interface of the metrics. Does nothing if it is not registered.
+     *
+     * @throws RuntimeException if the unregistration fails.
+     */
+    public static synchronized void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new RuntimeException(ImageNI18N.getString("RenderingMetrics1"), e);
+        }
+    }
+
+    /* ----- Hooks of OpImage.getTile(), called only when enabled. ----- */
+
+    /** Records a tile found in the cache. */
+    static void cacheHit(OpImage image, int tileX, int tileY) {
+        metricsOf(image).hit();
+        operationMetricsOf(image).hit();
+        Frame parent = current.get();
+        if (parent != null && parent.trace != null) {
+            parent.trace.add(new TileTrace(metricsOf(image).getName(), tileX, tileY, System.nanoTime(), true));
+        }
+    }
+
+    /** Starts the computation of a tile missing in the cache, returning the state to pass to {@link #end}. */
+    static Object start(OpImage image, int tileX, int tileY) {
+        Frame parent = current.get();
+        long now = System.nanoTime();
+        TileTrace trace = null;
+        if (parent != null) {
+            if (parent.trace != null) {
+                trace = new TileTrace(metricsOf(image).getName(), tileX, tileY, now, false);
+                parent.trace.add(trace);
+            }
+        } else {
+            int sampling = traceSampling;
+            if (sampling > 0 && requests.incrementAndGet() % sampling == 0) {
+                trace = new TileTrace(metricsOf(image).getName(), tileX, tileY, now, false);
+            }
+        }
+        Frame frame = new Frame(parent, image, now, trace);
+        current.set(frame);
+        return frame;
+    }
+
+    /** Ends the computation of a tile, <code>null</code> if it failed. */
+    static void end(Object state, int tileX, int tileY, Raster tile) {
+        Frame frame = (Frame) state;
+        long elapsed = System.nanoTime() - frame.startNanos;
+        Frame parent = frame.parent;
+        if (parent != null) {
+            parent.sourceNanos += elapsed;
+            current.set(parent);
+        } else {
+            current.remove();
+        }
+
+        long computeNanos = elapsed - frame.sourceNanos;
+        long bytes = tile != null ? getDataSize(tile.getDataBuffer()) : 0;
+        metricsOf(frame.image).computed(computeNanos, frame.sourceNanos, bytes, tile == null);
+        operationMetricsOf(frame.image).computed(computeNanos, frame.sourceNanos, bytes, tile == null);
+        if (frame.trace != null) {
+            frame.trace.end(elapsed);
+        }
+
+        for (Listener listener : listeners) {
+            listener.tileComputed(frame.image, tileX, tileY, computeNanos, frame.sourceNanos, bytes);
+        }
+        if (frame.trace != null && parent == null) {
+            for (Listener listener : listeners) {
+                listener.traceCompleted(frame.trace);
+            }
+        }
+    }
+
+    private static long getDataSize(DataBuffer buffer) {
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    private static NodeMetrics metricsOf(OpImage image) {
+        NodeMetrics metrics = image.metrics;
+        if (metrics == null) {
+            synchronized (RenderingMetrics.class) {
+                metrics = image.metrics;
+                if (metrics == null) {
+                    metrics = new NodeMetrics(image.getClass().getSimpleName() + "@"
+                            + Integer.toHexString(System.identityHashCode(image)));
+                    image.metrics = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    private static NodeMetrics operationMetricsOf(OpImage image) {
+        String name = image.getClass().getName();
+        NodeMetrics metrics = operations.get(name);
+        return metrics != null ? metrics : operations.computeIfAbsent(name, NodeMetrics::new);
+    }
+}
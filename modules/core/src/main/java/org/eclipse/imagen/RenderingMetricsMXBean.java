@@ -0,0 +1,37 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link RenderingMetrics}, registered by {@link RenderingMetrics#registerMBean()} under
+ * the name {@value RenderingMetrics#OBJECT_NAME}.
+ */
+public interface RenderingMetricsMXBean {
+
+    /** Returns whether the metrics are collected. */
+    boolean isEnabled();
+
+    /** Enables or disables the collection of the metrics. */
+    void setEnabled(boolean enabled);
+
+    /** Returns the sampling interval of the traces, 0 if tracing is disabled. */
+    int getTraceSampling();
+
+    /** Sets the sampling interval of the traces, 0 to disable tracing. */
+    void setTraceSampling(int interval);
+
+    /** Returns the statistics of the <code>OpImage</code>s by class name. */
+    Map<String, NodeMetrics> getOperationMetrics();
+
+    /** Discards the statistics collected so far. */
+    void reset();
+}
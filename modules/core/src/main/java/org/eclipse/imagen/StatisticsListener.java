@@ -0,0 +1,50 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.util.EventListener;
+
+/**
+ * Interface to monitor the progressive accumulation of statistics by a {@link StatisticsOpImage} configured with a
+ * {@link StatisticsSampling}. The listener is notified after each sampled tile has been accumulated, so that an
+ * application may act on an approximate result (e.g. a histogram driven contrast stretch) before the whole sample has
+ * been visited.
+ *
+ * <p>The <code>statistics</code> object passed to the listener is the live accumulator owned by the operation: it must
+ * be treated as read-only and it will keep changing after the callback returns. Listeners needing to retain an
+ * intermediate result should copy it.
+ *
+ * @see StatisticsSampling
+ * @see StatisticsOpImage
+ */
+public interface StatisticsListener extends EventListener {
+
+    /**
+     * To be invoked after each sampled tile has been accumulated.
+     *
+     * @param image The image accumulating the statistics.
+     * @param name The name of the statistic being accumulated, e.g. "histogram" or "extrema".
+     * @param statistics The statistics accumulated so far. Read-only.
+     * @param tilesProcessed The number of tiles accumulated so far.
+     * @param tilesSampled The number of tiles that will be accumulated in total.
+     * @param tilesTotal The number of tiles intersecting the region of interest.
+     * @param errorBound An upper bound, at 95% confidence, on the absolute error of any cumulative fraction (e.g. the
+     *     fraction of samples below a given histogram bin) computed from the current statistics, with respect to the
+     *     value that would be obtained visiting every tile. It is <code>0</code> once every tile has been visited.
+     */
+    void statisticsUpdated(
+            StatisticsOpImage image,
+            String name,
+            Object statistics,
+            int tilesProcessed,
+            int tilesSampled,
+            int tilesTotal,
+            double errorBound);
+}
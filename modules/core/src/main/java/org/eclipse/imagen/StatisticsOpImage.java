@@ -21,6 +21,8 @@ import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 import org.eclipse.imagen.media.util.PropertyUtil;
 
@@ -39,6 +41,10 @@ import org.eclipse.imagen.media.util.PropertyUtil;
  * that may vary from 1 (sample every pixel of the region of interest) upwards. This allows the speed and quality of
  * statistics gathering to be traded off against one another.
  *
+ * <p>When a {@link StatisticsSampling} is provided, only a subset of the source tiles is visited, which avoids
+ * computing the whole upstream chain when approximate statistics are sufficient. Intermediate results are then reported
+ * to the sampling listener, if any, after each visited tile.
+ *
  * <p>Subclasses should provide implementations of the <code>getStatisticsNames</code>, <code>createStatistics</code>,
  * and <code>accumulateStatistics</code> methods.
  *
@@ -67,6 +73,9 @@ public abstract class StatisticsOpImage extends OpImage {
     /** Whether to check for skipped tiles. * */
     private boolean checkForSkippedTiles;
 
+    /** The tile sampling policy, or <code>null</code> to visit every tile. */
+    protected StatisticsSampling sampling;
+
     /**
      * Constructor.
      *
@@ -83,6 +92,33 @@ public abstract class StatisticsOpImage extends OpImage {
      * @throws IllegalArgumentException If <code>source</code> is <code>null</code>.
      */
     public StatisticsOpImage(RenderedImage source, ROI roi, int xStart, int yStart, int xPeriod, int yPeriod) {
+        this(source, roi, xStart, yStart, xPeriod, yPeriod, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * <p>The layout of this image is exactly the same as that of the source image. Any user supplied layout values via
+     * the <code>RenderingHints</code> are ignored.
+     *
+     * @param source The source image over which the statistics is accumulated.
+     * @param roi The region of interest that specifies the region of the source image over which to compute the
+     *     statistics. If it is <code>null</code>, the entire source image is used.
+     * @param xStart The initial X sample coordinate.
+     * @param yStart The initial Y sample coordinate.
+     * @param xPeriod The horizontal sampling rate.
+     * @param yPeriod The vertical sampling rate.
+     * @param sampling The tile sampling policy. If it is <code>null</code>, every tile is visited.
+     * @throws IllegalArgumentException If <code>source</code> is <code>null</code>.
+     */
+    public StatisticsOpImage(
+            RenderedImage source,
+            ROI roi,
+            int xStart,
+            int yStart,
+            int xPeriod,
+            int yPeriod,
+            StatisticsSampling sampling) {
         super(
                 vectorize(source), // vectorize() checks for null source.
                 new ImageLayout(source),
@@ -94,6 +130,7 @@ public abstract class StatisticsOpImage extends OpImage {
         this.yStart = yStart;
         this.xPeriod = xPeriod;
         this.yPeriod = yPeriod;
+        this.sampling = sampling;
 
         this.checkForSkippedTiles = xPeriod > tileWidth || yPeriod > tileHeight;
     }
@@ -215,6 +252,7 @@ public abstract class StatisticsOpImage extends OpImage {
                     int minTileY = source.getMinTileY();
                     int maxTileY = source.getMaxTileY();
 
+                    List<Point> tiles = new ArrayList<>();
                     for (int y = minTileY; y <= maxTileY; y++) {
                         for (int x = minTileX; x <= maxTileX; x++) {
                             // Determine the required region of this tile.
@@ -239,12 +277,39 @@ public abstract class StatisticsOpImage extends OpImage {
                                     }
                                 }
 
-                                // Accumulate statistics for this tile.
-                                accumulateStatistics(name, source.getData(tileRect), stats);
+                                tiles.add(new Point(x, y));
                             }
                         }
                     }
 
+                    // Restrict the visit to the sampled tiles, if required.
+                    int tilesTotal = tiles.size();
+                    StatisticsListener listener = null;
+                    if (sampling != null) {
+                        tiles = sampling.selectTiles(
+                                tiles, minTileX, minTileY, maxTileX - minTileX + 1, maxTileY - minTileY + 1);
+                        listener = sampling.getListener();
+                    }
+
+                    int tilesSampled = tiles.size();
+                    int tilesProcessed = 0;
+                    for (Point tile : tiles) {
+                        // Accumulate statistics for this tile.
+                        accumulateStatistics(name, source.getData(getTileRect(tile.x, tile.y)), stats);
+
+                        if (listener != null) {
+                            tilesProcessed++;
+                            listener.statisticsUpdated(
+                                    this,
+                                    name,
+                                    stats,
+                                    tilesProcessed,
+                                    tilesSampled,
+                                    tilesTotal,
+                                    StatisticsSampling.errorBound(tilesProcessed, tilesTotal));
+                        }
+                    }
+
                     // Store the generated property in Hastable.
                     setProperty(name, stats);
                 }
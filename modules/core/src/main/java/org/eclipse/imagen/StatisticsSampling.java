@@ -0,0 +1,222 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Describes how a {@link StatisticsOpImage} selects the source tiles over which statistics are accumulated.
+ *
+ * <p>By default statistics operations visit every tile intersecting the region of interest, which forces the whole
+ * upstream chain to be computed. For decisions which only need an approximate answer, such as choosing a contrast
+ * stretch for display, a <code>StatisticsSampling</code> can be supplied through the
+ * {@link ImageN#KEY_STATISTICS_SAMPLING} rendering hint so that only a bounded number of tiles is visited. Tiles can be
+ * selected either:
+ *
+ * <ul>
+ *   <li>{@link Mode#STRATIFIED}: the tile grid is partitioned into as many cells as tiles to be sampled and one tile is
+ *       picked at random in each cell, guaranteeing an even spatial coverage;
+ *   <li>{@link Mode#RANDOM}: tiles are picked uniformly at random.
+ * </ul>
+ *
+ * In both cases the selection is driven by a seeded pseudo random generator, so that the same seed yields the same
+ * tiles, and the selected tiles are visited in a shuffled order, so that any prefix of the visit is itself a reasonable
+ * sample. An optional {@link StatisticsListener} is notified after each tile, allowing applications to use
+ * progressively refined results together with their error bound.
+ *
+ * <p>The <code>xPeriod</code> and <code>yPeriod</code> subsampling of the operation is applied within each sampled tile
+ * as usual. Note that counting statistics, such as histograms, only account for the pixels actually sampled.
+ *
+ * <p>Instances of this class are immutable.
+ *
+ * @see StatisticsOpImage
+ * @see StatisticsListener
+ */
+public final class StatisticsSampling {
+
+    /** Strategy used to pick the sampled tiles. */
+    public enum Mode {
+        /** One random tile per cell of a regular partition of the tile grid. */
+        STRATIFIED,
+        /** Tiles picked uniformly at random. */
+        RANDOM
+    }
+
+    /** Confidence level, as <code>ln(2 / alpha)</code> for <code>alpha = 0.05</code>, of the reported bounds. */
+    private static final double LOG_TWO_OVER_ALPHA = Math.log(2 / 0.05);
+
+    private final Mode mode;
+
+    private final int maxTiles;
+
+    private final long seed;
+
+    private final StatisticsListener listener;
+
+    /**
+     * Constructs a <code>StatisticsSampling</code>.
+     *
+     * @param mode The tile selection strategy.
+     * @param maxTiles The maximum number of tiles to be visited.
+     * @param seed The seed of the pseudo random generator driving the selection.
+     * @param listener The listener notified of intermediate results, may be <code>null</code>.
+     * @throws IllegalArgumentException if <code>mode</code> is <code>null</code> or <code>maxTiles</code> is not
+     *     positive.
+     */
+    public StatisticsSampling(Mode mode, int maxTiles, long seed, StatisticsListener listener) {
+        if (mode == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        if (maxTiles <= 0) {
+            throw new IllegalArgumentException("maxTiles must be positive");
+        }
+        this.mode = mode;
+        this.maxTiles = maxTiles;
+        this.seed = seed;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns a stratified sampling visiting at most <code>maxTiles</code> tiles.
+     *
+     * @param maxTiles The maximum number of tiles to be visited.
+     * @param seed The seed of the pseudo random generator driving the selection.
+     */
+    public static StatisticsSampling stratified(int maxTiles, long seed) {
+        return new StatisticsSampling(Mode.STRATIFIED, maxTiles, seed, null);
+    }
+
+    /**
+     * Returns a random sampling visiting at most <code>maxTiles</code> tiles.
+     *
+     * @param maxTiles The maximum number of tiles to be visited.
+     * @param seed The seed of the pseudo random generator driving the selection.
+     */
+    public static StatisticsSampling random(int maxTiles, long seed) {
+        return new StatisticsSampling(Mode.RANDOM, maxTiles, seed, null);
+    }
+
+    /**
+     * Returns a copy of this sampling notifying the given listener.
+     *
+     * @param listener The listener notified of intermediate results, may be <code>null</code>.
+     */
+    public StatisticsSampling withListener(StatisticsListener listener) {
+        return new StatisticsSampling(mode, maxTiles, seed, listener);
+    }
+
+    /** Returns the tile selection strategy. */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** Returns the maximum number of tiles to be visited. */
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    /** Returns the seed of the pseudo random generator driving the selection. */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Returns the listener notified of intermediate results, or <code>null</code>. */
+    public StatisticsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Selects the tiles to be visited among the candidate ones, in visiting order.
+     *
+     * @param candidates The indices of the tiles intersecting the region of interest.
+     * @param minTileX The minimum tile X index of the image.
+     * @param minTileY The minimum tile Y index of the image.
+     * @param numXTiles The number of tiles along the X axis.
+     * @param numYTiles The number of tiles along the Y axis.
+     * @return The indices of the tiles to be visited.
+     */
+    public List<Point> selectTiles(List<Point> candidates, int minTileX, int minTileY, int numXTiles, int numYTiles) {
+        Random random = new Random(seed);
+        int n = Math.min(maxTiles, candidates.size());
+
+        List<Point> selected;
+        if (mode == Mode.RANDOM || n == candidates.size()) {
+            selected = new ArrayList<>(candidates);
+            Collections.shuffle(selected, random);
+            selected = selected.subList(0, n);
+        } else {
+            // Partition the tile grid in about n cells preserving its aspect ratio.
+            int gx = (int) Math.round(Math.sqrt((double) n * numXTiles / numYTiles));
+            gx = Math.max(1, Math.min(gx, numXTiles));
+            int gy = Math.max(1, Math.min((n + gx - 1) / gx, numYTiles));
+
+            // Reservoir-pick one candidate per cell.
+            Point[] picks = new Point[gx * gy];
+            int[] counts = new int[gx * gy];
+            for (Point p : candidates) {
+                int cx = (int) ((long) (p.x - minTileX) * gx / numXTiles);
+                int cy = (int) ((long) (p.y - minTileY) * gy / numYTiles);
+                int cell = cy * gx + cx;
+                if (random.nextInt(++counts[cell]) == 0) {
+                    picks[cell] = p;
+                }
+            }
+
+            selected = new ArrayList<>(n);
+            List<Point> remaining = new ArrayList<>(candidates);
+            for (Point p : picks) {
+                if (p != null) {
+                    selected.add(p);
+                }
+            }
+            remaining.removeAll(new HashSet<>(selected));
+            Collections.shuffle(selected, random);
+            if (selected.size() > n) {
+                selected = selected.subList(0, n);
+            } else if (selected.size() < n) {
+                // Empty cells (e.g. outside the ROI): top up at random.
+                Collections.shuffle(remaining, random);
+                selected.addAll(remaining.subList(0, n - selected.size()));
+            }
+        }
+
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * Returns an upper bound, at 95% confidence, on the absolute error of any cumulative fraction estimated from a
+     * sample of tiles. The bound is the Dvoretzky-Kiefer-Wolfowitz inequality with the tile as sampling unit, corrected
+     * for sampling without replacement from a finite population.
+     *
+     * @param sampled The number of tiles visited.
+     * @param total The number of tiles in the population.
+     * @return The error bound, in <code>[0, 1]</code>.
+     */
+    public static double errorBound(int sampled, int total) {
+        if (sampled >= total) {
+            return 0;
+        }
+        if (sampled <= 0) {
+            return 1;
+        }
+        double epsilon = Math.sqrt(LOG_TWO_OVER_ALPHA / (2.0 * sampled));
+        double correction = Math.sqrt((double) (total - sampled) / (total - 1));
+        return Math.min(1, epsilon * correction);
+    }
+
+    public String toString() {
+        return "StatisticsSampling[mode=" + mode + ", maxTiles=" + maxTiles + ", seed=" + seed + "]";
+    }
+}
@@ -0,0 +1,329 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.Point;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Warms the tiles a set of destination tiles depends on, from the sources of a rendered chain to its sink.
+ *
+ * <p>Requesting a tile of a chain computes its dependencies lazily and depth first on the requesting thread: each node
+ * asks its sources for tiles only when its own tile is computed, so the reads of a chain such as ImageRead, Warp,
+ * Mosaic and Rescale are serialized behind the computations above them. A prefetcher first plans the work, walking
+ * {@link OpImage#getTileDependencies(int, int, int)} from the requested tiles down to the leaves of the graph. The walk
+ * stops at the tiles which are already cached. The tiles of the leaves are then requested first, the ones of <code>
+ * OpImage</code>s which are not {@link OpImage#OP_COMPUTE_BOUND} on the I/O executor, and each intermediate tile is
+ * computed on the compute executor as soon as all of its inputs landed in the caches.
+ *
+ * <p>The tiles of the <code>OpImage</code>s without <code>TileCache</code> are only computed if they are requested,
+ * since they would be computed again by the nodes using them, but their inputs are. The futures returned by
+ * {@link Plan#execute()} complete with the requested tiles as soon as each of them is available, so that a viewport can
+ * draw them progressively. A tile whose computation fails completes its future exceptionally; the tiles depending on it
+ * are still requested, and will attempt to compute it again.
+ *
+ * <p>Prefetching is a hint: the tiles may be evicted from the caches before they are used, and requesting them while
+ * they are prefetched may compute them twice.
+ *
+ * @see OpImage#getTileDependencies(int, int, int)
+ * @see OpImage#getOperationComputeType()
+ */
+public final class TilePrefetcher {
+
+    private final Executor ioExecutor;
+
+    private final Executor computeExecutor;
+
+    /**
+     * Creates a prefetcher running all the tiles on the same executor.
+     *
+     * @param executor the executor.
+     * @throws IllegalArgumentException if <code>executor</code> is <code>null</code>.
+     */
+    public TilePrefetcher(Executor executor) {
+        this(executor, executor);
+    }
+
+    /**
+     * Creates a prefetcher.
+     *
+     * @param ioExecutor the executor of the tiles of the I/O or network bound <code>OpImage</code>s.
+     * @param computeExecutor the executor of the other tiles.
+     * @throws IllegalArgumentException if an executor is <code>null</code>.
+     */
+    public TilePrefetcher(Executor ioExecutor, Executor computeExecutor) {
+        if (ioExecutor == null || computeExecutor == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        this.ioExecutor = ioExecutor;
+        this.computeExecutor = computeExecutor;
+    }
+
+    /**
+     * Plans and starts the computation of some tiles of an image.
+     *
+     * @param image the image, rendered first if it is a <code>RenderedOp</code>.
+     * @param tileIndices the indices of the requested tiles.
+     * @return the futures of the requested tiles, in the order of <code>tileIndices</code>.
+     * @throws IllegalArgumentException if a parameter is <code>null</code>.
+     */
+    public List<CompletableFuture<Raster>> prefetch(RenderedImage image, Point[] tileIndices) {
+        return plan(image, tileIndices).execute();
+    }
+
+    /**
+     * Plans the computation of some tiles of an image, without computing any of them.
+     *
+     * @param image the image, rendered first if it is a <code>RenderedOp</code>.
+     * @param tileIndices the indices of the requested tiles.
+     * @return the plan.
+     * @throws IllegalArgumentException if a parameter is <code>null</code>.
+     */
+    public Plan plan(RenderedImage image, Point[] tileIndices) {
+        if (image == null || tileIndices == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        PlanarImage sink = image instanceof RenderedOp
+                ? ((RenderedOp) image).getRendering()
+                : PlanarImage.wrapRenderedImage(image);
+
+        Plan plan = new Plan();
+        Map<PlanarImage, Map<Point, Task>> tasks = new IdentityHashMap<>();
+        for (Point index : tileIndices) {
+            plan.requested.add(visit(sink, index.x, index.y, true, tasks, plan.tasks));
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the task of a tile, creating it and the tasks of its inputs if needed. The tasks are added to the list
+     * after their inputs.
+     */
+    private static Task visit(
+            PlanarImage image,
+            int tileX,
+            int tileY,
+            boolean requested,
+            Map<PlanarImage, Map<Point, Task>> tasks,
+            List<Task> order) {
+        Map<Point, Task> imageTasks = tasks.computeIfAbsent(image, k -> new HashMap<>());
+        Point index = new Point(tileX, tileY);
+        Task task = imageTasks.get(index);
+        if (task != null) {
+            task.requested |= requested;
+            return task;
+        }
+        task = new Task(image, tileX, tileY, requested);
+        imageTasks.put(index, task);
+
+        if (image instanceof OpImage) {
+            OpImage op = (OpImage) image;
+            task.ioBound = op.getOperationComputeType() != OpImage.OP_COMPUTE_BOUND;
+            if (op.getTileFromCache(tileX, tileY) != null) {
+                task.cached = true;
+            } else {
+                task.transientTile = op.getTileCache() == null;
+                int numSources = op.getNumSources();
+                for (int i = 0; i < numSources; i++) {
+                    Point[] dependencies;
+                    try {
+                        dependencies = op.getTileDependencies(tileX, tileY, i);
+                    } catch (RuntimeException e) {
+                        // The source region is unknown, the source will be read lazily.
+                        dependencies = null;
+                    }
+                    if (dependencies != null) {
+                        PlanarImage source = op.getSourceImage(i);
+                        for (Point dependency : dependencies) {
+                            task.inputs.add(visit(source, dependency.x, dependency.y, false, tasks, order));
+                        }
+                    }
+                }
+            }
+        }
+        order.add(task);
+        return task;
+    }
+
+    /** The tile of an image to be computed once its inputs are. */
+    private static final class Task {
+
+        final PlanarImage image;
+
+        final int tileX;
+
+        final int tileY;
+
+        final List<Task> inputs = new ArrayList<>();
+
+        /** Whether the tile was requested, in which case it is computed even if it is transient */
+        boolean requested;
+
+        boolean ioBound;
+
+        /** Whether the tile was cached when planned */
+        boolean cached;
+
+        /** Whether the image has no cache, so that computing the tile before it is used is useless */
+        boolean transientTile;
+
+        CompletableFuture<Raster> future;
+
+        Task(PlanarImage image, int tileX, int tileY, boolean requested) {
+            this.image = image;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.requested = requested;
+        }
+
+        Raster getTile() {
+            return image.getTile(tileX, tileY);
+        }
+    }
+
+    /**
+     * The tiles to compute in order to prefetch some tiles of an image, and the order of their computation. A plan is
+     * executed at most once.
+     */
+    public final class Plan {
+
+        /** The tasks, each one after its inputs */
+        private final List<Task> tasks = new ArrayList<>();
+
+        private final List<Task> requested = new ArrayList<>();
+
+        private List<CompletableFuture<Raster>> futures;
+
+        private Plan() {}
+
+        /** Returns the number of tiles of all the images of the chain in the plan, including the cached ones. */
+        public int getNumTiles() {
+            return tasks.size();
+        }
+
+        /** Returns the number of tiles which were cached when planning, whose inputs are not computed. */
+        public int getNumCachedTiles() {
+            int count = 0;
+            for (Task task : tasks) {
+                if (task.cached) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /** Returns the number of tiles without inputs, whatever their executor. */
+        public int getNumLeafTiles() {
+            int count = 0;
+            for (Task task : tasks) {
+                if (task.inputs.isEmpty()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /** Returns the number of tiles which will be computed on the I/O executor. */
+        public int getNumIOTiles() {
+            int count = 0;
+            for (Task task : tasks) {
+                if (task.ioBound && !task.cached && !isSkipped(task)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns the number of tiles in the plan of an image of the chain.
+         *
+         * @param image the image, or the <code>RenderedOp</code> it is the rendering of.
+         */
+        public int getNumTiles(RenderedImage image) {
+            if (image instanceof RenderedOp) {
+                image = ((RenderedOp) image).getCurrentRendering();
+            }
+            int count = 0;
+            for (Task task : tasks) {
+                if (task.image == image) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Starts the computation of the tiles, the ones of the leaves on the I/O executor first.
+         *
+         * @return the futures of the requested tiles, in the order in which they were requested.
+         * @throws IllegalStateException if the plan was already executed.
+         */
+        public synchronized List<CompletableFuture<Raster>> execute() {
+            if (futures != null) {
+                throw new IllegalStateException();
+            }
+
+            // I/O bound leaves first, then the other leaves, then the tiles waiting for their inputs.
+            for (Task task : tasks) {
+                if (task.inputs.isEmpty() && task.ioBound) {
+                    schedule(task);
+                }
+            }
+            for (Task task : tasks) {
+                if (task.future == null) {
+                    schedule(task);
+                }
+            }
+
+            List<CompletableFuture<Raster>> result = new ArrayList<>(requested.size());
+            for (Task task : requested) {
+                result.add(task.future);
+            }
+            futures = Collections.unmodifiableList(result);
+            return futures;
+        }
+
+        private boolean isSkipped(Task task) {
+            return task.transientTile && !task.requested;
+        }
+
+        /** Creates the future of a task whose inputs, planned before it, are scheduled. */
+        private void schedule(Task task) {
+            Executor executor = task.ioBound ? ioExecutor : computeExecutor;
+            if (task.inputs.isEmpty()) {
+                task.future = isSkipped(task)
+                        ? CompletableFuture.completedFuture(null)
+                        : CompletableFuture.supplyAsync(task::getTile, executor);
+                return;
+            }
+
+            CompletableFuture<?>[] inputs = new CompletableFuture<?>[task.inputs.size()];
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = task.inputs.get(i).future;
+            }
+            // A failed input does not prevent the tile from being computed, it is computed again when read
+            CompletableFuture<Void> landed = CompletableFuture.allOf(inputs).handle((v, e) -> null);
+            if (isSkipped(task)) {
+                task.future = landed.thenApply(v -> null);
+            } else {
+                task.future = landed.thenApplyAsync(v -> task.getTile(), executor);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The dependency tree of a sampled tile request with its timings, recorded by {@link RenderingMetrics} when trace
+ * sampling is enabled. The children of a trace are the tiles of the source <code>OpImage</code>s requested while the
+ * tile was computed, in the order of their requests.
+ *
+ * @see RenderingMetrics#setTraceSampling(int)
+ */
+public final class TileTrace {
+
+    private final String imageName;
+
+    private final int tileX;
+
+    private final int tileY;
+
+    private final long startNanos;
+
+    private final boolean cached;
+
+    private final List<TileTrace> children = new ArrayList<>(2);
+
+    private long durationNanos;
+
+    TileTrace(String imageName, int tileX, int tileY, long startNanos, boolean cached) {
+        this.imageName = imageName;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        this.startNanos = startNanos;
+        this.cached = cached;
+    }
+
+    void add(TileTrace child) {
+        children.add(child);
+    }
+
+    void end(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /** Returns the name of the image, as given by {@link NodeMetrics#getName()}. */
+    public String getImageName() {
+        return imageName;
+    }
+
+    /** Returns the X index of the tile. */
+    public int getTileX() {
+        return tileX;
+    }
+
+    /** Returns the Y index of the tile. */
+    public int getTileY() {
+        return tileY;
+    }
+
+    /** Returns the <code>System.nanoTime()</code> at which the tile was requested. */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /** Returns the time spent computing the tile and its sources, 0 for a cached tile. */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /** Returns the time spent computing the tile, excluding the time spent in its children. */
+    public long getSelfNanos() {
+        long self = durationNanos;
+        for (TileTrace child : children) {
+            self -= child.durationNanos;
+        }
+        return self;
+    }
+
+    /** Returns whether the tile was found in the cache. */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /** Returns the traces of the source tiles requested to compute the tile. */
+    public List<TileTrace> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /** Returns the tree as indented lines, one per tile. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, 0);
+        return sb.toString();
+    }
+
+    private void append(StringBuilder sb, int depth) {
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+        sb.append(imageName)
+                .append(" tile (")
+                .append(tileX)
+                .append(", ")
+                .append(tileY)
+                .append(')');
+        if (cached) {
+            sb.append(" cached");
+        } else {
+            sb.append(' ')
+                    .append(durationNanos / 1000)
+                    .append("us, self ")
+                    .append(getSelfNanos() / 1000)
+                    .append("us");
+        }
+        sb.append('\n');
+        for (TileTrace child : children) {
+            child.append(sb, depth + 1);
+        }
+    }
+}
@@ -552,6 +552,8 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
 
         // Add the source as fallback PropertySource.
         properties.addProperties(src);
+
+        fireInvalidRegion(imRect);
     }
 
     /**
@@ -643,6 +645,8 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
 
         // Add the source as fallback PropertySource.
         properties.addProperties(src);
+
+        fireInvalidRegion(overlap);
     }
 
     /**
@@ -990,12 +994,26 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
      * Indicates that a writer is done updating a tile. The effects of attempting to release a tile that has not been
      * grabbed, or releasing a tile more than once are undefined.
      *
+     * <p>When the tile ceases to be writable an "InvalidRegion" <code>PropertyChangeEventImageN</code> covering the
+     * tile is fired to the registered listeners and to the sinks which are <code>PropertyChangeListener</code>s, so
+     * that the <code>RenderedOp</code> nodes using this image discard the dependent tiles only.
+     *
      * @param tileX the X index of the tile.
      * @param tileY the Y index of the tile.
      */
     public void releaseWritableTile(int tileX, int tileY) {
+        if (releaseTile(tileX, tileY)) {
+            fireInvalidRegion(getTileRect(tileX, tileY));
+        }
+    }
+
+    /**
+     * Releases a writable tile without firing an "InvalidRegion" event, returning whether the tile ceased to be
+     * writable. The callers writing a known region fire the event themselves.
+     */
+    private boolean releaseTile(int tileX, int tileY) {
         if (isTileLocked(tileX, tileY)) {
-            return;
+            return false;
         }
 
         --writers[tileX - minTileX][tileY - minTileY];
@@ -1012,6 +1030,36 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
                 TileObserver t = (TileObserver) e.nextElement();
                 t.tileUpdate(this, tileX, tileY, false);
             }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fires an "InvalidRegion" <code>PropertyChangeEventImageN</code>, whose old value is empty, to all registered
+     * listeners and to all sinks which are <code>PropertyChangeListener</code>s, after the pixels of a region have been
+     * modified.
+     */
+    private void fireInvalidRegion(Shape invalidRegion) {
+        boolean hasListeners = eventManager.hasListeners("InvalidRegion");
+        Vector sinks = getSinks();
+        if (!hasListeners && sinks == null) {
+            return;
+        }
+
+        PropertyChangeEventImageN irEvt =
+                new PropertyChangeEventImageN(this, "InvalidRegion", new Rectangle(), invalidRegion);
+        if (hasListeners) {
+            eventManager.firePropertyChange(irEvt);
+        }
+        if (sinks != null) {
+            int numSinks = sinks.size();
+            for (int i = 0; i < numSinks; i++) {
+                Object sink = sinks.get(i);
+                if (sink instanceof PropertyChangeListener) {
+                    ((PropertyChangeListener) sink).propertyChange(irEvt);
+                }
+            }
         }
     }
 
@@ -1093,10 +1141,12 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
                                 xsect.x, xsect.y, xsect.width, xsect.height, xsect.x, xsect.y, null);
                         JDKWorkarounds.setRect(wChild, rChild, 0, 0);
                     }
-                    releaseWritableTile(tx, ty);
+                    releaseTile(tx, ty);
                 }
             }
         }
+
+        fireInvalidRegion(rBounds);
     }
 
     /**
@@ -1147,10 +1197,12 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
                             JDKWorkarounds.setRect(wChild, rChild, 0, 0);
                         }
                     }
-                    releaseWritableTile(tx, ty);
+                    releaseTile(tx, ty);
                 }
             }
         }
+
+        fireInvalidRegion(rBounds);
     }
 
     /**
@@ -1263,6 +1315,11 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
     /**
      * Sets a sample of a pixel to a given <code>int</code> value.
      *
+     * <p>Unless the tile is being written through <code>getWritableTile()</code>, each call fires an "InvalidRegion"
+     * <code>PropertyChangeEventImageN</code> covering the pixel, which the nodes using this image process in turn. To
+     * edit many pixels use <code>setData()</code>, or set the samples between <code>getWritableTile()</code> and <code>
+     * releaseWritableTile()</code> so that a single event covering the tile is fired on release.
+     *
      * @param x The X coordinate of the pixel.
      * @param y The Y coordinate of the pixel.
      * @param b The band of the sample within the pixel.
@@ -1275,7 +1332,9 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
         if (t != null) {
             t.setSample(x, y, b, s);
         }
-        releaseWritableTile(tileX, tileY);
+        if (releaseTile(tileX, tileY)) {
+            fireInvalidRegion(new Rectangle(x, y, 1, 1));
+        }
     }
 
     /**
@@ -1293,7 +1352,8 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
     }
 
     /**
-     * Sets a sample of a pixel to a given <code>float</code> value.
+     * Sets a sample of a pixel to a given <code>float</code> value. The "InvalidRegion" events are fired as by
+     * {@link #setSample(int, int, int, int)}.
      *
      * @param x The X coordinate of the pixel.
      * @param y The Y coordinate of the pixel.
@@ -1307,7 +1367,9 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
         if (t != null) {
             t.setSample(x, y, b, s);
         }
-        releaseWritableTile(tileX, tileY);
+        if (releaseTile(tileX, tileY)) {
+            fireInvalidRegion(new Rectangle(x, y, 1, 1));
+        }
     }
 
     /**
@@ -1325,7 +1387,8 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
     }
 
     /**
-     * Sets a sample of a pixel to a given <code>double</code> value.
+     * Sets a sample of a pixel to a given <code>double</code> value. The "InvalidRegion" events are fired as by
+     * {@link #setSample(int, int, int, int)}.
      *
      * @param x The X coordinate of the pixel.
      * @param y The Y coordinate of the pixel.
@@ -1339,7 +1402,9 @@ public class TiledImage extends PlanarImage implements WritableRenderedImage, Pr
         if (t != null) {
             t.setSample(x, y, b, s);
         }
-        releaseWritableTile(tileX, tileY);
+        if (releaseTile(tileX, tileY)) {
+            fireInvalidRegion(new Rectangle(x, y, 1, 1));
+        }
     }
 
     /**
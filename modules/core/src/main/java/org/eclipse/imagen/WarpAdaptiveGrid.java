@@ -0,0 +1,342 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An adaptive grid-based approximation of another, expensive, warp.
+ *
+ * <p>As with {@link WarpGrid}, the mapping from destination pixels to source positions is described by bilinear
+ * interpolation within cells whose corners are mapped exactly. Instead of using equal-sized cells, the destination
+ * plane is divided into square blocks, and each block is recursively subdivided into four quadrants until the
+ * interpolated positions at the center and at the middle of the edges of a cell are within a given tolerance, in source
+ * pixels, of the positions computed by the master warp. Areas where the master warp is nearly affine are then covered
+ * by a few large cells, while strongly distorted areas get smaller cells. Cells which still exceed the tolerance at the
+ * minimum cell size are computed by the master warp.
+ *
+ * <p>The cells of a block are built the first time the block is warped, and kept until more than a fixed number of
+ * blocks are cached. Each destination pixel is then mapped at the cost of a few additions, so that the cost of the
+ * master warp is amortized over the whole cell.
+ *
+ * <p>Unlike a <code>WarpGrid</code> built from a master warp, grid nodes are located at pixel centers, so that an
+ * affine master warp is reproduced exactly.
+ *
+ * @see ImageN#KEY_WARP_TOLERANCE
+ */
+public final class WarpAdaptiveGrid extends Warp {
+
+    /** The default block size. */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /** The minimum cell size, below which the master warp is used. */
+    private static final int MIN_CELL_SIZE = 2;
+
+    /** The number of cached blocks above which the cache is cleared. */
+    private static final int MAX_CACHED_BLOCKS = 4096;
+
+    /** The approximated warp. */
+    private final Warp master;
+
+    /** The maximum error, in source pixels. */
+    private final double tolerance;
+
+    /** The size of the blocks, a power of 2. */
+    private final int blockSize;
+
+    /** The cached blocks, keyed by block indices. */
+    private transient volatile Map<Long, Cell> blocks;
+
+    /** A quadtree cell. */
+    private static final class Cell {
+
+        /** The upper left corner and size of the cell. */
+        final int x, y, size;
+
+        /** The source positions of the four corners, in row-major order, or <code>null</code> for an exact cell. */
+        final float[] corners;
+
+        /** The four quadrants, in row-major order, or <code>null</code> for a leaf. */
+        Cell[] children;
+
+        Cell(int x, int y, int size, float[] corners) {
+            this.x = x;
+            this.y = y;
+            this.size = size;
+            this.corners = corners;
+        }
+    }
+
+    /**
+     * Constructs a <code>WarpAdaptiveGrid</code> with the default block size.
+     *
+     * @param master The warp to approximate.
+     * @param tolerance The maximum distance, in source pixels, between the approximated and exact positions.
+     * @throws IllegalArgumentException if <code>master</code> is <code>null</code>.
+     * @throws IllegalArgumentException if <code>tolerance</code> is not positive.
+     */
+    public WarpAdaptiveGrid(Warp master, double tolerance) {
+        this(master, tolerance, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs a <code>WarpAdaptiveGrid</code>.
+     *
+     * @param master The warp to approximate.
+     * @param tolerance The maximum distance, in source pixels, between the approximated and exact positions.
+     * @param blockSize The size of the largest cells, rounded up to a power of 2.
+     * @throws IllegalArgumentException if <code>master</code> is <code>null</code>.
+     * @throws IllegalArgumentException if <code>tolerance</code> or <code>blockSize</code> is not positive.
+     */
+    public WarpAdaptiveGrid(Warp master, double tolerance, int blockSize) {
+        if (master == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        if (!(tolerance > 0) || blockSize <= 0) {
+            throw new IllegalArgumentException(ImageNI18N.getString("WarpAdaptiveGrid0"));
+        }
+        this.master = master;
+        this.tolerance = tolerance;
+        this.blockSize = Math.max(MIN_CELL_SIZE, Integer.highestOneBit(blockSize - 1) << 1);
+    }
+
+    /** Returns the approximated warp. */
+    public Warp getMaster() {
+        return master;
+    }
+
+    /** Returns the maximum distance, in source pixels, between the approximated and exact positions. */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** Returns the size of the blocks. */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Computes the source subpixel positions for a given rectangular destination region, subsampled with an integral
+     * period.
+     *
+     * @param x The minimum X coordinate of the destination region.
+     * @param y The minimum Y coordinate of the destination region.
+     * @param width The width of the destination region.
+     * @param height The height of the destination region.
+     * @param periodX The horizontal sampling period.
+     * @param periodY The vertical sampling period.
+     * @param destRect A <code>float</code> array containing at least <code>2*((width+periodX-1)/periodX)*
+     *                ((height+periodY-1)/periodY)</code> elements, or <code>null</code>. If <code>null</code>, a new
+     *     array will be constructed.
+     * @return a reference to the <code>destRect</code> parameter if it is non-<code>null</code>, or a new <code>float
+     *     </code> array otherwise.
+     */
+    public float[] warpSparseRect(int x, int y, int width, int height, int periodX, int periodY, float[] destRect) {
+        int stride = 2 * ((width + periodX - 1) / periodX);
+        if (destRect == null) {
+            destRect = new float[stride * ((height + periodY - 1) / periodY)];
+        }
+
+        int x2 = x + width - 1;
+        int y2 = y + height - 1;
+        float[] exact = null;
+        int offset = 0;
+        for (int j = y; j <= y2; j += periodY, offset += stride) {
+            int index = offset;
+            int i = x;
+            while (i <= x2) {
+                Cell cell = findCell(i, j);
+
+                // Number of sampled points of the row inside the cell
+                int end = Math.min(x2, cell.x + cell.size - 1);
+                int n = (end - i) / periodX + 1;
+
+                if (cell.corners == null) {
+                    if (exact == null || exact.length < 2 * n) {
+                        exact = new float[2 * n];
+                    }
+                    master.warpSparseRect(i, j, (n - 1) * periodX + 1, 1, periodX, 1, exact);
+                    System.arraycopy(exact, 0, destRect, index, 2 * n);
+                    index += 2 * n;
+                } else {
+                    float[] c = cell.corners;
+                    float size = cell.size;
+                    float yFrac = (j - cell.y) / size;
+                    float xFrac = (i - cell.x) / size;
+
+                    // Positions along the left and right edges at row j
+                    float lx = c[0] + (c[4] - c[0]) * yFrac;
+                    float ly = c[1] + (c[5] - c[1]) * yFrac;
+                    float rx = c[2] + (c[6] - c[2]) * yFrac;
+                    float ry = c[3] + (c[7] - c[3]) * yFrac;
+
+                    // Positions are not accumulated, to avoid rounding drift across large cells
+                    float dx = (rx - lx) * periodX / size;
+                    float dy = (ry - ly) * periodX / size;
+                    float wx = lx + (rx - lx) * xFrac;
+                    float wy = ly + (ry - ly) * xFrac;
+                    for (int k = 0; k < n; k++) {
+                        destRect[index++] = wx + dx * k;
+                        destRect[index++] = wy + dy * k;
+                    }
+                }
+                i += n * periodX;
+            }
+        }
+
+        return destRect;
+    }
+
+    /**
+     * Computes a Rectangle that is guaranteed to enclose the region of the destination that can potentially be affected
+     * by the pixels of a rectangle of a given source, as computed by the master warp and padded by the tolerance.
+     *
+     * @param sourceRect The Rectangle in source coordinates.
+     * @return A <code>Rectangle</code> in the destination coordinate system, or <code>null</code>.
+     * @throws IllegalArgumentException if <code>sourceRect</code> is <code>null</code>.
+     */
+    public Rectangle mapSourceRect(Rectangle sourceRect) {
+        if (sourceRect == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        Rectangle r = master.mapSourceRect(sourceRect);
+        return r == null ? null : pad(r);
+    }
+
+    /**
+     * Computes a Rectangle that is guaranteed to enclose the region of the source that is required in order to produce
+     * a given rectangular output region, as computed by the master warp and padded by the tolerance.
+     *
+     * @param destRect The Rectangle in destination coordinates.
+     * @return A <code>Rectangle</code> in the source coordinate system, or <code>null</code>.
+     * @throws IllegalArgumentException if <code>destRect</code> is <code>null</code>.
+     */
+    public Rectangle mapDestRect(Rectangle destRect) {
+        if (destRect == null) {
+            throw new IllegalArgumentException(ImageNI18N.getString("Generic0"));
+        }
+        Rectangle r = master.mapDestRect(destRect);
+        return r == null ? null : pad(r);
+    }
+
+    /** Delegates to the master warp. */
+    public Point2D mapDestPoint(Point2D destPt) {
+        return master.mapDestPoint(destPt);
+    }
+
+    /** Delegates to the master warp. */
+    public Point2D mapSourcePoint(Point2D sourcePt) {
+        return master.mapSourcePoint(sourcePt);
+    }
+
+    private Rectangle pad(Rectangle r) {
+        int margin = (int) Math.ceil(tolerance);
+        return new Rectangle(r.x - margin, r.y - margin, r.width + 2 * margin, r.height + 2 * margin);
+    }
+
+    /** Returns the leaf cell containing a destination pixel. */
+    private Cell findCell(int x, int y) {
+        Map<Long, Cell> map = blocks;
+        if (map == null) {
+            synchronized (this) {
+                map = blocks;
+                if (map == null) {
+                    blocks = map = new ConcurrentHashMap<>();
+                }
+            }
+        }
+
+        int bx = Math.floorDiv(x, blockSize);
+        int by = Math.floorDiv(y, blockSize);
+        Long key = ((long) by << 32) | (bx & 0xffffffffL);
+        Cell cell = map.get(key);
+        if (cell == null) {
+            // Concurrent builds of the same block are harmless
+            cell = buildCell(bx * blockSize, by * blockSize, blockSize, null);
+            if (map.size() >= MAX_CACHED_BLOCKS) {
+                map.clear();
+            }
+            map.put(key, cell);
+        }
+
+        while (cell.children != null) {
+            int half = cell.size / 2;
+            int q = (x - cell.x >= half ? 1 : 0) + (y - cell.y >= half ? 2 : 0);
+            cell = cell.children[q];
+        }
+        return cell;
+    }
+
+    /**
+     * Builds a cell, subdividing it as long as the tolerance is exceeded.
+     *
+     * @param corners The positions of the corners, or <code>null</code> to compute them.
+     */
+    private Cell buildCell(int x, int y, int size, float[] corners) {
+        // Positions on a 3x3 lattice covering the corners, edge middles and center
+        int half = size / 2;
+        float[] p;
+        if (corners == null) {
+            p = master.warpSparseRect(x, y, size + 1, size + 1, half, half, null);
+            corners = new float[] {p[0], p[1], p[4], p[5], p[12], p[13], p[16], p[17]};
+        } else {
+            // Only the five points not shared with the parent cell are computed
+            p = new float[18];
+            System.arraycopy(corners, 0, p, 0, 2);
+            System.arraycopy(corners, 2, p, 4, 2);
+            System.arraycopy(corners, 4, p, 12, 2);
+            System.arraycopy(corners, 6, p, 16, 2);
+            float[] middle = master.warpSparseRect(x, y + half, size + 1, 1, half, 1, null);
+            System.arraycopy(middle, 0, p, 6, 6);
+            float[] tb = master.warpSparseRect(x + half, y, 1, size + 1, 1, size, null);
+            System.arraycopy(tb, 0, p, 2, 2);
+            System.arraycopy(tb, 2, p, 14, 2);
+        }
+
+        double tol2 = tolerance * tolerance;
+        boolean fits = error2(p[2], p[3], corners[0], corners[1], corners[2], corners[3]) <= tol2
+                && error2(p[6], p[7], corners[0], corners[1], corners[4], corners[5]) <= tol2
+                && error2(p[10], p[11], corners[2], corners[3], corners[6], corners[7]) <= tol2
+                && error2(p[14], p[15], corners[4], corners[5], corners[6], corners[7]) <= tol2
+                && error2(
+                                p[8],
+                                p[9],
+                                (corners[0] + corners[6]) / 2,
+                                (corners[1] + corners[7]) / 2,
+                                (corners[2] + corners[4]) / 2,
+                                (corners[3] + corners[5]) / 2)
+                        <= tol2;
+        if (fits) {
+            return new Cell(x, y, size, corners);
+        }
+        if (size <= MIN_CELL_SIZE) {
+            return new Cell(x, y, size, null);
+        }
+
+        Cell cell = new Cell(x, y, size, corners);
+        cell.children = new Cell[] {
+            buildCell(x, y, half, new float[] {p[0], p[1], p[2], p[3], p[6], p[7], p[8], p[9]}),
+            buildCell(x + half, y, half, new float[] {p[2], p[3], p[4], p[5], p[8], p[9], p[10], p[11]}),
+            buildCell(x, y + half, half, new float[] {p[6], p[7], p[8], p[9], p[12], p[13], p[14], p[15]}),
+            buildCell(x + half, y + half, half, new float[] {p[8], p[9], p[10], p[11], p[14], p[15], p[16], p[17]})
+        };
+        return cell;
+    }
+
+    /** Returns the squared distance between a position and the middle of two others. */
+    private static double error2(float px, float py, float ax, float ay, float bx, float by) {
+        double dx = px - (ax + bx) / 2.0;
+        double dy = py - (ay + by) / 2.0;
+        return dx * dx + dy * dy;
+    }
+}
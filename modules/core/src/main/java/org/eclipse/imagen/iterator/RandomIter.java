@@ -25,7 +25,8 @@ package org.eclipse.imagen.iterator;
  * initialization takes place in a factory method and is not a part of the iterator interface itself.
  *
  * <p>The getSample(), getSampleFloat(), and getSampleDouble() methods are provided to allow read-only access to the
- * source data. The getPixel() methods allow retrieval of all bands simultaneously.
+ * source data. The getPixel() methods allow retrieval of all bands simultaneously, while the getSamples() methods
+ * retrieve a band over a rectangle of pixels or at a list of pixel positions in a single call.
  *
  * <p>An instance of RandomIter may be obtained by means of the RandomIterFactory.create() method, which returns an
  * opaque object implementing this interface.
@@ -92,6 +93,134 @@ public interface RandomIter {
      */
     double[] getPixel(int x, int y, double[] dArray);
 
+    /**
+     * Returns the samples of a rectangle of pixels for the specified band, in row-major order, in an array of int. The
+     * default implementation reads the samples one at a time, iterators over tiled data override it to copy whole tile
+     * rows.
+     *
+     * @param x the X coordinate of the upper-left pixel of the rectangle.
+     * @param y the Y coordinate of the upper-left pixel of the rectangle.
+     * @param w the width of the rectangle.
+     * @param h the height of the rectangle.
+     * @param b the band to retrieve.
+     * @param iArray An optionally preallocated int array, holding at least <code>w * h</code> elements.
+     * @return the samples as an int array.
+     */
+    default int[] getSamples(int x, int y, int w, int h, int b, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[w * h];
+        }
+        for (int j = 0, k = 0; j < h; j++) {
+            for (int i = 0; i < w; i++) {
+                iArray[k++] = getSample(x + i, y + j, b);
+            }
+        }
+        return iArray;
+    }
+
+    /**
+     * Returns the samples of a rectangle of pixels for the specified band, in row-major order, in an array of float.
+     *
+     * @param x the X coordinate of the upper-left pixel of the rectangle.
+     * @param y the Y coordinate of the upper-left pixel of the rectangle.
+     * @param w the width of the rectangle.
+     * @param h the height of the rectangle.
+     * @param b the band to retrieve.
+     * @param fArray An optionally preallocated float array, holding at least <code>w * h</code> elements.
+     * @return the samples as a float array.
+     */
+    default float[] getSamples(int x, int y, int w, int h, int b, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[w * h];
+        }
+        for (int j = 0, k = 0; j < h; j++) {
+            for (int i = 0; i < w; i++) {
+                fArray[k++] = getSampleFloat(x + i, y + j, b);
+            }
+        }
+        return fArray;
+    }
+
+    /**
+     * Returns the samples of a rectangle of pixels for the specified band, in row-major order, in an array of double.
+     *
+     * @param x the X coordinate of the upper-left pixel of the rectangle.
+     * @param y the Y coordinate of the upper-left pixel of the rectangle.
+     * @param w the width of the rectangle.
+     * @param h the height of the rectangle.
+     * @param b the band to retrieve.
+     * @param dArray An optionally preallocated double array, holding at least <code>w * h</code> elements.
+     * @return the samples as a double array.
+     */
+    default double[] getSamples(int x, int y, int w, int h, int b, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[w * h];
+        }
+        for (int j = 0, k = 0; j < h; j++) {
+            for (int i = 0; i < w; i++) {
+                dArray[k++] = getSampleDouble(x + i, y + j, b);
+            }
+        }
+        return dArray;
+    }
+
+    /**
+     * Returns the samples of the specified band at a list of pixel positions in an array of int.
+     *
+     * @param xCoords the X coordinates of the desired pixels.
+     * @param yCoords the Y coordinates of the desired pixels, as many as the X coordinates.
+     * @param b the band to retrieve.
+     * @param iArray An optionally preallocated int array, holding at least as many elements as the coordinates.
+     * @return the samples as an int array.
+     */
+    default int[] getSamples(int[] xCoords, int[] yCoords, int b, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            iArray[i] = getSample(xCoords[i], yCoords[i], b);
+        }
+        return iArray;
+    }
+
+    /**
+     * Returns the samples of the specified band at a list of pixel positions in an array of float.
+     *
+     * @param xCoords the X coordinates of the desired pixels.
+     * @param yCoords the Y coordinates of the desired pixels, as many as the X coordinates.
+     * @param b the band to retrieve.
+     * @param fArray An optionally preallocated float array, holding at least as many elements as the coordinates.
+     * @return the samples as a float array.
+     */
+    default float[] getSamples(int[] xCoords, int[] yCoords, int b, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            fArray[i] = getSampleFloat(xCoords[i], yCoords[i], b);
+        }
+        return fArray;
+    }
+
+    /**
+     * Returns the samples of the specified band at a list of pixel positions in an array of double.
+     *
+     * @param xCoords the X coordinates of the desired pixels.
+     * @param yCoords the Y coordinates of the desired pixels, as many as the X coordinates.
+     * @param b the band to retrieve.
+     * @param dArray An optionally preallocated double array, holding at least as many elements as the coordinates.
+     * @return the samples as a double array.
+     */
+    default double[] getSamples(int[] xCoords, int[] yCoords, int b, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            dArray[i] = getSampleDouble(xCoords[i], yCoords[i], b);
+        }
+        return dArray;
+    }
+
     /**
      * Informs the iterator that it may discard its internal data structures. This method should be called when the
      * iterator will no longer be used.
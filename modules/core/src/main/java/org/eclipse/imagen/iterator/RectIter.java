@@ -167,4 +167,86 @@ public interface RectIter {
      * @return the contents of the pixel as a double array.
      */
     double[] getPixel(double[] dArray);
+
+    /**
+     * Returns the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, in an array of int. The iterator position is unchanged. The default implementation reads the
+     * samples one at a time, iterators over tiled data override it to copy whole tile rows.
+     *
+     * @param b the band index of the desired samples.
+     * @param length the number of pixels to read.
+     * @param iArray An optionally preallocated int array, holding at least <code>length</code> elements.
+     * @return the samples as an int array.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default int[] getSamples(int b, int length, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[length];
+        }
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            iArray[i] = getSample(b);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+        return iArray;
+    }
+
+    /**
+     * Returns the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, in an array of float. The iterator position is unchanged.
+     *
+     * @param b the band index of the desired samples.
+     * @param length the number of pixels to read.
+     * @param fArray An optionally preallocated float array, holding at least <code>length</code> elements.
+     * @return the samples as a float array.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default float[] getSamples(int b, int length, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[length];
+        }
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            fArray[i] = getSampleFloat(b);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+        return fArray;
+    }
+
+    /**
+     * Returns the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, in an array of double. The iterator position is unchanged.
+     *
+     * @param b the band index of the desired samples.
+     * @param length the number of pixels to read.
+     * @param dArray An optionally preallocated double array, holding at least <code>length</code> elements.
+     * @return the samples as a double array.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default double[] getSamples(int b, int length, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[length];
+        }
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            dArray[i] = getSampleDouble(b);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+        return dArray;
+    }
 }
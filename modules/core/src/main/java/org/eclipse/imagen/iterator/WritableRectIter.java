@@ -83,4 +83,71 @@ public interface WritableRectIter extends RectIter {
      * @param dArray a double array containing a value for each band.
      */
     void setPixel(double[] dArray);
+
+    /**
+     * Sets the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, to a set of int values. The iterator position is unchanged. The default implementation writes
+     * the samples one at a time, iterators over tiled data override it to copy whole tile rows.
+     *
+     * @param b the band index of the samples to set.
+     * @param length the number of pixels to write.
+     * @param iArray an int array containing at least <code>length</code> values.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default void setSamples(int b, int length, int[] iArray) {
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            setSample(b, iArray[i]);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+    }
+
+    /**
+     * Sets the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, to a set of float values. The iterator position is unchanged.
+     *
+     * @param b the band index of the samples to set.
+     * @param length the number of pixels to write.
+     * @param fArray a float array containing at least <code>length</code> values.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default void setSamples(int b, int length, float[] fArray) {
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            setSample(b, fArray[i]);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+    }
+
+    /**
+     * Sets the specified band of <code>length</code> pixels of the current line, starting at the current pixel and
+     * moving rightward, to a set of double values. The iterator position is unchanged.
+     *
+     * @param b the band index of the samples to set.
+     * @param length the number of pixels to write.
+     * @param dArray a double array containing at least <code>length</code> values.
+     * @throws IndexOutOfBoundsException if the pixels go past the right edge of the iterator's bounding box.
+     */
+    default void setSamples(int b, int length, double[] dArray) {
+        for (int i = 0; i < length; i++) {
+            if (i > 0 && nextPixelDone()) {
+                jumpPixels(-i);
+                throw new IndexOutOfBoundsException();
+            }
+            setSample(b, dArray[i]);
+        }
+        if (length > 1) {
+            jumpPixels(1 - length);
+        }
+    }
 }
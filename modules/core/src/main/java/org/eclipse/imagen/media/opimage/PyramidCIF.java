@@ -0,0 +1,56 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.opimage;
+
+import java.awt.RenderingHints;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.ParameterBlock;
+import org.eclipse.imagen.CollectionImage;
+import org.eclipse.imagen.CollectionImageFactory;
+import org.eclipse.imagen.CollectionOp;
+import org.eclipse.imagen.Interpolation;
+
+/**
+ * A <code>CIF</code> supporting the "Pyramid" operation.
+ *
+ * @see org.eclipse.imagen.operator.PyramidDescriptor
+ * @see PyramidCollection
+ */
+public class PyramidCIF implements CollectionImageFactory {
+
+    /** Constructor. */
+    public PyramidCIF() {}
+
+    /**
+     * Creates a new instance of <code>PyramidCollection</code>.
+     *
+     * @param args The source image, the number of levels, the filter and the interpolation.
+     * @param hints Optionally contains the tile layout and the border extender.
+     */
+    public CollectionImage create(ParameterBlock args, RenderingHints hints) {
+        return new PyramidCollection(
+                (RenderedImage) args.getSource(0),
+                args.getIntParameter(0),
+                (float[]) args.getObjectParameter(1),
+                (Interpolation) args.getObjectParameter(2),
+                hints);
+    }
+
+    /** Returns <code>null</code>: the pyramid is rebuilt when its node changes. */
+    public CollectionImage update(
+            ParameterBlock oldParamBlock,
+            RenderingHints oldHints,
+            ParameterBlock newParamBlock,
+            RenderingHints newHints,
+            CollectionImage oldRendering,
+            CollectionOp op) {
+        return null;
+    }
+}
@@ -0,0 +1,254 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.opimage;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.imagen.BorderExtender;
+import org.eclipse.imagen.CollectionImage;
+import org.eclipse.imagen.GeometricOpImage;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.Interpolation;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.TileCache;
+import org.eclipse.imagen.media.util.SunTileCache;
+
+/**
+ * The collection of overviews computed by the "Pyramid" operation.
+ *
+ * <p>Level 0 is the source image, and level <i>N+1</i> is a {@link SubsampleAverageOpImage} or a
+ * {@link FilteredSubsampleOpImage} halving the dimensions of level <i>N</i>. All levels but the source share a private
+ * tile cache, sized to hold a few rows of tiles of each level.
+ *
+ * <p>Levels can be used as any other <code>RenderedImage</code>. To produce every level at once, for instance to write
+ * the overviews of a file, {@link #compute(TileListener)} walks the first level in tile row order, so that the source
+ * is read once in tile order, and computes each row of tiles of a level as soon as the rows of the previous level it
+ * depends on are available. Tiles of intermediate levels are removed from the private cache as soon as the next level
+ * no longer needs them, so that the memory used does not depend on the image height.
+ *
+ * @see org.eclipse.imagen.operator.PyramidDescriptor
+ */
+public class PyramidCollection extends CollectionImage {
+
+    /** Receives the tiles computed by {@link PyramidCollection#compute(TileListener)}. */
+    public interface TileListener {
+
+        /**
+         * Invoked once for each tile of each level above the source, in tile row order within a level.
+         *
+         * @param level The level, starting from 1.
+         * @param tileX The tile X index.
+         * @param tileY The tile Y index.
+         * @param tile The tile. It may be released once the method returns and must not be modified.
+         */
+        void tileComputed(int level, int tileX, int tileY, Raster tile);
+    }
+
+    /** Maximum number of levels built in automatic mode. */
+    private static final int MAX_LEVELS = 32;
+
+    /** The tile cache shared by the levels above the source. */
+    private final TileCache cache;
+
+    /**
+     * Constructs a <code>PyramidCollection</code>.
+     *
+     * @param source The source image, level 0 of the pyramid.
+     * @param numLevels The number of levels to build above the source, or 0 to build levels until one fits in a single
+     *     tile.
+     * @param qsFilter The quadrant symmetric filter of a {@link FilteredSubsampleOpImage}, or <code>null</code> to use
+     *     a {@link SubsampleAverageOpImage}.
+     * @param interp The interpolation of the {@link FilteredSubsampleOpImage}, ignored when <code>qsFilter</code> is
+     *     <code>null</code>.
+     * @param hints The rendering hints, possibly containing an <code>ImageLayout</code> and a <code>BorderExtender
+     *     </code>, which defaults to <code>BORDER_COPY</code>. May be <code>null</code>.
+     */
+    public PyramidCollection(
+            RenderedImage source, int numLevels, float[] qsFilter, Interpolation interp, RenderingHints hints) {
+        if (source == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic0"));
+        }
+
+        // Only the tile size of the layout hint is honored
+        ImageLayout hintLayout = hints == null ? null : (ImageLayout) hints.get(ImageN.KEY_IMAGE_LAYOUT);
+        ImageLayout layout = new ImageLayout();
+        layout.setTileWidth(
+                hintLayout != null && hintLayout.isValid(ImageLayout.TILE_WIDTH_MASK)
+                        ? hintLayout.getTileWidth(null)
+                        : source.getTileWidth());
+        layout.setTileHeight(
+                hintLayout != null && hintLayout.isValid(ImageLayout.TILE_HEIGHT_MASK)
+                        ? hintLayout.getTileHeight(null)
+                        : source.getTileHeight());
+        int tileWidth = layout.getTileWidth(null);
+        int tileHeight = layout.getTileHeight(null);
+        // The filter reads past the level edges
+        BorderExtender extender = hints == null ? null : (BorderExtender) hints.get(ImageN.KEY_BORDER_EXTENDER);
+        if (extender == null) {
+            extender = BorderExtender.createInstance(BorderExtender.BORDER_COPY);
+        }
+
+        // Enough memory to hold about four rows of tiles of each level
+        SampleModel sm = source.getSampleModel();
+        long tileBytes =
+                (long) tileWidth * tileHeight * sm.getNumBands() * DataBuffer.getDataTypeSize(sm.getDataType()) / 8;
+        long capacity = 0;
+        int width = source.getWidth();
+        for (int i = 0; i < MAX_LEVELS && width >= 2; i++) {
+            width /= 2;
+            capacity += 4 * tileBytes * ((width + tileWidth - 1) / tileWidth + 1);
+        }
+        this.cache = new SunTileCache(Math.max(capacity, tileBytes * 4));
+
+        RenderingHints config = hints == null ? new RenderingHints(null) : (RenderingHints) hints.clone();
+        config.remove(ImageN.KEY_IMAGE_LAYOUT);
+        config.put(ImageN.KEY_TILE_CACHE, cache);
+
+        List<RenderedImage> levels = new ArrayList<>();
+        levels.add(source);
+        RenderedImage level = source;
+        int maxLevels = numLevels > 0 ? numLevels : MAX_LEVELS;
+        while (levels.size() <= maxLevels && level.getWidth() >= 2 && level.getHeight() >= 2) {
+            if (numLevels == 0 && level.getWidth() <= tileWidth && level.getHeight() <= tileHeight) {
+                break;
+            }
+            if (qsFilter == null) {
+                level = new SubsampleAverageOpImage(level, layout, config, 0.5, 0.5);
+            } else {
+                level = new FilteredSubsampleOpImage(level, extender, config, layout, 2, 2, qsFilter, interp);
+            }
+            levels.add(level);
+        }
+        this.imageCollection = Collections.unmodifiableList(levels);
+    }
+
+    /** Returns the number of levels, including the source. */
+    public int getNumLevels() {
+        return imageCollection.size();
+    }
+
+    /**
+     * Returns a level of the pyramid.
+     *
+     * @param level The level, 0 being the source.
+     */
+    public RenderedImage getLevel(int level) {
+        return (RenderedImage) get(level);
+    }
+
+    /** Returns the tile cache shared by the levels above the source. */
+    public TileCache getTileCache() {
+        return cache;
+    }
+
+    /**
+     * Computes every tile of every level above the source in a single pass.
+     *
+     * <p>Rows of tiles of the first level are computed in order, each row being computed in parallel by the tile
+     * scheduler. After each row, the rows of the upper levels whose sources are complete are computed in turn, and the
+     * tiles of the lower level no longer needed are removed from the tile cache. Tiles of the last level are removed
+     * once they have been passed to the listener.
+     *
+     * @param listener The listener receiving the computed tiles. May be <code>null</code>, in which case the tiles are
+     *     only computed.
+     */
+    public void compute(TileListener listener) {
+        int n = getNumLevels();
+        if (n < 2) {
+            return;
+        }
+
+        // Next tile row to compute, and first tile row still cached, for each level
+        int[] nextRow = new int[n];
+        int[] firstCached = new int[n];
+        for (int l = 1; l < n; l++) {
+            nextRow[l] = getLevel(l).getMinTileY();
+            firstCached[l] = nextRow[l];
+        }
+
+        PlanarImage first = (PlanarImage) getLevel(1);
+        int maxTileY = first.getMaxTileY();
+        while (nextRow[1] <= maxTileY) {
+            computeRow(1, nextRow[1]++, listener);
+
+            // Cascade to the upper levels whose required rows are now available
+            for (int l = 2; l < n; l++) {
+                PlanarImage level = (PlanarImage) getLevel(l);
+                while (nextRow[l] <= level.getMaxTileY() && requiredRows(l, nextRow[l])[1] < nextRow[l - 1]) {
+                    computeRow(l, nextRow[l]++, listener);
+
+                    // Release the rows of the previous level the next row does not need
+                    int keep = nextRow[l] <= level.getMaxTileY() ? requiredRows(l, nextRow[l])[0] : Integer.MAX_VALUE;
+                    firstCached[l - 1] = release(l - 1, firstCached[l - 1], Math.min(keep, nextRow[l - 1]));
+                }
+            }
+        }
+        for (int l = 1; l < n - 1; l++) {
+            release(l, firstCached[l], nextRow[l]);
+        }
+    }
+
+    /** Computes a tile row of a level, and notifies the listener. */
+    private void computeRow(int l, int tileY, TileListener listener) {
+        PlanarImage level = (PlanarImage) getLevel(l);
+        int minTileX = level.getMinTileX();
+        Point[] indices = new Point[level.getNumXTiles()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = new Point(minTileX + i, tileY);
+        }
+        Raster[] tiles = level.getTiles(indices);
+        for (int i = 0; i < indices.length; i++) {
+            if (listener != null) {
+                listener.tileComputed(l, indices[i].x, tileY, tiles[i]);
+            }
+        }
+        if (l == getNumLevels() - 1) {
+            for (Point p : indices) {
+                cache.remove(level, p.x, p.y);
+            }
+        }
+    }
+
+    /** Returns the first and last tile rows of level <code>l - 1</code> needed to compute a tile row of level l. */
+    private int[] requiredRows(int l, int tileY) {
+        GeometricOpImage level = (GeometricOpImage) getLevel(l);
+        PlanarImage source = (PlanarImage) getLevel(l - 1);
+        Rectangle row = new Rectangle(level.getMinX(), level.tileYToY(tileY), level.getWidth(), level.getTileHeight());
+        Rectangle rect =
+                level.mapDestRect(row.intersection(level.getBounds()), 0).intersection(source.getBounds());
+        if (rect.isEmpty()) {
+            return new int[] {source.getMinTileY(), source.getMinTileY()};
+        }
+        return new int[] {source.YToTileY(rect.y), source.YToTileY(rect.y + rect.height - 1)};
+    }
+
+    /** Removes the tile rows in <code>[from, to)</code> of a level from the cache, returning the first cached row. */
+    private int release(int l, int from, int to) {
+        if (l == 0 || to <= from) {
+            return from;
+        }
+        PlanarImage level = (PlanarImage) getLevel(l);
+        for (int ty = from; ty < to; ty++) {
+            for (int tx = level.getMinTileX(); tx <= level.getMaxTileX(); tx++) {
+                cache.remove(level, tx, ty);
+            }
+        }
+        return to;
+    }
+}
@@ -242,15 +242,15 @@ public class RenderingHintsState extends SerializableStateImpl {
                         continue;
                     }
 
-                    // Get the field of the key.
-                    Object keyElement = SerializerFactory.getState(key, null);
-
-                    // If the key was not in the table it is not a public
+                    // If the key is not in the table it is not a public
                     // static field in one of the KEY_CLASSES so skip it.
-                    if (keyElement == null) {
+                    if (hintTable.get(key) == null) {
                         continue;
                     }
 
+                    // Get the field of the key.
+                    Object keyElement = SerializerFactory.getState(key, null);
+
                     // Get the next value.
                     Object value = hints.get(key);
 
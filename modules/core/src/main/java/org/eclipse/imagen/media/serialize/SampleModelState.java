@@ -136,7 +136,7 @@ public class SampleModelState extends SerializableStateImpl {
         } else if (sampleModel instanceof MultiPixelPackedSampleModel) {
             MultiPixelPackedSampleModel sm = (MultiPixelPackedSampleModel) sampleModel;
             out.writeInt(TYPE_MULTI_PIXEL_PACKED);
-            out.writeInt(sm.getTransferType());
+            out.writeInt(sm.getDataType());
             out.writeInt(sm.getWidth());
             out.writeInt(sm.getHeight());
             out.writeInt(sm.getPixelBitStride());
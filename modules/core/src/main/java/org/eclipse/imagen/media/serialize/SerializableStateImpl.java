@@ -19,6 +19,7 @@ package org.eclipse.imagen.media.serialize;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 
 /**
  * Framework class for adding <code>Serializer</code>s based on <code>SerializableState</code> implementations which
@@ -69,10 +70,10 @@ public abstract class SerializableStateImpl implements SerializableState {
             if (isInterface && !c.isInstance(o)) {
                 throw new IllegalArgumentException(JaiI18N.getString("SerializableStateImpl2"));
             } else if (!isInterface) {
-                if (!c.equals(o.getClass())) {
-                    throw new IllegalArgumentException(JaiI18N.getString("SerializableStateImpl3"));
-                } else if (!c.isAssignableFrom(o.getClass())) {
+                if (!c.isAssignableFrom(o.getClass())) {
                     throw new IllegalArgumentException(JaiI18N.getString("SerializableStateImpl4"));
+                } else if (!c.equals(o.getClass()) && !permitsSubclasses(getClass())) {
+                    throw new IllegalArgumentException(JaiI18N.getString("SerializableStateImpl3"));
                 }
             }
         }
@@ -80,6 +81,16 @@ public abstract class SerializableStateImpl implements SerializableState {
         theObject = o;
     }
 
+    /** Invokes the static <code>permitsSubclasses()</code> of a <code>SerializableStateImpl</code> class. */
+    private static boolean permitsSubclasses(Class ssi) {
+        try {
+            Method m = ssi.getMethod("permitsSubclasses", null);
+            return ((Boolean) m.invoke(null, null)).booleanValue();
+        } catch (Exception e) {
+            throw new IllegalArgumentException(JaiI18N.getString("SerializableStateImpl5"), e);
+        }
+    }
+
     public Class getObjectClass() {
         return theClass;
     }
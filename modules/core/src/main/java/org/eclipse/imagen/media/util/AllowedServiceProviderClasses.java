@@ -43,6 +43,7 @@ final class AllowedServiceProviderClasses {
             "org.eclipse.imagen.media.contour.ContourSpi",
             "org.eclipse.imagen.media.crop.CropSpi",
             "org.eclipse.imagen.media.jiffleop.JiffleSpi",
+            "org.eclipse.imagen.media.simd.SIMDSpi",
             "org.jaitools.media.jai.vectorize.VectorizeSpi")));
 
     /** Utility class; do not instantiate. */
@@ -17,13 +17,17 @@
  */
 package org.eclipse.imagen.media.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.PropertyResourceBundle;
@@ -132,13 +136,35 @@ public class PropertyUtil {
         return null;
     }
 
+    /**
+     * Returns the concatenation of all the copies of a file on the class path, or <code>null</code> if there is none.
+     * Modules contributing to the same package ship their own copy of its properties file; the copies are concatenated
+     * in reverse class path order so that, for keys defined more than once, the first copy wins.
+     */
+    private static InputStream getFilesFromClasspath(String path) throws IOException {
+        ClassLoader loader = PropertyUtil.class.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+        Vector streams = new Vector();
+        for (Enumeration e = loader.getResources(path); e.hasMoreElements(); ) {
+            streams.add(0, new ByteArrayInputStream(new byte[] {'\n'}));
+            streams.add(0, ((URL) e.nextElement()).openStream());
+        }
+        return streams.isEmpty() ? null : new SequenceInputStream(streams.elements());
+    }
+
     /** Get bundle from .properties files in org.eclipse.imagen dir. */
     private static ResourceBundle getBundle(String packageName) {
         ResourceBundle bundle = null;
 
         InputStream in = null;
         try {
-            in = getFileFromClasspath(propertiesDir + "/" + packageName + ".properties");
+            String path = propertiesDir + "/" + packageName + ".properties";
+            in = getFilesFromClasspath(path);
+            if (in == null) {
+                in = getFileFromClasspath(path);
+            }
             if (in != null) {
                 bundle = new PropertyResourceBundle(in);
                 bundles.put(packageName, bundle);
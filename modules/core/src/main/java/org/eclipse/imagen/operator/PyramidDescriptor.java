@@ -0,0 +1,184 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.operator;
+
+import java.awt.RenderingHints;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.ParameterBlock;
+import java.util.Collection;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.Interpolation;
+import org.eclipse.imagen.InterpolationBicubic;
+import org.eclipse.imagen.InterpolationBicubic2;
+import org.eclipse.imagen.InterpolationBilinear;
+import org.eclipse.imagen.InterpolationNearest;
+import org.eclipse.imagen.OperationDescriptorImpl;
+import org.eclipse.imagen.ParameterBlockImageN;
+import org.eclipse.imagen.registry.CollectionRegistryMode;
+
+/**
+ * An <code>OperationDescriptor</code> describing the "Pyramid" operation.
+ *
+ * <p>The "Pyramid" operation builds the overviews of a rendered image: a collection of <code>RenderedImage</code>s in
+ * which level 0 is the source and each following level halves the dimensions of the previous one. Level <i>N+1</i> is
+ * computed from the tiles of level <i>N</i>, rather than from the source, so that the source is filtered only once
+ * however many levels are requested.
+ *
+ * <p>When the "qsFilterArray" parameter is <code>null</code>, each level is the 2x2 block average of the previous one,
+ * as computed by the "SubsampleAverage" operation. Otherwise each level is computed as by the "FilteredSubsample"
+ * operation with subsample factors of 2, the supplied quadrant symmetric filter and the supplied interpolation; the
+ * <code>BorderExtender</code> rendering hint is used in that case, and defaults to <code>BORDER_COPY</code>.
+ *
+ * <p>The number of levels, excluding the source, is given by the "numLevels" parameter. With a value of 0 levels are
+ * added until the last one fits in a single tile or one of its dimensions would fall below 2 pixels.
+ *
+ * <p>The tile width and height of the levels can be set through the <code>ImageN.KEY_IMAGE_LAYOUT</code> hint; by
+ * default they are the same as the ones of the source, so that each tile of a level is computed from 2x2 tiles of the
+ * previous level. Intermediate levels share a private tile cache. Every level can be used on its own as any other
+ * <code>RenderedImage</code>; in addition, the whole pyramid can be computed in a single pass, streaming through the
+ * source in tile order with bounded memory, using {@link org.eclipse.imagen.media.opimage.PyramidCollection#compute}.
+ *
+ * <p>
+ *
+ * <table border=1>
+ * <caption>Resource List</caption>
+ * <tr><th>Name</th>        <th>Value</th></tr>
+ * <tr><td>GlobalName</td>  <td>Pyramid</td></tr>
+ * <tr><td>LocalName</td>   <td>Pyramid</td></tr>
+ * <tr><td>Vendor</td>      <td>org.eclipse.imagen.media</td></tr>
+ * <tr><td>Description</td> <td>Builds the overviews of an image.</td></tr>
+ * <tr><td>DocURL</td>      <td>Not defined</td></tr>
+ * <tr><td>Version</td>     <td>1.0</td></tr>
+ * <tr><td>arg0Desc</td>    <td>The number of levels to build, 0 for automatic.</td></tr>
+ * <tr><td>arg1Desc</td>    <td>Symmetric filter coefficients, null for block averaging.</td></tr>
+ * <tr><td>arg2Desc</td>    <td>Interpolation object.</td></tr>
+ * </table>
+ *
+ * <p>
+ *
+ * <table border=1>
+ * <caption>Parameter List</caption>
+ * <tr><th>Name</th>          <th>Class Type</th>
+ *                            <th>Default Value</th></tr>
+ * <tr><td>numLevels</td>     <td>java.lang.Integer</td>
+ *                            <td>0</td>
+ * <tr><td>qsFilterArray</td> <td>float[]</td>
+ *                            <td>null</td>
+ * <tr><td>interpolation</td> <td>org.eclipse.imagen.Interpolation</td>
+ *                            <td>InterpolationNearest</td>
+ * </table>
+ *
+ * @see org.eclipse.imagen.media.opimage.PyramidCollection
+ * @see SubsampleAverageDescriptor
+ * @see FilteredSubsampleDescriptor
+ */
+public class PyramidDescriptor extends OperationDescriptorImpl {
+
+    /**
+     * The resource strings that provide the general documentation and specify the parameter list for this operation.
+     */
+    private static final String[][] resources = {
+        {"GlobalName", "Pyramid"},
+        {"LocalName", "Pyramid"},
+        {"Vendor", "org.eclipse.imagen.media"},
+        {"Description", JaiI18N.getString("PyramidDescriptor0")},
+        {"DocURL", "Not defined"},
+        {"Version", "1.0"},
+        {"arg0Desc", JaiI18N.getString("PyramidDescriptor1")},
+        {"arg1Desc", JaiI18N.getString("PyramidDescriptor2")},
+        {"arg2Desc", JaiI18N.getString("PyramidDescriptor3")}
+    };
+
+    /** The parameter name list for this operation. */
+    private static final String[] paramNames = {"numLevels", "qsFilterArray", "interpolation"};
+
+    /** The parameter class list for this operation. */
+    private static final Class[] paramClasses = {Integer.class, float[].class, Interpolation.class};
+
+    /** The parameter default value list for this operation. */
+    private static final Object[] paramDefaults = {
+        Integer.valueOf(0), null, Interpolation.getInstance(Interpolation.INTERP_NEAREST)
+    };
+
+    private static final String[] supportedModes = {"collection"};
+
+    /** The source class list for this operation. */
+    private static final Class[][] sourceClasses = {{RenderedImage.class}};
+
+    /** Constructor. */
+    public PyramidDescriptor() {
+        super(resources, supportedModes, null, sourceClasses, paramNames, paramClasses, paramDefaults, null);
+    }
+
+    /**
+     * Validates the input source and parameters.
+     *
+     * <p>In addition to the standard checks performed by the superclass method, this method checks that "numLevels" is
+     * not negative and, when a filter is supplied, that the interpolation is one of the types supported by the
+     * "FilteredSubsample" operation.
+     */
+    public boolean validateArguments(String modeName, ParameterBlock args, StringBuffer msg) {
+        if (!super.validateArguments(modeName, args, msg)) {
+            return false;
+        }
+
+        if (args.getIntParameter(0) < 0) {
+            msg.append(getName() + " " + JaiI18N.getString("PyramidDescriptor4"));
+            return false;
+        }
+
+        if (args.getObjectParameter(1) != null) {
+            Interpolation interp = (Interpolation) args.getObjectParameter(2);
+            if (!((interp instanceof InterpolationNearest)
+                    || (interp instanceof InterpolationBilinear)
+                    || (interp instanceof InterpolationBicubic)
+                    || (interp instanceof InterpolationBicubic2))) {
+                msg.append(getName() + " " + JaiI18N.getString("FilteredSubsampleDescriptor2"));
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds the overviews of an image.
+     *
+     * <p>Creates a <code>ParameterBlockImageN</code> from all supplied arguments except <code>hints</code> and invokes
+     * {@link ImageN#createCollection(String,ParameterBlock,RenderingHints)}.
+     *
+     * @see ImageN
+     * @see ParameterBlockImageN
+     * @see Collection
+     * @param source0 <code>RenderedImage</code> source 0.
+     * @param numLevels The number of levels to build, 0 for automatic. May be <code>null</code>.
+     * @param qsFilterArray Symmetric filter coefficients, <code>null</code> for block averaging.
+     * @param interpolation Interpolation object. May be <code>null</code>.
+     * @param hints The <code>RenderingHints</code> to use. May be <code>null</code>.
+     * @return The <code>Collection</code> destination.
+     * @throws IllegalArgumentException if <code>source0</code> is <code>null</code>.
+     */
+    public static Collection createCollection(
+            RenderedImage source0,
+            Integer numLevels,
+            float[] qsFilterArray,
+            Interpolation interpolation,
+            RenderingHints hints) {
+        ParameterBlockImageN pb = new ParameterBlockImageN("Pyramid", CollectionRegistryMode.MODE_NAME);
+
+        pb.setSource("source0", source0);
+
+        pb.setParameter("numLevels", numLevels);
+        pb.setParameter("qsFilterArray", qsFilterArray);
+        pb.setParameter("interpolation", interpolation);
+
+        return ImageN.createCollection("Pyramid", pb, hints);
+    }
+}
@@ -0,0 +1,113 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+import org.eclipse.imagen.media.util.SunTileCache;
+import org.junit.Test;
+
+public class FusedPointOpImageTest {
+
+    /** Computes a * x + b on every band, converting to the data type of the layout. */
+    private static class LinearOpImage extends PointOpImage {
+
+        final double a, b;
+
+        LinearOpImage(RenderedImage source, ImageLayout layout, TileCache cache, double a, double b) {
+            super(source, layout, new RenderingHints(ImageN.KEY_TILE_CACHE, cache), true);
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected void computeRect(Raster[] sources, WritableRaster dest, Rectangle destRect) {
+            int bands = getSampleModel().getNumBands();
+            double[] pixels =
+                    sources[0].getPixels(destRect.x, destRect.y, destRect.width, destRect.height, (double[]) null);
+            double[] out = new double[destRect.width * destRect.height * bands];
+            int srcBands = sources[0].getNumBands();
+            for (int p = 0, o = 0; o < out.length; p += srcBands) {
+                for (int b = 0; b < bands; b++) {
+                    double v = a * pixels[p + Math.min(b, srcBands - 1)] + this.b;
+                    out[o++] = getSampleModel().getDataType() == DataBuffer.TYPE_BYTE
+                            ? Math.max(0, Math.min(255, Math.round(v)))
+                            : v;
+                }
+            }
+            dest.setPixels(destRect.x, destRect.y, destRect.width, destRect.height, out);
+        }
+    }
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 64, 64, 1);
+        TiledImage image = new TiledImage(0, 0, 300, 200, 0, 0, sm, PlanarImage.createColorModel(sm));
+        Random random = new Random(0);
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 300; x++) {
+                image.setSample(x, y, 0, random.nextInt(256));
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testFusedChainMatchesUnfused() {
+        TiledImage source = createImage();
+        TileCache cache = new SunTileCache(64 * 1024 * 1024);
+
+        // Byte -> 3 band float -> byte
+        ImageLayout floatLayout = new ImageLayout();
+        floatLayout.setSampleModel(RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_FLOAT, 64, 64, 3));
+        floatLayout.setColorModel(null);
+        LinearOpImage first = new LinearOpImage(source, floatLayout, cache, 0.7, 3.25);
+        LinearOpImage second = new LinearOpImage(first, null, cache, -1.5, 400);
+        ImageLayout byteLayout = new ImageLayout();
+        byteLayout.setSampleModel(RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 64, 64, 3));
+        LinearOpImage third = new LinearOpImage(second, byteLayout, cache, 1, -20);
+
+        RenderedImage fused = FusedPointOpImage.fuse(third);
+        assertTrue(fused instanceof FusedPointOpImage);
+        assertEquals(3, ((FusedPointOpImage) fused).getNumStages());
+        assertSame(first, ((FusedPointOpImage) fused).getStage(0));
+        assertEquals(third.getBounds(), ((PlanarImage) fused).getBounds());
+        assertEquals(
+                third.getSampleModel().getDataType(), fused.getSampleModel().getDataType());
+
+        Raster actual = fused.getData();
+        // Intermediate operations computed no tiles
+        assertNull(cache.getTile(first, 0, 0));
+        assertNull(cache.getTile(second, 0, 0));
+
+        Raster expected = third.getData();
+        for (int b = 0; b < 3; b++) {
+            assertArrayEquals(
+                    expected.getSamples(0, 0, 300, 200, b, (int[]) null),
+                    actual.getSamples(0, 0, 300, 200, b, (int[]) null));
+        }
+    }
+
+    @Test
+    public void testNothingToFuse() {
+        TiledImage source = createImage();
+        assertSame(source, FusedPointOpImage.fuse(source));
+
+        LinearOpImage single = new LinearOpImage(source, null, new SunTileCache(), 1, 1);
+        assertSame(single, FusedPointOpImage.fuse(single));
+    }
+}
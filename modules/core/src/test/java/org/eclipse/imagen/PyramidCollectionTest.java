@@ -0,0 +1,127 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.eclipse.imagen.media.opimage.PyramidCollection;
+import org.eclipse.imagen.media.util.CacheDiagnostics;
+import org.eclipse.imagen.operator.PyramidDescriptor;
+import org.eclipse.imagen.operator.SubsampleAverageDescriptor;
+import org.junit.Test;
+
+public class PyramidCollectionTest {
+
+    private static TiledImage createImage(int width, int height, int tileSize) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, tileSize, tileSize, 1);
+        TiledImage image = new TiledImage(0, 0, width, height, 0, 0, sm, PlanarImage.createColorModel(sm));
+        Random random = new Random(0);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setSample(x, y, 0, random.nextInt(256));
+            }
+        }
+        return image;
+    }
+
+    private static void assertSameData(RenderedImage expected, Raster actual) {
+        Raster data = expected.getData(actual.getBounds());
+        int[] e = data.getSamples(
+                actual.getMinX(), actual.getMinY(), actual.getWidth(), actual.getHeight(), 0, (int[]) null);
+        int[] a = actual.getSamples(
+                actual.getMinX(), actual.getMinY(), actual.getWidth(), actual.getHeight(), 0, (int[]) null);
+        assertArrayEquals(e, a);
+    }
+
+    @Test
+    public void testAutomaticLevels() {
+        TiledImage source = createImage(1024, 768, 128);
+        Collection<?> collection = PyramidDescriptor.createCollection(source, null, null, null, null);
+        PyramidCollection pyramid = (PyramidCollection) ((CollectionOp) collection).getCollection();
+
+        // 1024x768, 512x384, 256x192, 128x96
+        assertEquals(4, pyramid.getNumLevels());
+        assertSame(source, pyramid.getLevel(0));
+        assertEquals(128, pyramid.getLevel(3).getWidth());
+        assertEquals(96, pyramid.getLevel(3).getHeight());
+
+        // Each level is the block average of the previous one
+        RenderedImage expected = source;
+        for (int l = 1; l < pyramid.getNumLevels(); l++) {
+            expected = SubsampleAverageDescriptor.create(expected, 0.5, 0.5, null);
+            assertSameData(expected, pyramid.getLevel(l).getData());
+        }
+    }
+
+    @Test
+    public void testSinglePassWithBoundedMemory() {
+        TiledImage source = createImage(256, 2048, 32);
+        PyramidCollection pyramid = new PyramidCollection(source, 3, null, null, null);
+        TileCache cache = pyramid.getTileCache();
+
+        Set<String> seen = new HashSet<>();
+        long[] peak = new long[1];
+        pyramid.compute((level, tileX, tileY, tile) -> {
+            assertTrue(seen.add(level + ":" + tileX + ":" + tileY));
+            assertSameData(pyramid.getLevel(level), tile);
+            peak[0] = Math.max(peak[0], ((CacheDiagnostics) cache).getCacheTileCount());
+        });
+
+        int total = 0;
+        for (int l = 1; l < pyramid.getNumLevels(); l++) {
+            PlanarImage level = (PlanarImage) pyramid.getLevel(l);
+            total += level.getNumXTiles() * level.getNumYTiles();
+        }
+        assertEquals(total, seen.size());
+        // Only a few rows of each level are held at any time
+        assertTrue("peak " + peak[0], peak[0] < total / 4);
+        assertEquals(0, ((CacheDiagnostics) cache).getCacheTileCount());
+    }
+
+    @Test
+    public void testFilteredLevels() {
+        TiledImage source = createImage(300, 200, 64);
+        float[] qsFilter = {0.5f, 0.25f};
+        PyramidCollection pyramid = new PyramidCollection(
+                source, 2, qsFilter, Interpolation.getInstance(Interpolation.INTERP_NEAREST), null);
+        assertEquals(3, pyramid.getNumLevels());
+
+        RenderingHints hints = new RenderingHints(
+                ImageN.KEY_BORDER_EXTENDER, BorderExtender.createInstance(BorderExtender.BORDER_COPY));
+        RenderedImage expected = source;
+        for (int l = 1; l < 3; l++) {
+            ParameterBlockImageN pb = new ParameterBlockImageN("FilteredSubsample");
+            pb.setSource("source0", expected);
+            pb.setParameter("qsFilterArray", qsFilter);
+            expected = ImageN.create("FilteredSubsample", pb, hints);
+            assertEquals(expected.getWidth(), pyramid.getLevel(l).getWidth());
+        }
+
+        RenderedImage last = expected;
+        Point[] count = {new Point()};
+        pyramid.compute((level, tileX, tileY, tile) -> {
+            if (level == 2) {
+                assertSameData(last, tile);
+                count[0].x++;
+            }
+        });
+        assertTrue(count[0].x > 0);
+    }
+}
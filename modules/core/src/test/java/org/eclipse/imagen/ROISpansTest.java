@@ -0,0 +1,213 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.DataBuffer;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.util.LinkedList;
+import java.util.Random;
+import org.junit.Test;
+
+/** Unit tests for the ROISpans class, checked against bilevel image ROIs. */
+public class ROISpansTest {
+
+    private static final int MIN_X = -7;
+
+    private static final int MIN_Y = 5;
+
+    private static final int WIDTH = 83;
+
+    private static final int HEIGHT = 41;
+
+    /** A random mask made of runs, with empty borders. */
+    private static boolean[][] randomMask(long seed) {
+        Random random = new Random(seed);
+        boolean[][] mask = new boolean[HEIGHT][WIDTH];
+        for (int y = 2; y < HEIGHT - 3; y++) {
+            boolean in = random.nextBoolean();
+            for (int x = 1; x < WIDTH - 4; x++) {
+                if (random.nextInt(6) == 0) {
+                    in = !in;
+                }
+                mask[y][x] = in;
+            }
+        }
+        return mask;
+    }
+
+    private static ROI imageROI(boolean[][] mask) {
+        SampleModel sm = new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, WIDTH, HEIGHT, 1);
+        TiledImage image =
+                new TiledImage(MIN_X, MIN_Y, WIDTH, HEIGHT, MIN_X, MIN_Y, sm, PlanarImage.createColorModel(sm));
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                image.setSample(MIN_X + x, MIN_Y + y, 0, mask[y][x] ? 1 : 0);
+            }
+        }
+        return new ROI(image, 1);
+    }
+
+    private static void assertPixels(boolean[][] expected, ROI roi) {
+        for (int y = -2; y < HEIGHT + 2; y++) {
+            for (int x = -2; x < WIDTH + 2; x++) {
+                boolean in = y >= 0 && y < HEIGHT && x >= 0 && x < WIDTH && expected[y][x];
+                assertEquals("pixel " + x + "," + y, in, roi.contains(MIN_X + x, MIN_Y + y));
+            }
+        }
+    }
+
+    @Test
+    public void testFromImageROI() {
+        boolean[][] mask = randomMask(1);
+        ROI reference = imageROI(mask);
+        ROISpans spans = new ROISpans(reference);
+        assertPixels(mask, spans);
+
+        // bounds are tight, unlike the ones of the image
+        assertEquals(new Rectangle(MIN_X + 1, MIN_Y + 2, WIDTH - 5, HEIGHT - 5), spans.getBounds());
+        assertTrue(spans.getNumSpans() > 0);
+    }
+
+    @Test
+    public void testRectangle() {
+        ROISpans spans = new ROISpans(new Rectangle(3, 4, 10, 6));
+        assertEquals(new Rectangle(3, 4, 10, 6), spans.getBounds());
+        assertEquals(6, spans.getNumSpans());
+        assertTrue(spans.contains(new Rectangle(3, 4, 10, 6)));
+        assertFalse(spans.contains(new Rectangle(3, 4, 11, 6)));
+        assertTrue(spans.intersects(new Rectangle(12, 9, 5, 5)));
+        assertFalse(spans.intersects(new Rectangle(13, 9, 5, 5)));
+        assertFalse(spans.contains(13, 4));
+
+        ROISpans empty = new ROISpans(new Rectangle(3, 4, 0, 6));
+        assertTrue(empty.getBounds().isEmpty());
+        assertFalse(empty.contains(3, 4));
+        assertNull(empty.getAsBitmask(0, 0, 20, 20, null));
+    }
+
+    @Test
+    public void testSetOperations() {
+        boolean[][] a = randomMask(2);
+        boolean[][] b = randomMask(3);
+        ROISpans spansA = new ROISpans(imageROI(a));
+        ROI imageB = imageROI(b);
+        ROISpans spansB = new ROISpans(imageB);
+
+        boolean[][] or = new boolean[HEIGHT][WIDTH];
+        boolean[][] and = new boolean[HEIGHT][WIDTH];
+        boolean[][] andNot = new boolean[HEIGHT][WIDTH];
+        boolean[][] xor = new boolean[HEIGHT][WIDTH];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                or[y][x] = a[y][x] || b[y][x];
+                and[y][x] = a[y][x] && b[y][x];
+                andNot[y][x] = a[y][x] && !b[y][x];
+                xor[y][x] = a[y][x] != b[y][x];
+            }
+        }
+        assertPixels(or, spansA.add(spansB));
+        assertPixels(and, spansA.intersect(spansB));
+        assertPixels(andNot, spansA.subtract(spansB));
+        assertPixels(xor, spansA.exclusiveOr(spansB));
+
+        // other ROIs are converted
+        ROI union = spansA.add(imageB);
+        assertTrue(union instanceof ROISpans);
+        assertPixels(or, union);
+
+        // a disjoint intersection is empty
+        ROI moved = spansA.transform(AffineTransform.getTranslateInstance(0, 2 * HEIGHT));
+        assertTrue(spansA.intersect(moved).getBounds().isEmpty());
+    }
+
+    @Test
+    public void testBitmaskAndRectangles() {
+        boolean[][] mask = randomMask(4);
+        ROI reference = imageROI(mask);
+        ROISpans spans = new ROISpans(reference);
+
+        Rectangle area = new Rectangle(MIN_X + 10, MIN_Y + 3, 45, 30);
+        int[][] expected = reference.getAsBitmask(area.x, area.y, area.width, area.height, null);
+        int[][] actual = spans.getAsBitmask(area.x, area.y, area.width, area.height, null);
+        assertArrayEquals(expected, actual);
+
+        for (boolean merge : new boolean[] {true, false}) {
+            LinkedList rects = spans.getAsRectangleList(area.x, area.y, area.width, area.height, merge);
+            int count = 0;
+            for (Object o : rects) {
+                Rectangle r = (Rectangle) o;
+                assertTrue(area.contains(r));
+                assertTrue(spans.contains(r));
+                count += r.width * r.height;
+            }
+            int[] inside = new int[1];
+            spans.forEachSpan(area, (y, x0, x1) -> inside[0] += x1 - x0);
+            assertEquals(inside[0], count);
+        }
+    }
+
+    @Test
+    public void testRowSpans() {
+        boolean[][] mask = randomMask(5);
+        ROISpans spans = new ROISpans(imageROI(mask));
+        for (int y = 0; y < HEIGHT; y++) {
+            int[] row = spans.getRowSpans(MIN_Y + y, MIN_X + 20, 30);
+            boolean[] expected = new boolean[30];
+            for (int s = 0; s < row.length; s += 2) {
+                assertTrue(row[s] < row[s + 1]);
+                for (int x = row[s]; x < row[s + 1]; x++) {
+                    expected[x - MIN_X - 20] = true;
+                }
+            }
+            for (int x = 0; x < 30; x++) {
+                assertEquals(mask[y][x + 20], expected[x]);
+            }
+        }
+        assertEquals(0, spans.getRowSpans(MIN_Y - 1, MIN_X, WIDTH).length);
+    }
+
+    @Test
+    public void testImageAndShape() {
+        boolean[][] mask = randomMask(6);
+        ROISpans spans = new ROISpans(imageROI(mask));
+
+        PlanarImage image = spans.getAsImage();
+        assertSame(image, spans.getAsImage());
+        Rectangle bounds = spans.getBounds();
+        assertEquals(bounds, image.getBounds());
+        Raster data = image.getData();
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+            for (int x = bounds.x; x < bounds.x + bounds.width; x++) {
+                assertEquals(spans.contains(x, y) ? 1 : 0, data.getSample(x, y, 0));
+            }
+        }
+        assertPixels(mask, new ROI(image, 1));
+        assertPixels(mask, new ROIShape(spans.getAsShape()));
+    }
+
+    @Test
+    public void testTranslate() {
+        boolean[][] mask = randomMask(7);
+        ROISpans spans = new ROISpans(imageROI(mask));
+        ROI moved = spans.transform(AffineTransform.getTranslateInstance(-3, 11));
+        assertTrue(moved instanceof ROISpans);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(mask[y][x], moved.contains(MIN_X + x - 3, MIN_Y + y + 11));
+            }
+        }
+    }
+}
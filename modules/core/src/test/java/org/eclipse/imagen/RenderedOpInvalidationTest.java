@@ -0,0 +1,155 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.imagen.operator.SubsampleAverageDescriptor;
+import org.junit.Test;
+
+/** Checks that the edits of a source TiledImage only invalidate the dependent tiles of the nodes using it. */
+public class RenderedOpInvalidationTest {
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 32, 32, 1);
+        TiledImage image = new TiledImage(0, 0, 256, 256, 0, 0, sm, PlanarImage.createColorModel(sm));
+        WritableRaster data = image.getTile(0, 0).createCompatibleWritableRaster(0, 0, 256, 256);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                data.setSample(x, y, 0, (x * 7 + y * 3) & 0xFF);
+            }
+        }
+        image.setData(data);
+        return image;
+    }
+
+    private static RenderingHints tileHints() {
+        ImageLayout layout = new ImageLayout().setTileWidth(32).setTileHeight(32);
+        return new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+    }
+
+    private static void assertSameData(RenderedOp expected, RenderedOp actual) {
+        Raster e = expected.getData();
+        Raster a = actual.getData();
+        assertEquals(e.getBounds(), a.getBounds());
+        assertArrayEquals(
+                e.getSamples(e.getMinX(), e.getMinY(), e.getWidth(), e.getHeight(), 0, (int[]) null),
+                a.getSamples(a.getMinX(), a.getMinY(), a.getWidth(), a.getHeight(), 0, (int[]) null));
+    }
+
+    @Test
+    public void testSetDataInvalidatesDependentTiles() {
+        TiledImage source = createImage();
+        RenderedOp half = SubsampleAverageDescriptor.create(source, 0.5, 0.5, tileHints());
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, tileHints());
+        quarter.getData();
+
+        PlanarImage halfRendering = half.getCurrentRendering();
+        PlanarImage quarterRendering = quarter.getCurrentRendering();
+        TileCache cache = ((OpImage) halfRendering).getTileCache();
+        assertNotNull(cache.getTile(halfRendering, 0, 0));
+        assertNotNull(cache.getTile(halfRendering, 3, 3));
+
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        quarter.addPropertyChangeListener("Rendering", events::add);
+
+        // Overwrite a block of the first source tile
+        WritableRaster block = source.getTile(0, 0).createCompatibleWritableRaster(5, 5, 10, 10);
+        for (int y = 5; y < 15; y++) {
+            for (int x = 5; x < 15; x++) {
+                block.setSample(x, y, 0, 255);
+            }
+        }
+        source.setData(block);
+
+        // The renderings are kept, only the dependent tiles are dropped
+        assertSame(halfRendering, half.getCurrentRendering());
+        assertSame(quarterRendering, quarter.getCurrentRendering());
+        assertNull(cache.getTile(halfRendering, 0, 0));
+        assertNotNull(cache.getTile(halfRendering, 3, 3));
+        assertNull(cache.getTile(quarterRendering, 0, 0));
+
+        assertEquals(1, events.size());
+        RenderingChangeEvent rcEvent = (RenderingChangeEvent) events.get(0);
+        assertSame(quarterRendering, rcEvent.getOldValue());
+        assertSame(quarterRendering, rcEvent.getNewValue());
+        assertEquals(new Rectangle(0, 0, 32, 32), rcEvent.getInvalidRegion().getBounds());
+
+        RenderedOp expected = SubsampleAverageDescriptor.create(
+                SubsampleAverageDescriptor.create(source, 0.5, 0.5, tileHints()), 0.5, 0.5, tileHints());
+        assertSameData(expected, quarter);
+    }
+
+    @Test
+    public void testWritableTileFiresInvalidRegion() {
+        TiledImage source = createImage();
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        source.addPropertyChangeListener("InvalidRegion", events::add);
+
+        WritableRaster tile = source.getWritableTile(2, 1);
+        source.getWritableTile(2, 1);
+        tile.setSample(70, 40, 0, 0);
+        source.releaseWritableTile(2, 1);
+        assertTrue(events.isEmpty());
+        source.releaseWritableTile(2, 1);
+        assertEquals(1, events.size());
+        assertEquals(new Rectangle(64, 32, 32, 32), events.get(0).getNewValue());
+
+        source.setSample(3, 4, 0, 9);
+        assertEquals(2, events.size());
+        assertEquals(new Rectangle(3, 4, 1, 1), events.get(1).getNewValue());
+
+        // A parameter change still re-renders the node
+        RenderedOp half = SubsampleAverageDescriptor.create(source, 0.5, 0.5, tileHints());
+        PlanarImage rendering = half.getRendering();
+        half.setParameter(0.25, 0);
+        assertNotSame(rendering, half.getRendering());
+    }
+
+    @Test
+    public void testSetSampleEvents() {
+        TiledImage source = createImage();
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        source.addPropertyChangeListener("InvalidRegion", events::add);
+
+        // Each sample set on its own fires an event for its pixel
+        for (int x = 40; x < 50; x++) {
+            source.setSample(x, 10, 0, 1);
+            source.setSample(x, 11, 0, 2.0f);
+            source.setSample(x, 12, 0, 3.0);
+        }
+        assertEquals(30, events.size());
+        assertEquals(new Rectangle(49, 12, 1, 1), events.get(29).getNewValue());
+
+        // Samples set while the tile is written fire a single event on release
+        events.clear();
+        source.getWritableTile(1, 0);
+        for (int x = 40; x < 50; x++) {
+            source.setSample(x, 10, 0, 4);
+            source.setSample(x, 11, 0, 5.0f);
+            source.setSample(x, 12, 0, 6.0);
+        }
+        assertTrue(events.isEmpty());
+        source.releaseWritableTile(1, 0);
+        assertEquals(1, events.size());
+        assertEquals(new Rectangle(32, 0, 32, 32), events.get(0).getNewValue());
+        assertEquals(4, source.getSample(45, 10, 0));
+        assertEquals(6, source.getSample(45, 12, 0));
+    }
+}
@@ -0,0 +1,127 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.List;
+import org.eclipse.imagen.operator.SubsampleAverageDescriptor;
+import org.junit.Test;
+
+public class RenderedOpOptimizerTest {
+
+    /** Merges two consecutive "SubsampleAverage" nodes and drops the ones with unit scales. */
+    private static class SubsampleRewrite implements RenderedOpOptimizer.Rewrite {
+
+        public String getName() {
+            return "Subsample";
+        }
+
+        public RenderedImage rewrite(RenderedOp node) {
+            if (!node.getOperationName().equalsIgnoreCase("SubsampleAverage")) {
+                return null;
+            }
+            double sx = node.getParameterBlock().getDoubleParameter(0);
+            double sy = node.getParameterBlock().getDoubleParameter(1);
+            RenderedImage source = (RenderedImage) node.getNodeSource(0);
+            if (sx == 1 && sy == 1) {
+                return source;
+            }
+            if (source instanceof RenderedOp
+                    && ((RenderedOp) source).getOperationName().equalsIgnoreCase("SubsampleAverage")) {
+                RenderedOp inner = (RenderedOp) source;
+                return SubsampleAverageDescriptor.create(
+                        (RenderedImage) inner.getNodeSource(0),
+                        sx * inner.getParameterBlock().getDoubleParameter(0),
+                        sy * inner.getParameterBlock().getDoubleParameter(1),
+                        null);
+            }
+            return null;
+        }
+    }
+
+    private static TiledImage createImage() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 64, 64, 1);
+        TiledImage image = new TiledImage(0, 0, 200, 120, 0, 0, sm, PlanarImage.createColorModel(sm));
+        for (int y = 0; y < 120; y++) {
+            for (int x = 0; x < 200; x++) {
+                image.setSample(x, y, 0, (x * 7 + y * 3) & 0xFF);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testExplain() {
+        TiledImage source = createImage();
+        RenderedOp unit = SubsampleAverageDescriptor.create(source, 1.0, 1.0, null);
+        RenderedOp half = SubsampleAverageDescriptor.create(unit, 0.5, 0.5, null);
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, null);
+
+        RenderedOpOptimizer optimizer = new RenderedOpOptimizer(List.of(new SubsampleRewrite()));
+        RenderedOpOptimizer.Plan plan = optimizer.explain(quarter);
+        assertTrue(plan.isRewritten());
+        assertSame(quarter, plan.getOriginal());
+        assertEquals(2, plan.getSteps().size());
+        assertTrue(plan.getSteps().get(0).startsWith("Subsample: SubsampleAverage(scaleX=1.0"));
+
+        RenderedOp optimized = plan.getOptimized();
+        assertEquals(0.25, optimized.getParameterBlock().getDoubleParameter(0), 0);
+        assertSame(source, optimized.getNodeSource(0));
+        assertTrue(
+                plan.toString().contains("Optimized:\n  SubsampleAverage(scaleX=0.25, scaleY=0.25)\n    TiledImage"));
+
+        // The original chain is unchanged
+        assertSame(half, quarter.getNodeSource(0));
+        assertEquals(0.5, quarter.getParameterBlock().getDoubleParameter(0), 0);
+    }
+
+    @Test
+    public void testLastNodeIsKept() {
+        RenderedOp unit = SubsampleAverageDescriptor.create(createImage(), 1.0, 1.0, null);
+        RenderedOpOptimizer.Plan plan = new RenderedOpOptimizer(List.of(new SubsampleRewrite())).explain(unit);
+        assertFalse(plan.isRewritten());
+        assertSame(unit, plan.getOptimized());
+
+        // None of the default rewrites applies
+        RenderedOp half = SubsampleAverageDescriptor.create(createImage(), 0.5, 0.5, null);
+        assertSame(half, new RenderedOpOptimizer().optimize(half));
+    }
+
+    @Test
+    public void testRenderingHint() {
+        TiledImage source = createImage();
+        RenderingHints hints = new RenderingHints(
+                ImageN.KEY_GRAPH_OPTIMIZER, new RenderedOpOptimizer(List.of(new SubsampleRewrite())));
+        RenderedOp half = SubsampleAverageDescriptor.create(source, 0.5, 0.5, hints);
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, hints);
+
+        RenderedOp expected = SubsampleAverageDescriptor.create(source, 0.25, 0.25, null);
+        assertEquals(expected.getBounds(), quarter.getBounds());
+        Raster e = expected.getData();
+        Raster a = quarter.getData();
+        assertArrayEquals(
+                e.getSamples(0, 0, e.getWidth(), e.getHeight(), 0, (int[]) null),
+                a.getSamples(0, 0, a.getWidth(), a.getHeight(), 0, (int[]) null));
+
+        // The intermediate node was skipped
+        assertNull(half.getCurrentRendering());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullNode() {
+        new RenderedOpOptimizer().explain(null);
+    }
+}
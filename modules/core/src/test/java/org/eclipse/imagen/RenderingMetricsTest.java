@@ -0,0 +1,191 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import org.eclipse.imagen.media.opimage.SubsampleAverageOpImage;
+import org.eclipse.imagen.operator.SubsampleAverageDescriptor;
+import org.junit.After;
+import org.junit.Test;
+
+public class RenderingMetricsTest {
+
+    /** A cached synthetic source. */
+    private static class GradientOpImage extends SourcelessOpImage {
+
+        GradientOpImage(SampleModel sm) {
+            super(
+                    new ImageLayout(0, 0, 256, 256, 0, 0, 32, 32, sm, null),
+                    Collections.singletonMap(
+                            ImageN.KEY_TILE_CACHE, ImageN.getDefaultInstance().getTileCache()),
+                    sm,
+                    0,
+                    0,
+                    256,
+                    256);
+        }
+
+        @Override
+        protected void computeRect(PlanarImage[] sources, WritableRaster dest, Rectangle destRect) {
+            for (int y = destRect.y; y < destRect.y + destRect.height; y++) {
+                for (int x = destRect.x; x < destRect.x + destRect.width; x++) {
+                    dest.setSample(x, y, 0, (x + y) & 0xFF);
+                }
+            }
+        }
+    }
+
+    /** Records what it receives. */
+    private static class RecordingListener implements RenderingMetrics.Listener {
+
+        final List<OpImage> computed = new ArrayList<>();
+
+        final List<TileTrace> traces = new ArrayList<>();
+
+        public void tileComputed(
+                OpImage image, int tileX, int tileY, long computeNanos, long sourceWaitNanos, long bytes) {
+            computed.add(image);
+            assertTrue(computeNanos >= 0);
+            assertEquals(32 * 32, bytes);
+        }
+
+        public void traceCompleted(TileTrace trace) {
+            traces.add(trace);
+        }
+    }
+
+    private final RecordingListener listener = new RecordingListener();
+
+    private static RenderedOp[] createChain() {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 32, 32, 1);
+        ImageLayout layout = new ImageLayout().setTileWidth(32).setTileHeight(32);
+        RenderingHints hints = new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+        RenderedOp half = SubsampleAverageDescriptor.create(new GradientOpImage(sm), 0.5, 0.5, hints);
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, hints);
+        return new RenderedOp[] {half, quarter};
+    }
+
+    @After
+    public void disable() {
+        RenderingMetrics.setEnabled(false);
+        RenderingMetrics.setTraceSampling(0);
+        RenderingMetrics.removeListener(listener);
+        RenderingMetrics.reset();
+    }
+
+    @Test
+    public void testNodeMetrics() {
+        RenderedOp[] chain = createChain();
+        RenderedOp half = chain[0];
+        RenderedOp quarter = chain[1];
+        quarter.getRendering();
+
+        RenderingMetrics.addListener(listener);
+        RenderingMetrics.setEnabled(true);
+        quarter.getTile(0, 0);
+        quarter.getTile(0, 0);
+
+        NodeMetrics quarterMetrics = RenderingMetrics.getMetrics(quarter);
+        NodeMetrics halfMetrics = RenderingMetrics.getMetrics(half);
+        assertEquals(1, quarterMetrics.getCacheMisses());
+        assertEquals(1, quarterMetrics.getCacheHits());
+        assertEquals(32 * 32, quarterMetrics.getBytesAllocated());
+        assertTrue(quarterMetrics.getSourceWaitNanos() > 0);
+        assertTrue(halfMetrics.getCacheMisses() >= 4);
+        assertEquals(0, halfMetrics.getFailures());
+        assertTrue(quarterMetrics.getName().startsWith("SubsampleAverageOpImage@"));
+
+        long[] histogram = quarterMetrics.getLatencyHistogram();
+        assertEquals(NodeMetrics.NUM_BUCKETS, histogram.length);
+        assertEquals(1, histogram[NodeMetrics.bucket(quarterMetrics.getComputeNanos() / 1000)]);
+        assertTrue(quarterMetrics.getMedianMicros() * 1000 >= quarterMetrics.getComputeNanos());
+
+        Map<String, NodeMetrics> operations = RenderingMetrics.getOperationMetrics();
+        NodeMetrics subsample = operations.get(SubsampleAverageOpImage.class.getName());
+        NodeMetrics gradient = operations.get(GradientOpImage.class.getName());
+        assertEquals(1 + halfMetrics.getCacheMisses(), subsample.getCacheMisses());
+        assertTrue(gradient.getCacheMisses() >= 16);
+
+        // The listener was told about each computed tile, sources first
+        assertEquals(subsample.getCacheMisses() + gradient.getCacheMisses(), listener.computed.size());
+        assertSame(quarter.getCurrentRendering(), listener.computed.get(listener.computed.size() - 1));
+
+        // Nothing is recorded once disabled
+        RenderingMetrics.setEnabled(false);
+        quarter.getTile(1, 1);
+        quarter.getTile(0, 0);
+        assertEquals(1, quarterMetrics.getCacheMisses());
+        assertEquals(1, quarterMetrics.getCacheHits());
+    }
+
+    @Test
+    public void testTrace() {
+        RenderedOp quarter = createChain()[1];
+        quarter.getRendering();
+
+        RenderingMetrics.addListener(listener);
+        RenderingMetrics.setTraceSampling(2);
+        RenderingMetrics.setEnabled(true);
+        quarter.getTile(0, 0);
+        quarter.getTile(1, 0);
+        assertEquals(1, listener.traces.size());
+
+        TileTrace trace = listener.traces.get(0);
+        assertFalse(trace.isCached());
+        assertTrue(trace.getImageName().startsWith("SubsampleAverageOpImage@"));
+        assertTrue(trace.getChildren().size() >= 4);
+        assertTrue(trace.getSelfNanos() <= trace.getDurationNanos());
+        for (TileTrace child : trace.getChildren()) {
+            assertTrue(child.getStartNanos() >= trace.getStartNanos());
+            if (!child.isCached()) {
+                assertFalse(child.getChildren().isEmpty());
+            }
+        }
+        assertTrue(trace.toString().contains("\n  SubsampleAverageOpImage@"));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RenderingMetrics.OBJECT_NAME);
+        RenderingMetrics.registerMBean();
+        try {
+            RenderingMetrics.registerMBean();
+            assertTrue(server.isRegistered(name));
+            assertEquals(Boolean.FALSE, server.getAttribute(name, "Enabled"));
+
+            RenderingMetrics.setEnabled(true);
+            createChain()[1].getTile(0, 0);
+            assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+            TabularData operations = (TabularData) server.getAttribute(name, "OperationMetrics");
+            assertEquals(2, operations.size());
+
+            server.invoke(name, "reset", null, null);
+            assertTrue(RenderingMetrics.getOperationMetrics().isEmpty());
+        } finally {
+            RenderingMetrics.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
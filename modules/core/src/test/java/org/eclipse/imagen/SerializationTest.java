@@ -16,6 +16,7 @@ import java.awt.color.ColorSpace;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.*;
 import java.io.*;
+import org.eclipse.imagen.media.serialize.ColorModelState;
 import org.eclipse.imagen.media.serialize.SerializableState;
 import org.eclipse.imagen.media.serialize.SerializerFactory;
 import org.junit.BeforeClass;
@@ -146,6 +147,37 @@ public class SerializationTest {
         assertEquals(hints.size(), rh.size());
     }
 
+    @Test
+    public void testRenderingHintsSkipped() throws Exception {
+        // Keys which are not declared in RenderingHints or ImageN, and values which cannot be serialized, are dropped
+        RenderingHints.Key custom = new RenderingHints.Key(42) {
+            @Override
+            public boolean isCompatibleValue(Object val) {
+                return true;
+            }
+        };
+        RenderingHints skipped = (RenderingHints) hints.clone();
+        skipped.put(custom, "value");
+        skipped.put(ImageN.KEY_TILE_CACHE, ImageN.createTileCache());
+        skipped.put(ImageN.KEY_TILE_CACHE_METRIC, Integer.valueOf(3));
+
+        byte[] bytes;
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(SerializerFactory.getState(skipped, null));
+            oos.flush();
+            bytes = bos.toByteArray();
+        }
+
+        RenderingHints restored;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            restored = (RenderingHints) ((SerializableState) ois.readObject()).getObject();
+        }
+        assertEquals(hints.size() + 1, restored.size());
+        assertEquals(hints.get(RenderingHints.KEY_INTERPOLATION), restored.get(RenderingHints.KEY_INTERPOLATION));
+        assertEquals(Integer.valueOf(3), restored.get(ImageN.KEY_TILE_CACHE_METRIC));
+    }
+
     private static class SMCMHolder implements Serializable {
         private static final long serialVersionUID = 1L;
 
@@ -196,4 +228,72 @@ public class SerializationTest {
         assertEquals(holder.colorModel.getNumComponents(), restored.colorModel.getNumComponents());
         assertEquals(holder.colorModel.getTransferType(), restored.colorModel.getTransferType());
     }
+
+    @Test
+    public void testFactoryRaster() throws Exception {
+        // Raster.createInterleavedRaster() returns a sun.awt.image.ByteInterleavedRaster
+        WritableRaster raster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, 4, 3, 2, new Point(5, 6));
+        assertNotEquals(WritableRaster.class, raster.getClass());
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 4; x++) {
+                raster.setSample(5 + x, 6 + y, 0, x + y);
+                raster.setSample(5 + x, 6 + y, 1, x * y);
+            }
+        }
+
+        byte[] bytes;
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(SerializerFactory.getState(raster, null));
+            oos.flush();
+            bytes = bos.toByteArray();
+        }
+
+        Raster restored;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            restored = (Raster) ((SerializableState) ois.readObject()).getObject();
+        }
+        assertEquals(raster.getBounds(), restored.getBounds());
+        assertArrayEquals(raster.getPixels(5, 6, 4, 3, (int[]) null), restored.getPixels(5, 6, 4, 3, (int[]) null));
+    }
+
+    @Test
+    public void testMultiPixelPackedSampleModel() throws Exception {
+        // The transfer type of 4 bit pixels is TYPE_BYTE whatever the data type
+        MultiPixelPackedSampleModel packed = new MultiPixelPackedSampleModel(DataBuffer.TYPE_USHORT, 43, 5, 4, 12, 8);
+
+        byte[] bytes;
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(SerializerFactory.getState(packed, null));
+            oos.flush();
+            bytes = bos.toByteArray();
+        }
+
+        MultiPixelPackedSampleModel restored;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            restored = (MultiPixelPackedSampleModel) ((SerializableState) ois.readObject()).getObject();
+        }
+        assertEquals(packed, restored);
+        assertEquals(DataBuffer.TYPE_USHORT, restored.getDataType());
+    }
+
+    @Test
+    public void testSubclassRejected() {
+        // ColorModelState does not permit subclasses of the supported color models
+        byte[] levels = {0, (byte) 128, (byte) 255};
+        IndexColorModel subclass = new IndexColorModel(8, 3, levels, levels, levels) {};
+        try {
+            SerializerFactory.getState(subclass, null);
+            fail("An IndexColorModel subclass should not be serializable");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new ColorModelState(IndexColorModel.class, subclass, null);
+            fail("ColorModelState should reject an IndexColorModel subclass");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
 }
@@ -0,0 +1,133 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class StatisticsSamplingTest {
+
+    /** Counts the pixels it is given, and the tiles they come from. */
+    private static class CountingOpImage extends StatisticsOpImage {
+
+        CountingOpImage(TiledImage source, StatisticsSampling sampling) {
+            super(source, null, source.getMinX(), source.getMinY(), 1, 1, sampling);
+        }
+
+        protected String[] getStatisticsNames() {
+            return new String[] {"count"};
+        }
+
+        protected Object createStatistics(String name) {
+            return new long[2];
+        }
+
+        protected void accumulateStatistics(String name, Raster source, Object stats) {
+            long[] counts = (long[]) stats;
+            counts[0]++;
+            counts[1] += (long) source.getWidth() * source.getHeight();
+        }
+    }
+
+    private static TiledImage createImage(int width, int height, int tileSize) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, tileSize, tileSize, 1);
+        return new TiledImage(0, 0, width, height, 0, 0, sm, null);
+    }
+
+    private static List<Point> grid(int numX, int numY) {
+        List<Point> tiles = new ArrayList<>();
+        for (int y = 0; y < numY; y++) {
+            for (int x = 0; x < numX; x++) {
+                tiles.add(new Point(x, y));
+            }
+        }
+        return tiles;
+    }
+
+    @Test
+    public void testSelectionIsSeeded() {
+        List<Point> tiles = grid(20, 10);
+        for (StatisticsSampling.Mode mode : StatisticsSampling.Mode.values()) {
+            List<Point> first = new StatisticsSampling(mode, 16, 42, null).selectTiles(tiles, 0, 0, 20, 10);
+            List<Point> second = new StatisticsSampling(mode, 16, 42, null).selectTiles(tiles, 0, 0, 20, 10);
+            assertEquals(16, first.size());
+            assertEquals(16, new HashSet<>(first).size());
+            assertEquals(first, second);
+        }
+    }
+
+    @Test
+    public void testStratifiedCoverage() {
+        List<Point> tiles = grid(16, 16);
+        List<Point> selected = StatisticsSampling.stratified(16, 7).selectTiles(tiles, 0, 0, 16, 16);
+        assertEquals(16, selected.size());
+
+        // One tile in each 4x4 block of tiles
+        Set<Integer> cells = new HashSet<>();
+        for (Point p : selected) {
+            cells.add((p.y / 4) * 4 + p.x / 4);
+        }
+        assertEquals(16, cells.size());
+    }
+
+    @Test
+    public void testStratifiedTopUp() {
+        // Only the first row of tiles is a candidate (e.g. due to a ROI)
+        List<Point> tiles = grid(10, 1);
+        List<Point> selected = StatisticsSampling.stratified(6, 1).selectTiles(tiles, 0, 0, 10, 10);
+        assertEquals(6, selected.size());
+        assertEquals(6, new HashSet<>(selected).size());
+    }
+
+    @Test
+    public void testErrorBound() {
+        assertEquals(0, StatisticsSampling.errorBound(100, 100), 0);
+        assertEquals(1, StatisticsSampling.errorBound(0, 100), 0);
+        double previous = 1;
+        for (int n = 1; n < 100; n++) {
+            double bound = StatisticsSampling.errorBound(n, 100);
+            assertTrue(bound <= previous);
+            previous = bound;
+        }
+    }
+
+    @Test
+    public void testProgressiveAccumulation() {
+        TiledImage image = createImage(1000, 1000, 100);
+        List<Double> bounds = new ArrayList<>();
+        StatisticsSampling sampling = StatisticsSampling.stratified(9, 3)
+                .withListener((op, name, stats, processed, sampled, total, errorBound) -> {
+                    assertEquals("count", name);
+                    assertEquals(processed, ((long[]) stats)[0]);
+                    assertEquals(9, sampled);
+                    assertEquals(100, total);
+                    bounds.add(errorBound);
+                });
+
+        long[] counts = (long[]) new CountingOpImage(image, sampling).getProperty("count");
+        assertEquals(9, counts[0]);
+        assertEquals(9 * 100 * 100, counts[1]);
+        assertEquals(9, bounds.size());
+        assertTrue(bounds.get(8) < bounds.get(0));
+
+        // Without sampling every tile is visited
+        counts = (long[]) new CountingOpImage(image, null).getProperty("count");
+        assertEquals(100, counts[0]);
+    }
+}
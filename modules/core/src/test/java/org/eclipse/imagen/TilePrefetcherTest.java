@@ -0,0 +1,181 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.imagen.operator.SubsampleAverageDescriptor;
+import org.junit.Test;
+
+public class TilePrefetcherTest {
+
+    /** A synthetic image reported as I/O bound, standing for a reader. */
+    private static class ReaderOpImage extends SourcelessOpImage {
+
+        ReaderOpImage(SampleModel sm) {
+            super(
+                    new ImageLayout(0, 0, 256, 256, 0, 0, 32, 32, sm, null),
+                    Collections.singletonMap(
+                            ImageN.KEY_TILE_CACHE, ImageN.getDefaultInstance().getTileCache()),
+                    sm,
+                    0,
+                    0,
+                    256,
+                    256);
+        }
+
+        @Override
+        public int getOperationComputeType() {
+            return OP_IO_BOUND;
+        }
+
+        @Override
+        protected void computeRect(PlanarImage[] sources, WritableRaster dest, Rectangle destRect) {
+            for (int y = destRect.y; y < destRect.y + destRect.height; y++) {
+                for (int x = destRect.x; x < destRect.x + destRect.width; x++) {
+                    dest.setSample(x, y, 0, (x * 7 + y * 3) & 0xFF);
+                }
+            }
+        }
+    }
+
+    private static RenderingHints tileHints() {
+        ImageLayout layout = new ImageLayout().setTileWidth(32).setTileHeight(32);
+        return new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+    }
+
+    private static SampleModel sampleModel() {
+        return RasterFactory.createPixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, 32, 32, 1);
+    }
+
+    /** The union of the tiles of the source of an image the given tiles depend on. */
+    private static Set<Point> dependencies(RenderedOp image, Set<Point> tiles) {
+        OpImage rendering = (OpImage) image.getRendering();
+        Set<Point> result = new HashSet<>();
+        for (Point tile : tiles) {
+            result.addAll(Arrays.asList(rendering.getTileDependencies(tile.x, tile.y, 0)));
+        }
+        return result;
+    }
+
+    private static int[] samples(Raster raster) {
+        return raster.getSamples(
+                raster.getMinX(), raster.getMinY(), raster.getWidth(), raster.getHeight(), 0, (int[]) null);
+    }
+
+    @Test
+    public void testPlanAndExecute() throws Exception {
+        ReaderOpImage reader = new ReaderOpImage(sampleModel());
+        RenderedOp half = SubsampleAverageDescriptor.create(reader, 0.5, 0.5, tileHints());
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, tileHints());
+
+        // Executors running the tasks at once, recording which one ran them
+        List<String> runs = new ArrayList<>();
+        TilePrefetcher prefetcher = new TilePrefetcher(
+                r -> {
+                    runs.add("io");
+                    r.run();
+                },
+                r -> {
+                    runs.add("compute");
+                    r.run();
+                });
+
+        Point[] viewport = {new Point(0, 0), new Point(1, 0)};
+        Set<Point> halfTiles = dependencies(quarter, new HashSet<>(Arrays.asList(viewport)));
+        Set<Point> readerTiles = dependencies(half, halfTiles);
+        TilePrefetcher.Plan plan = prefetcher.plan(quarter, viewport);
+        assertEquals(2, plan.getNumTiles(quarter));
+        assertEquals(halfTiles.size(), plan.getNumTiles(half));
+        assertEquals(readerTiles.size(), plan.getNumTiles(reader));
+        assertEquals(2 + halfTiles.size() + readerTiles.size(), plan.getNumTiles());
+        assertEquals(readerTiles.size(), plan.getNumLeafTiles());
+        assertEquals(readerTiles.size(), plan.getNumIOTiles());
+        assertEquals(0, plan.getNumCachedTiles());
+
+        // The reads are all started before the computations
+        List<CompletableFuture<Raster>> futures = plan.execute();
+        assertEquals(2, futures.size());
+        assertEquals(plan.getNumTiles(), runs.size());
+        assertEquals(readerTiles.size(), runs.lastIndexOf("io") + 1);
+        try {
+            plan.execute();
+            fail("A plan is executed once");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // The tiles of the chain are cached, the returned ones are the tiles of the sink
+        OpImage halfRendering = (OpImage) half.getCurrentRendering();
+        for (Point tile : halfTiles) {
+            assertNotNull(halfRendering.getTileFromCache(tile.x, tile.y));
+        }
+        for (int i = 0; i < viewport.length; i++) {
+            Raster expected = quarter.getTile(viewport[i].x, viewport[i].y);
+            Raster actual = futures.get(i).get();
+            assertEquals(expected.getBounds(), actual.getBounds());
+            assertArrayEquals(samples(expected), samples(actual));
+        }
+
+        // The walk stops at cached tiles
+        Set<Point> halfAgain = dependencies(quarter, Collections.singleton(new Point(0, 1)));
+        Set<Point> halfMissing = new HashSet<>(halfAgain);
+        halfMissing.removeAll(halfTiles);
+        Set<Point> readerAgain = dependencies(half, halfMissing);
+        TilePrefetcher.Plan again = prefetcher.plan(quarter, new Point[] {new Point(0, 0), new Point(0, 1)});
+        assertEquals(2 + halfAgain.size() + readerAgain.size(), again.getNumTiles());
+        assertEquals(readerAgain.size(), again.getNumTiles(reader));
+        readerAgain.retainAll(readerTiles);
+        assertEquals(1 + halfAgain.size() - halfMissing.size() + readerAgain.size(), again.getNumCachedTiles());
+    }
+
+    @Test
+    public void testThreadPools() throws Exception {
+        TiledImage source = new TiledImage(0, 0, 256, 256, 0, 0, sampleModel(), null);
+        source.setData(new ReaderOpImage(sampleModel()).getData());
+        RenderedOp half = SubsampleAverageDescriptor.create(source, 0.5, 0.5, tileHints());
+        RenderedOp quarter = SubsampleAverageDescriptor.create(half, 0.5, 0.5, tileHints());
+
+        ExecutorService io = Executors.newFixedThreadPool(2);
+        ExecutorService compute = Executors.newFixedThreadPool(3);
+        try {
+            TilePrefetcher prefetcher = new TilePrefetcher(io, compute);
+            Point[] all = quarter.getTileIndices(quarter.getBounds());
+            TilePrefetcher.Plan plan = prefetcher.plan(quarter, all);
+            assertEquals(0, plan.getNumIOTiles());
+            List<CompletableFuture<Raster>> futures = plan.execute();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+            for (int i = 0; i < all.length; i++) {
+                assertEquals(
+                        quarter.getTileRect(all[i].x, all[i].y),
+                        futures.get(i).get().getBounds());
+            }
+        } finally {
+            io.shutdown();
+            compute.shutdown();
+        }
+    }
+}
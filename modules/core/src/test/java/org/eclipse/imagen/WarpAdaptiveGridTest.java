@@ -0,0 +1,100 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen;
+
+import static org.junit.Assert.*;
+
+import java.awt.geom.AffineTransform;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+/** Unit tests for the WarpAdaptiveGrid class. */
+public class WarpAdaptiveGridTest {
+
+    /** A smooth non linear warp counting the positions it computes. */
+    private static class WaveWarp extends Warp {
+
+        final AtomicLong count = new AtomicLong();
+
+        @Override
+        public float[] warpSparseRect(int x, int y, int width, int height, int periodX, int periodY, float[] dest) {
+            int stride = 2 * ((width + periodX - 1) / periodX);
+            if (dest == null) {
+                dest = new float[stride * ((height + periodY - 1) / periodY)];
+            }
+            int index = 0;
+            for (int j = y; j < y + height; j += periodY) {
+                for (int i = x; i < x + width; i += periodX) {
+                    double px = i + 0.5;
+                    double py = j + 0.5;
+                    dest[index++] = (float) (px * 0.9 + 6 * Math.sin(py / 40.0) - 0.5);
+                    dest[index++] = (float) (py * 1.1 + 4 * Math.cos(px / 25.0) + 0.001 * px * py - 0.5);
+                    count.incrementAndGet();
+                }
+            }
+            return dest;
+        }
+    }
+
+    private static float maxError(Warp exact, Warp approx, int x, int y, int w, int h, int period) {
+        float[] e = exact.warpSparseRect(x, y, w, h, period, period, null);
+        float[] a = approx.warpSparseRect(x, y, w, h, period, period, null);
+        assertEquals(e.length, a.length);
+        float max = 0;
+        for (int i = 0; i < e.length; i += 2) {
+            max = Math.max(max, (float) Math.hypot(e[i] - a[i], e[i + 1] - a[i + 1]));
+        }
+        return max;
+    }
+
+    @Test
+    public void testAffineIsExact() {
+        WarpAffine affine = new WarpAffine(new AffineTransform(1.7, 0.3, -0.2, 0.6, 12, -7));
+        WarpAdaptiveGrid grid = new WarpAdaptiveGrid(affine, 0.01);
+        // Up to the float rounding of WarpAffine
+        assertEquals(0, maxError(affine, grid, -37, 20, 300, 150, 1), 5e-3);
+    }
+
+    @Test
+    public void testToleranceAndCost() {
+        WaveWarp exact = new WaveWarp();
+        WarpAdaptiveGrid grid = new WarpAdaptiveGrid(new WaveWarp(), 0.125);
+
+        // Unaligned region, row by row as done by the warp operations
+        float max = 0;
+        for (int y = -50; y < 450; y++) {
+            max = Math.max(max, maxError(exact, grid, -13, y, 517, 1, 1));
+        }
+        assertTrue("error " + max, max < 0.2f);
+
+        // The master warp is evaluated on a small fraction of the pixels
+        long evaluations = ((WaveWarp) grid.getMaster()).count.get();
+        assertTrue("evaluations " + evaluations, evaluations < 517 * 500 / 5);
+    }
+
+    @Test
+    public void testSubsampledAndMinimumCells() {
+        WaveWarp exact = new WaveWarp();
+
+        // With a tiny tolerance most cells fall back to the master warp
+        WarpAdaptiveGrid grid = new WarpAdaptiveGrid(exact, 1e-6, 16);
+        assertEquals(16, grid.getBlockSize());
+        assertEquals(0, maxError(exact, grid, 5, 7, 101, 63, 3), 1e-3);
+
+        grid = new WarpAdaptiveGrid(exact, 0.125, 100);
+        assertEquals(128, grid.getBlockSize());
+        assertTrue(maxError(exact, grid, 5, 7, 301, 263, 4) < 0.2f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTolerance() {
+        new WarpAdaptiveGrid(new WaveWarp(), 0);
+    }
+}
@@ -39,6 +39,11 @@ import org.eclipse.imagen.registry.RenderedRegistryMode;
  *
  * <p>Users may also define a ROI and a NoData Range for reducing computation area or masking unwanted pixel values.
  *
+ * <p>The "parallelism" parameter sets the maximum number of rows computed concurrently. The rows then progress as a
+ * wavefront and the result is identical to the sequential computation. The "serpentine" parameter scans every other row
+ * from right to left with a mirrored error filter, which reduces the directional artifacts of the filter; rows scanned
+ * this way are computed sequentially.
+ *
  * <p>
  *
  * <table border=1>
@@ -91,6 +96,14 @@ import org.eclipse.imagen.registry.RenderedRegistryMode;
  * <td>arg4Desc</td>
  * <td>Destination No Data value used when the computation cannot be performed.</td>
  * </tr>
+ * <tr>
+ * <td>arg5Desc</td>
+ * <td>Maximum number of rows computed concurrently.</td>
+ * </tr>
+ * <tr>
+ * <td>arg6Desc</td>
+ * <td>Boolean indicating if every other row is scanned from right to left.</td>
+ * </tr>
  * </table>
  *
  * <p>
@@ -122,6 +135,14 @@ import org.eclipse.imagen.registry.RenderedRegistryMode;
  * <td>destNoData</td>
  * <td>Integer</td>
  * <td>0</td>
+ * <tr>
+ * <td>parallelism</td>
+ * <td>Integer</td>
+ * <td>1</td>
+ * <tr>
+ * <td>serpentine</td>
+ * <td>Boolean</td>
+ * <td>false</td>
  * </table>
  */
 public class ErrorDiffusionDescriptor extends OperationDescriptorImpl {
@@ -142,10 +163,14 @@ public class ErrorDiffusionDescriptor extends OperationDescriptorImpl {
         {"arg2Desc", JaiI18N.getString("ErrorDiffusionDescriptor3")},
         {"arg3Desc", JaiI18N.getString("ErrorDiffusionDescriptor4")},
         {"arg4Desc", JaiI18N.getString("ErrorDiffusionDescriptor5")},
+        {"arg5Desc", JaiI18N.getString("ErrorDiffusionDescriptor7")},
+        {"arg6Desc", JaiI18N.getString("ErrorDiffusionDescriptor8")},
     };
 
     /** The parameter names for the "ErrorDiffusion" operation. */
-    private static final String[] paramNames = {"colorMap", "errorKernel", "roi", "nodata", "destNoData"};
+    private static final String[] paramNames = {
+        "colorMap", "errorKernel", "roi", "nodata", "destNoData", "parallelism", "serpentine"
+    };
 
     /** The parameter class types for the "ErrorDiffusion" operation. */
     private static final Class[] paramClasses = {
@@ -153,7 +178,9 @@ public class ErrorDiffusionDescriptor extends OperationDescriptorImpl {
         KernelImageN.class,
         org.eclipse.imagen.ROI.class,
         org.eclipse.imagen.media.range.Range.class,
-        Integer.class
+        Integer.class,
+        Integer.class,
+        Boolean.class
     };
 
     /** The parameter default values for the "ErrorDiffusion" operation. */
@@ -163,7 +190,9 @@ public class ErrorDiffusionDescriptor extends OperationDescriptorImpl {
         KernelImageN.ERROR_FILTER_FLOYD_STEINBERG,
         null,
         null,
-        0
+        0,
+        1,
+        Boolean.FALSE
     };
 
     /** Constructor. */
@@ -212,4 +241,52 @@ public class ErrorDiffusionDescriptor extends OperationDescriptorImpl {
 
         return ImageN.create("ErrorDiffusion", pb, hints);
     }
+
+    /**
+     * Performs error diffusion color quantization computing up to <code>parallelism</code> rows concurrently.
+     *
+     * <p>Creates a <code>ParameterBlockImageN</code> from all supplied arguments except <code>hints</code> and invokes
+     * {@link ImageN#create(String,ParameterBlock,RenderingHints)}.
+     *
+     * @see ImageN
+     * @see ParameterBlockImageN
+     * @see RenderedOp
+     * @param source0 <code>RenderedImage</code> source 0.
+     * @param colorMap The color map.
+     * @param errorKernel The error filter kernel. May be <code>null</code>.
+     * @param roi The optional ROI to use in computation. May be <code>null</code>.
+     * @param nodata A range used for checking if a pixel is nodata. May be <code>null</code>.
+     * @param destNoData Value for the destination NoData to set (in the source image colorspace). May be <code>null
+     *     </code>.
+     * @param parallelism The maximum number of rows computed concurrently, 1 for a sequential computation.
+     * @param serpentine Whether every other row is scanned from right to left.
+     * @param hints The <code>RenderingHints</code> to use. May be <code>null</code>.
+     * @return The <code>RenderedOp</code> destination.
+     * @throws IllegalArgumentException if <code>source0</code> is <code>null</code>.
+     * @throws IllegalArgumentException if <code>colorMap</code> is <code>null</code>.
+     */
+    public static RenderedOp create(
+            RenderedImage source0,
+            LookupTableImageN colorMap,
+            KernelImageN errorKernel,
+            ROI roi,
+            Range nodata,
+            double[] destNoData,
+            int parallelism,
+            boolean serpentine,
+            RenderingHints hints) {
+        ParameterBlockImageN pb = new ParameterBlockImageN("ErrorDiffusion", RenderedRegistryMode.MODE_NAME);
+        // Setting source
+        pb.setSource("source0", source0);
+        // Setting parameters
+        pb.setParameter("colorMap", colorMap);
+        pb.setParameter("errorKernel", errorKernel);
+        pb.setParameter("roi", roi);
+        pb.setParameter("nodata", nodata);
+        pb.setParameter("destNoData", destNoData);
+        pb.setParameter("parallelism", parallelism);
+        pb.setParameter("serpentine", serpentine);
+
+        return ImageN.create("ErrorDiffusion", pb, hints);
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.eclipse.imagen.media.errordiffusion;
 
+import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
@@ -28,6 +29,12 @@ import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 import java.awt.image.WritableRaster;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import org.eclipse.imagen.ColorCube;
 import org.eclipse.imagen.ImageLayout;
 import org.eclipse.imagen.KernelImageN;
@@ -58,6 +65,14 @@ import org.eclipse.imagen.media.util.JDKWorkarounds;
  *
  * <p>Optionally users may define a ROI and a NoData Range in order to reduce computation area or mask invalid pixel
  * values.S
+ *
+ * <p>When a parallelism greater than one is requested, the rows are computed concurrently as a wavefront: each row
+ * trails the row above it by enough pixels that every error contribution is accumulated in the same order as in the
+ * sequential scan, so the result is bit-identical to it. Source rows are then read on demand into a rolling buffer of
+ * <code>parallelism</code> plus the kernel height rows, instead of cobbling the whole source image. A serpentine scan,
+ * which processes every other row from right to left with a mirrored kernel, can also be requested. Since a row then
+ * needs the whole row above it, serpentine rows are always computed one after the other. The optimized byte Floyd-
+ * Steinberg case is always computed sequentially.
  */
 public class ErrorDiffusionOpImage extends UntiledOpImage {
 
@@ -137,6 +152,25 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
     /** LookupTable used for having a quick check if a pixel is NoData or not */
     private boolean[] lookupTable;
 
+    /**
+     * Threads computing the rows of the wavefront besides the calling thread, shared by all the images. Tasks are never
+     * queued, since the workers of a wavefront wait for each other they must all be running.
+     */
+    private static final ExecutorService WAVEFRONT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "ErrorDiffusionOpImage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Maximum number of rows computed concurrently */
+    private final int parallelism;
+
+    /** Boolean indicating if every other row is scanned from right to left */
+    private final boolean serpentine;
+
+    /** Boolean indicating if the rows are computed by {@link #computeImageWavefront} */
+    private final boolean isWavefront;
+
     /**
      * Determines whether a kernel is the Floyd-Steinberg kernel.
      *
@@ -391,8 +425,36 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
             ROI roi,
             Range nodata,
             int destNoData) {
+        this(source, config, layout, colorMap, errorKernel, roi, nodata, destNoData, 1, false);
+    }
+
+    /**
+     * Constructs an ErrorDiffusionOpImage object computing up to <code>parallelism</code> rows concurrently.
+     *
+     * @param parallelism The maximum number of rows computed concurrently, 1 for a sequential computation.
+     * @param serpentine Whether every other row is scanned from right to left with a mirrored error filter.
+     * @throws IllegalArgumentException if <code>parallelism</code> is not positive.
+     * @see #ErrorDiffusionOpImage(RenderedImage, Map, ImageLayout, LookupTableImageN, KernelImageN, ROI, Range, int)
+     */
+    public ErrorDiffusionOpImage(
+            RenderedImage source,
+            Map config,
+            ImageLayout layout,
+            LookupTableImageN colorMap,
+            KernelImageN errorKernel,
+            ROI roi,
+            Range nodata,
+            int destNoData,
+            int parallelism,
+            boolean serpentine) {
         super(source, config, layoutHelper(layout, source, colorMap));
 
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(JaiI18N.getString("ErrorDiffusionOpImage1"));
+        }
+        this.parallelism = parallelism;
+        this.serpentine = serpentine;
+
         // Get the source sample model.
         SampleModel srcSampleModel = source.getSampleModel();
 
@@ -439,7 +501,11 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
                 && srcSampleModel.getTransferType() == DataBuffer.TYPE_BYTE
                 && numBandsSource == 3
                 && colorMap instanceof ColorCube
-                && isFloydSteinbergKernel(errorKernel));
+                && isFloydSteinbergKernel(errorKernel)
+                && !serpentine);
+
+        // The optimized case has no wavefront version, a sequential scan gives the same output faster
+        isWavefront = serpentine || (parallelism > 1 && !isOptimizedCase);
 
         // Determine minumum and maximum valid pixel values
         switch (colorMap.getDataType()) {
@@ -487,6 +553,22 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
         }
     }
 
+    /**
+     * Computes the single tile of the image. In the wavefront mode the source rows are read on demand, so the source is
+     * not cobbled and <code>computeImage</code> receives a null source <code>Raster</code>.
+     *
+     * @param tileX The X index of the tile.
+     * @param tileY The Y index of the tile.
+     */
+    public Raster computeTile(int tileX, int tileY) {
+        if (!isWavefront) {
+            return super.computeTile(tileX, tileY);
+        }
+        WritableRaster dest = createWritableRaster(sampleModel, new Point(getMinX(), getMinY()));
+        computeImage(new Raster[getNumSources()], dest, getBounds());
+        return dest;
+    }
+
     /**
      * Performs error diffusion on a specified rectangle. The sources are cobbled. As error diffusion must be calculated
      * on a line-by-line basis starting at the upper left corner of the image, all image lines through and including the
@@ -539,7 +621,9 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
             return;
         }
 
-        if (isOptimizedCase) {
+        if (isWavefront) {
+            computeImageWavefront(dest, destRect, roiIter);
+        } else if (isOptimizedCase) {
             computeImageOptimized(source, dest, destRect, roiIter, roiContainsTile);
         } else {
             computeImageDefault(source, dest, destRect, roiIter, roiContainsTile);
@@ -950,6 +1034,261 @@ public class ErrorDiffusionOpImage extends UntiledOpImage {
         }
     }
 
+    /**
+     * Performs error diffusion computing up to <code>parallelism</code> rows concurrently.
+     *
+     * <p>Row <code>r</code> is computed by the worker <code>r % parallelism</code>, the calling thread being the first
+     * worker. A pixel of a row is only computed once the row above has completed the pixels up to <code>
+     * 2 * diffuseRight
+     * + 1</code> positions ahead of it: all the error it receives from the rows above has then been accumulated, in the
+     * same order as in the sequential scan, and the two rows never update the same buffer samples. When the rows above
+     * were scanned in opposite directions, the whole row above must be complete.
+     *
+     * <p>The error is accumulated in a ring of <code>parallelism + diffuseBelow</code> rows. Each row loads the source
+     * row <code>diffuseBelow</code> lines below it into the slot freed by the previous row of its worker.
+     *
+     * @param dest The destination raster.
+     * @param destRect The rectangle within dest to be processed.
+     * @param roiIter An iterator on the ROI image, or null if no pixel must be checked against the ROI.
+     */
+    private void computeImageWavefront(WritableRaster dest, Rectangle destRect, RandomIter roiIter) {
+        // Serpentine rows cannot overlap, see computeRows()
+        final int numThreads = serpentine ? 1 : Math.min(parallelism, height);
+        final int diffuseBelow = errorKernel.getHeight() - errorKernel.getYOrigin() - 1;
+        final int numLinesBuffer = numThreads + diffuseBelow;
+        final float[][] bufMem = new float[numLinesBuffer][width * numBandsSource];
+        final float[][] bufNoData = hasNodata ? new float[numLinesBuffer][width * numBandsSource] : null;
+
+        // Completion of the row r is published in the slot r % numThreads as r * (width + 1) plus the
+        // number of pixels done, which only grows as the worker moves on to its next rows.
+        final AtomicLongArray progress = new AtomicLongArray(numThreads);
+        for (int w = 0; w < numThreads; w++) {
+            progress.set(w, (long) (w - numThreads) * (width + 1) + width);
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // The first rows receiving error are loaded before any worker starts.
+        for (int row = 0; row < Math.min(diffuseBelow, height); row++) {
+            loadLine(row, bufMem, bufNoData);
+        }
+
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[numThreads - 1];
+        for (int w = 1; w < numThreads; w++) {
+            final int first = w;
+            workers[w - 1] = CompletableFuture.runAsync(
+                    () -> computeRows(
+                            first,
+                            numThreads,
+                            bufMem,
+                            bufNoData,
+                            progress,
+                            failure,
+                            dest,
+                            destRect,
+                            roiIter == null
+                                    ? null
+                                    : RandomIterFactory.create(getImage(), null, TILE_CACHED, ARRAY_CALC)),
+                    WAVEFRONT_EXECUTOR);
+        }
+        computeRows(0, numThreads, bufMem, bufNoData, progress, failure, dest, destRect, roiIter);
+        CompletableFuture.allOf(workers).exceptionally(t -> null).join();
+
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /** Loads a source row into the error buffer and, if NoData is checked, into the NoData buffer. */
+    private void loadLine(int row, float[][] bufMem, float[][] bufNoData) {
+        int y = minY + row;
+        float[] line = bufMem[row % bufMem.length];
+        getSourceImage(0).getData(new Rectangle(minX, y, width, 1)).getPixels(minX, y, width, 1, line);
+        if (bufNoData != null) {
+            System.arraycopy(line, 0, bufNoData[row % bufNoData.length], 0, line.length);
+        }
+    }
+
+    /**
+     * Computes the rows <code>first</code>, <code>first + step</code>, ... of the wavefront. If another worker fails,
+     * returns as soon as possible; a failure of this worker is recorded in <code>failure</code>.
+     */
+    private void computeRows(
+            int first,
+            int step,
+            float[][] bufMem,
+            float[][] bufNoData,
+            AtomicLongArray progress,
+            AtomicReference<Throwable> failure,
+            WritableRaster dest,
+            Rectangle destRect,
+            RandomIter roiIter) {
+        try {
+            // Initialize some kernel-dependent constants.
+            int kernelWidth = errorKernel.getWidth();
+            float[] kernelData = errorKernel.getKernelData();
+            int diffuseRight = kernelWidth - errorKernel.getXOrigin() - 1;
+            int diffuseBelow = errorKernel.getHeight() - errorKernel.getYOrigin() - 1;
+            int kernelOffsetRight = errorKernel.getYOrigin() * kernelWidth + errorKernel.getXOrigin() + 1;
+            int kernelOffsetBelow = (errorKernel.getYOrigin() + 1) * kernelWidth;
+
+            // Number of pixels the row above must be ahead of the current one
+            int lag = 2 * diffuseRight + 1;
+            int numLinesBuffer = bufMem.length;
+            long rowStride = width + 1L;
+
+            int startX = minX;
+            int endX = startX + width - 1;
+
+            // Set up some arrays for looping.
+            float[] currentPixel = new float[numBandsSource];
+            float[] currentPixelReal = new float[numBandsSource];
+            float[] qError = new float[numBandsSource];
+            int[] dstData = new int[width];
+
+            for (int row = first; row < height; row += step) {
+                int y = minY + row;
+                if (row + diffuseBelow < height) {
+                    loadLine(row + diffuseBelow, bufMem, bufNoData);
+                }
+                float[] currentLine = bufMem[row % numLinesBuffer];
+                float[] currentLineNoData = bufNoData != null ? bufNoData[row % numLinesBuffer] : null;
+                int lastBelow = Math.min(diffuseBelow, height - 1 - row);
+
+                boolean reverse = serpentine && (row & 1) == 1;
+                // Serpentine rows change direction at each row, the row above must then be complete
+                int rowLag = serpentine ? width : lag;
+                int aboveSlot = (row - 1 + step) % step;
+                long aboveBase = (row - 1) * rowStride;
+                int available = 0;
+
+                for (int i = 0; i < width; i++) {
+                    // Wait for the row above to be far enough ahead.
+                    if (i >= available) {
+                        int done =
+                                awaitRow(progress, aboveSlot, aboveBase, Math.min(i + rowLag, width), width, failure);
+                        if (done < 0) {
+                            return;
+                        }
+                        available = done == width ? width : done - rowLag + 1;
+                    }
+
+                    int x = reverse ? endX - i : startX + i;
+                    int z = (x - startX) * numBandsSource;
+
+                    // Copy all samples of the current pixel.
+                    boolean isNodata = false;
+                    for (int b = 0; b < numBandsSource; b++) {
+                        currentPixel[b] = currentLine[z + b];
+
+                        // Clamp the current sample to the valid range
+                        if (currentPixel[b] < minPixelValue || currentPixel[b] > maxPixelValue) {
+                            currentPixel[b] = java.lang.Math.max(currentPixel[b], minPixelValue);
+                            currentPixel[b] = java.lang.Math.min(currentPixel[b], maxPixelValue);
+                        }
+                        if (currentLineNoData != null) {
+                            currentPixelReal[b] = currentLineNoData[z + b];
+
+                            // Clamp the current sample to the valid range
+                            if (currentPixelReal[b] < minPixelValue || currentPixelReal[b] > maxPixelValue) {
+                                currentPixelReal[b] = java.lang.Math.max(currentPixelReal[b], minPixelValue);
+                                currentPixelReal[b] = java.lang.Math.min(currentPixelReal[b], maxPixelValue);
+                            }
+                            // NoData Check
+                            isNodata |= nodata.contains(currentPixelReal[b]);
+                        }
+                    }
+
+                    // Find the index of the nearest color in the map.
+                    int nearestIndex = colorMap.findNearestEntry(currentPixel);
+
+                    // Check against ROI
+                    boolean inROI = roiIter == null || inROI(roiIter, y, x);
+                    // Save the index in the output data buffer.
+                    dstData[x - startX] = inROI && !isNodata ? nearestIndex : destNoData;
+
+                    // Calculate the error between the nearest and actual
+                    // colors.
+                    boolean isQuantizationError = false;
+                    for (int b = 0; b < numBandsSource; b++) {
+                        qError[b] = currentPixel[b] - colorMap.lookupFloat(b, nearestIndex);
+                        if (qError[b] != 0.0F) {
+                            isQuantizationError = true;
+                        }
+                    }
+
+                    // If there was error in at least one band, distribute it, mirroring the
+                    // kernel on reversed rows.
+                    if (isQuantizationError && !isNodata && inROI) {
+                        int direction = reverse ? -numBandsSource : numBandsSource;
+
+                        // Distribute error to the right of key entry.
+                        int rightCount = Math.min(diffuseRight, reverse ? x - startX : endX - x);
+                        int kernelOffset = kernelOffsetRight;
+                        int sampleOffset = z + direction;
+                        for (int u = 1; u <= rightCount; u++) {
+                            for (int b = 0; b < numBandsSource; b++) {
+                                currentLine[sampleOffset + b] += qError[b] * kernelData[kernelOffset];
+                            }
+                            sampleOffset += direction;
+                            kernelOffset++;
+                        }
+
+                        // Distribute error below key entry.
+                        int offsetLeft = Math.min(reverse ? endX - x : x - startX, diffuseRight);
+                        int count = Math.min(x + diffuseRight, endX) - Math.max(x - diffuseRight, startX) + 1;
+                        for (int v = 1; v <= lastBelow; v++) {
+                            float[] line = bufMem[(row + v) % numLinesBuffer];
+                            kernelOffset = kernelOffsetBelow;
+                            sampleOffset = z - offsetLeft * direction;
+                            for (int u = 1; u <= count; u++) {
+                                for (int b = 0; b < numBandsSource; b++) {
+                                    line[sampleOffset + b] += qError[b] * kernelData[kernelOffset];
+                                }
+                                sampleOffset += direction;
+                                kernelOffset++;
+                            }
+                        }
+                    }
+
+                    progress.lazySet(row % step, row * rowStride + i + 1);
+                }
+
+                //
+                // Save data for the current destination line.
+                //
+                dest.setSamples(startX, y, destRect.width, 1, 0, dstData);
+            }
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+    }
+
+    /**
+     * Waits until the row whose progress is published in <code>slot</code> from <code>base</code> has completed at
+     * least <code>count</code> pixels, and returns the number of pixels it has completed, or -1 if a worker failed. The
+     * slot may already hold the progress of a later row, in which case the row is complete.
+     */
+    private static int awaitRow(
+            AtomicLongArray progress, int slot, long base, int count, int width, AtomicReference<Throwable> failure) {
+        long done;
+        for (int spins = 0; (done = progress.get(slot) - base) < count; spins++) {
+            if (failure.get() != null) {
+                return -1;
+            }
+            if (spins < 128) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1000L);
+            }
+        }
+        return (int) Math.min(done, width);
+    }
+
     protected void computeImageOptimized(
             Raster source, WritableRaster dest, Rectangle destRect, RandomIter roiIter, boolean roiContainsTile) {
         // Set X-coordinate range.
@@ -50,7 +50,10 @@ public class ErrorDiffusionRIF implements RenderedImageFactory {
         ROI roi = (ROI) paramBlock.getObjectParameter(2);
         Range nodata = (Range) paramBlock.getObjectParameter(3);
         int destNoData = paramBlock.getIntParameter(4);
+        int parallelism = paramBlock.getIntParameter(5);
+        boolean serpentine = (Boolean) paramBlock.getObjectParameter(6);
 
-        return new ErrorDiffusionOpImage(source, hints, layout, lookupTable, kernel, roi, nodata, destNoData);
+        return new ErrorDiffusionOpImage(
+                source, hints, layout, lookupTable, kernel, roi, nodata, destNoData, parallelism, serpentine);
     }
 }
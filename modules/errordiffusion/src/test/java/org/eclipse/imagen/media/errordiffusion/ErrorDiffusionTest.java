@@ -338,6 +338,116 @@ public class ErrorDiffusionTest extends TestBase {
         assertEquals("ErrorDiffusion", descriptor.getName());
         ParameterListDescriptor parameters = descriptor.getParameterListDescriptor("rendered");
         assertArrayEquals(
-                new String[] {"colorMap", "errorKernel", "roi", "nodata", "destNoData"}, parameters.getParamNames());
+                new String[] {"colorMap", "errorKernel", "roi", "nodata", "destNoData", "parallelism", "serpentine"},
+                parameters.getParamNames());
+    }
+
+    /**
+     * Ensures the wavefront computation gives the same result as the sequential one
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testParallel() throws IOException {
+        float[] data = new float[256];
+        for (int i = 0; i < 256; i++) {
+            data[i] = i;
+        }
+        LookupTableImageN lt = new LookupTableImageN(data);
+        RenderedImage image = getSyntheticShortImage();
+        ROI roi = new ROIShape(new Rectangle(20, 10, 200, 150));
+        Range nodata = RangeFactory.create((short) 5, (short) 5);
+        KernelImageN[] kernels = {
+            KernelImageN.ERROR_FILTER_FLOYD_STEINBERG,
+            KernelImageN.ERROR_FILTER_JARVIS,
+            KernelImageN.ERROR_FILTER_STUCKI,
+            KernelImageN.GRADIENT_MASK_SOBEL_VERTICAL
+        };
+        for (KernelImageN k : kernels) {
+            assertSameResult(image, lt, k, null, null, false);
+            assertSameResult(image, lt, k, roi, null, false);
+            assertSameResult(image, lt, k, null, nodata, false);
+            assertSameResult(image, lt, k, roi, nodata, false);
+            assertSameResult(image, lt, k, roi, nodata, true);
+        }
+
+        // 3 bands with a ColorCube, the Floyd-Steinberg kernel uses the optimized sequential case
+        RenderedImage tiff = getTestTiff();
+        assertSameResult(tiff, ColorCube.BYTE_496, KernelImageN.ERROR_FILTER_JARVIS, null, null, false);
+        assertSameResult(tiff, ColorCube.BYTE_496, KernelImageN.ERROR_FILTER_FLOYD_STEINBERG, null, null, false);
+        assertSameResult(tiff, ColorCube.BYTE_496, KernelImageN.ERROR_FILTER_FLOYD_STEINBERG, null, null, true);
+    }
+
+    /**
+     * Checks the serpentine scan
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSerpentine() throws IOException {
+        ColorCube lt = ColorCube.BYTE_496;
+        KernelImageN k = KernelImageN.ERROR_FILTER_FLOYD_STEINBERG;
+        RenderedImage image = getTestTiff();
+        ROI roi = new ROIShape(
+                new Rectangle(image.getMinX() + 5, image.getMinY() + 5, image.getWidth() / 4, image.getHeight() / 4));
+        Range nodata = RangeFactory.create((byte) 5, (byte) 5);
+
+        RenderedOp serpentine = create(image, lt, k, roi, nodata, 1, true);
+        checkNoDataROI(serpentine, image, roi, nodata);
+        RenderedOp raster = create(image, lt, k, roi, nodata, 1, false);
+        int[] serpentineData =
+                serpentine.getData().getSamples(0, 0, image.getWidth(), image.getHeight(), 0, (int[]) null);
+        int[] rasterData = raster.getData().getSamples(0, 0, image.getWidth(), image.getHeight(), 0, (int[]) null);
+        assertTrue(!java.util.Arrays.equals(serpentineData, rasterData));
+        serpentine.dispose();
+        raster.dispose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new ErrorDiffusionOpImage(
+                getSyntheticShortImage(),
+                null,
+                null,
+                new LookupTableImageN(new byte[] {0, 1}),
+                KernelImageN.ERROR_FILTER_FLOYD_STEINBERG,
+                null,
+                null,
+                0,
+                0,
+                false);
+    }
+
+    /** Checks that computing 4 rows concurrently gives the same result as a sequential computation */
+    private void assertSameResult(
+            RenderedImage image, LookupTableImageN lt, KernelImageN k, ROI roi, Range nodata, boolean serpentine) {
+        RenderedOp sequential = create(image, lt, k, roi, nodata, 1, serpentine);
+        RenderedOp parallel = create(image, lt, k, roi, nodata, 4, serpentine);
+        Rectangle bounds = sequential.getBounds();
+        int[] expected =
+                sequential.getData().getSamples(bounds.x, bounds.y, bounds.width, bounds.height, 0, (int[]) null);
+        int[] actual = parallel.getData().getSamples(bounds.x, bounds.y, bounds.width, bounds.height, 0, (int[]) null);
+        assertArrayEquals(expected, actual);
+        sequential.dispose();
+        parallel.dispose();
+    }
+
+    private RenderedOp create(
+            RenderedImage image,
+            LookupTableImageN lt,
+            KernelImageN k,
+            ROI roi,
+            Range nodata,
+            int parallelism,
+            boolean serpentine) {
+        ParameterBlockImageN pbj = new ParameterBlockImageN("ErrorDiffusion");
+        pbj.addSource(image);
+        pbj.setParameter("errorKernel", k);
+        pbj.setParameter("colorMap", lt);
+        pbj.setParameter("roi", roi);
+        pbj.setParameter("nodata", nodata);
+        pbj.setParameter("parallelism", parallelism);
+        pbj.setParameter("serpentine", serpentine);
+        return ImageN.create("ErrorDiffusion", pbj);
     }
 }
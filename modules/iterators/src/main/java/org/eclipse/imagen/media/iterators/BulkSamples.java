@@ -0,0 +1,270 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.iterators;
+
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import org.eclipse.imagen.PlanarImage;
+
+/**
+ * Bulk copies of the samples of a band of a rectangle of an image, used by the iterators of this package to implement
+ * the <code>getSamples()</code> methods of {@link org.eclipse.imagen.iterator.RandomIter}. The rectangle is split along
+ * the tile grid, and the rows of each tile laid out by a {@link ComponentSampleModel} are copied straight from the bank
+ * arrays, with <code>System.arraycopy</code> when the samples are contiguous and of the requested type.
+ */
+public final class BulkSamples {
+
+    /** Provides the tiles of an image, allowing iterators to reuse the tiles they already hold */
+    @FunctionalInterface
+    public interface TileSource {
+
+        Raster getTile(int tileX, int tileY);
+    }
+
+    private BulkSamples() {}
+
+    /**
+     * Returns the samples of band <code>b</code> of a rectangle of pixels of <code>im</code>, in row-major order, in an
+     * array of int.
+     */
+    public static int[] getSamples(
+            RenderedImage im, TileSource tiles, int x, int y, int w, int h, int b, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[w * h];
+        }
+        copyRect(im, tiles, x, y, w, h, b, iArray);
+        return iArray;
+    }
+
+    /**
+     * Returns the samples of band <code>b</code> of a rectangle of pixels of <code>im</code>, in row-major order, in an
+     * array of float.
+     */
+    public static float[] getSamples(
+            RenderedImage im, TileSource tiles, int x, int y, int w, int h, int b, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[w * h];
+        }
+        copyRect(im, tiles, x, y, w, h, b, fArray);
+        return fArray;
+    }
+
+    /**
+     * Returns the samples of band <code>b</code> of a rectangle of pixels of <code>im</code>, in row-major order, in an
+     * array of double.
+     */
+    public static double[] getSamples(
+            RenderedImage im, TileSource tiles, int x, int y, int w, int h, int b, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[w * h];
+        }
+        copyRect(im, tiles, x, y, w, h, b, dArray);
+        return dArray;
+    }
+
+    private static void copyRect(RenderedImage im, TileSource tiles, int x, int y, int w, int h, int b, Object dst) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        int tileWidth = im.getTileWidth();
+        int tileHeight = im.getTileHeight();
+        int tileGridXOffset = im.getTileGridXOffset();
+        int tileGridYOffset = im.getTileGridYOffset();
+        int minTileX = PlanarImage.XToTileX(x, tileGridXOffset, tileWidth);
+        int maxTileX = PlanarImage.XToTileX(x + w - 1, tileGridXOffset, tileWidth);
+        int minTileY = PlanarImage.YToTileY(y, tileGridYOffset, tileHeight);
+        int maxTileY = PlanarImage.YToTileY(y + h - 1, tileGridYOffset, tileHeight);
+
+        for (int tileY = minTileY; tileY <= maxTileY; tileY++) {
+            int cellY = PlanarImage.tileYToY(tileY, tileGridYOffset, tileHeight);
+            int y0 = Math.max(y, cellY);
+            int y1 = Math.min(y + h, cellY + tileHeight);
+            for (int tileX = minTileX; tileX <= maxTileX; tileX++) {
+                int cellX = PlanarImage.tileXToX(tileX, tileGridXOffset, tileWidth);
+                int x0 = Math.max(x, cellX);
+                int x1 = Math.min(x + w, cellX + tileWidth);
+                copy(tiles.getTile(tileX, tileY), x0, y0, x1 - x0, y1 - y0, b, dst, (y0 - y) * w + x0 - x, w);
+            }
+        }
+    }
+
+    /**
+     * Copies band <code>b</code> of a rectangle of a tile into <code>dst</code>, an int, float or double array, the
+     * first sample going at <code>offset</code> and each row starting <code>stride</code> elements after the previous
+     * one.
+     */
+    static void copy(Raster tile, int x, int y, int w, int h, int b, Object dst, int offset, int stride) {
+        SampleModel sm = tile.getSampleModel();
+        DataBuffer db = tile.getDataBuffer();
+        int localX = x - tile.getSampleModelTranslateX();
+        int localY = y - tile.getSampleModelTranslateY();
+
+        Object bank = null;
+        int src = 0;
+        int pixelStride = 0;
+        int scanlineStride = 0;
+        if (sm instanceof ComponentSampleModel) {
+            ComponentSampleModel csm = (ComponentSampleModel) sm;
+            int bankIndex = csm.getBankIndices()[b];
+            bank = getBank(db, bankIndex);
+            pixelStride = csm.getPixelStride();
+            scanlineStride = csm.getScanlineStride();
+            src = db.getOffsets()[bankIndex] + csm.getBandOffsets()[b] + localY * scanlineStride + localX * pixelStride;
+        }
+
+        if (bank == null) {
+            for (int j = 0; j < h; j++, offset += stride) {
+                for (int i = 0; i < w; i++) {
+                    if (dst instanceof int[]) {
+                        ((int[]) dst)[offset + i] = sm.getSample(localX + i, localY + j, b, db);
+                    } else if (dst instanceof float[]) {
+                        ((float[]) dst)[offset + i] = sm.getSampleFloat(localX + i, localY + j, b, db);
+                    } else {
+                        ((double[]) dst)[offset + i] = sm.getSampleDouble(localX + i, localY + j, b, db);
+                    }
+                }
+            }
+        } else {
+            int dataType = db.getDataType();
+            for (int j = 0; j < h; j++, src += scanlineStride, offset += stride) {
+                if (dst instanceof int[]) {
+                    copyRow(bank, dataType, src, pixelStride, (int[]) dst, offset, w);
+                } else if (dst instanceof float[]) {
+                    copyRow(bank, dataType, src, pixelStride, (float[]) dst, offset, w);
+                } else {
+                    copyRow(bank, dataType, src, pixelStride, (double[]) dst, offset, w);
+                }
+            }
+        }
+    }
+
+    /** Returns the given bank of a standard <code>DataBuffer</code> as a primitive array, or null. */
+    static Object getBank(DataBuffer db, int bank) {
+        if (db instanceof DataBufferByte) {
+            return ((DataBufferByte) db).getData(bank);
+        } else if (db instanceof DataBufferUShort) {
+            return ((DataBufferUShort) db).getData(bank);
+        } else if (db instanceof DataBufferShort) {
+            return ((DataBufferShort) db).getData(bank);
+        } else if (db instanceof DataBufferInt) {
+            return ((DataBufferInt) db).getData(bank);
+        } else if (db instanceof DataBufferFloat) {
+            return ((DataBufferFloat) db).getData(bank);
+        } else if (db instanceof DataBufferDouble) {
+            return ((DataBufferDouble) db).getData(bank);
+        }
+        return null;
+    }
+
+    private static void copyRow(Object bank, int dataType, int src, int pixelStride, int[] d, int o, int w) {
+        switch (dataType) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] bytes = (byte[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = bytes[src] & 0xff;
+                break;
+            case DataBuffer.TYPE_USHORT:
+                short[] ushorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ushorts[src] & 0xffff;
+                break;
+            case DataBuffer.TYPE_SHORT:
+                short[] shorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = shorts[src];
+                break;
+            case DataBuffer.TYPE_INT:
+                if (pixelStride == 1) {
+                    System.arraycopy(bank, src, d, o, w);
+                } else {
+                    int[] ints = (int[]) bank;
+                    for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ints[src];
+                }
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                float[] floats = (float[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = (int) floats[src];
+                break;
+            default:
+                double[] doubles = (double[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = (int) doubles[src];
+        }
+    }
+
+    private static void copyRow(Object bank, int dataType, int src, int pixelStride, float[] d, int o, int w) {
+        switch (dataType) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] bytes = (byte[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = bytes[src] & 0xff;
+                break;
+            case DataBuffer.TYPE_USHORT:
+                short[] ushorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ushorts[src] & 0xffff;
+                break;
+            case DataBuffer.TYPE_SHORT:
+                short[] shorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = shorts[src];
+                break;
+            case DataBuffer.TYPE_INT:
+                int[] ints = (int[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ints[src];
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                if (pixelStride == 1) {
+                    System.arraycopy(bank, src, d, o, w);
+                } else {
+                    float[] floats = (float[]) bank;
+                    for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = floats[src];
+                }
+                break;
+            default:
+                double[] doubles = (double[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = (float) doubles[src];
+        }
+    }
+
+    private static void copyRow(Object bank, int dataType, int src, int pixelStride, double[] d, int o, int w) {
+        switch (dataType) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] bytes = (byte[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = bytes[src] & 0xff;
+                break;
+            case DataBuffer.TYPE_USHORT:
+                short[] ushorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ushorts[src] & 0xffff;
+                break;
+            case DataBuffer.TYPE_SHORT:
+                short[] shorts = (short[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = shorts[src];
+                break;
+            case DataBuffer.TYPE_INT:
+                int[] ints = (int[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = ints[src];
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                float[] floats = (float[]) bank;
+                for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = floats[src];
+                break;
+            default:
+                if (pixelStride == 1) {
+                    System.arraycopy(bank, src, d, o, w);
+                } else {
+                    double[] doubles = (double[]) bank;
+                    for (int i = 0; i < w; i++, src += pixelStride) d[o + i] = doubles[src];
+                }
+        }
+    }
+}
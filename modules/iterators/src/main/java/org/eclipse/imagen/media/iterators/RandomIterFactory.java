@@ -103,6 +103,37 @@ public class RandomIterFactory {
         return create(im, bounds, cachedTiles, arrayCalculation);
     }
 
+    /**
+     * Constructs and returns an instance of RandomIter suitable for iterating over the given bounding rectangle within
+     * the given RenderedImage source, keeping the last <code>cachedTiles</code> accessed tiles. If the bounds parameter
+     * is null, the entire image will be used. This iterator suits access patterns moving back and forth between
+     * neighbouring tiles, such as the ones of warps and neighbourhood operations.
+     *
+     * @param im a read-only RenderedImage source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @param cachedTiles the number of tiles kept by the iterator, at least 1.
+     * @return a RandomIter allowing read-only access to the source.
+     * @see RandomIterMultiTile
+     */
+    public static RandomIter createMultiTile(RenderedImage im, Rectangle bounds, int cachedTiles) {
+        if (bounds == null) {
+            bounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(), im.getHeight());
+        }
+        return new RandomIterMultiTile(im, bounds, cachedTiles);
+    }
+
+    /**
+     * Constructs and returns an instance of RandomIter keeping the last
+     * {@link RandomIterMultiTile#DEFAULT_CACHED_TILES} accessed tiles of the given RenderedImage source.
+     *
+     * @param im a read-only RenderedImage source.
+     * @param bounds the bounding Rectangle for the iterator, or null.
+     * @return a RandomIter allowing read-only access to the source.
+     */
+    public static RandomIter createMultiTile(RenderedImage im, Rectangle bounds) {
+        return createMultiTile(im, bounds, RandomIterMultiTile.DEFAULT_CACHED_TILES);
+    }
+
     /**
      * Constructs and returns an instance of WritableRandomIter suitable for iterating over the given bounding rectangle
      * within the given WritableRenderedImage source. If the bounds parameter is null, the entire image will be used.
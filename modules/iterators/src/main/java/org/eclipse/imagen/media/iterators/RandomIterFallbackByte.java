@@ -164,6 +164,21 @@ public class RandomIterFallbackByte implements RandomIter {
         return sampleModel.getPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, dArray, dataBuffer);
     }
 
+    @Override
+    public int[] getSamples(int x, int y, int w, int h, int b, int[] iArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, iArray);
+    }
+
+    @Override
+    public float[] getSamples(int x, int y, int w, int h, int b, float[] fArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, fArray);
+    }
+
+    @Override
+    public double[] getSamples(int x, int y, int w, int h, int b, double[] dArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, dArray);
+    }
+
     public void done() {
         xTiles = null;
         yTiles = null;
@@ -174,6 +174,21 @@ public class RandomIterFallbackByteNoCache implements RandomIter {
         return sampleModel.getPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, dArray, tile.getDataBuffer());
     }
 
+    @Override
+    public int[] getSamples(int x, int y, int w, int h, int b, int[] iArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, iArray);
+    }
+
+    @Override
+    public float[] getSamples(int x, int y, int w, int h, int b, float[] fArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, fArray);
+    }
+
+    @Override
+    public double[] getSamples(int x, int y, int w, int h, int b, double[] dArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, dArray);
+    }
+
     public void done() {
         xTiles = null;
         yTiles = null;
@@ -0,0 +1,468 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.iterators;
+
+import java.awt.Rectangle;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferDouble;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.iterator.RandomIter;
+
+/**
+ * A {@link RandomIter} keeping the last few tiles it accessed, instead of a single one like
+ * {@link RandomIterFallbackByte} and its siblings. Access patterns such as the ones of warps, affine transformations or
+ * neighbourhood operations move back and forth between two to four adjacent tiles, which keeps reloading the single
+ * cached tile of the other iterators.
+ *
+ * <p>The tiles are kept in a small set of slots, the least recently used one being replaced when a new tile is needed.
+ * The rasters of the slots are referenced until {@link #done()} is called, so they stay valid even if the tile cache
+ * evicts them meanwhile.
+ *
+ * <p>The samples of tiles laid out by a {@link ComponentSampleModel} on one of the standard <code>DataBuffer</code>
+ * classes are read straight from the bank arrays, using the pixel and scanline strides of the tile. Other tiles are
+ * read through their <code>SampleModel</code>.
+ */
+public class RandomIterMultiTile implements RandomIter {
+
+    /** The default number of tiles kept by the iterator */
+    public static final int DEFAULT_CACHED_TILES = 4;
+
+    /** A tile kept by the iterator, along with what is needed to read its samples */
+    private static final class TileSlot {
+
+        int tileX;
+
+        int tileY;
+
+        /** Last access to the slot, the lowest one is replaced first */
+        long lastUse;
+
+        // Tile bounds, inclusive minimum and exclusive maximum
+        int minX = Integer.MAX_VALUE;
+
+        int minY = Integer.MAX_VALUE;
+
+        int maxX = Integer.MIN_VALUE;
+
+        int maxY = Integer.MIN_VALUE;
+
+        Raster raster;
+
+        SampleModel sampleModel;
+
+        DataBuffer dataBuffer;
+
+        int sampleModelTranslateX;
+
+        int sampleModelTranslateY;
+
+        /** True if the samples are read from the bank arrays */
+        boolean direct;
+
+        int dataType;
+
+        int pixelStride;
+
+        int scanlineStride;
+
+        /** Position of the sample of each band of pixel (0, 0) in its bank, translation included */
+        int[] bandBase;
+
+        // Bank of each band, only the array matching the data type is set
+        byte[][] bytes;
+
+        short[][] shorts;
+
+        int[][] ints;
+
+        float[][] floats;
+
+        double[][] doubles;
+
+        void clear() {
+            raster = null;
+            sampleModel = null;
+            dataBuffer = null;
+            bytes = null;
+            shorts = null;
+            ints = null;
+            floats = null;
+            doubles = null;
+            minX = minY = Integer.MAX_VALUE;
+            maxX = maxY = Integer.MIN_VALUE;
+        }
+    }
+
+    protected RenderedImage im;
+
+    protected Rectangle boundsRect;
+
+    protected final int numBands;
+
+    private final int tileWidth;
+
+    private final int tileHeight;
+
+    private final int tileGridXOffset;
+
+    private final int tileGridYOffset;
+
+    private TileSlot[] slots;
+
+    /** The slot of the last accessed tile */
+    private TileSlot current;
+
+    private long uses;
+
+    /**
+     * Builds a new {@link RandomIterMultiTile}
+     *
+     * @param im a read-only RenderedImage source.
+     * @param bounds the bounding Rectangle for the iterator.
+     * @param cachedTiles the number of tiles kept by the iterator, at least 1.
+     */
+    public RandomIterMultiTile(RenderedImage im, Rectangle bounds, int cachedTiles) {
+        if (cachedTiles < 1) {
+            throw new IllegalArgumentException("The number of cached tiles must be positive: " + cachedTiles);
+        }
+        this.im = im;
+
+        Rectangle imBounds = new Rectangle(im.getMinX(), im.getMinY(), im.getWidth(), im.getHeight());
+        this.boundsRect = imBounds.intersection(bounds);
+        this.numBands = im.getSampleModel().getNumBands();
+
+        this.tileWidth = im.getTileWidth();
+        this.tileHeight = im.getTileHeight();
+        this.tileGridXOffset = im.getTileGridXOffset();
+        this.tileGridYOffset = im.getTileGridYOffset();
+
+        this.slots = new TileSlot[cachedTiles];
+        for (int i = 0; i < cachedTiles; i++) {
+            slots[i] = new TileSlot();
+        }
+        this.current = slots[0];
+    }
+
+    /**
+     * Returns the slot holding the tile of pixel (x, y), loading the tile in the least recently used slot if needed.
+     */
+    private TileSlot select(int x, int y) {
+        TileSlot slot = current;
+        if (x >= slot.minX && x < slot.maxX && y >= slot.minY && y < slot.maxY) {
+            return slot;
+        }
+        return reallySelect(x, y);
+    }
+
+    private TileSlot reallySelect(int x, int y) {
+        return slot(
+                PlanarImage.XToTileX(x, tileGridXOffset, tileWidth),
+                PlanarImage.YToTileY(y, tileGridYOffset, tileHeight));
+    }
+
+    /** Returns the slot holding the given tile, loading it in the least recently used slot if needed. */
+    private TileSlot slot(int tileX, int tileY) {
+        TileSlot oldest = null;
+        for (TileSlot slot : slots) {
+            if (slot.raster != null && slot.tileX == tileX && slot.tileY == tileY) {
+                slot.lastUse = ++uses;
+                current = slot;
+                return slot;
+            }
+            if (oldest == null || slot.lastUse < oldest.lastUse) {
+                oldest = slot;
+            }
+        }
+        load(oldest, tileX, tileY);
+        oldest.lastUse = ++uses;
+        current = oldest;
+        return oldest;
+    }
+
+    private void load(TileSlot slot, int tileX, int tileY) {
+        Raster tile = im.getTile(tileX, tileY);
+        SampleModel sm = tile.getSampleModel();
+        DataBuffer db = tile.getDataBuffer();
+
+        slot.clear();
+        slot.tileX = tileX;
+        slot.tileY = tileY;
+        slot.raster = tile;
+        slot.sampleModel = sm;
+        slot.dataBuffer = db;
+        slot.sampleModelTranslateX = tile.getSampleModelTranslateX();
+        slot.sampleModelTranslateY = tile.getSampleModelTranslateY();
+        slot.dataType = db.getDataType();
+        slot.direct = sm instanceof ComponentSampleModel && bindBanks(slot, (ComponentSampleModel) sm, db);
+
+        // The slot covers the part of the tile grid cell actually backed by the raster
+        int cellX = PlanarImage.tileXToX(tileX, tileGridXOffset, tileWidth);
+        int cellY = PlanarImage.tileYToY(tileY, tileGridYOffset, tileHeight);
+        slot.minX = Math.max(cellX, tile.getMinX());
+        slot.minY = Math.max(cellY, tile.getMinY());
+        slot.maxX = Math.min(cellX + tileWidth, tile.getMinX() + tile.getWidth());
+        slot.maxY = Math.min(cellY + tileHeight, tile.getMinY() + tile.getHeight());
+    }
+
+    /** Sets the bank arrays and offsets of the slot, returns false if the data buffer is not a standard one. */
+    private boolean bindBanks(TileSlot slot, ComponentSampleModel csm, DataBuffer db) {
+        int[] bankIndices = csm.getBankIndices();
+        int[] bandOffsets = csm.getBandOffsets();
+        int[] dbOffsets = db.getOffsets();
+        int pixelStride = csm.getPixelStride();
+        int scanlineStride = csm.getScanlineStride();
+
+        if (db instanceof DataBufferByte) {
+            byte[][] banks = ((DataBufferByte) db).getBankData();
+            slot.bytes = new byte[numBands][];
+            for (int b = 0; b < numBands; b++) {
+                slot.bytes[b] = banks[bankIndices[b]];
+            }
+        } else if (db instanceof DataBufferUShort || db instanceof DataBufferShort) {
+            short[][] banks = db instanceof DataBufferUShort
+                    ? ((DataBufferUShort) db).getBankData()
+                    : ((DataBufferShort) db).getBankData();
+            slot.shorts = new short[numBands][];
+            for (int b = 0; b < numBands; b++) {
+                slot.shorts[b] = banks[bankIndices[b]];
+            }
+        } else if (db instanceof DataBufferInt) {
+            int[][] banks = ((DataBufferInt) db).getBankData();
+            slot.ints = new int[numBands][];
+            for (int b = 0; b < numBands; b++) {
+                slot.ints[b] = banks[bankIndices[b]];
+            }
+        } else if (db instanceof DataBufferFloat) {
+            float[][] banks = ((DataBufferFloat) db).getBankData();
+            slot.floats = new float[numBands][];
+            for (int b = 0; b < numBands; b++) {
+                slot.floats[b] = banks[bankIndices[b]];
+            }
+        } else if (db instanceof DataBufferDouble) {
+            double[][] banks = ((DataBufferDouble) db).getBankData();
+            slot.doubles = new double[numBands][];
+            for (int b = 0; b < numBands; b++) {
+                slot.doubles[b] = banks[bankIndices[b]];
+            }
+        } else {
+            return false;
+        }
+
+        slot.pixelStride = pixelStride;
+        slot.scanlineStride = scanlineStride;
+        slot.bandBase = new int[numBands];
+        int translation = slot.sampleModelTranslateX * pixelStride + slot.sampleModelTranslateY * scanlineStride;
+        for (int b = 0; b < numBands; b++) {
+            slot.bandBase[b] = dbOffsets[bankIndices[b]] + bandOffsets[b] - translation;
+        }
+        return true;
+    }
+
+    public int getSample(int x, int y, int b) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getSample(x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return intSample(t, x, y, b);
+    }
+
+    private static int intSample(TileSlot t, int x, int y, int b) {
+        int i = t.bandBase[b] + x * t.pixelStride + y * t.scanlineStride;
+        switch (t.dataType) {
+            case DataBuffer.TYPE_BYTE:
+                return t.bytes[b][i] & 0xff;
+            case DataBuffer.TYPE_USHORT:
+                return t.shorts[b][i] & 0xffff;
+            case DataBuffer.TYPE_SHORT:
+                return t.shorts[b][i];
+            case DataBuffer.TYPE_INT:
+                return t.ints[b][i];
+            case DataBuffer.TYPE_FLOAT:
+                return (int) t.floats[b][i];
+            default:
+                return (int) t.doubles[b][i];
+        }
+    }
+
+    public float getSampleFloat(int x, int y, int b) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getSampleFloat(
+                    x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return floatSample(t, x, y, b);
+    }
+
+    private static float floatSample(TileSlot t, int x, int y, int b) {
+        int i = t.bandBase[b] + x * t.pixelStride + y * t.scanlineStride;
+        switch (t.dataType) {
+            case DataBuffer.TYPE_BYTE:
+                return t.bytes[b][i] & 0xff;
+            case DataBuffer.TYPE_USHORT:
+                return t.shorts[b][i] & 0xffff;
+            case DataBuffer.TYPE_SHORT:
+                return t.shorts[b][i];
+            case DataBuffer.TYPE_INT:
+                return t.ints[b][i];
+            case DataBuffer.TYPE_FLOAT:
+                return t.floats[b][i];
+            default:
+                return (float) t.doubles[b][i];
+        }
+    }
+
+    public double getSampleDouble(int x, int y, int b) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getSampleDouble(
+                    x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return doubleSample(t, x, y, b);
+    }
+
+    private static double doubleSample(TileSlot t, int x, int y, int b) {
+        int i = t.bandBase[b] + x * t.pixelStride + y * t.scanlineStride;
+        switch (t.dataType) {
+            case DataBuffer.TYPE_BYTE:
+                return t.bytes[b][i] & 0xff;
+            case DataBuffer.TYPE_USHORT:
+                return t.shorts[b][i] & 0xffff;
+            case DataBuffer.TYPE_SHORT:
+                return t.shorts[b][i];
+            case DataBuffer.TYPE_INT:
+                return t.ints[b][i];
+            case DataBuffer.TYPE_FLOAT:
+                return t.floats[b][i];
+            default:
+                return t.doubles[b][i];
+        }
+    }
+
+    public int[] getPixel(int x, int y, int[] iArray) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getPixel(
+                    x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, iArray, t.dataBuffer);
+        }
+        if (iArray == null) {
+            iArray = new int[numBands];
+        }
+        for (int b = 0; b < numBands; b++) {
+            iArray[b] = intSample(t, x, y, b);
+        }
+        return iArray;
+    }
+
+    public float[] getPixel(int x, int y, float[] fArray) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getPixel(
+                    x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, fArray, t.dataBuffer);
+        }
+        if (fArray == null) {
+            fArray = new float[numBands];
+        }
+        for (int b = 0; b < numBands; b++) {
+            fArray[b] = floatSample(t, x, y, b);
+        }
+        return fArray;
+    }
+
+    public double[] getPixel(int x, int y, double[] dArray) {
+        TileSlot t = select(x, y);
+        if (!t.direct) {
+            return t.sampleModel.getPixel(
+                    x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, dArray, t.dataBuffer);
+        }
+        if (dArray == null) {
+            dArray = new double[numBands];
+        }
+        for (int b = 0; b < numBands; b++) {
+            dArray[b] = doubleSample(t, x, y, b);
+        }
+        return dArray;
+    }
+
+    public int[] getSamples(int x, int y, int w, int h, int b, int[] iArray) {
+        return BulkSamples.getSamples(im, (tx, ty) -> slot(tx, ty).raster, x, y, w, h, b, iArray);
+    }
+
+    public float[] getSamples(int x, int y, int w, int h, int b, float[] fArray) {
+        return BulkSamples.getSamples(im, (tx, ty) -> slot(tx, ty).raster, x, y, w, h, b, fArray);
+    }
+
+    public double[] getSamples(int x, int y, int w, int h, int b, double[] dArray) {
+        return BulkSamples.getSamples(im, (tx, ty) -> slot(tx, ty).raster, x, y, w, h, b, dArray);
+    }
+
+    public int[] getSamples(int[] xCoords, int[] yCoords, int b, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            int x = xCoords[i];
+            int y = yCoords[i];
+            TileSlot t = select(x, y);
+            iArray[i] = t.direct
+                    ? intSample(t, x, y, b)
+                    : t.sampleModel.getSample(
+                            x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return iArray;
+    }
+
+    public float[] getSamples(int[] xCoords, int[] yCoords, int b, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            int x = xCoords[i];
+            int y = yCoords[i];
+            TileSlot t = select(x, y);
+            fArray[i] = t.direct
+                    ? floatSample(t, x, y, b)
+                    : t.sampleModel.getSampleFloat(
+                            x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return fArray;
+    }
+
+    public double[] getSamples(int[] xCoords, int[] yCoords, int b, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[xCoords.length];
+        }
+        for (int i = 0; i < xCoords.length; i++) {
+            int x = xCoords[i];
+            int y = yCoords[i];
+            TileSlot t = select(x, y);
+            dArray[i] = t.direct
+                    ? doubleSample(t, x, y, b)
+                    : t.sampleModel.getSampleDouble(
+                            x - t.sampleModelTranslateX, y - t.sampleModelTranslateY, b, t.dataBuffer);
+        }
+        return dArray;
+    }
+
+    /** Releases the tiles kept by the iterator. */
+    public void done() {
+        for (TileSlot slot : slots) {
+            slot.clear();
+        }
+    }
+}
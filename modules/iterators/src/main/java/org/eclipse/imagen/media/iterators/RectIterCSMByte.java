@@ -129,4 +129,80 @@ public class RectIterCSMByte extends RectIterCSM {
         }
         return dArray;
     }
+
+    public int[] getSamples(int b, int length, int[] iArray) {
+        if (iArray == null) {
+            iArray = new int[length];
+        }
+        transferSpan(b, length, iArray, false);
+        return iArray;
+    }
+
+    public float[] getSamples(int b, int length, float[] fArray) {
+        if (fArray == null) {
+            fArray = new float[length];
+        }
+        transferSpan(b, length, fArray, false);
+        return fArray;
+    }
+
+    public double[] getSamples(int b, int length, double[] dArray) {
+        if (dArray == null) {
+            dArray = new double[length];
+        }
+        transferSpan(b, length, dArray, false);
+        return dArray;
+    }
+
+    /**
+     * Reads or writes band <code>b</code> of <code>length</code> pixels of the current line from or into an int, float
+     * or double array, one tile at a time, and restores the iterator position.
+     */
+    protected final void transferSpan(int b, int length, Object array, boolean write) {
+        if (length > lastX - x + 1) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length <= 0) {
+            return;
+        }
+        if (x > nextXBoundary) {
+            finishedPixels();
+        }
+        int done = 0;
+        while (true) {
+            int count = Math.min(length - done, nextXBoundary - x + 1);
+            byte[] data = bankData[b];
+            int o = offset + bandOffsets[b];
+            if (array instanceof int[]) {
+                int[] a = (int[]) array;
+                if (write) {
+                    for (int i = done; i < done + count; i++, o += pixelStride) data[o] = (byte) a[i];
+                } else {
+                    for (int i = done; i < done + count; i++, o += pixelStride) a[i] = data[o] & 0xff;
+                }
+            } else if (array instanceof float[]) {
+                float[] a = (float[]) array;
+                if (write) {
+                    for (int i = done; i < done + count; i++, o += pixelStride) data[o] = (byte) a[i];
+                } else {
+                    for (int i = done; i < done + count; i++, o += pixelStride) a[i] = data[o] & 0xff;
+                }
+            } else {
+                double[] a = (double[]) array;
+                if (write) {
+                    for (int i = done; i < done + count; i++, o += pixelStride) data[o] = (byte) a[i];
+                } else {
+                    for (int i = done; i < done + count; i++, o += pixelStride) a[i] = data[o] & 0xff;
+                }
+            }
+            if (done + count == length) {
+                break;
+            }
+            jumpPixels(count);
+            done += count;
+        }
+        if (done > 0) {
+            jumpPixels(-done);
+        }
+    }
 }
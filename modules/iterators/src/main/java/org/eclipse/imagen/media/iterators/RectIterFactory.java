@@ -50,7 +50,6 @@ import org.eclipse.imagen.media.iterator.RectIterCSMFloat;
 import org.eclipse.imagen.media.iterator.RectIterFallback;
 import org.eclipse.imagen.media.iterator.WrapperRI;
 import org.eclipse.imagen.media.iterator.WrapperWRI;
-import org.eclipse.imagen.media.iterator.WritableRectIterCSMByte;
 import org.eclipse.imagen.media.iterator.WritableRectIterCSMFloat;
 import org.eclipse.imagen.media.iterator.WritableRectIterFallback;
 
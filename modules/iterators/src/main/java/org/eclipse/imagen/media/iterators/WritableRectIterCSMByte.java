@@ -88,4 +88,16 @@ public class WritableRectIterCSMByte extends RectIterCSMByte implements Writable
             bankData[b][offset + bandOffsets[b]] = (byte) dArray[b];
         }
     }
+
+    public void setSamples(int b, int length, int[] iArray) {
+        transferSpan(b, length, iArray, true);
+    }
+
+    public void setSamples(int b, int length, float[] fArray) {
+        transferSpan(b, length, fArray, true);
+    }
+
+    public void setSamples(int b, int length, double[] dArray) {
+        transferSpan(b, length, dArray, true);
+    }
 }
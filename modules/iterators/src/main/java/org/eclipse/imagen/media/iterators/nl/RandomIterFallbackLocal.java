@@ -24,6 +24,7 @@ import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 import org.eclipse.imagen.PlanarImage;
 import org.eclipse.imagen.iterator.RandomIter;
+import org.eclipse.imagen.media.iterators.BulkSamples;
 
 /**
  * Modified version of ImageN {@link RandomIterFallbackNoCacheNoArray} that uses a ThreadLocal object for storing the
@@ -179,6 +180,21 @@ public class RandomIterFallbackLocal implements RandomIter {
         return sampleModel.getPixel(x - sampleModelTranslateX, y - sampleModelTranslateY, dArray, tile.getDataBuffer());
     }
 
+    @Override
+    public int[] getSamples(int x, int y, int w, int h, int b, int[] iArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, iArray);
+    }
+
+    @Override
+    public float[] getSamples(int x, int y, int w, int h, int b, float[] fArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, fArray);
+    }
+
+    @Override
+    public double[] getSamples(int x, int y, int w, int h, int b, double[] dArray) {
+        return BulkSamples.getSamples(im, im::getTile, x, y, w, h, b, dArray);
+    }
+
     public void done() {
         iterator.remove();
     }
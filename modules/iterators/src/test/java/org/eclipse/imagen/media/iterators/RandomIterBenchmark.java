@@ -0,0 +1,149 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.iterators;
+
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.RenderedImage;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.iterator.RandomIter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link RandomIterMultiTile} with the single tile iterators on the access patterns of a rotation with
+ * bilinear interpolation and of a 3x3 neighbourhood, both of which straddle tile borders. Run from the IDE, or with:
+ *
+ * <pre>
+ * mvn -pl modules/iterators test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipse.imagen.media.iterators.RandomIterBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomIterBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private static final int TILE_SIZE = 64;
+
+    @Param({"CACHED", "LARGE", "MULTI_TILE"})
+    public String iterator;
+
+    @Param({"BYTE", "FLOAT"})
+    public String dataType;
+
+    private RenderedImage source;
+
+    @Setup
+    public void setup() {
+        int type = "BYTE".equals(dataType) ? DataBuffer.TYPE_BYTE : DataBuffer.TYPE_FLOAT;
+        TiledImage image = new TiledImage(
+                0,
+                0,
+                SIZE,
+                SIZE,
+                0,
+                0,
+                new PixelInterleavedSampleModel(type, TILE_SIZE, TILE_SIZE, 3, 3 * TILE_SIZE, new int[] {0, 1, 2}),
+                null);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                for (int b = 0; b < 3; b++) {
+                    image.setSample(x, y, b, (x + 3 * y + 7 * b) & 0xff);
+                }
+            }
+        }
+        source = image;
+    }
+
+    private RandomIter createIterator() {
+        Rectangle bounds = new Rectangle(0, 0, SIZE, SIZE);
+        switch (iterator) {
+            case "CACHED":
+                return RandomIterFactory.create(source, bounds, true, true);
+            case "LARGE":
+                return new RandomIterFallbackLarge(source, bounds);
+            default:
+                return RandomIterFactory.createMultiTile(source, bounds);
+        }
+    }
+
+    /** Interpolates the bands of a 30 degrees rotation of the central part of the image. */
+    @Benchmark
+    public double rotate() {
+        RandomIter iter = createIterator();
+        double cos = Math.cos(Math.toRadians(30));
+        double sin = Math.sin(Math.toRadians(30));
+        double center = SIZE / 2.0;
+        double sum = 0;
+        for (int y = 256; y < 768; y++) {
+            for (int x = 256; x < 768; x++) {
+                double sx = center + (x - center) * cos - (y - center) * sin;
+                double sy = center + (x - center) * sin + (y - center) * cos;
+                int x0 = (int) sx;
+                int y0 = (int) sy;
+                double fx = sx - x0;
+                double fy = sy - y0;
+                for (int b = 0; b < 3; b++) {
+                    double top = iter.getSampleDouble(x0, y0, b) * (1 - fx) + iter.getSampleDouble(x0 + 1, y0, b) * fx;
+                    double bottom = iter.getSampleDouble(x0, y0 + 1, b) * (1 - fx)
+                            + iter.getSampleDouble(x0 + 1, y0 + 1, b) * fx;
+                    sum += top * (1 - fy) + bottom * fy;
+                }
+            }
+        }
+        iter.done();
+        return sum;
+    }
+
+    /** Sums the 3x3 neighbourhood of every pixel, visiting the image column by column. */
+    @Benchmark
+    public long neighbourhood() {
+        RandomIter iter = createIterator();
+        long sum = 0;
+        for (int x = 1; x < SIZE - 1; x++) {
+            for (int y = 1; y < SIZE - 1; y++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dx = -1; dx <= 1; dx++) {
+                        sum += iter.getSample(x + dx, y + dy, 0);
+                    }
+                }
+            }
+        }
+        iter.done();
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(RandomIterBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
@@ -18,10 +18,14 @@
  */
 package org.eclipse.imagen.media.iterators;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.awt.image.BandedSampleModel;
 import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 import org.eclipse.imagen.TiledImage;
@@ -303,6 +307,125 @@ public class RandomIterTest {
         testRandomIterDouble(testImageIntIMGDouble, valueArrayIntIMGDouble, false, false);
     }
 
+    // This tests is used for the RandomIterMultiTile iterator on all data types, moving back and forth between tiles.
+    @Test
+    public void testRandomIterMultiTile() {
+        int[] dataTypes = {
+            DataBuffer.TYPE_BYTE,
+            DataBuffer.TYPE_USHORT,
+            DataBuffer.TYPE_SHORT,
+            DataBuffer.TYPE_INT,
+            DataBuffer.TYPE_FLOAT,
+            DataBuffer.TYPE_DOUBLE
+        };
+        for (int dataType : dataTypes) {
+            // pixel interleaved, with the image origin away from the tile grid origin
+            SampleModel sm = new PixelInterleavedSampleModel(dataType, 50, 40, 3, 150, new int[] {2, 0, 1});
+            TiledImage interleaved = new TiledImage(-30, 17, 170, 130, 5, 3, sm, null);
+            fill(interleaved);
+            checkMultiTile(interleaved, 1);
+            checkMultiTile(interleaved, 4);
+
+            // banded, one bank per band
+            TiledImage banded = new TiledImage(0, 0, 130, 110, 0, 0, new BandedSampleModel(dataType, 64, 64, 2), null);
+            fill(banded);
+            checkMultiTile(banded, 2);
+        }
+
+        // bit packed tiles are read through their sample model
+        TiledImage packed = new TiledImage(
+                0, 0, 100, 90, 0, 0, new MultiPixelPackedSampleModel(DataBuffer.TYPE_BYTE, 32, 32, 1), null);
+        fill(packed);
+        checkMultiTile(packed, 3);
+    }
+
+    // This tests the bulk reads of the iterators, on rectangles straddling tiles and on lists of positions.
+    @Test
+    public void testBulkSamples() {
+        int[] dataTypes = {DataBuffer.TYPE_BYTE, DataBuffer.TYPE_SHORT, DataBuffer.TYPE_INT, DataBuffer.TYPE_DOUBLE};
+        for (int dataType : dataTypes) {
+            SampleModel sm = new PixelInterleavedSampleModel(dataType, 50, 40, 2, 100, new int[] {1, 0});
+            TiledImage image = new TiledImage(0, 0, 170, 130, 0, 0, sm, null);
+            fill(image);
+            RandomIter expected = org.eclipse.imagen.iterator.RandomIterFactory.create(image, null);
+            RandomIter[] iters = {
+                RandomIterFactory.create(image, null, true, true),
+                RandomIterFactory.create(image, null, false, true),
+                RandomIterFactory.create(image, null, false, false),
+                new RandomIterFallbackLarge(image, image.getBounds()),
+                RandomIterFactory.createMultiTile(image, null, 2)
+            };
+            int x = 12;
+            int y = 30;
+            int w = 97;
+            int h = 61;
+            int[] xCoords = new int[w * h];
+            int[] yCoords = new int[w * h];
+            for (int j = 0, k = 0; j < h; j++) {
+                for (int i = 0; i < w; i++, k++) {
+                    xCoords[k] = x + (i * 31) % w;
+                    yCoords[k] = y + (j * 7 + i) % h;
+                }
+            }
+            for (RandomIter iter : iters) {
+                for (int b = 0; b < 2; b++) {
+                    int[] ints = iter.getSamples(x, y, w, h, b, (int[]) null);
+                    float[] floats = iter.getSamples(x, y, w, h, b, new float[w * h]);
+                    double[] doubles = iter.getSamples(x, y, w, h, b, (double[]) null);
+                    int[] gathered = iter.getSamples(xCoords, yCoords, b, (int[]) null);
+                    double[] gatheredDoubles = iter.getSamples(xCoords, yCoords, b, (double[]) null);
+                    for (int j = 0, k = 0; j < h; j++) {
+                        for (int i = 0; i < w; i++, k++) {
+                            assertEquals(expected.getSample(x + i, y + j, b), ints[k]);
+                            assertEquals(expected.getSampleFloat(x + i, y + j, b), floats[k], DELTA);
+                            assertEquals(expected.getSampleDouble(x + i, y + j, b), doubles[k], DELTA);
+                            assertEquals(expected.getSample(xCoords[k], yCoords[k], b), gathered[k]);
+                            assertEquals(
+                                    expected.getSampleDouble(xCoords[k], yCoords[k], b), gatheredDoubles[k], DELTA);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void fill(TiledImage image) {
+        int numBands = image.getSampleModel().getNumBands();
+        int max = image.getSampleModel().getSampleSize(0) == 1 ? 2 : 100;
+        for (int y = image.getMinY(); y < image.getMinY() + image.getHeight(); y++) {
+            for (int x = image.getMinX(); x < image.getMinX() + image.getWidth(); x++) {
+                for (int b = 0; b < numBands; b++) {
+                    image.setSample(x, y, b, (x * 7 + y * 13 + b * 31) % max);
+                }
+            }
+        }
+    }
+
+    private void checkMultiTile(RenderedImage image, int cachedTiles) {
+        RandomIter expected = org.eclipse.imagen.iterator.RandomIterFactory.create(image, null);
+        RandomIter iter = RandomIterFactory.createMultiTile(image, null, cachedTiles);
+        int numBands = image.getSampleModel().getNumBands();
+        int minX = image.getMinX();
+        int minY = image.getMinY();
+        int w = image.getWidth();
+        int h = image.getHeight();
+        // visits every pixel in an order jumping across tiles, as a rotation would
+        for (int i = 0; i < w * h; i++) {
+            int x = minX + (int) ((i * 37L) % w);
+            int y = minY + (int) (((i / w) + i * 11L) % h);
+            for (int b = 0; b < numBands; b++) {
+                assertEquals(expected.getSample(x, y, b), iter.getSample(x, y, b));
+                assertEquals(expected.getSampleFloat(x, y, b), iter.getSampleFloat(x, y, b), DELTA);
+                assertEquals(expected.getSampleDouble(x, y, b), iter.getSampleDouble(x, y, b), DELTA);
+            }
+            assertArrayEquals(expected.getPixel(x, y, (int[]) null), iter.getPixel(x, y, (int[]) null));
+            assertArrayEquals(expected.getPixel(x, y, (double[]) null), iter.getPixel(x, y, (double[]) null), DELTA);
+        }
+        iter.done();
+        // the iterator reloads the tiles if used after done()
+        assertEquals(expected.getSample(minX, minY, 0), iter.getSample(minX, minY, 0));
+    }
+
     // This tests is used for the RandomIterFallbackByte speed test on an integral image.
     @Test
     public void testSpeed() {
@@ -0,0 +1,105 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.iterators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SampleModel;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.iterator.RectIter;
+import org.eclipse.imagen.iterator.WritableRectIter;
+import org.junit.Test;
+
+/** Tests the bulk span reads and writes of the rectangle iterators. */
+public class RectIterTest {
+
+    private static TiledImage createImage(int dataType) {
+        SampleModel sm = new PixelInterleavedSampleModel(dataType, 32, 16, 3, 96, new int[] {2, 1, 0});
+        TiledImage image = new TiledImage(-10, 5, 150, 40, 3, 1, sm, null);
+        for (int y = image.getMinY(); y < image.getMinY() + image.getHeight(); y++) {
+            for (int x = image.getMinX(); x < image.getMinX() + image.getWidth(); x++) {
+                for (int b = 0; b < 3; b++) {
+                    image.setSample(x, y, b, (x * 5 + y * 3 + b * 11) & 0x7f);
+                }
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testGetSamples() {
+        for (int dataType : new int[] {DataBuffer.TYPE_BYTE, DataBuffer.TYPE_FLOAT}) {
+            TiledImage image = createImage(dataType);
+            Rectangle bounds = new Rectangle(-5, 8, 120, 30);
+            RectIter iter = RectIterFactory.create(image, bounds);
+            int y = bounds.y;
+            iter.startLines();
+            do {
+                iter.startPixels();
+                iter.jumpPixels(7);
+                // spans across three tiles, the position does not move
+                int length = bounds.width - 9;
+                for (int b = 0; b < 3; b++) {
+                    int[] ints = iter.getSamples(b, length, (int[]) null);
+                    double[] doubles = iter.getSamples(b, length, new double[length]);
+                    for (int i = 0; i < length; i++) {
+                        int expected = image.getSample(bounds.x + 7 + i, y, b);
+                        assertEquals(expected, ints[i]);
+                        assertEquals(expected, doubles[i], 0);
+                    }
+                }
+                assertEquals(image.getSample(bounds.x + 7, y, 1), iter.getSample(1));
+                try {
+                    iter.getSamples(0, bounds.width - 6, (int[]) null);
+                    fail("The span goes past the right edge");
+                } catch (IndexOutOfBoundsException e) {
+                    assertEquals(image.getSample(bounds.x + 7, y, 0), iter.getSample(0));
+                }
+                y++;
+            } while (!iter.nextLineDone());
+            assertEquals(bounds.y + bounds.height, y);
+        }
+    }
+
+    @Test
+    public void testSetSamples() {
+        for (int dataType : new int[] {DataBuffer.TYPE_BYTE, DataBuffer.TYPE_FLOAT}) {
+            TiledImage image = createImage(dataType);
+            Rectangle bounds = image.getBounds();
+            WritableRectIter iter = RectIterFactory.createWritable(image, bounds);
+            int[] values = new int[bounds.width - 3];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (i * 13) & 0x7f;
+            }
+            iter.startLines();
+            iter.jumpLines(4);
+            iter.startPixels();
+            iter.jumpPixels(3);
+            iter.setSamples(1, values.length, values);
+            iter.nextLine();
+            iter.setSamples(2, values.length, new double[values.length]);
+
+            int y = bounds.y + 4;
+            for (int i = 0; i < values.length; i++) {
+                int x = bounds.x + 3 + i;
+                assertEquals(values[i], image.getSample(x, y, 1));
+                assertEquals(0, image.getSample(x, y + 1, 2));
+                assertEquals((x * 5 + y * 3) & 0x7f, image.getSample(x, y, 0));
+            }
+            // the position did not move
+            assertEquals(0, iter.getSample(2));
+            assertEquals(image.getSample(bounds.x + 3, y + 1, 1), iter.getSample(1));
+        }
+    }
+}
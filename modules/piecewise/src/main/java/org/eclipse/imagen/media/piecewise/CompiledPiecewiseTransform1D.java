@@ -0,0 +1,210 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.piecewise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link DefaultPiecewiseTransform1D} flattened into arrays of breakpoints, slopes and intercepts, obtained through
+ * {@link DefaultPiecewiseTransform1D#compile()}. The domain element of a value is found by a binary search without
+ * early exits over the primitive arrays, and its linear transform is applied inline, giving the same results as
+ * {@link DefaultPiecewiseTransform1D#transform(double)} without the virtual calls and the locking of the elements.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ *
+ * @see DefaultPiecewiseTransform1D#compile()
+ */
+public final class CompiledPiecewiseTransform1D {
+
+    /** Inclusive lower bounds of the domain elements which are not NaN, in increasing order */
+    private final double[] minimums;
+
+    /** Inclusive upper bounds of the domain elements */
+    private final double[] maximums;
+
+    private final double[] slopes;
+
+    private final double[] intercepts;
+
+    /** Whether the element maps its whole domain to its intercept */
+    private final boolean[] constants;
+
+    /** Raw bits of the NaN domain elements, which follow the other elements in the arrays */
+    private final long[] nanBits;
+
+    private final boolean hasDefaultValue;
+
+    private final double defaultValue;
+
+    private CompiledPiecewiseTransform1D(
+            double[] minimums,
+            double[] maximums,
+            double[] slopes,
+            double[] intercepts,
+            boolean[] constants,
+            long[] nanBits,
+            boolean hasDefaultValue,
+            double defaultValue) {
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.slopes = slopes;
+        this.intercepts = intercepts;
+        this.constants = constants;
+        this.nanBits = nanBits;
+        this.hasDefaultValue = hasDefaultValue;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Flattens the elements of a piecewise transform, returning {@code null} if one of them is not one of the linear,
+     * constant or passthrough elements of this package.
+     */
+    static CompiledPiecewiseTransform1D create(DefaultPiecewiseTransform1D<?> piecewise) {
+        List<DefaultPiecewiseTransform1DElement> numbers = new ArrayList<>();
+        List<DefaultPiecewiseTransform1DElement> nans = new ArrayList<>();
+        for (DefaultPiecewiseTransform1DElement element : piecewise) {
+            if (!isFlattenable(element)) {
+                return null;
+            }
+            (Double.isNaN(element.getInputMinimum()) ? nans : numbers).add(element);
+        }
+
+        int n = numbers.size() + nans.size();
+        double[] minimums = new double[numbers.size()];
+        double[] maximums = new double[n];
+        double[] slopes = new double[n];
+        double[] intercepts = new double[n];
+        boolean[] constants = new boolean[n];
+        long[] nanBits = new long[nans.size()];
+        for (int i = 0; i < n; i++) {
+            DefaultPiecewiseTransform1DElement element =
+                    i < minimums.length ? numbers.get(i) : nans.get(i - minimums.length);
+            if (i < minimums.length) {
+                minimums[i] = element.getInputMinimum();
+            } else {
+                nanBits[i - minimums.length] = Double.doubleToRawLongBits(element.getInputMinimum());
+            }
+            maximums[i] = element.getInputMaximum();
+            if (element instanceof DefaultPassthroughPiecewiseTransform1DElement) {
+                // -0.0 + value is value, including for -0.0 and 0.0
+                slopes[i] = 1;
+                intercepts[i] = -0.0;
+            } else {
+                SingleDimensionTransformation transform = (SingleDimensionTransformation) element.getTransform();
+                slopes[i] = transform.getScale();
+                intercepts[i] = transform.getOffset();
+                constants[i] = transform instanceof SingleDimensionTransformation.ConstantTransform;
+            }
+        }
+        return new CompiledPiecewiseTransform1D(
+                minimums,
+                maximums,
+                slopes,
+                intercepts,
+                constants,
+                nanBits,
+                piecewise.hasDefaultValue(),
+                piecewise.getDefaultValue());
+    }
+
+    private static boolean isFlattenable(DefaultPiecewiseTransform1DElement element) {
+        Class<?> type = element.getClass();
+        if (type == DefaultPassthroughPiecewiseTransform1DElement.class) {
+            return true;
+        }
+        if (type != DefaultPiecewiseTransform1DElement.class
+                && type != DefaultLinearPiecewiseTransform1DElement.class
+                && type != DefaultConstantPiecewiseTransformElement.class) {
+            return false;
+        }
+        Class<?> transform =
+                element.getTransform() == null ? null : element.getTransform().getClass();
+        return transform == SingleDimensionTransformation.class
+                || transform == SingleDimensionTransformation.ConstantTransform.class;
+    }
+
+    /**
+     * Returns the index of the domain element containing a value, to be passed to {@link #transform(int, double)}, or
+     * -1 if the value falls in a gap of the domain.
+     *
+     * @param value the value.
+     * @return the index of the domain element, or -1.
+     */
+    public int findElement(double value) {
+        if (value != value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int i = 0; i < nanBits.length; i++) {
+                if (nanBits[i] == bits) {
+                    return minimums.length + i;
+                }
+            }
+            return -1;
+        }
+        int n = minimums.length;
+        if (n == 0) {
+            return -1;
+        }
+        // last element whose minimum is not greater than the value, the loop runs log2(n) times whatever the value
+        int base = 0;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = minimums[base + half] <= value ? base + half : base;
+            n -= half;
+        }
+        return value >= minimums[base] && value <= maximums[base] ? base : -1;
+    }
+
+    /**
+     * Applies the transform of a domain element to a value it contains.
+     *
+     * @param element the index of the element, as returned by {@link #findElement(double)}.
+     * @param value the value.
+     * @return the transformed value.
+     */
+    public double transform(int element, double value) {
+        return constants[element] ? intercepts[element] : intercepts[element] + slopes[element] * value;
+    }
+
+    /**
+     * Transforms a value, returning the default value of the piecewise transform for the values in the gaps of the
+     * domain.
+     *
+     * @param value the value.
+     * @return the transformed value.
+     * @throws TransformationException if the value is in a gap and there is no default value.
+     */
+    public double transform(double value) throws TransformationException {
+        int element = findElement(value);
+        if (element >= 0) {
+            return transform(element, value);
+        }
+        if (hasDefaultValue) {
+            return defaultValue;
+        }
+        throw new TransformationException("Error evaluating:" + value);
+    }
+
+    /**
+     * Transforms a range of consecutive integer values into a table, for instance all the values of 16-bit samples.
+     *
+     * @param first the first value.
+     * @param length the number of values.
+     * @return the transformed values, the one of {@code first + i} at index {@code i}.
+     * @throws TransformationException if a value is in a gap and there is no default value.
+     */
+    public double[] tabulate(int first, int length) throws TransformationException {
+        double[] table = new double[length];
+        for (int i = 0; i < length; i++) {
+            table[i] = transform((double) first + i);
+        }
+        return table;
+    }
+}
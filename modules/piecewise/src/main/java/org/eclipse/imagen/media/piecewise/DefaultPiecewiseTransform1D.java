@@ -65,6 +65,18 @@ public class DefaultPiecewiseTransform1D<T extends DefaultPiecewiseTransform1DEl
         return piece.transform(value);
     }
 
+    /**
+     * Compiles this transform into flat arrays of breakpoints, slopes and intercepts, evaluated without searching the
+     * element list nor calling the elements. Subclasses changing how values are looked up or transformed should return
+     * {@code null}.
+     *
+     * @return the compiled transform, or {@code null} if some of the elements are not the linear, constant or
+     *     passthrough elements of this package.
+     */
+    public CompiledPiecewiseTransform1D compile() {
+        return CompiledPiecewiseTransform1D.create(this);
+    }
+
     /** Gets the dimension of input points, which is 1. */
     public final int getSourceDimensions() {
         return 1;
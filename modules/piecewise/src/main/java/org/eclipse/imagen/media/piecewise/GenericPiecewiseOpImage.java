@@ -31,6 +31,8 @@ import org.eclipse.imagen.ImageLayout;
 import org.eclipse.imagen.PlanarImage;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.RasterAccessor;
+import org.eclipse.imagen.RasterFormatTag;
 import org.eclipse.imagen.iterator.RandomIter;
 import org.eclipse.imagen.iterator.RectIter;
 import org.eclipse.imagen.iterator.RectIterFactory;
@@ -66,6 +68,15 @@ public class GenericPiecewiseOpImage<T extends PiecewiseTransform1DElement> exte
     /** Byte LookupTable used for quickly calculating piecewise operation for Byte data */
     private byte[][] lut;
 
+    /** Compiled piecewise transform used for other data types than Byte, null if the transform cannot be compiled */
+    private CompiledPiecewiseTransform1D compiled;
+
+    /** LookupTable of the outputs of all the values of UShort and Short data, after the conversion to the data type */
+    private short[] shortLut;
+
+    /** Input value of the first entry of {@link #shortLut} */
+    private int shortLutFirst;
+
     /** Output NoData */
     private double gapsValue = Double.NaN;
 
@@ -200,6 +211,14 @@ public class GenericPiecewiseOpImage<T extends PiecewiseTransform1DElement> exte
                 final RuntimeException re = new RuntimeException(e);
                 throw re;
             }
+        } else if (piecewise instanceof DefaultPiecewiseTransform1D
+                && image.getSampleModel().getDataType() == sampleModel.getDataType()) {
+            // Flatten the transform for the direct array loops, tabulating it for 16 bits data
+            compiled = ((DefaultPiecewiseTransform1D<?>) piecewise).compile();
+            final int dataType = sampleModel.getDataType();
+            if (compiled != null && (dataType == DataBuffer.TYPE_USHORT || dataType == DataBuffer.TYPE_SHORT)) {
+                createShortLUT(dataType == DataBuffer.TYPE_USHORT ? 0 : Short.MIN_VALUE);
+            }
         }
 
         // Set flag to permit in-place operation.
@@ -252,6 +271,8 @@ public class GenericPiecewiseOpImage<T extends PiecewiseTransform1DElement> exte
         if (!hasROI || !roiDisjointTile) {
             if (isByteData) {
                 computeRectByte(sources[0], dest, destRect, roiIter, roiContainsTile);
+            } else if (compiled != null) {
+                computeRectCompiled(sources[0], dest, destRect, roiIter, roiContainsTile);
             } else {
                 computeRectGeneral(sources[0], dest, destRect, roiIter, roiContainsTile);
             }
@@ -599,6 +620,152 @@ public class GenericPiecewiseOpImage<T extends PiecewiseTransform1DElement> exte
         }
     }
 
+    /**
+     * Applies the compiled transform on the band to calculate through the data arrays, looking up the table of 16 bits
+     * data or evaluating the compiled transform on a row buffer for the other data types. Values are written with the
+     * same conversions as {@link WritableRaster#setSample(int, int, int, double)}.
+     */
+    private void computeRectCompiled(
+            final Raster source,
+            final WritableRaster dest,
+            final Rectangle destRect,
+            RandomIter roiIter,
+            boolean roiContainsTile) {
+
+        final RasterFormatTag[] formatTags = getFormatTags();
+        final RasterAccessor src = new RasterAccessor(
+                source, destRect, formatTags[0], getSourceImage(0).getColorModel());
+        final RasterAccessor dst = new RasterAccessor(dest, destRect, formatTags[1], getColorModel());
+
+        // Same band as the iterators of the other loops
+        final int band = bandIndex == null ? 0 : Math.max(bandIndex, 0);
+        final int width = dst.getWidth();
+        final int height = dst.getHeight();
+        final int srcLineStride = src.getScanlineStride();
+        final int srcPixelStride = src.getPixelStride();
+        final int dstLineStride = dst.getScanlineStride();
+        final int dstPixelStride = dst.getPixelStride();
+        int srcLineOffset = src.getBandOffset(band);
+        int dstLineOffset = dst.getBandOffset(band);
+
+        // ROI is only checked pixel by pixel when the tile is not fully inside it
+        final boolean checkROI = hasROI && !roiContainsTile;
+        final int x0 = destRect.x;
+        final int y0 = destRect.y;
+
+        try {
+            if (shortLut != null) {
+                final short[] srcData = src.getShortDataArray(band);
+                final short[] dstData = dst.getShortDataArray(band);
+                final short[] table = shortLut;
+                final int first = shortLutFirst;
+                final short gap = (short) (int) gapsValue;
+                for (int y = 0; y < height; y++) {
+                    int srcPixelOffset = srcLineOffset;
+                    int dstPixelOffset = dstLineOffset;
+                    for (int x = 0; x < width; x++) {
+                        if (checkROI && !insideROI(roiIter, x0 + x, y0 + y)) {
+                            dstData[dstPixelOffset] = gap;
+                        } else {
+                            dstData[dstPixelOffset] = table[(srcData[srcPixelOffset] - first) & 0xffff];
+                        }
+                        srcPixelOffset += srcPixelStride;
+                        dstPixelOffset += dstPixelStride;
+                    }
+                    srcLineOffset += srcLineStride;
+                    dstLineOffset += dstLineStride;
+                }
+            } else {
+                final double[] row = new double[width];
+                for (int y = 0; y < height; y++) {
+                    readRow(src, band, srcLineOffset, srcPixelStride, row);
+                    for (int x = 0; x < width; x++) {
+                        final double value = row[x];
+                        if ((checkROI && !insideROI(roiIter, x0 + x, y0 + y))
+                                || (hasNoData && nodata.contains(value))) {
+                            row[x] = gapsValue;
+                            continue;
+                        }
+                        final int element = compiled.findElement(value);
+                        if (element >= 0) {
+                            row[x] = compiled.transform(element, value);
+                        } else if (hasGapsValue) {
+                            row[x] = gapsValue;
+                        } else {
+                            throw new IllegalArgumentException("Unable to set input Gap value");
+                        }
+                    }
+                    writeRow(dst, band, dstLineOffset, dstPixelStride, row);
+                    srcLineOffset += srcLineStride;
+                    dstLineOffset += dstLineStride;
+                }
+            }
+        } catch (final Exception cause) {
+            final RasterFormatException exception = new RasterFormatException(cause.getLocalizedMessage());
+            exception.initCause(cause);
+            throw exception;
+        }
+
+        dst.copyDataToRaster();
+    }
+
+    private boolean insideROI(RandomIter roiIter, int x, int y) {
+        return roiBounds.contains(x, y) && roiIter.getSample(x, y, 0) > 0;
+    }
+
+    /** Reads a row of samples of a band as doubles. */
+    private static void readRow(RasterAccessor src, int band, int offset, int pixelStride, double[] row) {
+        switch (src.getDataType()) {
+            case DataBuffer.TYPE_USHORT:
+                final short[] ushorts = src.getShortDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) row[x] = ushorts[offset] & 0xffff;
+                break;
+            case DataBuffer.TYPE_SHORT:
+                final short[] shorts = src.getShortDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) row[x] = shorts[offset];
+                break;
+            case DataBuffer.TYPE_INT:
+                final int[] ints = src.getIntDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) row[x] = ints[offset];
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                final float[] floats = src.getFloatDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) row[x] = floats[offset];
+                break;
+            case DataBuffer.TYPE_DOUBLE:
+                final double[] doubles = src.getDoubleDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) row[x] = doubles[offset];
+                break;
+            default:
+                throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
+    /** Writes a row of doubles to a band, casting them like the sample models do. */
+    private static void writeRow(RasterAccessor dst, int band, int offset, int pixelStride, double[] row) {
+        switch (dst.getDataType()) {
+            case DataBuffer.TYPE_USHORT:
+            case DataBuffer.TYPE_SHORT:
+                final short[] shorts = dst.getShortDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) shorts[offset] = (short) (int) row[x];
+                break;
+            case DataBuffer.TYPE_INT:
+                final int[] ints = dst.getIntDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) ints[offset] = (int) row[x];
+                break;
+            case DataBuffer.TYPE_FLOAT:
+                final float[] floats = dst.getFloatDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) floats[offset] = (float) row[x];
+                break;
+            case DataBuffer.TYPE_DOUBLE:
+                final double[] doubles = dst.getDoubleDataArray(band);
+                for (int x = 0; x < row.length; x++, offset += pixelStride) doubles[offset] = row[x];
+                break;
+            default:
+                throw new IllegalArgumentException("Wrong data type");
+        }
+    }
+
     private PiecewiseTransform1DElement domainSearch(PiecewiseTransform1DElement last, double value)
             throws TransformationException {
         // //
@@ -703,6 +870,29 @@ public class GenericPiecewiseOpImage<T extends PiecewiseTransform1DElement> exte
         lut = data;
     }
 
+    /**
+     * Create a lookup table of all the 16 bits values, to be used in the case of UShort and Short data. No table is
+     * created if a value falls in a gap of the domain without a default value, the compiled transform then reports the
+     * error on the pixels having that value.
+     *
+     * @param first the value of the first entry, 0 for UShort and -32768 for Short data
+     */
+    private void createShortLUT(final int first) {
+        final double[] values;
+        try {
+            values = compiled.tabulate(first, 1 << 16);
+        } catch (final TransformationException e) {
+            return;
+        }
+        final short[] table = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            final double out = hasNoData && nodata.contains((double) (first + i)) ? gapsValue : values[i];
+            table[i] = (short) (int) out;
+        }
+        shortLutFirst = first;
+        shortLut = table;
+    }
+
     /** Transform the colormap according to the rescaling parameters. */
     protected void transformColormap(final byte[][] colormap) {
 
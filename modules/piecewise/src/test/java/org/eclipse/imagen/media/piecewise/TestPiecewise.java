@@ -20,7 +20,9 @@ package org.eclipse.imagen.media.piecewise;
 
 import java.awt.Rectangle;
 import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
 import java.io.File;
 import java.io.IOException;
 import junit.framework.Assert;
@@ -28,7 +30,9 @@ import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.ParameterBlockImageN;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.RasterFactory;
 import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.TiledImage;
 import org.eclipse.imagen.media.algebra.AlgebraDescriptor;
 import org.eclipse.imagen.media.algebra.AlgebraDescriptor.Operator;
 import org.eclipse.imagen.media.algebra.constant.OperationConstDescriptor;
@@ -650,4 +654,130 @@ public class TestPiecewise extends TestBase {
         }
         finalImage.dispose();
     }
+    /**
+     * Testing {@link CompiledPiecewiseTransform1D} against the element search of {@link DefaultPiecewiseTransform1D}.
+     *
+     * @throws TransformationException
+     */
+    @Test
+    public void compiledTransform() throws TransformationException {
+        final DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement> transform = createElevationTransform();
+        final CompiledPiecewiseTransform1D compiled = transform.compile();
+        Assert.assertNotNull(compiled);
+        final double[] values = {
+            -5000,
+            -1,
+            -0.5,
+            0,
+            0.25,
+            999,
+            1000,
+            1000.5,
+            1001,
+            1500,
+            2000,
+            2000.5,
+            2001,
+            9000,
+            Double.NaN,
+            Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY
+        };
+        for (double value : values) {
+            Assert.assertEquals(String.valueOf(value), transform.transform(value), compiled.transform(value), 0.0);
+        }
+
+        // the passthrough element keeps the values untouched
+        final DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement> passthrough =
+                new DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement>(
+                        new DefaultPiecewiseTransform1DElement[] {DefaultPiecewiseTransform1DElement.create("p0")});
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                Assert.assertEquals(
+                        passthrough.transform(value), passthrough.compile().transform(value), 0.0);
+            }
+        }
+
+        // gaps without default value
+        final DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement> noDefault =
+                new DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement>(
+                        new DefaultPiecewiseTransform1DElement[] {
+                            DefaultPiecewiseTransform1DElement.create(
+                                    "c0",
+                                    RangeFactory.create(0, true, 10, true),
+                                    RangeFactory.create(0, true, 20, true))
+                        });
+        Assert.assertEquals(-1, noDefault.compile().findElement(11));
+        try {
+            noDefault.compile().tabulate(0, 12);
+            Assert.fail("The gap should have been reported");
+        } catch (TransformationException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Testing the lookup table of 16 bits data and the compiled transform of floating point data, with ROI and NoData.
+     *
+     * @throws TransformationException
+     */
+    @Test
+    public void compiledOnDataTypes() throws TransformationException {
+        final DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement> transform = createElevationTransform();
+        final Range nodataRange = RangeFactory.create(42.0, true, 43.0, true, false);
+        final Rectangle roiBounds = new Rectangle(10, 10, 40, 30);
+        for (int dataType : new int[] {DataBuffer.TYPE_USHORT, DataBuffer.TYPE_SHORT, DataBuffer.TYPE_FLOAT}) {
+            final SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, 64, 64, 1);
+            final TiledImage image = new TiledImage(0, 0, 64, 64, 0, 0, sm, null);
+            for (int y = 0; y < 64; y++) {
+                for (int x = 0; x < 64; x++) {
+                    // covers the gaps, both elements and the breakpoints
+                    final double value = (y * 64 + x) * 0.75 - 500;
+                    image.setSample(x, y, 0, dataType == DataBuffer.TYPE_USHORT ? Math.abs(value) : value);
+                }
+            }
+
+            ParameterBlockImageN pbj = new ParameterBlockImageN(GenericPiecewiseOpImage.OPERATION_NAME);
+            pbj.addSource(image);
+            pbj.setParameter("Domain1D", transform);
+            pbj.setParameter("roi", new ROIShape(roiBounds));
+            pbj.setParameter("nodata", nodataRange);
+            final RenderedOp finalImage = ImageN.create(GenericPiecewiseOpImage.OPERATION_NAME, pbj);
+            final Raster result = finalImage.getData();
+            final Raster source = image.getData();
+            for (int y = 0; y < 64; y++) {
+                for (int x = 0; x < 64; x++) {
+                    final double value = source.getSampleDouble(x, y, 0);
+                    double expected = transform.getDefaultValue();
+                    if (roiBounds.contains(x, y) && !nodataRange.contains(value)) {
+                        expected = transform.transform(value);
+                    }
+                    if (dataType != DataBuffer.TYPE_FLOAT) {
+                        // same conversion as WritableRaster.setSample(int, int, int, double)
+                        expected = dataType == DataBuffer.TYPE_USHORT
+                                ? (((int) expected) & 0xffff)
+                                : (short) (int) expected;
+                    } else {
+                        expected = (float) expected;
+                    }
+                    Assert.assertEquals(
+                            "Pixel " + x + "," + y + " of type " + dataType,
+                            expected,
+                            result.getSampleDouble(x, y, 0),
+                            0.0);
+                }
+            }
+            finalImage.dispose();
+        }
+    }
+
+    /** Linear ramp from 0 to 1000, constant from 1001 to 2000, 7 elsewhere. */
+    private static DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement> createElevationTransform() {
+        final DefaultPiecewiseTransform1DElement ramp = DefaultPiecewiseTransform1DElement.create(
+                "ramp", RangeFactory.create(0.0, true, 1000.0, true, false), RangeFactory.create(0, true, 100, true));
+        final DefaultPiecewiseTransform1DElement flat = DefaultPiecewiseTransform1DElement.create(
+                "flat", RangeFactory.create(1001.0, true, 2000.0, true, false), 5.0);
+        return new DefaultPiecewiseTransform1D<DefaultPiecewiseTransform1DElement>(
+                new DefaultPiecewiseTransform1DElement[] {ramp, flat}, 7);
+    }
 }
@@ -0,0 +1,81 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.rescale;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.Random;
+import org.eclipse.imagen.FusedPointOpImage;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.algebra.AlgebraDescriptor.Operator;
+import org.eclipse.imagen.media.algebra.constant.OperationConstDescriptor;
+import org.eclipse.imagen.media.range.RangeFactory;
+import org.junit.Test;
+
+/** Checks that a fused chain of Rescale and OperationConst produces the same pixels as the unfused chain. */
+public class FusedRescaleTest {
+
+    private static TiledImage createImage(int dataType) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, 64, 64, 2);
+        TiledImage image = new TiledImage(0, 0, 250, 170, 0, 0, sm, PlanarImage.createColorModel(sm));
+        Random random = new Random(0);
+        for (int y = 0; y < 170; y++) {
+            for (int x = 0; x < 250; x++) {
+                image.setSample(x, y, 0, random.nextInt(256));
+                image.setSample(x, y, 1, random.nextInt(1000));
+            }
+        }
+        return image;
+    }
+
+    private static void assertFused(RenderedOp chain) {
+        RenderedImage fused = FusedPointOpImage.fuse(chain);
+        assertTrue(fused instanceof FusedPointOpImage);
+        assertEquals(3, ((FusedPointOpImage) fused).getNumStages());
+
+        Raster expected = chain.getData();
+        Raster actual = fused.getData();
+        for (int b = 0; b < expected.getNumBands(); b++) {
+            assertArrayEquals(
+                    expected.getSamples(0, 0, 250, 170, b, (double[]) null),
+                    actual.getSamples(0, 0, 250, 170, b, (double[]) null),
+                    0);
+        }
+    }
+
+    @Test
+    public void testUShortChain() {
+        TiledImage source = createImage(DataBuffer.TYPE_USHORT);
+        RenderedOp rescaled = RescaleDescriptor.create(source, new double[] {2.5}, new double[] {-30}, null);
+        RenderedOp multiplied = OperationConstDescriptor.create(
+                rescaled, new double[] {0.75, 3}, Operator.MULTIPLY, null, null, 0, null);
+        assertFused(RescaleDescriptor.create(multiplied, new double[] {1.1}, new double[] {7}, null));
+    }
+
+    @Test
+    public void testChainWithROIAndNoData() {
+        TiledImage source = createImage(DataBuffer.TYPE_FLOAT);
+        ROIShape roi = new ROIShape(new Rectangle(20, 30, 150, 90));
+        RenderedOp rescaled = RescaleDescriptor.create(
+                source, new double[] {0.5}, new double[] {10}, roi, RangeFactory.create(0f, 50f), false, -1, null);
+        RenderedOp added =
+                OperationConstDescriptor.create(rescaled, new double[] {4}, Operator.SUM, null, null, 0, null);
+        assertFused(RescaleDescriptor.create(added, new double[] {-2}, new double[] {1}, null));
+    }
+}
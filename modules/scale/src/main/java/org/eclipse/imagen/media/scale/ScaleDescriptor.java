@@ -300,6 +300,14 @@ class ScalePropertyGenerator extends PropertyGeneratorImpl {
  * Range used must be defined inside the interpolator, at the interpolator creation time, while the ROI support is
  * handled inside the ScaleGeneralOpImage.
  *
+ * <p>An {@link org.eclipse.imagen.media.interpolators.InterpolationResample} selects a separable, two pass resampling
+ * engine with a choice of filters (box, triangle, cubic, Lanczos). When downsampling, the filter footprint is widened
+ * by the inverse of the scale factor, so that the result is properly antialiased: for instance <code>
+ * new InterpolationResample(InterpolationResample.Filter.LANCZOS3)</code> is a good choice for building overviews,
+ * while the <code>BOX</code> filter performs an area average. With such an interpolation the source is never extended,
+ * the filter weights being renormalized near the image edges, and source pixels in the No Data range or outside of the
+ * ROI are excluded from the computation.
+ *
  * <p>
  *
  * <table border=1>
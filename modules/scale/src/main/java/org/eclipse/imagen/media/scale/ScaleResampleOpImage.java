@@ -0,0 +1,482 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.scale;
+
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.Map;
+import org.eclipse.imagen.GeometricOpImage;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.ROI;
+import org.eclipse.imagen.media.interpolators.InterpolationResample;
+import org.eclipse.imagen.media.range.Range;
+import org.eclipse.imagen.media.util.ImageUtil;
+
+/**
+ * A separable, two pass implementation of the "Scale" and "Scale2" operations, used with an
+ * {@link InterpolationResample}.
+ *
+ * <p>The filter weights of every destination column and row are computed once at construction time. Each destination
+ * tile is then computed by resampling every required source row horizontally into a row buffer, and combining the
+ * buffered rows vertically. The buffer is a ring holding as many rows as the vertical filter footprint, so that each
+ * source row is resampled horizontally only once per tile, however many destination rows it contributes to. Compared
+ * with computing each destination pixel from its full two dimensional neighbourhood, this reduces the cost per pixel
+ * from <code>n * m</code> to <code>n + m</code> multiplications, which matters for the wide footprints of antialiasing
+ * filters when downsampling.
+ *
+ * <p>The destination bounds are the same as the ones of {@link ScaleOpImage}. Source pixels are never read outside of
+ * the source bounds: the filter weights are instead renormalized near the edges, so no <code>BorderExtender</code> is
+ * needed. Source pixels in the No Data range or outside of the ROI are excluded in the same way; destination pixels
+ * without any valid contribution are set to the background values.
+ */
+public class ScaleResampleOpImage extends GeometricOpImage {
+
+    /** Weights whose sum falls below this threshold are considered empty. */
+    private static final double EPSILON = 1E-9;
+
+    /** The filter weights along one axis of the destination image. */
+    static final class Contributions {
+
+        /** Index of the first source pixel contributing to each destination pixel. */
+        final int[] start;
+
+        /** Number of source pixels contributing to each destination pixel. */
+        final int[] count;
+
+        /** The normalized weights, <code>stride</code> entries per destination pixel. */
+        final double[] weights;
+
+        /** Offset between the weights of consecutive destination pixels. */
+        final int stride;
+
+        /** Maximum number of contributions of a destination pixel. */
+        final int maxCount;
+
+        Contributions(
+                InterpolationResample.Filter filter,
+                int dstMin,
+                int dstSize,
+                int srcMin,
+                int srcSize,
+                double scale,
+                double trans) {
+            double filterScale = Math.max(1, 1 / scale);
+            double radius = filter.getSupport() * filterScale;
+            int srcMax = srcMin + srcSize;
+
+            this.stride = (int) Math.ceil(2 * radius) + 2;
+            this.start = new int[dstSize];
+            this.count = new int[dstSize];
+            this.weights = new double[dstSize * stride];
+
+            int max = 0;
+            for (int i = 0; i < dstSize; i++) {
+                // Source coordinate of the destination pixel center
+                double center = (dstMin + i + 0.5 - trans) / scale;
+                int lo = Math.max(srcMin, (int) Math.floor(center - radius));
+                int hi = Math.min(srcMax, (int) Math.ceil(center + radius));
+
+                int offset = i * stride;
+                double sum = 0;
+                for (int s = lo; s < hi; s++) {
+                    double w = filter.evaluate((s + 0.5 - center) / filterScale);
+                    weights[offset + s - lo] = w;
+                    sum += w;
+                }
+
+                // Trim the null weights at both ends of the footprint
+                int first = 0;
+                int n = Math.max(0, hi - lo);
+                while (first < n && weights[offset + first] == 0) {
+                    first++;
+                }
+                while (n > first && weights[offset + n - 1] == 0) {
+                    n--;
+                }
+                n -= first;
+                if (first > 0) {
+                    System.arraycopy(weights, offset + first, weights, offset, n);
+                }
+
+                if (n == 0 || Math.abs(sum) < EPSILON) {
+                    start[i] = Math.min(Math.max(lo, srcMin), srcMax - 1);
+                    count[i] = 0;
+                } else {
+                    for (int k = 0; k < n; k++) {
+                        weights[offset + k] /= sum;
+                    }
+                    start[i] = lo + first;
+                    count[i] = n;
+                }
+                max = Math.max(max, count[i]);
+            }
+            this.maxCount = Math.max(1, max);
+        }
+
+        /** Returns the first source pixel contributing to the destination pixels in <code>[from, to)</code>. */
+        int first(int from, int to) {
+            int min = Integer.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                if (count[i] > 0) {
+                    min = Math.min(min, start[i]);
+                }
+            }
+            return min == Integer.MAX_VALUE ? start[from] : min;
+        }
+
+        /**
+         * Returns the source pixel following the last one contributing to the destination pixels in <code>[from, to)
+         * </code>.
+         */
+        int last(int from, int to) {
+            int max = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                max = Math.max(max, start[i] + count[i]);
+            }
+            return max;
+        }
+    }
+
+    /** The resampling filter */
+    private final InterpolationResample.Filter filter;
+
+    /** The horizontal scale factor. */
+    private final double scaleX;
+
+    /** The vertical scale factor. */
+    private final double scaleY;
+
+    /** The horizontal translation. */
+    private final double transX;
+
+    /** The vertical translation. */
+    private final double transY;
+
+    /** The horizontal filter weights, indexed from the destination minimum X. */
+    private final Contributions columns;
+
+    /** The vertical filter weights, indexed from the destination minimum Y. */
+    private final Contributions rows;
+
+    /** The No Data range, or <code>null</code> */
+    private final Range noData;
+
+    /** The ROI image, or <code>null</code> if the ROI is not defined or contains the whole source */
+    private final PlanarImage roiImage;
+
+    /** Whether source samples must be checked for validity */
+    private final boolean checkValidity;
+
+    /** Lower bound of the destination samples */
+    private final double[] minValues;
+
+    /** Upper bound of the destination samples */
+    private final double[] maxValues;
+
+    /** Whether destination samples are integral */
+    private final boolean integral;
+
+    private static ImageLayout layoutHelper(
+            RenderedImage source, double scaleX, double scaleY, double transX, double transY, ImageLayout il) {
+        ImageLayout layout = (il == null) ? new ImageLayout() : (ImageLayout) il.clone();
+
+        // Same bounds as ScaleOpImage
+        int x0 = (int) Math.ceil(source.getMinX() * scaleX - 0.5 + transX - EPSILON);
+        int y0 = (int) Math.ceil(source.getMinY() * scaleY - 0.5 + transY - EPSILON);
+        int x1 = (int) Math.ceil((source.getMinX() + source.getWidth()) * scaleX - 1.5 + transX - EPSILON);
+        int y1 = (int) Math.ceil((source.getMinY() + source.getHeight()) * scaleY - 1.5 + transY - EPSILON);
+
+        layout.setMinX(x0);
+        layout.setMinY(y0);
+        layout.setWidth(Math.max(1, x1 - x0 + 1));
+        layout.setHeight(Math.max(1, y1 - y0 + 1));
+        return layout;
+    }
+
+    /**
+     * Constructs a <code>ScaleResampleOpImage</code>.
+     *
+     * @param source The source image.
+     * @param layout The destination image layout, whose bounds are ignored. May be <code>null</code>.
+     * @param configuration Configurable attributes of the image.
+     * @param interp The resampling interpolation.
+     * @param scaleX The horizontal scale factor.
+     * @param scaleY The vertical scale factor.
+     * @param transX The horizontal translation.
+     * @param transY The vertical translation.
+     * @param roi The source ROI, may be <code>null</code>.
+     * @param noData The source No Data range, may be <code>null</code>.
+     * @param backgroundValues The values of destination pixels without any valid contribution. May be <code>null</code>
+     *     .
+     */
+    public ScaleResampleOpImage(
+            RenderedImage source,
+            ImageLayout layout,
+            Map configuration,
+            InterpolationResample interp,
+            double scaleX,
+            double scaleY,
+            double transX,
+            double transY,
+            ROI roi,
+            Range noData,
+            double[] backgroundValues) {
+        super(
+                vectorize(source),
+                layoutHelper(source, scaleX, scaleY, transX, transY, layout),
+                configuration,
+                false,
+                null,
+                interp,
+                backgroundValues);
+
+        this.filter = interp.getFilter();
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.transX = transX;
+        this.transY = transY;
+        this.noData = noData;
+
+        this.columns = new Contributions(filter, minX, width, source.getMinX(), source.getWidth(), scaleX, transX);
+        this.rows = new Contributions(filter, minY, height, source.getMinY(), source.getHeight(), scaleY, transY);
+
+        Rectangle srcBounds = new Rectangle(source.getMinX(), source.getMinY(), source.getWidth(), source.getHeight());
+        if (roi != null && !roi.contains(srcBounds)) {
+            this.roiImage = roi.getAsImage();
+        } else {
+            this.roiImage = null;
+        }
+        this.checkValidity = noData != null || roiImage != null;
+
+        // Output value ranges
+        SampleModel sm = getSampleModel();
+        int dataType = sm.getDataType();
+        int numBands = sm.getNumBands();
+        this.integral = dataType != DataBuffer.TYPE_FLOAT && dataType != DataBuffer.TYPE_DOUBLE;
+        this.minValues = new double[numBands];
+        this.maxValues = new double[numBands];
+        for (int b = 0; b < numBands; b++) {
+            int bits = sm.getSampleSize(b);
+            if (dataType == DataBuffer.TYPE_SHORT) {
+                minValues[b] = Short.MIN_VALUE;
+                maxValues[b] = Short.MAX_VALUE;
+            } else if (dataType == DataBuffer.TYPE_INT && bits >= 32) {
+                minValues[b] = Integer.MIN_VALUE;
+                maxValues[b] = Integer.MAX_VALUE;
+            } else if (integral) {
+                minValues[b] = 0;
+                maxValues[b] = (1L << Math.min(bits, 31)) - 1;
+            } else {
+                minValues[b] = Double.NEGATIVE_INFINITY;
+                maxValues[b] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /** Returns the resampling filter. */
+    public InterpolationResample.Filter getFilter() {
+        return filter;
+    }
+
+    protected Rectangle backwardMapRect(Rectangle destRect, int sourceIndex) {
+        if (destRect == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic0"));
+        }
+        if (sourceIndex != 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic1"));
+        }
+        Rectangle rect = destRect.intersection(getBounds());
+        if (rect.isEmpty()) {
+            return null;
+        }
+        int cx0 = rect.x - minX;
+        int cx1 = cx0 + rect.width;
+        int cy0 = rect.y - minY;
+        int cy1 = cy0 + rect.height;
+        int sx0 = columns.first(cx0, cx1);
+        int sy0 = rows.first(cy0, cy1);
+        return new Rectangle(
+                sx0, sy0, Math.max(1, columns.last(cx0, cx1) - sx0), Math.max(1, rows.last(cy0, cy1) - sy0));
+    }
+
+    protected Rectangle forwardMapRect(Rectangle sourceRect, int sourceIndex) {
+        if (sourceRect == null) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic0"));
+        }
+        if (sourceIndex != 0) {
+            throw new IllegalArgumentException(JaiI18N.getString("Generic1"));
+        }
+        // Conservative estimate widening the mapped rectangle by the filter radius
+        double rx = filter.getSupport() * Math.max(1, 1 / scaleX);
+        double ry = filter.getSupport() * Math.max(1, 1 / scaleY);
+        int x0 = (int) Math.floor((sourceRect.x - rx) * scaleX + transX - 0.5);
+        int y0 = (int) Math.floor((sourceRect.y - ry) * scaleY + transY - 0.5);
+        int x1 = (int) Math.ceil((sourceRect.x + sourceRect.width + rx) * scaleX + transX + 0.5);
+        int y1 = (int) Math.ceil((sourceRect.y + sourceRect.height + ry) * scaleY + transY + 0.5);
+        return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    /** Returns the exact source region read to compute the given destination region. */
+    public Rectangle mapDestRect(Rectangle destRect, int sourceIndex) {
+        Rectangle rect = backwardMapRect(destRect, sourceIndex);
+        return rect == null ? getSource(0).getBounds() : rect;
+    }
+
+    protected void computeRect(PlanarImage[] sources, WritableRaster dest, Rectangle destRect) {
+        PlanarImage source = sources[0];
+        int numBands = getSampleModel().getNumBands();
+
+        int dx0 = destRect.x - minX;
+        int dx1 = dx0 + destRect.width;
+        int dy0 = destRect.y - minY;
+        int dw = destRect.width;
+
+        // Source columns read by this tile
+        int sx0 = columns.first(dx0, dx1);
+        int sw = columns.last(dx0, dx1) - sx0;
+        if (sw <= 0) {
+            ImageUtil.fillBackground(dest, destRect, backgroundValues);
+            return;
+        }
+
+        // Ring of horizontally resampled source rows
+        int ringSize = rows.maxCount;
+        double[][] ring = new double[ringSize][dw * numBands];
+        int[] ringRows = new int[ringSize];
+        Arrays.fill(ringRows, Integer.MIN_VALUE);
+
+        double[] srcRow = new double[sw * numBands];
+        double[] tmpRow = new double[sw * numBands];
+        double[] roiRow = roiImage != null ? new double[sw] : null;
+        double[] tmpRoi = roiImage != null ? new double[sw] : null;
+        double[] dstRow = new double[dw * numBands];
+
+        for (int j = 0; j < destRect.height; j++) {
+            int dy = dy0 + j;
+            int first = rows.start[dy];
+            int n = rows.count[dy];
+            int wOffset = dy * rows.stride;
+
+            // Horizontal pass on the rows not yet in the ring
+            for (int k = 0; k < n; k++) {
+                int sy = first + k;
+                int slot = Math.floorMod(sy, ringSize);
+                if (ringRows[slot] != sy) {
+                    readRow(source, sy, sx0, sw, numBands, srcRow, tmpRow);
+                    if (roiImage != null) {
+                        Arrays.fill(roiRow, 0);
+                        readRow(roiImage, sy, sx0, sw, 1, roiRow, tmpRoi);
+                    }
+                    resampleRow(srcRow, roiRow, sx0, dx0, dw, numBands, ring[slot]);
+                    ringRows[slot] = sy;
+                }
+            }
+
+            // Vertical pass
+            for (int i = 0; i < dw * numBands; i++) {
+                double sum = 0;
+                double wsum = 0;
+                for (int k = 0; k < n; k++) {
+                    double v = ring[Math.floorMod(first + k, ringSize)][i];
+                    double w = rows.weights[wOffset + k];
+                    if (checkValidity) {
+                        if (Double.isNaN(v)) {
+                            continue;
+                        }
+                        wsum += w;
+                    }
+                    sum += w * v;
+                }
+                int b = i % numBands;
+                if (n == 0 || (checkValidity && Math.abs(wsum) < EPSILON)) {
+                    dstRow[i] = backgroundValues[b];
+                } else {
+                    if (checkValidity) {
+                        sum /= wsum;
+                    }
+                    if (integral) {
+                        sum = Math.floor(sum + 0.5);
+                    }
+                    dstRow[i] = Math.min(maxValues[b], Math.max(minValues[b], sum));
+                }
+            }
+            dest.setPixels(destRect.x, destRect.y + j, dw, 1, dstRow);
+        }
+    }
+
+    /** Resamples a source row horizontally, marking the destination samples without valid contribution as NaN. */
+    private void resampleRow(double[] srcRow, double[] roiRow, int sx0, int dx0, int dw, int numBands, double[] out) {
+        int[] start = columns.start;
+        int[] count = columns.count;
+        double[] weights = columns.weights;
+        int stride = columns.stride;
+        for (int i = 0; i < dw; i++) {
+            int dx = dx0 + i;
+            int base = start[dx] - sx0;
+            int n = count[dx];
+            int wOffset = dx * stride;
+            for (int b = 0; b < numBands; b++) {
+                double sum = 0;
+                double wsum = 0;
+                for (int k = 0; k < n; k++) {
+                    int s = base + k;
+                    double v = srcRow[s * numBands + b];
+                    double w = weights[wOffset + k];
+                    if (checkValidity) {
+                        if ((roiRow != null && roiRow[s] == 0) || (noData != null && noData.contains(v))) {
+                            continue;
+                        }
+                        wsum += w;
+                    }
+                    sum += w * v;
+                }
+                if (n == 0 || (checkValidity && Math.abs(wsum) < EPSILON)) {
+                    out[i * numBands + b] = Double.NaN;
+                } else {
+                    out[i * numBands + b] = checkValidity ? sum / wsum : sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the samples of an image row, tile by tile, without cobbling. The samples outside of the image bounds are
+     * left untouched.
+     */
+    private static void readRow(PlanarImage image, int y, int x0, int w, int numBands, double[] out, double[] tmp) {
+        int xMin = Math.max(x0, image.getMinX());
+        int xMax = Math.min(x0 + w, image.getMaxX());
+        if (y < image.getMinY() || y >= image.getMaxY() || xMax <= xMin) {
+            return;
+        }
+        int ty = image.YToTileY(y);
+        int tx0 = image.XToTileX(xMin);
+        int tx1 = image.XToTileX(xMax - 1);
+        for (int tx = tx0; tx <= tx1; tx++) {
+            Raster tile = image.getTile(tx, ty);
+            if (tile == null) {
+                continue;
+            }
+            int ix0 = Math.max(xMin, tile.getMinX());
+            int ix1 = Math.min(xMax, tile.getMinX() + tile.getWidth());
+            if (ix1 <= ix0) {
+                continue;
+            }
+            tile.getPixels(ix0, y, ix1 - ix0, 1, tmp);
+            System.arraycopy(tmp, 0, out, (ix0 - x0) * numBands, (ix1 - ix0) * numBands);
+        }
+    }
+}
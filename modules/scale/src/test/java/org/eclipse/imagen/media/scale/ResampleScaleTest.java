@@ -0,0 +1,170 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.Random;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.interpolators.InterpolationResample;
+import org.eclipse.imagen.media.interpolators.InterpolationResample.Filter;
+import org.eclipse.imagen.media.range.RangeFactory;
+import org.junit.Test;
+
+/** Tests the separable resampling engine used by the Scale operation with an {@link InterpolationResample}. */
+public class ResampleScaleTest {
+
+    private static TiledImage createImage(int dataType, int width, int height, int tileSize, long seed) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, tileSize, tileSize, 1);
+        TiledImage image = new TiledImage(0, 0, width, height, 0, 0, sm, PlanarImage.createColorModel(sm));
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setSample(x, y, 0, random.nextInt(256));
+            }
+        }
+        return image;
+    }
+
+    private static RenderedOp scale(
+            RenderedImage source, float scale, Filter filter, org.eclipse.imagen.ROI roi, Integer noData, int tile) {
+        ImageLayout layout = new ImageLayout();
+        layout.setTileWidth(tile);
+        layout.setTileHeight(tile);
+        RenderingHints hints = new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+        return ScaleDescriptor.create(
+                source,
+                scale,
+                scale,
+                0f,
+                0f,
+                new InterpolationResample(filter),
+                roi,
+                false,
+                noData != null ? RangeFactory.create(noData.byteValue(), noData.byteValue()) : null,
+                new double[] {-1},
+                hints);
+    }
+
+    /** Straightforward, non separable evaluation of a destination pixel. */
+    private static double reference(Raster src, Filter filter, double scale, int dx, int dy) {
+        double fs = Math.max(1, 1 / scale);
+        double radius = filter.getSupport() * fs;
+        double cx = (dx + 0.5) / scale;
+        double cy = (dy + 0.5) / scale;
+        double sum = 0;
+        double wsum = 0;
+        for (int y = Math.max(0, (int) Math.floor(cy - radius));
+                y < Math.min(src.getHeight(), Math.ceil(cy + radius));
+                y++) {
+            double wy = filter.evaluate((y + 0.5 - cy) / fs);
+            for (int x = Math.max(0, (int) Math.floor(cx - radius));
+                    x < Math.min(src.getWidth(), Math.ceil(cx + radius));
+                    x++) {
+                double w = wy * filter.evaluate((x + 0.5 - cx) / fs);
+                sum += w * src.getSampleDouble(x, y, 0);
+                wsum += w;
+            }
+        }
+        return sum / wsum;
+    }
+
+    @Test
+    public void testBoxDownsamplingIsAreaAverage() {
+        TiledImage source = createImage(DataBuffer.TYPE_BYTE, 64, 64, 16, 1);
+        RenderedOp scaled = scale(source, 0.25f, Filter.BOX, null, null, 8);
+        assertTrue(scaled.getRendering() instanceof ScaleResampleOpImage);
+        assertEquals(new Rectangle(0, 0, 16, 16), scaled.getBounds());
+
+        Raster dst = scaled.getData();
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                int sum = 0;
+                for (int j = 0; j < 4; j++) {
+                    for (int i = 0; i < 4; i++) {
+                        sum += source.getSample(x * 4 + i, y * 4 + j, 0);
+                    }
+                }
+                assertEquals(Math.round(sum / 16.0), dst.getSample(x, y, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testSeparableMatchesReference() {
+        TiledImage source = createImage(DataBuffer.TYPE_FLOAT, 100, 80, 32, 2);
+        Raster data = source.getData();
+        for (Filter filter : Filter.values()) {
+            for (float scale : new float[] {0.13f, 0.5f, 0.7f, 1.6f}) {
+                Raster dst = scale(source, scale, filter, null, null, 7).getData();
+                for (int y = dst.getMinY(); y < dst.getMinY() + dst.getHeight(); y++) {
+                    for (int x = dst.getMinX(); x < dst.getMinX() + dst.getWidth(); x++) {
+                        assertEquals(
+                                filter + " " + scale,
+                                reference(data, filter, scale, x, y),
+                                dst.getSampleDouble(x, y, 0),
+                                1e-3);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNoDataAndROI() {
+        TiledImage source = createImage(DataBuffer.TYPE_BYTE, 8, 8, 8, 3);
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                // Left half valid with value 100, right half No Data
+                source.setSample(x, y, 0, x < 4 ? 100 : 7);
+            }
+        }
+
+        Raster dst = scale(source, 0.25f, Filter.LANCZOS3, null, 7, 2).getData();
+        assertEquals(100, dst.getSample(0, 0, 0));
+        assertEquals(100, dst.getSample(1, 1, 0));
+
+        // Only the bottom left quarter is in the ROI, the background is cast to 255
+        Raster roiDst = scale(source, 0.25f, Filter.BOX, new ROIShape(new Rectangle(0, 4, 4, 4)), 7, 2)
+                .getData();
+        assertEquals(255, roiDst.getSample(0, 0, 0));
+        assertEquals(100, roiDst.getSample(0, 1, 0));
+        assertEquals(255, roiDst.getSample(1, 1, 0));
+    }
+
+    @Test
+    public void testClamping() {
+        TiledImage source = createImage(DataBuffer.TYPE_BYTE, 32, 32, 32, 4);
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                // Sharp edges produce Lanczos overshoots
+                source.setSample(x, y, 0, ((x / 3) & 1) == 0 ? 0 : 255);
+            }
+        }
+        Raster dst = scale(source, 1.7f, Filter.LANCZOS3, null, null, 16).getData();
+        int[] samples = dst.getSamples(dst.getMinX(), dst.getMinY(), dst.getWidth(), dst.getHeight(), 0, (int[]) null);
+        for (int s : samples) {
+            assertTrue(s >= 0 && s <= 255);
+        }
+    }
+}
@@ -38,6 +38,7 @@ import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.media.interpolators.InterpolationBicubic;
 import org.eclipse.imagen.media.interpolators.InterpolationBilinear;
 import org.eclipse.imagen.media.interpolators.InterpolationNearest;
+import org.eclipse.imagen.media.interpolators.InterpolationResample;
 import org.eclipse.imagen.media.opimage.CopyOpImage;
 import org.eclipse.imagen.media.opimage.RIFUtil;
 import org.eclipse.imagen.media.range.Range;
@@ -124,6 +125,22 @@ public class Scale2CRIF extends CRIFImpl {
             return new TranslateIntOpImage(source, renderHints, (int) xTrans, (int) yTrans);
         }
 
+        // Separable resampling filters have their own engine
+        if (interp instanceof InterpolationResample) {
+            return new ScaleResampleOpImage(
+                    source,
+                    layout,
+                    renderHints,
+                    (InterpolationResample) interp,
+                    xScale,
+                    yScale,
+                    xTrans,
+                    yTrans,
+                    roi,
+                    nodata,
+                    backgroundValues);
+        }
+
         SampleModel sm = source.getSampleModel();
 
         boolean isBinary = (sm instanceof MultiPixelPackedSampleModel)
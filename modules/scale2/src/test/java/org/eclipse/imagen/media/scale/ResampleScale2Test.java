@@ -0,0 +1,152 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.util.Random;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.interpolators.InterpolationResample;
+import org.eclipse.imagen.media.interpolators.InterpolationResample.Filter;
+import org.eclipse.imagen.media.range.RangeFactory;
+import org.junit.Test;
+
+/** Tests the Scale2 operation with an {@link InterpolationResample}, computed by the separable resampling engine. */
+public class ResampleScale2Test {
+
+    private static TiledImage createImage(int dataType, int width, int height, int tileSize, long seed) {
+        SampleModel sm = RasterFactory.createPixelInterleavedSampleModel(dataType, tileSize, tileSize, 1);
+        TiledImage image = new TiledImage(0, 0, width, height, 0, 0, sm, PlanarImage.createColorModel(sm));
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setSample(x, y, 0, random.nextInt(256));
+            }
+        }
+        return image;
+    }
+
+    private static RenderedOp scale2(
+            RenderedImage source,
+            double scale,
+            double trans,
+            Filter filter,
+            org.eclipse.imagen.ROI roi,
+            Integer noData,
+            int tile) {
+        ImageLayout layout = new ImageLayout();
+        layout.setTileWidth(tile);
+        layout.setTileHeight(tile);
+        RenderingHints hints = new RenderingHints(ImageN.KEY_IMAGE_LAYOUT, layout);
+        return Scale2Descriptor.create(
+                source,
+                scale,
+                scale,
+                trans,
+                trans,
+                new InterpolationResample(filter),
+                roi,
+                false,
+                noData != null ? RangeFactory.create(noData.byteValue(), noData.byteValue()) : null,
+                new double[] {-1},
+                hints);
+    }
+
+    @Test
+    public void testUsesResampleEngine() {
+        TiledImage source = createImage(DataBuffer.TYPE_BYTE, 64, 64, 16, 1);
+        RenderedOp scaled = scale2(source, 0.25, 0, Filter.BOX, null, null, 8);
+        assertTrue(scaled.getRendering() instanceof ScaleResampleOpImage);
+        assertEquals(new Rectangle(0, 0, 16, 16), scaled.getBounds());
+
+        // A box filter on an integral reduction is the area average
+        Raster dst = scaled.getData();
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                int sum = 0;
+                for (int j = 0; j < 4; j++) {
+                    for (int i = 0; i < 4; i++) {
+                        sum += source.getSample(x * 4 + i, y * 4 + j, 0);
+                    }
+                }
+                assertEquals(Math.round(sum / 16.0), dst.getSample(x, y, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsScale() {
+        TiledImage source = createImage(DataBuffer.TYPE_FLOAT, 100, 80, 32, 2);
+        for (Filter filter : Filter.values()) {
+            for (double scale : new double[] {0.13, 0.7, 1.6}) {
+                RenderedOp scaled = scale2(source, scale, 3, filter, null, null, 7);
+                RenderedOp expected = ScaleDescriptor.create(
+                        source,
+                        (float) scale,
+                        (float) scale,
+                        3f,
+                        3f,
+                        new InterpolationResample(filter),
+                        null,
+                        false,
+                        null,
+                        new double[] {-1},
+                        new RenderingHints(
+                                ImageN.KEY_IMAGE_LAYOUT,
+                                new ImageLayout().setTileWidth(7).setTileHeight(7)));
+                assertEquals(expected.getBounds(), scaled.getBounds());
+
+                Raster e = expected.getData();
+                Raster a = scaled.getData();
+                for (int y = e.getMinY(); y < e.getMinY() + e.getHeight(); y++) {
+                    for (int x = e.getMinX(); x < e.getMinX() + e.getWidth(); x++) {
+                        assertEquals(
+                                filter + " " + scale, e.getSampleDouble(x, y, 0), a.getSampleDouble(x, y, 0), 1e-3);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNoDataAndROI() {
+        TiledImage source = createImage(DataBuffer.TYPE_BYTE, 8, 8, 8, 3);
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                // Left half valid with value 100, right half No Data
+                source.setSample(x, y, 0, x < 4 ? 100 : 7);
+            }
+        }
+
+        Raster dst = scale2(source, 0.25, 0, Filter.LANCZOS3, null, 7, 2).getData();
+        assertEquals(100, dst.getSample(0, 0, 0));
+        assertEquals(100, dst.getSample(1, 1, 0));
+
+        // Only the bottom left quarter is in the ROI, the background is cast to 255
+        Raster roiDst = scale2(source, 0.25, 0, Filter.BOX, new ROIShape(new Rectangle(0, 4, 4, 4)), 7, 2)
+                .getData();
+        assertEquals(255, roiDst.getSample(0, 0, 0));
+        assertEquals(100, roiDst.getSample(0, 1, 0));
+        assertEquals(255, roiDst.getSample(1, 1, 0));
+    }
+}
@@ -0,0 +1,255 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import java.awt.RenderingHints;
+import java.awt.image.RenderedImage;
+import org.eclipse.imagen.BorderExtender;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.KernelImageN;
+import org.eclipse.imagen.RasterAccessor;
+import org.eclipse.imagen.iterator.RandomIter;
+import org.eclipse.imagen.media.convolve.ConvolveGeneralOpImage;
+import org.eclipse.imagen.media.util.ImageUtil;
+
+/**
+ * A {@link ConvolveGeneralOpImage} computing the byte, ushort and float cases without ROI and NoData with the Java
+ * Vector API. Each source band is first widened to a float plane, then every destination row is computed several
+ * samples at a time. The other cases are delegated to the scalar implementation.
+ *
+ * <p>Separable kernels are applied in two passes, a horizontal one over the source rows and a vertical one over the
+ * result, which costs <code>kw + kh</code> instead of <code>kw * kh</code> operations per sample. The results of the
+ * other kernels are identical to the ones of {@link ConvolveGeneralOpImage}, the ones of separable kernels differ by
+ * the rounding of the floating point sums.
+ */
+public class SIMDConvolveOpImage extends ConvolveGeneralOpImage {
+
+    /** Whether the kernel is applied in two passes */
+    private final boolean separable;
+
+    private final float[] hValues;
+
+    private final float[] vValues;
+
+    public SIMDConvolveOpImage(
+            RenderedImage source, BorderExtender extender, RenderingHints hints, ImageLayout l, KernelImageN kernel) {
+        super(source, extender, hints, l, kernel, null, null, 0, false);
+        separable = kernel.isSeparable();
+        hValues = separable ? kernel.getHorizontalKernelData() : null;
+        vValues = separable ? kernel.getVerticalKernelData() : null;
+    }
+
+    /** Allocates the plane holding the horizontal pass of a band, <code>null</code> if the kernel is not separable. */
+    private float[] createPassPlane(int sheight, int dwidth) {
+        return separable ? new float[sheight * dwidth] : null;
+    }
+
+    /** Runs the horizontal pass of a separable kernel over all the rows of a widened source band. */
+    private void horizontalPass(float[] plane, int swidth, int sheight, float[] pass, int dwidth) {
+        if (separable) {
+            for (int j = 0; j < sheight; j++) {
+                SIMDKernels.convolveRow(plane, swidth, j, hValues, kw, 1, 0F, pass, j * dwidth, dwidth);
+            }
+        }
+    }
+
+    /** Computes a destination row, from the horizontal pass if the kernel is separable. */
+    private void convolveRow(
+            float[] plane, int swidth, float[] pass, float[] kdata, int j, float initial, float[] row, int dwidth) {
+        if (separable) {
+            SIMDKernels.convolveRow(pass, dwidth, j, vValues, 1, kh, initial, row, 0, dwidth);
+        } else {
+            SIMDKernels.convolveRow(plane, swidth, j, kdata, kw, kh, initial, row, 0, dwidth);
+        }
+    }
+
+    @Override
+    protected void byteLoop(RasterAccessor src, RasterAccessor dst, RandomIter roiIter, boolean roiContainsTile) {
+        if (!(caseA || (caseB && roiContainsTile))) {
+            super.byteLoop(src, dst, roiIter, roiContainsTile);
+            return;
+        }
+
+        int swidth = src.getWidth();
+        int sheight = src.getHeight();
+        int dwidth = dst.getWidth();
+        int dheight = dst.getHeight();
+        int dnumBands = dst.getNumBands();
+        float[] kdata = kernel.getKernelData();
+
+        byte[][] srcDataArrays = src.getByteDataArrays();
+        int[] srcBandOffsets = src.getBandOffsets();
+        int srcPixelStride = src.getPixelStride();
+        int srcScanlineStride = src.getScanlineStride();
+
+        byte[][] dstDataArrays = dst.getByteDataArrays();
+        int[] dstBandOffsets = dst.getBandOffsets();
+        int dstPixelStride = dst.getPixelStride();
+        int dstScanlineStride = dst.getScanlineStride();
+
+        float[] plane = new float[swidth * sheight];
+        float[] pass = createPassPlane(sheight, dwidth);
+        float[] row = new float[dwidth];
+        for (int k = 0; k < dnumBands; k++) {
+            // Widen the source band
+            byte[] srcData = srcDataArrays[k];
+            int p = 0;
+            int srcScanlineOffset = srcBandOffsets[k];
+            for (int j = 0; j < sheight; j++) {
+                int srcPixelOffset = srcScanlineOffset;
+                for (int i = 0; i < swidth; i++) {
+                    plane[p++] = srcData[srcPixelOffset] & 0xff;
+                    srcPixelOffset += srcPixelStride;
+                }
+                srcScanlineOffset += srcScanlineStride;
+            }
+
+            horizontalPass(plane, swidth, sheight, pass, dwidth);
+
+            // Convolve and narrow
+            byte[] dstData = dstDataArrays[k];
+            int dstScanlineOffset = dstBandOffsets[k];
+            for (int j = 0; j < dheight; j++) {
+                convolveRow(plane, swidth, pass, kdata, j, 0.5F, row, dwidth);
+                int dstPixelOffset = dstScanlineOffset;
+                for (int i = 0; i < dwidth; i++) {
+                    dstData[dstPixelOffset] = ImageUtil.clampRoundByte(row[i]);
+                    dstPixelOffset += dstPixelStride;
+                }
+                dstScanlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    @Override
+    protected void ushortLoop(RasterAccessor src, RasterAccessor dst, RandomIter roiIter, boolean roiContainsTile) {
+        if (!(caseA || (caseB && roiContainsTile))) {
+            super.ushortLoop(src, dst, roiIter, roiContainsTile);
+            return;
+        }
+
+        int swidth = src.getWidth();
+        int sheight = src.getHeight();
+        int dwidth = dst.getWidth();
+        int dheight = dst.getHeight();
+        int dnumBands = dst.getNumBands();
+        float[] kdata = kernel.getKernelData();
+
+        short[][] srcDataArrays = src.getShortDataArrays();
+        int[] srcBandOffsets = src.getBandOffsets();
+        int srcPixelStride = src.getPixelStride();
+        int srcScanlineStride = src.getScanlineStride();
+
+        short[][] dstDataArrays = dst.getShortDataArrays();
+        int[] dstBandOffsets = dst.getBandOffsets();
+        int dstPixelStride = dst.getPixelStride();
+        int dstScanlineStride = dst.getScanlineStride();
+
+        float[] plane = new float[swidth * sheight];
+        float[] pass = createPassPlane(sheight, dwidth);
+        float[] row = new float[dwidth];
+        for (int k = 0; k < dnumBands; k++) {
+            // Widen the source band
+            short[] srcData = srcDataArrays[k];
+            int p = 0;
+            int srcScanlineOffset = srcBandOffsets[k];
+            for (int j = 0; j < sheight; j++) {
+                int srcPixelOffset = srcScanlineOffset;
+                for (int i = 0; i < swidth; i++) {
+                    plane[p++] = srcData[srcPixelOffset] & 0xffff;
+                    srcPixelOffset += srcPixelStride;
+                }
+                srcScanlineOffset += srcScanlineStride;
+            }
+
+            horizontalPass(plane, swidth, sheight, pass, dwidth);
+
+            // Convolve and narrow
+            short[] dstData = dstDataArrays[k];
+            int dstScanlineOffset = dstBandOffsets[k];
+            for (int j = 0; j < dheight; j++) {
+                convolveRow(plane, swidth, pass, kdata, j, 0.5F, row, dwidth);
+                int dstPixelOffset = dstScanlineOffset;
+                for (int i = 0; i < dwidth; i++) {
+                    dstData[dstPixelOffset] = ImageUtil.clampRoundUShort(row[i]);
+                    dstPixelOffset += dstPixelStride;
+                }
+                dstScanlineOffset += dstScanlineStride;
+            }
+        }
+    }
+
+    @Override
+    protected void floatLoop(RasterAccessor src, RasterAccessor dst, RandomIter roiIter, boolean roiContainsTile) {
+        if (!(caseA || (caseB && roiContainsTile))) {
+            super.floatLoop(src, dst, roiIter, roiContainsTile);
+            return;
+        }
+
+        int swidth = src.getWidth();
+        int sheight = src.getHeight();
+        int dwidth = dst.getWidth();
+        int dheight = dst.getHeight();
+        int dnumBands = dst.getNumBands();
+        float[] kdata = kernel.getKernelData();
+
+        float[][] srcDataArrays = src.getFloatDataArrays();
+        int[] srcBandOffsets = src.getBandOffsets();
+        int srcPixelStride = src.getPixelStride();
+        int srcScanlineStride = src.getScanlineStride();
+
+        float[][] dstDataArrays = dst.getFloatDataArrays();
+        int[] dstBandOffsets = dst.getBandOffsets();
+        int dstPixelStride = dst.getPixelStride();
+        int dstScanlineStride = dst.getScanlineStride();
+
+        float[] plane = new float[swidth * sheight];
+        float[] pass = createPassPlane(sheight, dwidth);
+        float[] row = new float[dwidth];
+        for (int k = 0; k < dnumBands; k++) {
+            // Gather the source band in a contiguous plane
+            float[] srcData = srcDataArrays[k];
+            int p = 0;
+            int srcScanlineOffset = srcBandOffsets[k];
+            for (int j = 0; j < sheight; j++) {
+                if (srcPixelStride == 1) {
+                    System.arraycopy(srcData, srcScanlineOffset, plane, p, swidth);
+                    p += swidth;
+                } else {
+                    int srcPixelOffset = srcScanlineOffset;
+                    for (int i = 0; i < swidth; i++) {
+                        plane[p++] = srcData[srcPixelOffset];
+                        srcPixelOffset += srcPixelStride;
+                    }
+                }
+                srcScanlineOffset += srcScanlineStride;
+            }
+
+            horizontalPass(plane, swidth, sheight, pass, dwidth);
+
+            // Convolve
+            float[] dstData = dstDataArrays[k];
+            int dstScanlineOffset = dstBandOffsets[k];
+            for (int j = 0; j < dheight; j++) {
+                convolveRow(plane, swidth, pass, kdata, j, 0F, row, dwidth);
+                if (dstPixelStride == 1) {
+                    System.arraycopy(row, 0, dstData, dstScanlineOffset, dwidth);
+                } else {
+                    int dstPixelOffset = dstScanlineOffset;
+                    for (int i = 0; i < dwidth; i++) {
+                        dstData[dstPixelOffset] = row[i];
+                        dstPixelOffset += dstPixelStride;
+                    }
+                }
+                dstScanlineOffset += dstScanlineStride;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import java.awt.RenderingHints;
+import java.awt.image.DataBuffer;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.ParameterBlock;
+import java.awt.image.renderable.RenderedImageFactory;
+import org.eclipse.imagen.BorderExtender;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.KernelImageN;
+import org.eclipse.imagen.media.opimage.RIFUtil;
+
+/**
+ * A <code>RIF</code> supporting the "Convolve" operation with the {@link SIMDConvolveOpImage}. It returns <code>null
+ * </code>, letting the <code>OperationRegistry</code> fall back on the next preferred factory, whenever the SIMD
+ * kernels cannot be used: Vector API not available, ROI or NoData set, or data type other than byte, ushort and float.
+ */
+public class SIMDConvolveRIF implements RenderedImageFactory {
+
+    public SIMDConvolveRIF() {}
+
+    public RenderedImage create(ParameterBlock pb, RenderingHints hints) {
+        if (!SIMDSupport.isAvailable()) {
+            return null;
+        }
+
+        RenderedImage img = pb.getRenderedSource(0);
+        KernelImageN kernel = (KernelImageN) pb.getObjectParameter(0);
+        Object roi = pb.getObjectParameter(1);
+        Object nodata = pb.getObjectParameter(2);
+        int dataType = img.getSampleModel().getDataType();
+        boolean dataTypeOk = dataType == DataBuffer.TYPE_BYTE
+                || dataType == DataBuffer.TYPE_USHORT
+                || dataType == DataBuffer.TYPE_FLOAT;
+        if (roi != null || nodata != null || !dataTypeOk) {
+            return null;
+        }
+
+        // Getting the Layout
+        ImageLayout l = RIFUtil.getImageLayoutHint(hints);
+        // Get BorderExtender from renderHints if present.
+        BorderExtender extender = RIFUtil.getBorderExtenderHint(hints);
+
+        return new SIMDConvolveOpImage(img, extender, hints, l, kernel.getRotatedKernel());
+    }
+}
@@ -0,0 +1,88 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels shared by the SIMD operations. Do not reference this class unless
+ * {@link SIMDSupport#isAvailable()} returns <code>true</code>.
+ *
+ * <p>The kernels perform the very same floating point operations, in the very same order, as the scalar loops they
+ * replace (a multiply followed by an add, no fused multiply-add), so that results are bit-identical.
+ */
+final class SIMDKernels {
+
+    static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private SIMDKernels() {}
+
+    /**
+     * Convolves one row of a single band, float, source plane.
+     *
+     * @param plane The source samples, <code>planeWidth</code> samples per row.
+     * @param planeWidth The width of the source plane, at least <code>width + kw - 1</code>.
+     * @param row The first source row contributing to the destination row.
+     * @param kdata The kernel data, in row major order.
+     * @param kw The kernel width.
+     * @param kh The kernel height.
+     * @param initial The initial value of the accumulator (e.g. 0.5 to round integral results).
+     * @param out The destination array.
+     * @param outOffset The offset of the destination row in <code>out</code>.
+     * @param width The number of destination samples to compute.
+     */
+    static void convolveRow(
+            float[] plane,
+            int planeWidth,
+            int row,
+            float[] kdata,
+            int kw,
+            int kh,
+            float initial,
+            float[] out,
+            int outOffset,
+            int width) {
+        int length = SPECIES.length();
+        int bound = SPECIES.loopBound(width);
+        int rowOffset = row * planeWidth;
+
+        int i = 0;
+        for (; i < bound; i += length) {
+            FloatVector acc = FloatVector.broadcast(SPECIES, initial);
+            int kernelOffset = 0;
+            int lineOffset = rowOffset + i;
+            for (int u = 0; u < kh; u++) {
+                for (int v = 0; v < kw; v++) {
+                    FloatVector samples = FloatVector.fromArray(SPECIES, plane, lineOffset + v);
+                    acc = acc.add(samples.mul(kdata[kernelOffset + v]));
+                }
+                kernelOffset += kw;
+                lineOffset += planeWidth;
+            }
+            acc.intoArray(out, outOffset + i);
+        }
+
+        // Scalar tail
+        for (; i < width; i++) {
+            float f = initial;
+            int kernelOffset = 0;
+            int lineOffset = rowOffset + i;
+            for (int u = 0; u < kh; u++) {
+                for (int v = 0; v < kw; v++) {
+                    f += plane[lineOffset + v] * kdata[kernelOffset + v];
+                }
+                kernelOffset += kw;
+                lineOffset += planeWidth;
+            }
+            out[outOffset + i] = f;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import java.util.List;
+import java.util.logging.Logger;
+import org.eclipse.imagen.OperationRegistry;
+import org.eclipse.imagen.OperationRegistrySpi;
+import org.eclipse.imagen.registry.RenderedRegistryMode;
+
+/**
+ * OperationRegistrySpi implementation registering the SIMD factories as preferred over the scalar ones of the same
+ * product. Nothing is registered if the Vector API is not available.
+ */
+public class SIMDSpi implements OperationRegistrySpi {
+
+    private static final Logger LOGGER = Logger.getLogger(SIMDSpi.class.getName());
+
+    /** The name of the product to which these operations belong. */
+    private String productName = "org.eclipse.imagen.media";
+
+    /** Default constructor. */
+    public SIMDSpi() {}
+
+    /**
+     * Registers the SIMD factories, preferring them over the already registered ones.
+     *
+     * @param registry The registry with which to register the factories.
+     */
+    public void updateRegistry(OperationRegistry registry) {
+        if (!SIMDSupport.isAvailable()) {
+            return;
+        }
+        register(registry, "Convolve", new SIMDConvolveRIF());
+    }
+
+    private void register(OperationRegistry registry, String descName, Object rif) {
+        if (registry.getDescriptor(RenderedRegistryMode.MODE_NAME, descName) == null) {
+            LOGGER.fine(descName + " is not registered, skipping its SIMD factory");
+            return;
+        }
+        List others = registry.getOrderedFactoryList(RenderedRegistryMode.MODE_NAME, descName, productName);
+        registry.registerFactory(RenderedRegistryMode.MODE_NAME, descName, productName, rif);
+        if (others != null) {
+            for (Object other : others) {
+                registry.setFactoryPreference(RenderedRegistryMode.MODE_NAME, descName, productName, rif, other);
+            }
+        }
+    }
+}
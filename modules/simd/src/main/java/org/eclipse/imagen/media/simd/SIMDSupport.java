@@ -0,0 +1,58 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checks whether the incubating Java Vector API can be used in the running JVM.
+ *
+ * <p>The <code>jdk.incubator.vector</code> module is only resolved when the JVM is started with <code>--add-modules
+ * jdk.incubator.vector</code>. Classes referencing the Vector API must not be loaded unless {@link #isAvailable()}
+ * returns <code>true</code>, otherwise they fail with a <code>NoClassDefFoundError</code>. The SIMD kernels can also be
+ * switched off by setting the <code>org.eclipse.imagen.media.simd.enabled</code> system property to <code>false</code>.
+ */
+public final class SIMDSupport {
+
+    /** The system property controlling the usage of the SIMD kernels. */
+    public static final String ENABLED_PROPERTY = "org.eclipse.imagen.media.simd.enabled";
+
+    private static final Logger LOGGER = Logger.getLogger(SIMDSupport.class.getName());
+
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private SIMDSupport() {}
+
+    /** Returns <code>true</code> if the SIMD kernels are enabled and the Vector API is available. */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean checkAvailable() {
+        if (!Boolean.valueOf(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            return false;
+        }
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("jdk.incubator.vector is not available, SIMD kernels disabled");
+            }
+            return false;
+        }
+        try {
+            // Make sure the species used by the kernels can actually be initialized
+            Class.forName("org.eclipse.imagen.media.simd.SIMDKernels", true, SIMDSupport.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, "Failed to initialize the SIMD kernels, falling back on scalar code", t);
+            return false;
+        }
+    }
+}
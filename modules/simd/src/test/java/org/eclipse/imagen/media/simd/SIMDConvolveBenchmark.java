@@ -0,0 +1,93 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.KernelImageN;
+import org.eclipse.imagen.TiledImage;
+import org.eclipse.imagen.media.convolve.ConvolveGeneralOpImage;
+import org.eclipse.imagen.media.testclasses.TestBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the scalar and SIMD convolutions on a single band 512x512 tile. Run from the IDE, or with:
+ *
+ * <pre>
+ * mvn -pl modules/simd test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipse.imagen.media.simd.SIMDConvolveBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SIMDConvolveBenchmark {
+
+    @Param({"BYTE", "USHORT", "FLOAT"})
+    public String dataType;
+
+    @Param({"3", "7", "15"})
+    public int kernelSize;
+
+    private RenderedImage source;
+
+    private KernelImageN kernel;
+
+    private ImageLayout layout;
+
+    @Setup
+    public void setup() {
+        int type = "BYTE".equals(dataType)
+                ? DataBuffer.TYPE_BYTE
+                : "USHORT".equals(dataType) ? DataBuffer.TYPE_USHORT : DataBuffer.TYPE_FLOAT;
+        source = new TiledImage(TestBase.createTestImage(type, 512, 512, null, false, 1), 512, 512);
+        layout = new ImageLayout().setTileWidth(512).setTileHeight(512);
+        float[] data = new float[kernelSize * kernelSize];
+        Arrays.fill(data, 1f / data.length);
+        kernel = new KernelImageN(kernelSize, kernelSize, data);
+    }
+
+    @Benchmark
+    public Raster scalar() {
+        return new ConvolveGeneralOpImage(source, null, null, layout, kernel, null, null, 0, false).computeTile(0, 0);
+    }
+
+    @Benchmark
+    public Raster simd() {
+        return new SIMDConvolveOpImage(source, null, null, layout, kernel).computeTile(0, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                        .include(SIMDConvolveBenchmark.class.getSimpleName())
+                        .build())
+                .run();
+    }
+}
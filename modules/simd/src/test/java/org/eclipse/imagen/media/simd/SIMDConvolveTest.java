@@ -0,0 +1,128 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.simd;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.Random;
+import org.eclipse.imagen.KernelImageN;
+import org.eclipse.imagen.PlanarImage;
+import org.eclipse.imagen.RenderedOp;
+import org.eclipse.imagen.media.convolve.ConvolveDescriptor;
+import org.eclipse.imagen.media.convolve.ConvolveGeneralOpImage;
+import org.eclipse.imagen.media.testclasses.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SIMDConvolveTest extends TestBase {
+
+    private static final int[] DATA_TYPES = {DataBuffer.TYPE_BYTE, DataBuffer.TYPE_USHORT, DataBuffer.TYPE_FLOAT};
+
+    @Before
+    public void checkAvailable() {
+        assumeTrue("Vector API not available", SIMDSupport.isAvailable());
+    }
+
+    private static KernelImageN randomKernel(int w, int h, long seed) {
+        Random random = new Random(seed);
+        float[] data = new float[w * h];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextFloat() / data.length;
+        }
+        return new KernelImageN(w, h, w / 2, h / 2, data);
+    }
+
+    private static void assertSameData(RenderedImage expected, RenderedImage actual) {
+        Raster e = expected.getData();
+        Raster a = actual.getData();
+        assertEquals(e.getBounds(), a.getBounds());
+        for (int b = 0; b < e.getNumBands(); b++) {
+            double[] es = e.getSamples(e.getMinX(), e.getMinY(), e.getWidth(), e.getHeight(), b, (double[]) null);
+            double[] as = a.getSamples(a.getMinX(), a.getMinY(), a.getWidth(), a.getHeight(), b, (double[]) null);
+            assertArrayEquals("Band " + b, es, as, 0d);
+        }
+    }
+
+    @Test
+    public void testSameAsScalar() {
+        int[][] sizes = {{3, 3}, {5, 5}, {7, 3}, {1, 9}, {11, 11}};
+        for (int dataType : DATA_TYPES) {
+            RenderedImage source = createTestImage(dataType, 131, 97, null, false, 3);
+            for (int[] size : sizes) {
+                KernelImageN kernel = randomKernel(size[0], size[1], size[0] * 31 + size[1]);
+                RenderedImage scalar = new ConvolveGeneralOpImage(
+                        source, null, null, null, kernel.getRotatedKernel(), null, null, 0, false);
+                RenderedImage simd = new SIMDConvolveOpImage(source, null, null, null, kernel.getRotatedKernel());
+                assertSameData(scalar, simd);
+            }
+        }
+    }
+
+    @Test
+    public void testSeparableKernel() {
+        int[][] sizes = {{3, 3}, {5, 7}, {9, 9}};
+        for (int dataType : DATA_TYPES) {
+            RenderedImage source = createTestImage(dataType, 131, 97, null, false, 3);
+            for (int[] size : sizes) {
+                Random random = new Random(size[0] * 31 + size[1]);
+                float[] dataH = new float[size[0]];
+                float[] dataV = new float[size[1]];
+                for (int i = 0; i < dataH.length; i++) {
+                    dataH[i] = 0.1F + random.nextFloat() / dataH.length;
+                }
+                for (int i = 0; i < dataV.length; i++) {
+                    dataV[i] = 0.1F + random.nextFloat() / dataV.length;
+                }
+                KernelImageN kernel = new KernelImageN(size[0], size[1], size[0] / 2, size[1] / 2, dataH, dataV);
+                assertTrue(kernel.getRotatedKernel().isSeparable());
+
+                RenderedImage scalar = new ConvolveGeneralOpImage(
+                        source, null, null, null, kernel.getRotatedKernel(), null, null, 0, false);
+                RenderedImage simd = new SIMDConvolveOpImage(source, null, null, null, kernel.getRotatedKernel());
+                assertCloseData(scalar, simd, dataType == DataBuffer.TYPE_FLOAT ? 1e-4 : 0);
+            }
+        }
+    }
+
+    /** Integral samples may differ by one, float ones by the given relative tolerance. */
+    private static void assertCloseData(RenderedImage expected, RenderedImage actual, double relative) {
+        Raster e = expected.getData();
+        Raster a = actual.getData();
+        assertEquals(e.getBounds(), a.getBounds());
+        for (int b = 0; b < e.getNumBands(); b++) {
+            double[] es = e.getSamples(e.getMinX(), e.getMinY(), e.getWidth(), e.getHeight(), b, (double[]) null);
+            double[] as = a.getSamples(a.getMinX(), a.getMinY(), a.getWidth(), a.getHeight(), b, (double[]) null);
+            for (int i = 0; i < es.length; i++) {
+                double tolerance = relative > 0 ? relative * Math.max(1, Math.abs(es[i])) : 1;
+                assertEquals("Band " + b + ", sample " + i, es[i], as[i], tolerance);
+            }
+        }
+    }
+
+    @Test
+    public void testRegisteredAsPreferred() {
+        RenderedImage source = createTestImage(DataBuffer.TYPE_BYTE, 64, 64, null, false, 1);
+        RenderedOp op = ConvolveDescriptor.create(source, randomKernel(3, 3, 0), null, null, 0, false, null);
+        PlanarImage rendering = op.getRendering();
+        assertTrue(rendering.getClass().getName(), rendering instanceof SIMDConvolveOpImage);
+
+        // Cases the SIMD factory does not handle fall back on the scalar one
+        RenderedImage doubles = createTestImage(DataBuffer.TYPE_DOUBLE, 64, 64, null, false, 1);
+        op = ConvolveDescriptor.create(doubles, randomKernel(3, 3, 0), null, null, 0, false, null);
+        rendering = op.getRendering();
+        assertTrue(rendering.getClass().getName(), !(rendering instanceof SIMDConvolveOpImage));
+    }
+}
@@ -0,0 +1,364 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.interpolators;
+
+import org.eclipse.imagen.Interpolation;
+import org.eclipse.imagen.media.range.Range;
+
+/**
+ * Interpolation based on a separable resampling filter, intended for high quality resizing.
+ *
+ * <p>When passed to the "Scale" or "Scale2" operations this interpolation selects a separable, two pass resampling
+ * engine: each destination pixel is computed by a horizontal pass over the source rows, whose results are cached and
+ * reused across destination rows, followed by a vertical pass. When downsampling, the filter support is widened by the
+ * inverse of the scale factor so that every source pixel contributes to the result, which provides proper antialiasing
+ * (e.g. {@link Filter#BOX} then performs an area average). When upsampling the filter is used at its natural support.
+ *
+ * <p>Used as a plain {@link Interpolation}, e.g. by the "Affine" or "Warp" operations, the filter is sampled at its
+ * natural support without any antialiasing.
+ *
+ * <p>Source samples falling in the No Data range are excluded from the computation and the weights of the remaining
+ * samples renormalized; destination pixels without any valid contribution are set to the destination No Data value. The
+ * ROI is not known to the interpolation methods of this class, samples outside of it are excluded in the same way by
+ * the resampling engine of the "Scale" and "Scale2" operations.
+ */
+public class InterpolationResample extends Interpolation implements InterpolationNoData {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 4587132520358476192L;
+
+    /** The resampling filters. */
+    public enum Filter {
+        /** Box filter: nearest neighbour when upsampling, area average when downsampling. */
+        BOX(0.5) {
+            public double evaluate(double x) {
+                return x >= -0.5 && x < 0.5 ? 1 : 0;
+            }
+        },
+        /** Triangle (tent) filter: bilinear when upsampling. */
+        TRIANGLE(1) {
+            public double evaluate(double x) {
+                x = Math.abs(x);
+                return x < 1 ? 1 - x : 0;
+            }
+        },
+        /** Catmull-Rom cubic filter (a = -0.5). */
+        CUBIC(2) {
+            public double evaluate(double x) {
+                final double a = -0.5;
+                x = Math.abs(x);
+                if (x < 1) {
+                    return ((a + 2) * x - (a + 3)) * x * x + 1;
+                } else if (x < 2) {
+                    return ((a * x - 5 * a) * x + 8 * a) * x - 4 * a;
+                }
+                return 0;
+            }
+        },
+        /** Lanczos windowed sinc with two lobes. */
+        LANCZOS2(2) {
+            public double evaluate(double x) {
+                return lanczos(x, 2);
+            }
+        },
+        /** Lanczos windowed sinc with three lobes. */
+        LANCZOS3(3) {
+            public double evaluate(double x) {
+                return lanczos(x, 3);
+            }
+        };
+
+        private final double support;
+
+        Filter(double support) {
+            this.support = support;
+        }
+
+        /** Returns the radius, in pixels, outside of which the filter is zero. */
+        public double getSupport() {
+            return support;
+        }
+
+        /**
+         * Evaluates the filter.
+         *
+         * @param x The distance from the filter center, in pixels.
+         */
+        public abstract double evaluate(double x);
+
+        private static double lanczos(double x, int lobes) {
+            if (x == 0) {
+                return 1;
+            }
+            if (x <= -lobes || x >= lobes) {
+                return 0;
+            }
+            double px = Math.PI * x;
+            return lobes * Math.sin(px) * Math.sin(px / lobes) / (px * px);
+        }
+    }
+
+    /** The resampling filter */
+    private final Filter filter;
+
+    /** Boolean for checking if the ROI Accessor must be used by the interpolator */
+    private boolean useROIAccessor;
+
+    /** Range of NO DATA values to be checked */
+    private Range noDataRange;
+
+    /**
+     * Destination NO DATA value used when the image pixel is outside of the ROI or is contained in the NO DATA range
+     */
+    private double destinationNoData;
+
+    /** Image data Type */
+    private int dataType;
+
+    /** Normalized filter weights, one row for each subsample position */
+    private final double[][] weightTables;
+
+    /**
+     * Builds a new resampling interpolation.
+     *
+     * @param filter The resampling filter.
+     * @param subsampleBits The number of bits used for the fractional position in the integer interpolation methods.
+     * @param noDataRange The No Data range, may be <code>null</code>.
+     * @param useROIAccessor Whether the ROI should be accessed through a raster accessor.
+     * @param destinationNoData The value of the destination pixels without valid contributions.
+     * @param dataType The image data type.
+     */
+    public InterpolationResample(
+            Filter filter,
+            int subsampleBits,
+            Range noDataRange,
+            boolean useROIAccessor,
+            double destinationNoData,
+            int dataType) {
+        super(
+                width(filter),
+                width(filter),
+                width(filter) / 2 - 1,
+                width(filter) / 2,
+                width(filter) / 2 - 1,
+                width(filter) / 2,
+                subsampleBits,
+                subsampleBits);
+        this.filter = filter;
+        this.noDataRange = noDataRange;
+        this.useROIAccessor = useROIAccessor;
+        this.destinationNoData = destinationNoData;
+        this.dataType = dataType;
+        this.weightTables = createWeightTables();
+    }
+
+    /**
+     * Builds a new resampling interpolation without No Data.
+     *
+     * @param filter The resampling filter.
+     */
+    public InterpolationResample(Filter filter) {
+        this(filter, 8, null, false, 0, -1);
+    }
+
+    private static int width(Filter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("The resampling filter must be provided");
+        }
+        return 2 * (int) Math.ceil(filter.getSupport());
+    }
+
+    /** Returns the resampling filter. */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public int getDataType() {
+        return dataType;
+    }
+
+    public double getDestinationNoData() {
+        return destinationNoData;
+    }
+
+    public void setDestinationNoData(double destinationNoData) {
+        this.destinationNoData = destinationNoData;
+    }
+
+    public boolean getUseROIAccessor() {
+        return useROIAccessor;
+    }
+
+    public void setUseROIAccessor(boolean useROIAccessor) {
+        this.useROIAccessor = useROIAccessor;
+    }
+
+    public Range getNoDataRange() {
+        return noDataRange;
+    }
+
+    public void setNoDataRange(Range noDataRange) {
+        this.noDataRange = noDataRange;
+    }
+
+    /** Computes the normalized filter weights for every subsample position. */
+    private double[][] createWeightTables() {
+        int numSubsamples = 1 << subsampleBitsH;
+        double[][] tables = new double[numSubsamples][width];
+        for (int s = 0; s < numSubsamples; s++) {
+            double frac = s / (double) numSubsamples;
+            double[] weights = tables[s];
+            double sum = 0;
+            for (int i = 0; i < width; i++) {
+                weights[i] = filter.evaluate(i - leftPadding - frac);
+                sum += weights[i];
+            }
+            for (int i = 0; i < width; i++) {
+                weights[i] /= sum;
+            }
+        }
+        return tables;
+    }
+
+    /** Returns the weights of the subsample position closest to, and not greater than, the given fraction. */
+    private double[] weights(float frac) {
+        int numSubsamples = weightTables.length;
+        int ifrac = (int) (frac * numSubsamples);
+        return weightTables[Math.min(Math.max(ifrac, 0), numSubsamples - 1)];
+    }
+
+    @Override
+    public int interpolateH(int[] samples, int xfrac) {
+        double[] weights = weightTables[xfrac];
+        double sum = 0;
+        if (noDataRange == null) {
+            for (int i = 0; i < width; i++) {
+                sum += weights[i] * samples[i];
+            }
+            return (int) Math.round(sum);
+        }
+        double weightSum = 0;
+        for (int i = 0; i < width; i++) {
+            if (!noDataRange.contains(samples[i])) {
+                sum += weights[i] * samples[i];
+                weightSum += weights[i];
+            }
+        }
+        return weightSum == 0 ? (int) destinationNoData : (int) Math.round(sum / weightSum);
+    }
+
+    @Override
+    public float interpolateH(float[] samples, float xfrac) {
+        double[] weights = weights(xfrac);
+        double sum = 0;
+        if (noDataRange == null) {
+            for (int i = 0; i < width; i++) {
+                sum += weights[i] * samples[i];
+            }
+            return (float) sum;
+        }
+        double weightSum = 0;
+        for (int i = 0; i < width; i++) {
+            if (!noDataRange.contains(samples[i])) {
+                sum += weights[i] * samples[i];
+                weightSum += weights[i];
+            }
+        }
+        return weightSum == 0 ? (float) destinationNoData : (float) (sum / weightSum);
+    }
+
+    @Override
+    public double interpolateH(double[] samples, float xfrac) {
+        double[] weights = weights(xfrac);
+        double sum = 0;
+        if (noDataRange == null) {
+            for (int i = 0; i < width; i++) {
+                sum += weights[i] * samples[i];
+            }
+            return sum;
+        }
+        double weightSum = 0;
+        for (int i = 0; i < width; i++) {
+            if (!noDataRange.contains(samples[i])) {
+                sum += weights[i] * samples[i];
+                weightSum += weights[i];
+            }
+        }
+        return weightSum == 0 ? destinationNoData : sum / weightSum;
+    }
+
+    /*
+     * The two dimensional methods weight the whole kernel at once: interpolating the rows first would feed the
+     * destination No Data value of an empty row to the vertical pass as if it were valid.
+     */
+
+    @Override
+    public int interpolate(int[][] samples, int xfrac, int yfrac) {
+        if (noDataRange == null) {
+            return super.interpolate(samples, xfrac, yfrac);
+        }
+        double[] weightsH = weightTables[xfrac];
+        double[] weightsV = weightTables[yfrac];
+        double sum = 0;
+        double weightSum = 0;
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                if (!noDataRange.contains(samples[j][i])) {
+                    double weight = weightsV[j] * weightsH[i];
+                    sum += weight * samples[j][i];
+                    weightSum += weight;
+                }
+            }
+        }
+        return weightSum == 0 ? (int) destinationNoData : (int) Math.round(sum / weightSum);
+    }
+
+    @Override
+    public float interpolate(float[][] samples, float xfrac, float yfrac) {
+        if (noDataRange == null) {
+            return super.interpolate(samples, xfrac, yfrac);
+        }
+        double[] weightsH = weights(xfrac);
+        double[] weightsV = weights(yfrac);
+        double sum = 0;
+        double weightSum = 0;
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                if (!noDataRange.contains(samples[j][i])) {
+                    double weight = weightsV[j] * weightsH[i];
+                    sum += weight * samples[j][i];
+                    weightSum += weight;
+                }
+            }
+        }
+        return weightSum == 0 ? (float) destinationNoData : (float) (sum / weightSum);
+    }
+
+    @Override
+    public double interpolate(double[][] samples, float xfrac, float yfrac) {
+        if (noDataRange == null) {
+            return super.interpolate(samples, xfrac, yfrac);
+        }
+        double[] weightsH = weights(xfrac);
+        double[] weightsV = weights(yfrac);
+        double sum = 0;
+        double weightSum = 0;
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                if (!noDataRange.contains(samples[j][i])) {
+                    double weight = weightsV[j] * weightsH[i];
+                    sum += weight * samples[j][i];
+                    weightSum += weight;
+                }
+            }
+        }
+        return weightSum == 0 ? destinationNoData : sum / weightSum;
+    }
+}
@@ -0,0 +1,88 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.interpolators;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.DataBuffer;
+import org.eclipse.imagen.media.interpolators.InterpolationResample.Filter;
+import org.eclipse.imagen.media.range.Range;
+import org.eclipse.imagen.media.range.RangeFactory;
+import org.junit.Test;
+
+/** Tests the plain interpolation methods of {@link InterpolationResample}. */
+public class InterpolationResampleTest {
+
+    private static final double NO_DATA = -1;
+
+    private static final double DESTINATION_NO_DATA = 255;
+
+    private static InterpolationResample noDataInterpolation(Filter filter, int dataType) {
+        Range noData = RangeFactory.create(NO_DATA, NO_DATA);
+        return new InterpolationResample(filter, 8, noData, false, DESTINATION_NO_DATA, dataType);
+    }
+
+    @Test
+    public void testTriangleMatchesLinearInterpolation() {
+        InterpolationResample interp = new InterpolationResample(Filter.TRIANGLE);
+        // a quarter of the way between the two samples
+        assertEquals(25, interp.interpolateH(new int[] {0, 100}, 64));
+        assertEquals(25f, interp.interpolateH(new float[] {0, 100}, 0.25f), 1e-4);
+        assertEquals(25d, interp.interpolateH(new double[] {0, 100}, 0.25f), 1e-4);
+    }
+
+    @Test
+    public void testNoDataSampleIsExcluded() {
+        // the cubic kernel has four taps, the second one is No Data
+        double[] samples = {10, NO_DATA, 30, 40};
+        double[] weights = new double[4];
+        double sum = 0;
+        double weightSum = 0;
+        for (int i = 0; i < 4; i++) {
+            weights[i] = Filter.CUBIC.evaluate(i - 1 - 0.5);
+            if (i != 1) {
+                sum += weights[i] * samples[i];
+                weightSum += weights[i];
+            }
+        }
+        double expected = sum / weightSum;
+
+        InterpolationResample interp = noDataInterpolation(Filter.CUBIC, DataBuffer.TYPE_DOUBLE);
+        assertEquals(expected, interp.interpolateH(samples, 0.5f), 1e-9);
+        float[] floatSamples = {10, (float) NO_DATA, 30, 40};
+        assertEquals(
+                expected,
+                noDataInterpolation(Filter.CUBIC, DataBuffer.TYPE_FLOAT).interpolateH(floatSamples, 0.5f),
+                1e-4);
+        int[] intSamples = {10, (int) NO_DATA, 30, 40};
+        assertEquals(
+                Math.round(expected),
+                noDataInterpolation(Filter.CUBIC, DataBuffer.TYPE_INT).interpolateH(intSamples, 128));
+    }
+
+    @Test
+    public void testNoValidSampleGivesDestinationNoData() {
+        InterpolationResample interp = noDataInterpolation(Filter.TRIANGLE, DataBuffer.TYPE_INT);
+        assertEquals((int) DESTINATION_NO_DATA, interp.interpolateH(new int[] {-1, -1}, 100));
+        assertEquals(DESTINATION_NO_DATA, interp.interpolateH(new double[] {-1, -1}, 0.4f), 0);
+    }
+
+    @Test
+    public void testEmptyRowDoesNotContributeIn2D() {
+        // the first row is entirely No Data, only the second row must contribute
+        InterpolationResample interp = noDataInterpolation(Filter.TRIANGLE, DataBuffer.TYPE_INT);
+        int[][] samples = {{-1, -1}, {20, 60}};
+        assertEquals(40, interp.interpolate(samples, 128, 64));
+        double[][] doubleSamples = {{-1, -1}, {20, 60}};
+        assertEquals(40d, interp.interpolate(doubleSamples, 0.5f, 0.25f), 1e-9);
+        // without any valid sample the destination No Data is returned
+        assertEquals((int) DESTINATION_NO_DATA, interp.interpolate(new int[][] {{-1, -1}, {-1, -1}}, 10, 10));
+    }
+}
@@ -0,0 +1,268 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.vectorbin;
+
+import java.util.Arrays;
+import org.locationtech.jts.algorithm.CGAlgorithmsDD;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * An immutable edge table locating points in the interior of a polygonal geometry. The edges of all the rings are
+ * bucketed by horizontal bands of the envelope, and a point is tested with the ray crossing rule of the JTS <code>
+ * RayCrossingCounter</code> against the edges of its band only, so that the answers match the ones of <code>
+ * PreparedGeometry.contains(Point)</code>: points on the boundary are not contained.
+ *
+ * <p>Queries allocate nothing and hold no lock, instances can be shared between threads.
+ */
+final class PolygonLocator {
+
+    /** Upper bound of the number of bands, limiting the duplication of the edges spanning several ones */
+    private static final int MAX_BANDS = 4096;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double maxX;
+
+    private final double maxY;
+
+    /** Multiplies the distance from minY to get the band of an ordinate */
+    private final double bandScale;
+
+    private final int numBands;
+
+    /** Offsets of the edges of each band in {@link #edges}, in units of edges, numBands + 1 entries */
+    private final int[] bandStart;
+
+    /** The x1, y1, x2, y2 ordinates of the edges, band after band */
+    private final double[] edges;
+
+    PolygonLocator(Geometry geom) {
+        int numEdges = 0;
+        for (int i = 0; i < geom.getNumGeometries(); i++) {
+            Polygon polygon = (Polygon) geom.getGeometryN(i);
+            numEdges += numEdges(polygon.getExteriorRing().getCoordinateSequence());
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                numEdges += numEdges(polygon.getInteriorRingN(r).getCoordinateSequence());
+            }
+        }
+        double[] all = new double[numEdges * 4];
+        int n = 0;
+        for (int i = 0; i < geom.getNumGeometries(); i++) {
+            Polygon polygon = (Polygon) geom.getGeometryN(i);
+            n = addEdges(polygon.getExteriorRing().getCoordinateSequence(), all, n);
+            for (int r = 0; r < polygon.getNumInteriorRing(); r++) {
+                n = addEdges(polygon.getInteriorRingN(r).getCoordinateSequence(), all, n);
+            }
+        }
+
+        Envelope envelope = geom.getEnvelopeInternal();
+        if (numEdges == 0 || envelope.isNull()) {
+            minX = minY = 0;
+            maxX = maxY = -1;
+            bandScale = 0;
+            numBands = 1;
+            bandStart = new int[2];
+            edges = new double[0];
+            return;
+        }
+        minX = envelope.getMinX();
+        minY = envelope.getMinY();
+        maxX = envelope.getMaxX();
+        maxY = envelope.getMaxY();
+        numBands = Math.max(1, Math.min(numEdges, MAX_BANDS));
+        bandScale = maxY > minY ? numBands / (maxY - minY) : 0;
+
+        // count the edges of each band, then lay them out band after band
+        bandStart = new int[numBands + 1];
+        for (int e = 0; e < numEdges * 4; e += 4) {
+            int last = band(Math.max(all[e + 1], all[e + 3]));
+            for (int b = band(Math.min(all[e + 1], all[e + 3])); b <= last; b++) {
+                bandStart[b + 1]++;
+            }
+        }
+        for (int b = 0; b < numBands; b++) {
+            bandStart[b + 1] += bandStart[b];
+        }
+        edges = new double[bandStart[numBands] * 4];
+        int[] fill = Arrays.copyOf(bandStart, numBands);
+        for (int e = 0; e < numEdges * 4; e += 4) {
+            int last = band(Math.max(all[e + 1], all[e + 3]));
+            for (int b = band(Math.min(all[e + 1], all[e + 3])); b <= last; b++) {
+                System.arraycopy(all, e, edges, fill[b]++ * 4, 4);
+            }
+        }
+    }
+
+    private static int numEdges(CoordinateSequence ring) {
+        return Math.max(0, ring.size() - 1);
+    }
+
+    private static int addEdges(CoordinateSequence ring, double[] all, int n) {
+        for (int i = 0; i < ring.size() - 1; i++) {
+            all[n++] = ring.getX(i);
+            all[n++] = ring.getY(i);
+            all[n++] = ring.getX(i + 1);
+            all[n++] = ring.getY(i + 1);
+        }
+        return n;
+    }
+
+    private int band(double y) {
+        int b = (int) ((y - minY) * bandScale);
+        return b < 0 ? 0 : b >= numBands ? numBands - 1 : b;
+    }
+
+    /** Returns <code>true</code> if the point is in the interior of the geometry. */
+    boolean contains(double x, double y) {
+        if (x < minX || x > maxX || y < minY || y > maxY) {
+            return false;
+        }
+        int band = band(y);
+        int crossings = 0;
+        for (int e = bandStart[band] * 4, end = bandStart[band + 1] * 4; e < end; e += 4) {
+            double x1 = edges[e];
+            double y1 = edges[e + 1];
+            double x2 = edges[e + 2];
+            double y2 = edges[e + 3];
+            if (x1 < x && x2 < x) {
+                continue;
+            }
+            if (x == x2 && y == y2) {
+                return false;
+            }
+            if (y1 == y && y2 == y) {
+                if (x >= Math.min(x1, x2) && x <= Math.max(x1, x2)) {
+                    return false;
+                }
+                continue;
+            }
+            if ((y1 > y && y2 <= y) || (y2 > y && y1 <= y)) {
+                int side = side(x1, y1, x2, y2, x, y);
+                if (side == 0) {
+                    return false;
+                }
+                if (side > 0) {
+                    crossings++;
+                }
+            }
+        }
+        return (crossings & 1) == 1;
+    }
+
+    /**
+     * Returns 1 if the ray going right from the point crosses the edge, -1 if the point is on the right of the edge and
+     * 0 if it is on the edge, for an edge crossing the row of the point.
+     */
+    private static int side(double x1, double y1, double x2, double y2, double x, double y) {
+        int orientation = CGAlgorithmsDD.orientationIndex(x1, y1, x2, y2, x, y);
+        return y2 < y1 ? -orientation : orientation;
+    }
+
+    /**
+     * Returns the spans of the pixels of row <code>y</code> between <code>x</code> (inclusive) and <code>x + width
+     * </code> (exclusive) for which {@link #contains(double, double)} is <code>true</code>, as pairs of start
+     * (inclusive) and end (exclusive) ordinates in increasing order.
+     */
+    int[] getRowSpans(int y, int x, int width) {
+        if (width <= 0 || y < minY || y > maxY || x + width <= minX || x > maxX) {
+            return new int[0];
+        }
+        int band = band(y);
+        int start = bandStart[band] * 4;
+        int end = bandStart[band + 1] * 4;
+
+        // for each crossing edge, the first pixel on its right; pixels on edges and vertices are boundary ranges
+        int[] crossings = new int[(end - start) / 4];
+        int numCrossings = 0;
+        long[] boundaries = new long[8];
+        int numBoundaries = 0;
+        for (int e = start; e < end; e += 4) {
+            double x1 = edges[e];
+            double y1 = edges[e + 1];
+            double x2 = edges[e + 2];
+            double y2 = edges[e + 3];
+            if (y1 == y && y2 == y) {
+                boundaries = addBoundary(boundaries, numBoundaries++, Math.min(x1, x2), Math.max(x1, x2));
+                continue;
+            }
+            if (y2 == y) {
+                boundaries = addBoundary(boundaries, numBoundaries++, x2, x2);
+            }
+            if ((y1 > y && y2 <= y) || (y2 > y && y1 <= y)) {
+                double estimate = x1 + (y - y1) * (x2 - x1) / (y2 - y1);
+                long right = clamp(Math.floor(estimate) + 1);
+                while (side(x1, y1, x2, y2, right - 1, y) < 0) {
+                    right--;
+                }
+                while (side(x1, y1, x2, y2, right, y) >= 0) {
+                    right++;
+                }
+                if (side(x1, y1, x2, y2, right - 1, y) == 0) {
+                    boundaries = addBoundary(boundaries, numBoundaries++, right - 1, right - 1);
+                }
+                crossings[numCrossings++] = (int) right;
+            }
+        }
+
+        // a pixel is inside when an odd number of crossings are on its right
+        Arrays.sort(crossings, 0, numCrossings);
+        Arrays.sort(boundaries, 0, numBoundaries);
+        int[] spans = new int[numCrossings + 2 * numBoundaries];
+        int numSpans = 0;
+        int next = 0;
+        for (int i = numCrossings & 1; i + 1 < numCrossings; i += 2) {
+            int s = Math.max(crossings[i], x);
+            int e = Math.min(crossings[i + 1], x + width);
+            while (next < numBoundaries && (int) boundaries[next] < s) {
+                next++;
+            }
+            for (int b = next; b < numBoundaries && s < e; b++) {
+                int boundaryStart = (int) (boundaries[b] >> 32);
+                int boundaryEnd = (int) boundaries[b];
+                if (boundaryStart >= e) {
+                    break;
+                }
+                if (boundaryStart > s) {
+                    spans[numSpans++] = s;
+                    spans[numSpans++] = boundaryStart;
+                }
+                s = Math.max(s, boundaryEnd + 1);
+            }
+            if (s < e) {
+                spans[numSpans++] = s;
+                spans[numSpans++] = e;
+            }
+        }
+        return Arrays.copyOf(spans, numSpans);
+    }
+
+    /**
+     * Adds the pixels between <code>x1</code> and <code>x2</code>, both inclusive, to the boundary ranges, packed as
+     * start in the high and end in the low 32 bits so that sorting orders them by start.
+     */
+    private static long[] addBoundary(long[] boundaries, int n, double x1, double x2) {
+        long start = clamp(Math.ceil(x1));
+        long end = clamp(Math.floor(x2));
+        if (n == boundaries.length) {
+            boundaries = Arrays.copyOf(boundaries, n * 2);
+        }
+        boundaries[n] = start <= end ? (start << 32) | (end & 0xffffffffL) : (Long.MAX_VALUE & ~0xffffffffL);
+        return boundaries;
+    }
+
+    private static long clamp(double x) {
+        return (long) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE - 1, x));
+    }
+}
@@ -41,6 +41,7 @@ import org.eclipse.imagen.ParameterBlockImageN;
 import org.eclipse.imagen.PlanarImage;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.ROISpans;
 import org.eclipse.imagen.media.utilities.shape.LiteShape;
 import org.locationtech.jts.awt.ShapeReader;
 import org.locationtech.jts.geom.Coordinate;
@@ -118,8 +119,8 @@ public class ROIGeometry extends ROI {
     private static final PrecisionModel FLOAT_PRECISION = new PrecisionModel(PrecisionModel.FLOATING_SINGLE);
     private static final GeometryFactory FLOAT_PRECISION_FACTORY = new GeometryFactory(FLOAT_PRECISION);
 
-    private final CoordinateSequence testPointCS;
-    private final org.locationtech.jts.geom.Point testPoint;
+    /** Answers the point queries without allocating nor locking */
+    private final PolygonLocator locator;
 
     private final CoordinateSequence testRectCS;
     private final Polygon testRect;
@@ -252,19 +253,17 @@ public class ROIGeometry extends ROI {
         }
 
         theGeom = PreparedGeometryFactory.prepare(cloned);
+        locator = new PolygonLocator(cloned);
 
         // use plain CoordinateArraySequence as any intersection test will ask for Coordinate objects
         // out of them, best use one that does not have to allocate them at every call
-        testPointCS = new CoordinateArraySequence(1);
-        testPoint = geomFactory.createPoint(testPointCS);
-
         testRectCS = new CoordinateArraySequence(5);
         testRect = geomFactory.createPolygon(geomFactory.createLinearRing(testRectCS), null);
     }
 
     /**
      * Returns a new instance which is the union of this ROI and {@code roi}. This is only possible if {@code roi} is an
-     * instance of ROIGeometry or {@link ROIShape}.
+     * instance of ROIGeometry, {@link ROIShape} or {@link ROISpans}.
      *
      * @param roi the ROI to add
      * @return the union as a new instance
@@ -321,7 +320,8 @@ public class ROIGeometry extends ROI {
     }
 
     /**
-     * Tests if this ROI contains the given image location.
+     * Tests if this ROI contains the given image location. The test allocates nothing and takes no lock, so it can be
+     * called concurrently from several threads; points on the boundary of the geometry are not contained.
      *
      * @param x location X ordinate
      * @param y location Y ordinate
@@ -329,10 +329,21 @@ public class ROIGeometry extends ROI {
      */
     @Override
     public boolean contains(double x, double y) {
-        testPointCS.setOrdinate(0, 0, x);
-        testPointCS.setOrdinate(0, 1, y);
-        testPoint.geometryChanged();
-        return theGeom.contains(testPoint);
+        return locator.contains(x, y);
+    }
+
+    /**
+     * Returns the spans of the pixels of a row which are within this ROI, that is the pixels for which
+     * {@link #contains(int, int)} returns {@code true}, restricted to the given range of columns. This method is thread
+     * safe and costs about as much as a handful of point tests, whatever the width of the row.
+     *
+     * @param y the row
+     * @param x the first column of the range
+     * @param width the number of columns of the range
+     * @return pairs of first (inclusive) and last (exclusive) columns of the spans, in increasing order
+     */
+    public int[] getRowSpans(int y, int x, int width) {
+        return locator.getRowSpans(y, x, width);
     }
 
     /**
@@ -388,7 +399,7 @@ public class ROIGeometry extends ROI {
 
     /**
      * Returns a new instance which is the exclusive OR of this ROI and {@code roi}. This is only possible if
-     * {@code roi} is an instance of ROIGeometry or {@link ROIShape}.
+     * {@code roi} is an instance of ROIGeometry, {@link ROIShape} or {@link ROISpans}.
      *
      * @param roi the ROI to add
      * @return the union as a new instance
@@ -532,7 +543,7 @@ public class ROIGeometry extends ROI {
 
     /**
      * Returns a new instance which is the intersection of this ROI and {@code roi}. This is only possible if
-     * {@code roi} is an instance of ROIGeometry or {@link ROIShape}.
+     * {@code roi} is an instance of ROIGeometry, {@link ROIShape} or {@link ROISpans}.
      *
      * @param roi the ROI to intersect with
      * @return the intersection as a new instance
@@ -559,7 +570,7 @@ public class ROIGeometry extends ROI {
      *
      * @param roi the ROI
      * @return a {@link Geometry} instance from the provided input; null in case the input roi is neither a geometry,
-     *     nor a shape.
+     *     nor a shape, nor spans.
      */
     private Geometry getGeometry(ROI roi) {
         if (roi instanceof ROIGeometry) {
@@ -569,6 +580,17 @@ public class ROIGeometry extends ROI {
             final Geometry geom = ShapeReader.read(shape, 0, geomFactory);
             geom.apply(Y_INVERSION);
             return geom;
+        } else if (roi instanceof ROISpans) {
+            // the spans merged into disjoint rectangles, dissolved by the union
+            Rectangle bounds = roi.getBounds();
+            LinkedList rects = roi.getAsRectangleList(bounds.x, bounds.y, bounds.width, bounds.height);
+            List<Geometry> polygons = new ArrayList<>();
+            if (rects != null) {
+                for (Object rect : rects) {
+                    polygons.add(toGeometry((Rectangle) rect));
+                }
+            }
+            return FLOAT_PRECISION_FACTORY.buildGeometry(polygons).union();
         }
         return null;
     }
@@ -645,7 +667,7 @@ public class ROIGeometry extends ROI {
 
     /**
      * Returns a new instance which is the difference of this ROI and {@code roi}. This is only possible if {@code roi}
-     * is an instance of ROIGeometry or {@link ROIShape}.
+     * is an instance of ROIGeometry, {@link ROIShape} or {@link ROISpans}.
      *
      * @param roi the ROI to add
      * @return the union as a new instance
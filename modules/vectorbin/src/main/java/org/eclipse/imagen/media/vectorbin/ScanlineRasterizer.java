@@ -0,0 +1,446 @@
+/* Copyright (c) 2026 ImageN contributors and others
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License, Version 2.0
+ * which accompanies this distribution and is available at
+ * http://www.opensource.org/licenses/apache2.0.php.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.imagen.media.vectorbin;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * Rasterizes a shape tile by tile into single band byte rasters, either 1-bit packed or one byte per pixel. The edges
+ * of the shape are flattened once and bucketed by tile row; a tile only scans the edges of its row, and only the edges
+ * crossing the tile are intersected with its scanlines, the others contributing a constant winding to the scanlines
+ * they span.
+ *
+ * <p>Like the Java2D non anti-aliased fill, a pixel is inside when its center is inside according to the winding rule
+ * of the shape, the left and top borders being inside. With anti-aliasing the coverage of a pixel is the mean of the
+ * exact horizontal coverage of {@link #SUBSCANLINES} scanlines; byte pixels get a value proportional to it, and 1-bit
+ * pixels are set when more than half covered, as Java2D does when drawing anti-aliased shapes on binary images.
+ *
+ * <p>Instances are immutable and can rasterize tiles from several threads at once.
+ */
+final class ScanlineRasterizer {
+
+    /** Tile fully outside the shape */
+    static final int EMPTY = 0;
+
+    /** Tile fully inside the shape */
+    static final int FULL = 1;
+
+    /** Tile crossed by edges of the shape */
+    static final int MIXED = 2;
+
+    /** Number of scanlines sampling each row of pixels when anti-aliasing */
+    static final int SUBSCANLINES = 8;
+
+    private static final double FLATNESS = 0.1;
+
+    private final boolean evenOdd;
+
+    private final int rowOffset;
+
+    private final int rowHeight;
+
+    private final int minRow;
+
+    private final int numRows;
+
+    /**
+     * Edges from top (x0, y0) to bottom (x1, y1), with +1 direction when going down in the shape. Horizontal edges
+     * never cross a scanline, but tell that a tile is crossed by the boundary.
+     */
+    private final double[] x0;
+
+    private final double[] y0;
+
+    private final double[] x1;
+
+    private final double[] y1;
+
+    private final int[] dir;
+
+    /** Offsets of the edges of each row in {@link #rowEdges}, numRows + 1 entries */
+    private final int[] rowStart;
+
+    private final int[] rowEdges;
+
+    /**
+     * Builds the edge table of a shape for the rows of a tile grid.
+     *
+     * @param shape the shape, curves are flattened
+     * @param rowOffset the tile grid Y offset
+     * @param rowHeight the tile height
+     * @param minRow the index of the first tile row
+     * @param numRows the number of tile rows
+     */
+    ScanlineRasterizer(Shape shape, int rowOffset, int rowHeight, int minRow, int numRows) {
+        this.rowOffset = rowOffset;
+        this.rowHeight = rowHeight;
+        this.minRow = minRow;
+        this.numRows = numRows;
+
+        PathIterator path = shape.getPathIterator(null, FLATNESS);
+        evenOdd = path.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        double[] edges = new double[64];
+        int n = 0;
+        double[] coords = new double[6];
+        double startX = 0, startY = 0, lastX = 0, lastY = 0;
+        for (; !path.isDone(); path.next()) {
+            int type = path.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO) {
+                startX = lastX = coords[0];
+                startY = lastY = coords[1];
+                continue;
+            }
+            double x = type == PathIterator.SEG_CLOSE ? startX : coords[0];
+            double y = type == PathIterator.SEG_CLOSE ? startY : coords[1];
+            if (x != lastX || y != lastY) {
+                if (n + 4 > edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                }
+                edges[n++] = lastX;
+                edges[n++] = lastY;
+                edges[n++] = x;
+                edges[n++] = y;
+            }
+            lastX = x;
+            lastY = y;
+        }
+
+        int numEdges = n / 4;
+        x0 = new double[numEdges];
+        y0 = new double[numEdges];
+        x1 = new double[numEdges];
+        y1 = new double[numEdges];
+        dir = new int[numEdges];
+        for (int e = 0; e < numEdges; e++) {
+            boolean down = edges[e * 4 + 1] < edges[e * 4 + 3];
+            int top = down ? 0 : 2;
+            x0[e] = edges[e * 4 + top];
+            y0[e] = edges[e * 4 + top + 1];
+            x1[e] = edges[e * 4 + 2 - top];
+            y1[e] = edges[e * 4 + 3 - top];
+            dir[e] = down ? 1 : -1;
+        }
+
+        // count the edges of each row, then list them row after row
+        rowStart = new int[numRows + 1];
+        for (int e = 0; e < numEdges; e++) {
+            int last = lastRow(e);
+            for (int r = firstRow(e); r <= last; r++) {
+                rowStart[r + 1]++;
+            }
+        }
+        for (int r = 0; r < numRows; r++) {
+            rowStart[r + 1] += rowStart[r];
+        }
+        rowEdges = new int[rowStart[numRows]];
+        int[] fill = Arrays.copyOf(rowStart, numRows);
+        for (int e = 0; e < numEdges; e++) {
+            int last = lastRow(e);
+            for (int r = firstRow(e); r <= last; r++) {
+                rowEdges[fill[r]++] = e;
+            }
+        }
+    }
+
+    private int row(double y) {
+        return (int) Math.max(-1, Math.min(numRows, Math.floor((y - rowOffset) / rowHeight) - minRow));
+    }
+
+    private int firstRow(int e) {
+        return Math.max(0, row(y0[e]));
+    }
+
+    private int lastRow(int e) {
+        return Math.min(numRows - 1, row(y1[e]));
+    }
+
+    /** Returns true if the given sample model is single band byte, either 1-bit packed or one byte per pixel. */
+    static boolean isSupported(SampleModel sm) {
+        if (sm.getNumBands() != 1 || sm.getDataType() != DataBuffer.TYPE_BYTE) {
+            return false;
+        }
+        if (sm instanceof MultiPixelPackedSampleModel) {
+            return ((MultiPixelPackedSampleModel) sm).getPixelBitStride() == 1;
+        }
+        return sm instanceof ComponentSampleModel;
+    }
+
+    /**
+     * Tells whether a tile is {@link #EMPTY}, {@link #FULL} or {@link #MIXED}, scanning the edges of its row only.
+     *
+     * @param minX the tile origin X ordinate
+     * @param minY the tile origin Y ordinate, on the tile grid
+     * @param width the tile width
+     * @param height the tile height
+     */
+    int classify(int minX, int minY, int width, int height) {
+        int row = row(minY);
+        if (row < 0 || row >= numRows) {
+            return EMPTY;
+        }
+        // no edge crossing the tile means a constant winding, the one of the first pixel
+        double sampleY = minY + 0.5;
+        int winding = 0;
+        for (int i = rowStart[row]; i < rowStart[row + 1]; i++) {
+            int e = rowEdges[i];
+            if (y1[e] < minY || y0[e] > minY + height || Math.min(x0[e], x1[e]) > minX + width) {
+                continue;
+            }
+            if (Math.max(x0[e], x1[e]) >= minX) {
+                return MIXED;
+            }
+            if (y0[e] <= sampleY && sampleY < y1[e]) {
+                winding += dir[e];
+            }
+        }
+        return isInside(winding) ? FULL : EMPTY;
+    }
+
+    private boolean isInside(int winding) {
+        return evenOdd ? (winding & 1) != 0 : winding != 0;
+    }
+
+    /**
+     * Rasterizes a tile into a zeroed raster, whose sample model must be {@link #isSupported(SampleModel) supported}.
+     * Inside pixels are set to 1 in packed rasters and to 255 in byte ones.
+     *
+     * @param raster the destination, its upper left pixel being the tile origin
+     * @param minX the tile origin X ordinate
+     * @param minY the tile origin Y ordinate, on the tile grid
+     * @param antiAliasing whether to sample the coverage of the pixels
+     */
+    void fill(WritableRaster raster, int minX, int minY, boolean antiAliasing) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        int row = row(minY);
+        if (row < 0 || row >= numRows) {
+            return;
+        }
+        int s = antiAliasing ? SUBSCANLINES : 1;
+        int lines = height * s;
+
+        // windings of the edges on the left of the tile, and crossings of the others, by scanline
+        int[] winding = new int[lines + 1];
+        int[] count = new int[lines + 1];
+        int[] local = new int[16];
+        int numLocal = 0;
+        for (int i = rowStart[row]; i < rowStart[row + 1]; i++) {
+            int e = rowEdges[i];
+            if (Math.min(x0[e], x1[e]) >= minX + width) {
+                continue;
+            }
+            int first = firstLine(y0[e], minY, s, lines);
+            int last = firstLine(y1[e], minY, s, lines);
+            if (first >= last) {
+                continue;
+            }
+            if (Math.max(x0[e], x1[e]) < minX) {
+                winding[first] += dir[e];
+                winding[last] -= dir[e];
+            } else {
+                count[first]++;
+                count[last]--;
+                if (numLocal == local.length) {
+                    local = Arrays.copyOf(local, numLocal * 2);
+                }
+                local[numLocal++] = e;
+            }
+        }
+        int[] lineStart = new int[lines + 1];
+        for (int k = 0; k < lines; k++) {
+            if (k > 0) {
+                winding[k] += winding[k - 1];
+                count[k] += count[k - 1];
+            }
+            lineStart[k + 1] = lineStart[k] + count[k];
+        }
+        double[] crossX = new double[lineStart[lines]];
+        int[] crossDir = new int[crossX.length];
+        int[] next = Arrays.copyOf(lineStart, lines);
+        for (int i = 0; i < numLocal; i++) {
+            int e = local[i];
+            int last = firstLine(y1[e], minY, s, lines);
+            double slope = (x1[e] - x0[e]) / (y1[e] - y0[e]);
+            for (int k = firstLine(y0[e], minY, s, lines); k < last; k++) {
+                double sampleY = minY + (k + 0.5) / s;
+                crossX[next[k]] = x0[e] + (sampleY - y0[e]) * slope;
+                crossDir[next[k]++] = dir[e];
+            }
+        }
+
+        PixelWriter writer = new PixelWriter(raster, s);
+        for (int k = 0; k < lines; k++) {
+            sort(crossX, crossDir, lineStart[k], lineStart[k + 1]);
+            int w = winding[k];
+            double from = 0;
+            for (int c = lineStart[k]; c < lineStart[k + 1]; c++) {
+                double to = Math.min(width, crossX[c] - minX);
+                if (isInside(w) && to > from) {
+                    writer.span(k / s, from, to);
+                }
+                from = Math.max(from, to);
+                w += crossDir[c];
+            }
+            if (isInside(w) && width > from) {
+                writer.span(k / s, from, width);
+            }
+            if (s > 1 && k % s == s - 1) {
+                writer.flush(k / s);
+            }
+        }
+    }
+
+    /** Returns the first scanline whose sample ordinate is at or below <code>y</code>, clamped to [0, lines]. */
+    private static int firstLine(double y, int minY, int s, int lines) {
+        return (int) Math.max(0, Math.min(lines, Math.ceil((y - minY) * s - 0.5)));
+    }
+
+    /** Insertion sort of the crossings of a scanline, which are few. */
+    private static void sort(double[] x, int[] d, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double key = x[i];
+            int keyDir = d[i];
+            int j = i - 1;
+            while (j >= from && x[j] > key) {
+                x[j + 1] = x[j];
+                d[j + 1] = d[j];
+                j--;
+            }
+            x[j + 1] = key;
+            d[j + 1] = keyDir;
+        }
+    }
+
+    /** Writes spans of samples straight into the bank of a packed or byte raster. */
+    private static final class PixelWriter {
+
+        private final byte[] data;
+
+        private final boolean packed;
+
+        private final int offset;
+
+        private final int pixelStride;
+
+        private final int scanlineStride;
+
+        /** Start of the rows of packed rasters in the bank */
+        private final int rowBase;
+
+        private final int subscanlines;
+
+        /** Coverage of the pixels of the current row summed over its scanlines, when anti-aliasing */
+        private final double[] coverage;
+
+        PixelWriter(WritableRaster raster, int subscanlines) {
+            SampleModel sm = raster.getSampleModel();
+            DataBuffer db = raster.getDataBuffer();
+            int tx = raster.getSampleModelTranslateX();
+            int ty = raster.getSampleModelTranslateY();
+            data = ((DataBufferByte) db).getData();
+            this.subscanlines = subscanlines;
+            coverage = subscanlines > 1 ? new double[raster.getWidth()] : null;
+            if (sm instanceof MultiPixelPackedSampleModel) {
+                MultiPixelPackedSampleModel mpp = (MultiPixelPackedSampleModel) sm;
+                packed = true;
+                pixelStride = 1;
+                scanlineStride = mpp.getScanlineStride();
+                // in bits, relative to the start of the row
+                offset = mpp.getDataBitOffset() + (raster.getMinX() - tx);
+                rowBase = db.getOffset() + (raster.getMinY() - ty) * scanlineStride;
+            } else {
+                ComponentSampleModel csm = (ComponentSampleModel) sm;
+                packed = false;
+                pixelStride = csm.getPixelStride();
+                scanlineStride = csm.getScanlineStride();
+                offset = db.getOffset()
+                        + csm.getBandOffsets()[0]
+                        + (raster.getMinY() - ty) * scanlineStride
+                        + (raster.getMinX() - tx) * pixelStride;
+                rowBase = 0;
+            }
+        }
+
+        /**
+         * Covers a row from <code>from</code> to <code>to</code>, relative to the left of the tile. Without
+         * anti-aliasing, the pixels whose center is in the span are set.
+         */
+        void span(int row, double from, double to) {
+            if (coverage != null) {
+                int first = (int) from;
+                int last = (int) Math.ceil(to) - 1;
+                if (first == last) {
+                    coverage[first] += to - from;
+                    return;
+                }
+                coverage[first] += first + 1 - from;
+                for (int i = first + 1; i < last; i++) {
+                    coverage[i]++;
+                }
+                coverage[last] += to - last;
+                return;
+            }
+            int first = (int) Math.ceil(from - 0.5);
+            int last = (int) Math.ceil(to - 0.5);
+            if (first >= last) {
+                return;
+            }
+            if (packed) {
+                setBits(rowBase + row * scanlineStride, offset + first, offset + last);
+            } else {
+                for (int i = offset + row * scanlineStride + first * pixelStride, j = first; j < last; j++) {
+                    data[i] = (byte) 255;
+                    i += pixelStride;
+                }
+            }
+        }
+
+        /** Writes the coverage accumulated for a row, and resets it. */
+        void flush(int row) {
+            for (int i = 0; i < coverage.length; i++) {
+                double c = coverage[i] / subscanlines;
+                if (c == 0) {
+                    continue;
+                }
+                coverage[i] = 0;
+                if (packed) {
+                    // Java2D sets binary pixels whose 8-bit alpha, truncated, is above the middle gray
+                    if ((int) (c * 255) >= 128) {
+                        setBits(rowBase + row * scanlineStride, offset + i, offset + i + 1);
+                    }
+                } else {
+                    data[offset + row * scanlineStride + i * pixelStride] = (byte) Math.round(c * 255);
+                }
+            }
+        }
+
+        private void setBits(int base, int fromBit, int toBit) {
+            int firstByte = base + (fromBit >> 3);
+            int lastByte = base + ((toBit - 1) >> 3);
+            int firstMask = 0xff >>> (fromBit & 7);
+            int lastMask = 0xff << (7 - ((toBit - 1) & 7));
+            if (firstByte == lastByte) {
+                data[firstByte] |= (byte) (firstMask & lastMask);
+                return;
+            }
+            data[firstByte] |= (byte) firstMask;
+            Arrays.fill(data, firstByte + 1, lastByte, (byte) 0xff);
+            data[lastByte] |= (byte) lastMask;
+        }
+    }
+}
@@ -44,6 +44,9 @@ public class VectorBinarizeOpImage extends SourcelessOpImage {
 
     private final Shape shape;
 
+    /** Rasterizes the boundary tiles, null if the sample model is not supported */
+    private final ScanlineRasterizer rasterizer;
+
     private Raster solidTile;
 
     private Raster blankTile;
@@ -81,6 +84,9 @@ public class VectorBinarizeOpImage extends SourcelessOpImage {
         this.geom = geom;
         this.shape = new LiteShape(geom.getGeometry());
         this.antiAliasing = antiAliasing;
+        this.rasterizer = ScanlineRasterizer.isSupported(sm)
+                ? new ScanlineRasterizer(shape, getTileGridYOffset(), getTileHeight(), getMinTileY(), getNumYTiles())
+                : null;
     }
 
     /**
@@ -140,11 +146,28 @@ public class VectorBinarizeOpImage extends SourcelessOpImage {
      * {@code PreparedGeometry} a cached constant {@code Raster} with 1 or 0 values is returned. Otherwise tile pixels
      * are checked for inclusion and set individually.
      *
+     * <p>Byte and 1-bit sample models are rasterized with a {@link ScanlineRasterizer}, which only looks at the edges
+     * of the tile row and takes no lock. Other sample models are drawn with Java2D.
+     *
      * @param minX origin X ordinate
      * @param minY origin Y ordinate
      * @return the requested tile
      */
     protected Raster getTileRaster(int minX, int minY) {
+        if (rasterizer != null) {
+            switch (rasterizer.classify(minX, minY, tileWidth, tileHeight)) {
+                case ScanlineRasterizer.FULL:
+                    return getSolidTile();
+                case ScanlineRasterizer.EMPTY:
+                    return getBlankTile();
+                default:
+                    WritableRaster raster = RasterFactory.createWritableRaster(
+                            sampleModel.createCompatibleSampleModel(tileWidth, tileHeight), new java.awt.Point(0, 0));
+                    rasterizer.fill(raster, minX, minY, antiAliasing);
+                    return raster;
+            }
+        }
+
         // check relationship between geometry and the tile we're computing
         Polygon testRect = getTestRect(minX, minY);
         try {
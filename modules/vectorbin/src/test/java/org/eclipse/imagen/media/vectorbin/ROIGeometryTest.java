@@ -45,10 +45,14 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.imagen.ImageLayout;
 import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.ROIShape;
+import org.eclipse.imagen.ROISpans;
 import org.eclipse.imagen.RenderedOp;
 import org.eclipse.imagen.TileScheduler;
 import org.eclipse.imagen.media.algebra.AlgebraDescriptor;
@@ -67,6 +71,8 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.locationtech.jts.geom.util.AffineTransformation;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
@@ -130,6 +136,92 @@ public class ROIGeometryTest extends TestBase {
         assertFalse(roi.contains(-2.5, 1.0));
     }
 
+    @Test
+    public void testContainsMatchesPreparedGeometry() throws Exception {
+        String[] wkts = {
+            "POLYGON((20 0, 50 -30, 30 -50, 0 -20, 20 0))",
+            "POLYGON((0 0, 40 0, 40 30, 0 30, 0 0), (10 10, 20 10, 20 20, 10 20, 10 10))",
+            "MULTIPOLYGON(((0 0, 10 0, 5 10, 0 0)), ((10 0, 20 0, 15 10.5, 10 0)), ((1.5 20.2, 30.7 12.1, 18.3 35.9, 1.5 20.2)))"
+        };
+        for (String wkt : wkts) {
+            for (boolean fixed : new boolean[] {true, false}) {
+                ROIGeometry roi = new ROIGeometry(new WKTReader().read(wkt), fixed);
+                PreparedGeometry reference = PreparedGeometryFactory.prepare(roi.getAsGeometry());
+                for (int y = -55; y <= 40; y++) {
+                    for (int x = -5; x <= 55; x++) {
+                        for (double offset : new double[] {0, 0.5}) {
+                            boolean expected =
+                                    reference.contains(gf.createPoint(new Coordinate(x + offset, y + offset)));
+                            assertEquals(wkt + " at " + x + "," + y, expected, roi.contains(x + offset, y + offset));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGetRowSpans() throws Exception {
+        ROIGeometry roi = new ROIGeometry(
+                new WKTReader()
+                        .read("POLYGON((0 0, 40 0, 40 30, 30 30, 20 20, 10 30, 0 30, 0 0), "
+                                + "(10 10, 20 10, 20 15.5, 10 15.5, 10 10))"),
+                false);
+        for (int y = -2; y <= 32; y++) {
+            for (int x : new int[] {-5, 3, 15}) {
+                int width = 50 - x;
+                int[] spans = roi.getRowSpans(y, x, width);
+                assertEquals(0, spans.length % 2);
+                int span = 0;
+                for (int px = x; px < x + width; px++) {
+                    while (span < spans.length && spans[span + 1] <= px) {
+                        span += 2;
+                    }
+                    boolean inSpan = span < spans.length && spans[span] <= px;
+                    assertEquals("at " + px + "," + y, roi.contains(px, y), inSpan);
+                }
+            }
+        }
+        assertEquals(0, createEmptyROI().getRowSpans(0, 0, 10).length);
+    }
+
+    @Test
+    public void testContainsConcurrently() throws Exception {
+        ROIGeometry roi = new ROIGeometry(
+                new WKTReader()
+                        .read("POLYGON((0 0, 400 0, 400 300, 0 300, 0 0), (100 100, 200 100, 150 200, 100 100))"),
+                false);
+        int[] expected = new int[300];
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 400; x++) {
+                expected[y] += roi.contains(x, y) ? 1 : 0;
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int y = 0; y < 300; y++) {
+                        int count = 0;
+                        for (int x = 0; x < 400; x++) {
+                            count += roi.contains(x, y) ? 1 : 0;
+                        }
+                        if (count != expected[y]) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testContains_Rectangle() {
         ROIGeometry roi = createRectROI(-1.1, -2.2, 3.3, 4.4);
@@ -485,6 +577,22 @@ public class ROIGeometryTest extends TestBase {
         assertROIEquivalent(rgSubtract, rsSubtract, "Subtract");
     }
 
+    @Test
+    public void subtractSpans() throws Exception {
+        Geometry square = new WKTReader().read("POLYGON ((0 0, 40 0, 40 30, 0 30, 0 0))");
+        ROIGeometry rg = new ROIGeometry(square);
+        ROI spans = new ROISpans(new Rectangle(10, 5, 10, 10)).add(new ROISpans(new Rectangle(15, 10, 10, 10)));
+
+        // the spans are converted to a geometry, the result stays vector
+        ROI difference = rg.subtract(spans);
+        assertTrue(difference instanceof ROIGeometry);
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertEquals(x + "," + y, !spans.contains(x, y), difference.contains(x + 0.5, y + 0.5));
+            }
+        }
+    }
+
     @Test
     public void subtractImageROI() throws ParseException {
         ROI leftRight = createLeftRightROIImage();
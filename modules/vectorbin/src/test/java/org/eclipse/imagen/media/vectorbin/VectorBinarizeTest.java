@@ -23,7 +23,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.awt.Dimension;
+import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.Raster;
+import java.awt.image.SampleModel;
 import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.ParameterBlockImageN;
 import org.eclipse.imagen.ParameterListDescriptor;
@@ -33,9 +36,12 @@ import org.eclipse.imagen.media.jts.CoordinateSequence2D;
 import org.eclipse.imagen.media.testclasses.TestBase;
 import org.junit.Before;
 import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.locationtech.jts.io.WKTReader;
 
 /**
@@ -103,6 +109,48 @@ public class VectorBinarizeTest extends TestBase {
         }
     }
 
+    @Test
+    public void polygonWithHoleAcrossTiles() throws Exception {
+        String[] wkts = {
+            "POLYGON((1.3 2.2, 30.7 1.1, 22.2 17.9, 37.6 35.3, 3.1 28.4, 1.3 2.2), (8.2 8.1, 16.3 8.4, 12.1 20.7, 8.2 8.1))",
+            "MULTIPOLYGON(((0.2 0.3, 11.7 0.4, 5.9 13.2, 0.2 0.3)), ((12.1 12.2, 39.6 14.1, 39.9 39.7, 12.1 12.2)))"
+        };
+        for (String wkt : wkts) {
+            Geometry geometry = reader.read(wkt);
+            ParameterBlockImageN pb = new ParameterBlockImageN("VectorBinarize");
+            pb.setParameter("width", 5 * TILE_WIDTH);
+            pb.setParameter("height", 5 * TILE_WIDTH);
+            pb.setParameter("geometry", geometry);
+            Raster data = ImageN.create("VectorBinarize", pb).getData();
+
+            for (int y = 0; y < data.getHeight(); y++) {
+                for (int x = 0; x < data.getWidth(); x++) {
+                    Point center = gf.createPoint(new Coordinate(x + 0.5, y + 0.5));
+                    int expected = geometry.intersects(center) ? 1 : 0;
+                    assertEquals(wkt + " at " + x + ", " + y, expected, data.getSample(x, y, 0));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void antiAliasedCoverageOnBytes() throws Exception {
+        Polygon poly = (Polygon) reader.read("POLYGON((2 2, 10.5 2, 10.5 9.75, 2 9.75, 2 2))");
+        SampleModel sm = new PixelInterleavedSampleModel(
+                DataBuffer.TYPE_BYTE, TILE_WIDTH, TILE_WIDTH, 1, TILE_WIDTH, new int[] {0});
+        VectorBinarizeOpImage image = new VectorBinarizeOpImage(
+                sm, null, 0, 0, 2 * TILE_WIDTH, 2 * TILE_WIDTH, PreparedGeometryFactory.prepare(poly), true);
+        Raster data = image.getData();
+
+        assertEquals(255, data.getSample(5, 5, 0));
+        assertEquals(0, data.getSample(1, 5, 0));
+        assertEquals(0, data.getSample(11, 5, 0));
+        // half of the right column and three quarters of the bottom row are covered
+        assertEquals(128, data.getSample(10, 5, 0));
+        assertEquals(191, data.getSample(5, 9, 0));
+        assertEquals(96, data.getSample(10, 9, 0));
+    }
+
     @Test
     public void testRegistration() {
         RegistryElementDescriptor descriptor =
@@ -198,6 +198,11 @@ class WarpPropertyGenerator extends PropertyGeneratorImpl {
  * Range is taken from the interpolation object if it implements the "InterpolationNoData" interface, else it is taken
  * from the input parameter.
  *
+ * <p>When the <code>ImageN.KEY_WARP_TOLERANCE</code> hint is set, warps other than <code>WarpAffine</code> and <code>
+ * WarpGrid</code> are replaced by a {@link org.eclipse.imagen.WarpAdaptiveGrid} approximating them within the given
+ * tolerance, so that the exact warp is evaluated at the corners of a few cells per tile instead of at every destination
+ * pixel.
+ *
  * <p>
  *
  * <table border=1>
@@ -24,10 +24,14 @@ import java.awt.image.renderable.ParameterBlock;
 import java.awt.image.renderable.RenderedImageFactory;
 import org.eclipse.imagen.BorderExtender;
 import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
 import org.eclipse.imagen.Interpolation;
 import org.eclipse.imagen.PlanarImage;
 import org.eclipse.imagen.ROI;
 import org.eclipse.imagen.Warp;
+import org.eclipse.imagen.WarpAdaptiveGrid;
+import org.eclipse.imagen.WarpAffine;
+import org.eclipse.imagen.WarpGrid;
 import org.eclipse.imagen.media.interpolators.InterpolationBicubic;
 import org.eclipse.imagen.media.interpolators.InterpolationBilinear;
 import org.eclipse.imagen.media.interpolators.InterpolationNearest;
@@ -61,6 +65,13 @@ public class WarpRIF implements RenderedImageFactory {
 
         RenderedImage source = paramBlock.getRenderedSource(0);
         Warp warp = (Warp) paramBlock.getObjectParameter(0);
+
+        // Approximate expensive warps if requested
+        Object tolerance = renderHints == null ? null : renderHints.get(ImageN.KEY_WARP_TOLERANCE);
+        if (tolerance instanceof Double
+                && !(warp instanceof WarpAffine || warp instanceof WarpGrid || warp instanceof WarpAdaptiveGrid)) {
+            warp = new WarpAdaptiveGrid(warp, (Double) tolerance);
+        }
         Interpolation interp = (Interpolation) paramBlock.getObjectParameter(1);
         double[] backgroundValues = (double[]) paramBlock.getObjectParameter(2);
 
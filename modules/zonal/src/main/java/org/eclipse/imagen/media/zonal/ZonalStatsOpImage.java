@@ -54,6 +54,7 @@ import org.eclipse.imagen.media.range.Range.DataType;
 import org.eclipse.imagen.media.range.RangeFactory;
 import org.eclipse.imagen.media.stats.Statistics.StatsType;
 import org.eclipse.imagen.media.util.PropertyUtil;
+import org.eclipse.imagen.media.vectorbin.ROIGeometry;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.index.strtree.STRtree;
@@ -674,9 +675,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
 
                         if (contains) {
                             // Cycle on the selected Bands
@@ -792,9 +791,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
 
                             if (contains) {
                                 // Cycle on the selected Bands
@@ -857,9 +854,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
 
                         if (!insideROI) {
                             if (updateIterator) {
@@ -904,9 +899,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
 
                             if (contains) {
                                 // Cycle on the selected Bands
@@ -1004,9 +997,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -1124,9 +1115,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -1193,9 +1182,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -1240,9 +1227,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -1385,9 +1370,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
                             // Cycle on the selected Bands
                             for (int i = 0; i < bandNum; i++) {
@@ -1500,9 +1483,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -1564,9 +1545,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -1610,9 +1589,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -1709,9 +1686,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -1829,9 +1804,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -1898,9 +1871,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -1945,9 +1916,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -2090,9 +2059,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
                             // Cycle on the selected Bands
                             for (int i = 0; i < bandNum; i++) {
@@ -2205,9 +2172,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -2269,9 +2234,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -2315,9 +2278,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -2414,9 +2375,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -2534,9 +2493,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -2603,9 +2560,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -2650,9 +2605,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -2795,9 +2748,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
                             // Cycle on the selected Bands
                             for (int i = 0; i < bandNum; i++) {
@@ -2910,9 +2861,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -2974,9 +2923,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -3020,9 +2967,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -3119,9 +3064,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -3239,9 +3182,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -3308,9 +3249,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -3355,9 +3294,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -3500,9 +3437,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
                             // Cycle on the selected Bands
                             for (int i = 0; i < bandNum; i++) {
@@ -3615,9 +3550,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -3679,9 +3612,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -3725,9 +3656,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -3824,9 +3753,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -3944,9 +3871,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -4013,9 +3938,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -4060,9 +3983,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -4205,9 +4126,7 @@ public class ZonalStatsOpImage extends OpImage {
                         ROI geometry = zoneGeo.getROI();
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
                             // Cycle on the selected Bands
                             for (int i = 0; i < bandNum; i++) {
@@ -4320,9 +4239,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -4384,9 +4301,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -4430,9 +4345,7 @@ public class ZonalStatsOpImage extends OpImage {
                             ROI geometry = zoneGeo.getROI();
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
                                 // Cycle on the selected Bands
                                 for (int i = 0; i < bandNum; i++) {
@@ -4529,9 +4442,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // if every geometry really contains the selected point
                         boolean contains = false;
-                        synchronized (zoneGeo) { // HACK
-                            contains = geometry.contains(x0, y0);
-                        }
+                        contains = contains(geometry, zoneGeo, x0, y0);
                         if (contains) {
 
                             // Cycle on the selected Bands
@@ -4649,9 +4560,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -4718,9 +4627,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                         // ROI value
                         boolean insideROI = false;
-                        synchronized (this) { // HACK
-                            insideROI = srcROI.contains(x0, y0);
-                        }
+                        insideROI = contains(srcROI, this, x0, y0);
                         if (!insideROI) {
                             if (updateIterator) {
                                 rectIterator.nextPixel();
@@ -4765,9 +4672,7 @@ public class ZonalStatsOpImage extends OpImage {
 
                             // if every geometry really contains the selected point
                             boolean contains = false;
-                            synchronized (zoneGeo) { // HACK
-                                contains = geometry.contains(x0, y0);
-                            }
+                            contains = contains(geometry, zoneGeo, x0, y0);
                             if (contains) {
 
                                 // Cycle on the selected Bands
@@ -4921,6 +4826,19 @@ public class ZonalStatsOpImage extends OpImage {
         }
     }
 
+    /**
+     * Tests if the ROI contains the pixel. The point queries of {@link ROIGeometry} are thread safe, the ones of the
+     * other ROI classes may share state and are done holding the given lock.
+     */
+    private static boolean contains(ROI roi, Object lock, int x, int y) {
+        if (roi instanceof ROIGeometry) {
+            return roi.contains(x, y);
+        }
+        synchronized (lock) {
+            return roi.contains(x, y);
+        }
+    }
+
     @Override
     public synchronized void dispose() {
         if (srcROIImgExt != null) {